@@ -355,6 +355,39 @@ public class CategoryServiceIT {
         assertThat(errorCallBackMessages).isEmpty();
     }
 
+    @Test
+    public void fetchCachedCategoryIds_WithUncachedCategory_ShouldFetchMissingKeysAndCache() {
+        // Fetch any category to populate cache
+        categoryService.fetchCachedCategoryId("anyKey").toCompletableFuture().join();
+
+        // Create new category
+        final String newCategoryKey = "newCategoryKey";
+        final CategoryDraft categoryDraft = CategoryDraftBuilder
+            .of(LocalizedString.of(Locale.ENGLISH, "classic furniture"),
+                LocalizedString.of(Locale.ENGLISH, "classic-furniture", Locale.GERMAN, "klassische-moebel"))
+            .key(newCategoryKey)
+            .build();
+
+        final Category newCategory = CTP_TARGET_CLIENT.execute(CategoryCreateCommand.of(categoryDraft))
+                                                      .toCompletableFuture().join();
+
+        final Set<String> keys = new HashSet<>();
+        keys.add(oldCategoryKey);
+        keys.add(newCategoryKey);
+        keys.add("nonExistingKey");
+
+        final Map<String, String> keysToIds = categoryService.fetchCachedCategoryIds(keys)
+                                                             .toCompletableFuture().join();
+
+        assertThat(keysToIds).hasSize(2);
+        assertThat(keysToIds).containsEntry(oldCategoryKey, oldCategory.getId());
+        assertThat(keysToIds).containsEntry(newCategoryKey, newCategory.getId());
+        assertThat(categoryService.fetchCachedCategoryId(newCategoryKey).toCompletableFuture().join())
+            .contains(newCategory.getId());
+        assertThat(errorCallBackExceptions).isEmpty();
+        assertThat(errorCallBackMessages).isEmpty();
+    }
+
     @Test
     public void createCategory_WithValidCategory_ShouldCreateCategory() {
         final String newCategoryKey = "newCategoryKey";
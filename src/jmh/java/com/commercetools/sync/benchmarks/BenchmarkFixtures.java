@@ -0,0 +1,307 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.products.AttributeMetaData;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.InventoryEntryDraftBuilder;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductData;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductDraftBuilder;
+import io.sphere.sdk.products.ProductVariantDraft;
+import io.sphere.sdk.products.ProductVariantDraftBuilder;
+import io.sphere.sdk.products.attributes.AttributeDefinition;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.types.CustomFields;
+import io.sphere.sdk.types.CustomFieldsDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.sphere.sdk.json.SphereJsonUtils.readObject;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Generates the resources and drafts which the benchmarks diff. The resources are built from JSON, the same way
+ * they are read from a CTP response, and every draft is derived from a generated resource, the same way a draft is
+ * built from the resource of a source project. A draft which is generated as {@code changed} differs from the
+ * unchanged resource in the values of some of its fields, attributes, images and prices, so that every update
+ * action builder has some actions to build.
+ */
+final class BenchmarkFixtures {
+    static final int SAME_FOR_ALL_ATTRIBUTES = 3;
+    static final int ATTRIBUTES_PER_VARIANT = 10;
+    static final int IMAGES_PER_VARIANT = 3;
+
+    private static final String TIMESTAMP = "2017-01-01T00:00:00.000Z";
+    private static final String TYPE_ID = "benchmark-type-id";
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    /**
+     * Builds the attribute meta data of the attributes of the generated product variants. The first
+     * {@link #SAME_FOR_ALL_ATTRIBUTES} attributes have the "SameForAll" constraint.
+     *
+     * @return a map of attribute name to the {@link AttributeMetaData} of the attribute.
+     */
+    @Nonnull
+    static Map<String, AttributeMetaData> attributesMetaData() {
+        final Map<String, AttributeMetaData> attributesMetaData = new HashMap<>();
+        for (int attribute = 0; attribute < ATTRIBUTES_PER_VARIANT; attribute++) {
+            final ObjectNode definition = JSON.objectNode();
+            definition.put("name", attributeName(attribute));
+            definition.set("label", JSON.objectNode().put("en", attributeName(attribute)));
+            definition.put("isRequired", false);
+            definition.set("type", JSON.objectNode().put("name", "text"));
+            definition.put("attributeConstraint", attribute < SAME_FOR_ALL_ATTRIBUTES ? "SameForAll" : "None");
+            definition.put("isSearchable", false);
+            definition.put("inputHint", "SingleLine");
+            final AttributeMetaData attributeMetaData =
+                AttributeMetaData.of(readObject(definition.toString(), AttributeDefinition.class));
+            attributesMetaData.put(attributeMetaData.getName(), attributeMetaData);
+        }
+        return attributesMetaData;
+    }
+
+    /**
+     * Generates a product with the supplied number of variants (including the master variant). Every variant has
+     * {@link #ATTRIBUTES_PER_VARIANT} attributes, {@link #IMAGES_PER_VARIANT} images and a price per country.
+     *
+     * @param variantCount the number of variants of the product.
+     * @param changed      whether to generate the changed values of the product.
+     * @return the generated product.
+     */
+    @Nonnull
+    static Product product(final int variantCount, final boolean changed) {
+        final ObjectNode productData = JSON.objectNode();
+        productData.set("name", JSON.objectNode().put("en", changed ? "changed product" : "product")
+                                                 .put("de", "Produkt"));
+        productData.set("slug", JSON.objectNode().put("en", "product-slug").put("de", "produkt-slug"));
+        productData.set("description", JSON.objectNode().put("en", "description"));
+        productData.set("metaTitle", JSON.objectNode().put("en", "meta title"));
+        productData.set("searchKeywords", JSON.objectNode());
+        final ArrayNode categories = productData.putArray("categories");
+        final ObjectNode categoryOrderHints = productData.putObject("categoryOrderHints");
+        for (int category = 0; category < 3; category++) {
+            final String categoryId = "category-id-" + category;
+            categories.add(reference("category", categoryId));
+            categoryOrderHints.put(categoryId, changed && category == 0 ? "0.9" : "0." + category);
+        }
+        productData.set("masterVariant", variant(1, changed));
+        final ArrayNode variants = productData.putArray("variants");
+        for (int variant = 2; variant <= variantCount; variant++) {
+            variants.add(variant(variant, changed));
+        }
+
+        final ObjectNode masterData = JSON.objectNode();
+        masterData.put("published", false);
+        masterData.put("hasStagedChanges", false);
+        masterData.set("current", productData);
+        masterData.set("staged", productData);
+
+        final ObjectNode product = resource("product-id", "product-key");
+        product.set("productType", reference("product-type", "product-type-id"));
+        product.set("masterData", masterData);
+        return readObject(product.toString(), Product.class);
+    }
+
+    /**
+     * Builds a draft of the staged data of the supplied {@code product}.
+     *
+     * @param product the product to build the draft of.
+     * @return the draft of the supplied product.
+     */
+    @Nonnull
+    static ProductDraft productDraft(@Nonnull final Product product) {
+        final ProductData productData = product.getMasterData().getStaged();
+        final List<ProductVariantDraft> allVariants = productData
+            .getAllVariants().stream()
+            .map(productVariant -> ProductVariantDraftBuilder.of(productVariant).build())
+            .collect(toList());
+
+        return ProductDraftBuilder
+            .of(ProductType.referenceOfId("product-type-id"), productData.getName(), productData.getSlug(),
+                allVariants)
+            .key(product.getKey())
+            .description(productData.getDescription())
+            .metaTitle(productData.getMetaTitle())
+            .searchKeywords(productData.getSearchKeywords())
+            .categories(productData.getCategories().stream().map(Reference::toResourceIdentifier).collect(toSet()))
+            .categoryOrderHints(productData.getCategoryOrderHints())
+            .publish(product.getMasterData().isPublished())
+            .build();
+    }
+
+    /**
+     * Generates a category with the supplied number of custom fields.
+     *
+     * @param customFieldCount the number of custom fields of the category.
+     * @param changed          whether to generate the changed values of the category.
+     * @return the generated category.
+     */
+    @Nonnull
+    static Category category(final int customFieldCount, final boolean changed) {
+        final ObjectNode category = resource("category-id", "category-key");
+        category.set("name", JSON.objectNode().put("en", changed ? "changed category" : "category"));
+        category.set("slug", JSON.objectNode().put("en", "category-slug"));
+        category.set("description", JSON.objectNode().put("en", "description"));
+        category.put("externalId", "category-external-id");
+        category.put("orderHint", "0.1");
+        category.putArray("ancestors");
+        category.putArray("assets");
+        category.set("custom", customFields(customFieldCount, changed));
+        return readObject(category.toString(), Category.class);
+    }
+
+    /**
+     * Builds a draft of the supplied {@code category}.
+     *
+     * @param category the category to build the draft of.
+     * @return the draft of the supplied category.
+     */
+    @Nonnull
+    static CategoryDraft categoryDraft(@Nonnull final Category category) {
+        return CategoryDraftBuilder.of(category)
+                                   .custom(customFieldsDraft(category.getCustom()))
+                                   .build();
+    }
+
+    /**
+     * Generates an inventory entry with the supplied number of custom fields.
+     *
+     * @param customFieldCount the number of custom fields of the inventory entry.
+     * @param changed          whether to generate the changed values of the inventory entry.
+     * @return the generated inventory entry.
+     */
+    @Nonnull
+    static InventoryEntry inventoryEntry(final int customFieldCount, final boolean changed) {
+        final ObjectNode inventoryEntry = resource("inventory-entry-id", null);
+        inventoryEntry.put("sku", "sku-1");
+        inventoryEntry.set("supplyChannel", reference("channel", "channel-id"));
+        inventoryEntry.put("quantityOnStock", changed ? 20 : 10);
+        inventoryEntry.put("availableQuantity", changed ? 20 : 10);
+        inventoryEntry.put("restockableInDays", changed ? 5 : 3);
+        inventoryEntry.put("expectedDelivery", changed ? "2017-06-01T10:00:00.000Z" : "2017-05-01T10:00:00.000Z");
+        inventoryEntry.set("custom", customFields(customFieldCount, changed));
+        return readObject(inventoryEntry.toString(), InventoryEntry.class);
+    }
+
+    /**
+     * Builds a draft of the supplied {@code inventoryEntry}.
+     *
+     * @param inventoryEntry the inventory entry to build the draft of.
+     * @return the draft of the supplied inventory entry.
+     */
+    @Nonnull
+    static InventoryEntryDraft inventoryEntryDraft(@Nonnull final InventoryEntry inventoryEntry) {
+        return InventoryEntryDraftBuilder
+            .of(inventoryEntry.getSku(), inventoryEntry.getQuantityOnStock(), inventoryEntry.getExpectedDelivery(),
+                inventoryEntry.getRestockableInDays(), inventoryEntry.getSupplyChannel())
+            .custom(customFieldsDraft(inventoryEntry.getCustom()))
+            .build();
+    }
+
+    @Nonnull
+    private static CustomFieldsDraft customFieldsDraft(@Nonnull final CustomFields customFields) {
+        return CustomFieldsDraft.ofTypeIdAndJson(customFields.getType().getId(), customFields.getFieldsJsonMap());
+    }
+
+    @Nonnull
+    private static ObjectNode variant(final int variantId, final boolean changed) {
+        final ObjectNode variant = JSON.objectNode();
+        variant.put("id", variantId);
+        variant.put("key", "variant-key-" + variantId);
+        variant.put("sku", "sku-" + variantId);
+
+        final ArrayNode attributes = variant.putArray("attributes");
+        for (int attribute = 0; attribute < ATTRIBUTES_PER_VARIANT; attribute++) {
+            final String value = attribute < SAME_FOR_ALL_ATTRIBUTES
+                ? "value-" + attribute : format("value-%d-%d", attribute, variantId);
+            attributes.add(JSON.objectNode()
+                               .put("name", attributeName(attribute))
+                               .put("value", changed && attribute % 4 == 0 ? "changed-" + value : value));
+        }
+
+        // A changed variant has the same images in a rotated order.
+        final ArrayNode images = variant.putArray("images");
+        for (int image = 0; image < IMAGES_PER_VARIANT; image++) {
+            final int imageNumber = changed ? (image + 1) % IMAGES_PER_VARIANT : image;
+            final ObjectNode imageNode = JSON.objectNode();
+            imageNode.put("url", format("https://images.example.com/%d/%d.png", variantId, imageNumber));
+            imageNode.set("dimensions", JSON.objectNode().put("w", 800).put("h", 600));
+            images.add(imageNode);
+        }
+
+        // A changed variant has a changed price for DE, the same price for AT and an additional price for US.
+        final ArrayNode prices = variant.putArray("prices");
+        prices.add(price(variantId, "DE", "EUR", changed ? 1099 : 999));
+        prices.add(price(variantId, "AT", "EUR", 1049));
+        if (changed) {
+            prices.add(price(variantId, "US", "USD", 1199));
+        }
+        return variant;
+    }
+
+    @Nonnull
+    private static ObjectNode price(final int variantId, @Nonnull final String country,
+                                    @Nonnull final String currencyCode, final long centAmount) {
+        final ObjectNode price = JSON.objectNode();
+        price.put("id", format("price-id-%d-%s", variantId, country));
+        price.set("value", JSON.objectNode()
+                               .put("type", "centPrecision")
+                               .put("currencyCode", currencyCode)
+                               .put("centAmount", centAmount)
+                               .put("fractionDigits", 2));
+        price.put("country", country);
+        return price;
+    }
+
+    @Nonnull
+    private static ObjectNode customFields(final int customFieldCount, final boolean changed) {
+        final ObjectNode fields = JSON.objectNode();
+        for (int field = 0; field < customFieldCount; field++) {
+            fields.put("field-" + field, changed && field % 4 == 0 ? "changed-value-" + field : "value-" + field);
+        }
+        final ObjectNode customFields = JSON.objectNode();
+        customFields.set("type", reference("type", TYPE_ID));
+        customFields.set("fields", fields);
+        return customFields;
+    }
+
+    @Nonnull
+    private static ObjectNode resource(@Nonnull final String id, @Nullable final String key) {
+        final ObjectNode resource = JSON.objectNode();
+        resource.put("id", id);
+        resource.put("version", 1);
+        resource.put("createdAt", TIMESTAMP);
+        resource.put("lastModifiedAt", TIMESTAMP);
+        if (key != null) {
+            resource.put("key", key);
+        }
+        return resource;
+    }
+
+    @Nonnull
+    private static ObjectNode reference(@Nonnull final String typeId, @Nonnull final String id) {
+        return JSON.objectNode().put("typeId", typeId).put("id", id);
+    }
+
+    @Nonnull
+    private static String attributeName(final int attribute) {
+        return "attribute-" + attribute;
+    }
+
+    private BenchmarkFixtures() {
+    }
+}
@@ -0,0 +1,106 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.benchmarks.simulator.CtpSimulator;
+import com.commercetools.sync.categories.CategorySync;
+import com.commercetools.sync.categories.CategorySyncOptionsBuilder;
+import com.commercetools.sync.categories.helpers.CategorySyncStatistics;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.commands.CategoryCreateCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.SCENARIO_UPDATE;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.categoryDraft;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.categoryKey;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.parentIndex;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Benchmarks syncing a generated tree of category drafts into a {@link CtpSimulator}, either into an empty project
+ * ({@code create}) or into a project with the unchanged categories of all the drafts ({@code update}). Every
+ * iteration is a single sync, whose throughput and requests are printed once it has completed. Run it with
+ * {@code ./gradlew jmh -PjmhInclude=CategorySyncBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategorySyncBenchmark {
+    @Param({"10000", "100000"})
+    private int draftCount;
+
+    @Param({"create", "update"})
+    private String scenario;
+
+    @Param({"0", "10"})
+    private int latencyMillis;
+
+    private CtpSimulator simulator;
+    private CategorySyncStatistics statistics;
+
+    /**
+     * Seeds a new simulator, for the {@code update} scenario with the unchanged categories of all the drafts. The
+     * parent of a category always has a lower index, so the categories are seeded in the order of their indexes.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        simulator = SimulatorFixtures.simulator(latencyMillis);
+        if (SCENARIO_UPDATE.equals(scenario)) {
+            final String[] categoryIds = new String[draftCount];
+            for (int index = 0; index < draftCount; index++) {
+                final int parentIndex = parentIndex(index);
+                final Category category = simulator.seed(CategoryCreateCommand.of(
+                    categoryDraft(index, false, parentIndex < 0 ? null : categoryIds[parentIndex])));
+                categoryIds[index] = category.getId();
+            }
+        }
+        simulator.resetCounts();
+    }
+
+    /**
+     * Syncs the changed drafts. The category sync plans the hierarchy of the drafts it syncs, so they are supplied
+     * as a list rather than as a stream.
+     *
+     * @return the statistics of the sync.
+     */
+    @Benchmark
+    public CategorySyncStatistics sync() {
+        final CategorySync categorySync = new CategorySync(CategorySyncOptionsBuilder.of(simulator).build());
+        statistics = categorySync
+            .sync(IntStream.range(0, draftCount)
+                           .mapToObj(index -> {
+                               final int parentIndex = parentIndex(index);
+                               return categoryDraft(index, true, parentIndex < 0 ? null : categoryKey(parentIndex));
+                           })
+                           .collect(toList()))
+            .toCompletableFuture().join();
+        return statistics;
+    }
+
+    /**
+     * Prints the throughput and the requests of the sync of the iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        SimulatorFixtures.report(format("CategorySync[draftCount=%d, scenario=%s, latencyMillis=%d]", draftCount,
+            scenario, latencyMillis), statistics, simulator);
+        simulator.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.categories.CategorySyncOptions;
+import com.commercetools.sync.categories.CategorySyncOptionsBuilder;
+import com.commercetools.sync.categories.utils.CategorySyncUtils;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.commands.UpdateAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks building the update actions of a generated category against a draft with the same or with changed
+ * values. Run it with {@code ./gradlew jmh -PjmhInclude=CategorySyncUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategorySyncUtilsBenchmark {
+    @Param({"1", "10", "100"})
+    private int customFieldCount;
+
+    @Param({"false", "true"})
+    private boolean changed;
+
+    private Category category;
+    private CategoryDraft categoryDraft;
+    private CategorySyncOptions syncOptions;
+
+    /**
+     * Generates the category and the draft to diff.
+     */
+    @Setup
+    public void setup() {
+        category = BenchmarkFixtures.category(customFieldCount, false);
+        categoryDraft = BenchmarkFixtures.categoryDraft(BenchmarkFixtures.category(customFieldCount, changed));
+        syncOptions = CategorySyncOptionsBuilder.of(mock(SphereClient.class)).build();
+    }
+
+    @Benchmark
+    public List<UpdateAction<Category>> buildActions() {
+        return CategorySyncUtils.buildActions(category, categoryDraft, syncOptions);
+    }
+}
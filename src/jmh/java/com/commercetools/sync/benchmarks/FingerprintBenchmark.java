@@ -0,0 +1,138 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.categories.CategorySyncOptions;
+import com.commercetools.sync.categories.CategorySyncOptionsBuilder;
+import com.commercetools.sync.categories.utils.CategoryFingerprintUtils;
+import com.commercetools.sync.categories.utils.CategorySyncUtils;
+import com.commercetools.sync.inventories.InventorySyncOptions;
+import com.commercetools.sync.inventories.InventorySyncOptionsBuilder;
+import com.commercetools.sync.inventories.utils.InventoryFingerprintUtils;
+import com.commercetools.sync.inventories.utils.InventorySyncUtils;
+import com.commercetools.sync.products.AttributeMetaData;
+import com.commercetools.sync.products.ProductSyncOptions;
+import com.commercetools.sync.products.ProductSyncOptionsBuilder;
+import com.commercetools.sync.products.utils.ProductFingerprintUtils;
+import com.commercetools.sync.products.utils.ProductSyncUtils;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.InventoryEntryDraftBuilder;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.producttypes.ProductType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.commercetools.sync.products.ProductSyncMockUtils.PRODUCT_KEY_1_RESOURCE_PATH;
+import static com.commercetools.sync.products.ProductSyncMockUtils.createProductDraftBuilder;
+import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
+import static java.util.stream.Collectors.toMap;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the cost of deciding that an unchanged draft is in sync with its resource by comparing their
+ * fingerprints against building the (empty) list of update actions for them. Run it with {@code ./gradlew jmh} and
+ * add {@code -PjmhInclude=FingerprintBenchmark} to run only this benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FingerprintBenchmark {
+    private static final String INVENTORY_ENTRY_JSON = "{\"id\": \"inventory-entry-id\", \"version\": 1, "
+        + "\"createdAt\": \"2017-01-01T00:00:00.000Z\", \"lastModifiedAt\": \"2017-01-01T00:00:00.000Z\", "
+        + "\"sku\": \"sku-1\", \"supplyChannel\": {\"typeId\": \"channel\", \"id\": \"channel-id\"}, "
+        + "\"quantityOnStock\": 10, \"availableQuantity\": 10, \"restockableInDays\": 3, "
+        + "\"expectedDelivery\": \"2017-05-01T10:00:00.000Z\"}";
+
+    private InventoryEntry inventoryEntry;
+    private InventoryEntryDraft inventoryEntryDraft;
+    private InventorySyncOptions inventorySyncOptions;
+
+    private Category category;
+    private CategoryDraft categoryDraft;
+    private CategorySyncOptions categorySyncOptions;
+
+    private Product product;
+    private ProductDraft productDraft;
+    private ProductSyncOptions productSyncOptions;
+    private Map<String, AttributeMetaData> attributesMetaData;
+
+    /**
+     * Reads the resources of the benchmark and builds drafts that are in sync with them.
+     */
+    @Setup
+    public void setup() {
+        final SphereClient ctpClient = mock(SphereClient.class);
+
+        inventoryEntry = SphereJsonUtils.readObject(INVENTORY_ENTRY_JSON, InventoryEntry.class);
+        inventoryEntryDraft = InventoryEntryDraftBuilder
+            .of(inventoryEntry.getSku(), inventoryEntry.getQuantityOnStock(), inventoryEntry.getExpectedDelivery(),
+                inventoryEntry.getRestockableInDays(), inventoryEntry.getSupplyChannel())
+            .build();
+        inventorySyncOptions = InventorySyncOptionsBuilder.of(ctpClient).build();
+
+        category = readObjectFromResource("category-key-1.json", Category.class);
+        categoryDraft = CategoryDraftBuilder.of(category).build();
+        categorySyncOptions = CategorySyncOptionsBuilder.of(ctpClient).build();
+
+        product = readObjectFromResource(PRODUCT_KEY_1_RESOURCE_PATH, Product.class);
+        productDraft = createProductDraftBuilder(PRODUCT_KEY_1_RESOURCE_PATH,
+            ProductType.referenceOfId("anyProductType")).build();
+        productSyncOptions = ProductSyncOptionsBuilder.of(ctpClient).build();
+        attributesMetaData = readObjectFromResource("product-type.json", ProductType.class)
+            .getAttributes().stream()
+            .map(AttributeMetaData::of)
+            .collect(toMap(AttributeMetaData::getName, Function.identity()));
+    }
+
+    @Benchmark
+    public boolean inventoryFingerprint() {
+        return InventoryFingerprintUtils.hasSameFingerprint(inventoryEntry, inventoryEntryDraft);
+    }
+
+    @Benchmark
+    public List<UpdateAction<InventoryEntry>> inventoryBuildActions() {
+        return InventorySyncUtils.buildActions(inventoryEntry, inventoryEntryDraft, inventorySyncOptions);
+    }
+
+    @Benchmark
+    public boolean categoryFingerprint() {
+        return CategoryFingerprintUtils.hasSameFingerprint(category, categoryDraft);
+    }
+
+    @Benchmark
+    public List<UpdateAction<Category>> categoryBuildActions() {
+        return CategorySyncUtils.buildActions(category, categoryDraft, categorySyncOptions);
+    }
+
+    @Benchmark
+    public boolean productFingerprint() {
+        return ProductFingerprintUtils.hasSameFingerprint(product, productDraft, attributesMetaData);
+    }
+
+    @Benchmark
+    public List<UpdateAction<Product>> productBuildActions() {
+        return ProductSyncUtils.buildActions(product, productDraft, productSyncOptions, attributesMetaData);
+    }
+}
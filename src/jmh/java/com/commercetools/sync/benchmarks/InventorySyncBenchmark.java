@@ -0,0 +1,103 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.benchmarks.simulator.CtpSimulator;
+import com.commercetools.sync.inventories.InventorySync;
+import com.commercetools.sync.inventories.InventorySyncOptionsBuilder;
+import com.commercetools.sync.inventories.helpers.InventorySyncStatistics;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.channels.ChannelDraftBuilder;
+import io.sphere.sdk.channels.ChannelRole;
+import io.sphere.sdk.channels.commands.ChannelCreateCommand;
+import io.sphere.sdk.inventory.commands.InventoryEntryCreateCommand;
+import io.sphere.sdk.models.Reference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.CHANNEL_KEY;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.SCENARIO_UPDATE;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.inventoryEntryDraft;
+import static java.lang.String.format;
+
+/**
+ * Benchmarks syncing generated inventory entry drafts into a {@link CtpSimulator}, either into an empty project
+ * ({@code create}) or into a project with the unchanged inventory entries of all the drafts ({@code update}). Every
+ * iteration is a single sync, whose throughput and requests are printed once it has completed. Run it with
+ * {@code ./gradlew jmh -PjmhInclude=InventorySyncBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventorySyncBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int draftCount;
+
+    @Param({"create", "update"})
+    private String scenario;
+
+    @Param({"0", "10"})
+    private int latencyMillis;
+
+    private CtpSimulator simulator;
+    private InventorySyncStatistics statistics;
+
+    /**
+     * Seeds a new simulator with the supply channel and, for the {@code update} scenario, with the unchanged
+     * inventory entries of all the drafts.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        simulator = SimulatorFixtures.simulator(latencyMillis);
+        final Channel channel = simulator.seed(ChannelCreateCommand.of(
+            ChannelDraftBuilder.of(CHANNEL_KEY).roles(Collections.singleton(ChannelRole.INVENTORY_SUPPLY)).build()));
+        if (SCENARIO_UPDATE.equals(scenario)) {
+            final Reference<Channel> supplyChannel = channel.toReference();
+            for (int index = 0; index < draftCount; index++) {
+                simulator.seed(InventoryEntryCreateCommand.of(inventoryEntryDraft(index, false, supplyChannel)));
+            }
+        }
+        simulator.resetCounts();
+    }
+
+    /**
+     * Syncs the changed drafts, which are supplied as a stream, so they are generated while the sync pulls them.
+     *
+     * @return the statistics of the sync.
+     */
+    @Benchmark
+    public InventorySyncStatistics sync() {
+        final InventorySync inventorySync = new InventorySync(InventorySyncOptionsBuilder.of(simulator).build());
+        final Reference<Channel> supplyChannel = Channel.referenceOfId(CHANNEL_KEY);
+        statistics = inventorySync.sync(IntStream.range(0, draftCount)
+                                                 .mapToObj(index -> inventoryEntryDraft(index, true, supplyChannel)))
+                                  .toCompletableFuture().join();
+        return statistics;
+    }
+
+    /**
+     * Prints the throughput and the requests of the sync of the iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        SimulatorFixtures.report(format("InventorySync[draftCount=%d, scenario=%s, latencyMillis=%d]", draftCount,
+            scenario, latencyMillis), statistics, simulator);
+        simulator.close();
+    }
+}
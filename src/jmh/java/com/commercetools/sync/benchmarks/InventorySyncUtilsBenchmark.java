@@ -0,0 +1,63 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.inventories.InventorySyncOptions;
+import com.commercetools.sync.inventories.InventorySyncOptionsBuilder;
+import com.commercetools.sync.inventories.utils.InventorySyncUtils;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks building the update actions of a generated inventory entry against a draft with the same or with
+ * changed values. Run it with {@code ./gradlew jmh -PjmhInclude=InventorySyncUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventorySyncUtilsBenchmark {
+    @Param({"1", "10"})
+    private int customFieldCount;
+
+    @Param({"false", "true"})
+    private boolean changed;
+
+    private InventoryEntry inventoryEntry;
+    private InventoryEntryDraft inventoryEntryDraft;
+    private InventorySyncOptions syncOptions;
+
+    /**
+     * Generates the inventory entry and the draft to diff.
+     */
+    @Setup
+    public void setup() {
+        inventoryEntry = BenchmarkFixtures.inventoryEntry(customFieldCount, false);
+        inventoryEntryDraft =
+            BenchmarkFixtures.inventoryEntryDraft(BenchmarkFixtures.inventoryEntry(customFieldCount, changed));
+        syncOptions = InventorySyncOptionsBuilder.of(mock(SphereClient.class)).build();
+    }
+
+    @Benchmark
+    public List<UpdateAction<InventoryEntry>> buildActions() {
+        return InventorySyncUtils.buildActions(inventoryEntry, inventoryEntryDraft, syncOptions);
+    }
+}
@@ -0,0 +1,117 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.benchmarks.simulator.CtpSimulator;
+import com.commercetools.sync.products.ProductSync;
+import com.commercetools.sync.products.ProductSyncOptionsBuilder;
+import com.commercetools.sync.products.helpers.ProductSyncStatistics;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.commands.CategoryCreateCommand;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.products.commands.ProductCreateCommand;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.producttypes.ProductTypeDraftBuilder;
+import io.sphere.sdk.producttypes.commands.ProductTypeCreateCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.PRODUCT_CATEGORY_COUNT;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.PRODUCT_TYPE_KEY;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.SCENARIO_UPDATE;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.categoryDraft;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.categoryKey;
+import static com.commercetools.sync.benchmarks.SimulatorFixtures.productDraft;
+import static java.lang.String.format;
+
+/**
+ * Benchmarks syncing generated product drafts into a {@link CtpSimulator}, either into an empty project
+ * ({@code create}) or into a project with the unchanged products of all the drafts ({@code update}). The project
+ * always has the product type and the categories of the products. Every iteration is a single sync, whose
+ * throughput and requests are printed once it has completed. Run it with
+ * {@code ./gradlew jmh -PjmhInclude=ProductSyncBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSyncBenchmark {
+    @Param({"10000", "100000"})
+    private int draftCount;
+
+    @Param({"create", "update"})
+    private String scenario;
+
+    @Param({"0", "10"})
+    private int latencyMillis;
+
+    private CtpSimulator simulator;
+    private ProductSyncStatistics statistics;
+
+    /**
+     * Seeds a new simulator with the product type and the categories of the products and, for the {@code update}
+     * scenario, with the unchanged products of all the drafts.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        simulator = SimulatorFixtures.simulator(latencyMillis);
+        final ProductType productType = simulator.seed(ProductTypeCreateCommand.of(
+            ProductTypeDraftBuilder.of(PRODUCT_TYPE_KEY, PRODUCT_TYPE_KEY, "description", new ArrayList<>()).build()));
+        final List<Reference<Category>> categories = new ArrayList<>();
+        for (int index = 0; index < PRODUCT_CATEGORY_COUNT; index++) {
+            categories.add(simulator.seed(CategoryCreateCommand.of(categoryDraft(index, false, null))).toReference());
+        }
+        if (SCENARIO_UPDATE.equals(scenario)) {
+            final Reference<ProductType> productTypeReference = productType.toReference();
+            for (int index = 0; index < draftCount; index++) {
+                simulator.seed(ProductCreateCommand.of(
+                    productDraft(index, false, productTypeReference, categories::get)));
+            }
+        }
+        simulator.resetCounts();
+    }
+
+    /**
+     * Syncs the changed drafts, which are supplied as a stream and reference their categories and product type by
+     * key.
+     *
+     * @return the statistics of the sync.
+     */
+    @Benchmark
+    public ProductSyncStatistics sync() {
+        final ProductSync productSync = new ProductSync(ProductSyncOptionsBuilder.of(simulator).build());
+        final Reference<ProductType> productType = ProductType.referenceOfId(PRODUCT_TYPE_KEY);
+        statistics = productSync
+            .sync(IntStream.range(0, draftCount)
+                           .mapToObj(index -> productDraft(index, true, productType,
+                               categoryIndex -> Category.referenceOfId(categoryKey(categoryIndex)))))
+            .toCompletableFuture().join();
+        return statistics;
+    }
+
+    /**
+     * Prints the throughput and the requests of the sync of the iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        SimulatorFixtures.report(format("ProductSync[draftCount=%d, scenario=%s, latencyMillis=%d]", draftCount,
+            scenario, latencyMillis), statistics, simulator);
+        simulator.close();
+    }
+}
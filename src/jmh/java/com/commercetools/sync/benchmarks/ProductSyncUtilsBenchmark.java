@@ -0,0 +1,73 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.products.AttributeMetaData;
+import com.commercetools.sync.products.ProductSyncOptions;
+import com.commercetools.sync.products.ProductSyncOptionsBuilder;
+import com.commercetools.sync.products.utils.ProductSyncUtils;
+import com.commercetools.sync.products.utils.ProductUpdateActionUtils;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks building the update actions of a generated product against a draft with the same or with changed
+ * values, for products with 1 to 100 variants. Run it with {@code ./gradlew jmh -PjmhInclude=ProductSyncUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSyncUtilsBenchmark {
+    @Param({"1", "10", "50", "100"})
+    private int variantCount;
+
+    @Param({"false", "true"})
+    private boolean changed;
+
+    private Product product;
+    private ProductDraft productDraft;
+    private ProductSyncOptions syncOptions;
+    private Map<String, AttributeMetaData> attributesMetaData;
+
+    /**
+     * Generates the product and the draft to diff.
+     */
+    @Setup
+    public void setup() {
+        product = BenchmarkFixtures.product(variantCount, false);
+        productDraft = BenchmarkFixtures.productDraft(BenchmarkFixtures.product(variantCount, changed));
+        syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class)).build();
+        attributesMetaData = BenchmarkFixtures.attributesMetaData();
+    }
+
+    @Benchmark
+    public List<UpdateAction<Product>> buildActions() {
+        return ProductSyncUtils.buildActions(product, productDraft, syncOptions, attributesMetaData);
+    }
+
+    @Benchmark
+    public List<UpdateAction<Product>> buildVariantsUpdateActions() {
+        return ProductUpdateActionUtils
+            .buildVariantsUpdateActions(product, productDraft, syncOptions, attributesMetaData);
+    }
+}
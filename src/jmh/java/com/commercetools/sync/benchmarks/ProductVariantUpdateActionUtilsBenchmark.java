@@ -0,0 +1,133 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.commons.exceptions.BuildUpdateActionException;
+import com.commercetools.sync.products.AttributeMetaData;
+import com.commercetools.sync.products.ProductSyncOptions;
+import com.commercetools.sync.products.ProductSyncOptionsBuilder;
+import com.commercetools.sync.products.utils.ProductVariantAttributeUpdateActionUtils;
+import com.commercetools.sync.products.utils.ProductVariantUpdateActionUtils;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.products.ProductVariantDraft;
+import io.sphere.sdk.products.attributes.AttributeDraft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks the attribute, image and price update action builders of {@link ProductVariantUpdateActionUtils} and
+ * the attribute update action builder of {@link ProductVariantAttributeUpdateActionUtils} for all the variants of a
+ * generated product, so that the scores are comparable with the ones of {@link ProductSyncUtilsBenchmark}. Run it
+ * with {@code ./gradlew jmh -PjmhInclude=ProductVariant}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductVariantUpdateActionUtilsBenchmark {
+    @Param({"1", "10", "50", "100"})
+    private int variantCount;
+
+    @Param({"false", "true"})
+    private boolean changed;
+
+    private List<ProductVariant> oldVariants;
+    private List<ProductVariantDraft> newVariants;
+    private ProductSyncOptions syncOptions;
+    private Map<String, AttributeMetaData> attributesMetaData;
+
+    /**
+     * Generates the variants to diff. The old variant and the new variant draft with the same index have the same
+     * key.
+     */
+    @Setup
+    public void setup() {
+        final Product product = BenchmarkFixtures.product(variantCount, false);
+        final ProductDraft productDraft =
+            BenchmarkFixtures.productDraft(BenchmarkFixtures.product(variantCount, changed));
+        oldVariants = product.getMasterData().getStaged().getAllVariants();
+        newVariants = new ArrayList<>();
+        newVariants.add(productDraft.getMasterVariant());
+        newVariants.addAll(productDraft.getVariants());
+        syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class)).build();
+        attributesMetaData = BenchmarkFixtures.attributesMetaData();
+    }
+
+    /**
+     * Builds the attribute update actions of every variant at once.
+     *
+     * @param blackhole consumes the built update actions.
+     */
+    @Benchmark
+    public void buildProductVariantAttributesUpdateActions(final Blackhole blackhole) {
+        for (int i = 0; i < oldVariants.size(); i++) {
+            blackhole.consume(ProductVariantUpdateActionUtils.buildProductVariantAttributesUpdateActions(
+                "product-key", oldVariants.get(i), newVariants.get(i), attributesMetaData, syncOptions));
+        }
+    }
+
+    /**
+     * Builds the update action of every attribute of every variant separately.
+     *
+     * @param blackhole consumes the built update actions.
+     * @throws BuildUpdateActionException never, since all the attributes have meta data.
+     */
+    @Benchmark
+    public void buildProductVariantAttributeUpdateAction(final Blackhole blackhole)
+        throws BuildUpdateActionException {
+        for (int i = 0; i < oldVariants.size(); i++) {
+            final ProductVariant oldVariant = oldVariants.get(i);
+            for (AttributeDraft newAttribute : newVariants.get(i).getAttributes()) {
+                blackhole.consume(ProductVariantAttributeUpdateActionUtils.buildProductVariantAttributeUpdateAction(
+                    oldVariant.getId(), oldVariant.findAttribute(newAttribute.getName()).orElse(null), newAttribute,
+                    attributesMetaData.get(newAttribute.getName())));
+            }
+        }
+    }
+
+    /**
+     * Builds the image update actions of every variant.
+     *
+     * @param blackhole consumes the built update actions.
+     */
+    @Benchmark
+    public void buildProductVariantImagesUpdateActions(final Blackhole blackhole) {
+        for (int i = 0; i < oldVariants.size(); i++) {
+            blackhole.consume(ProductVariantUpdateActionUtils
+                .buildProductVariantImagesUpdateActions(oldVariants.get(i), newVariants.get(i)));
+        }
+    }
+
+    /**
+     * Builds the price update actions of every variant.
+     *
+     * @param blackhole consumes the built update actions.
+     */
+    @Benchmark
+    public void buildProductVariantPricesUpdateActions(final Blackhole blackhole) {
+        for (int i = 0; i < oldVariants.size(); i++) {
+            blackhole.consume(ProductVariantUpdateActionUtils
+                .buildProductVariantPricesUpdateActions(oldVariants.get(i), newVariants.get(i)));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.commercetools.sync.benchmarks;
+
+import com.commercetools.sync.benchmarks.simulator.CtpSimulator;
+import com.commercetools.sync.benchmarks.simulator.CtpSimulatorBuilder;
+import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.products.PriceDraftBuilder;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductDraftBuilder;
+import io.sphere.sdk.products.ProductVariantDraftBuilder;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.utils.MoneyImpl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+import static io.sphere.sdk.models.DefaultCurrencyUnits.EUR;
+import static java.lang.String.format;
+
+/**
+ * Generates the drafts which the sync benchmarks sync into a {@link CtpSimulator} and reports the throughput of a
+ * simulated sync. A draft which is generated as {@code changed} differs from the unchanged draft of the same index
+ * in some of its values, so that syncing it into a project seeded with the unchanged drafts updates every resource.
+ *
+ * <p>The references of the generated drafts are given by the ids of the referenced resources, which are either the
+ * ids of the resources seeded into the simulator or, for the drafts which are synced, the keys of the referenced
+ * resources, since the syncs expect the keys of the references in their id fields.
+ */
+final class SimulatorFixtures {
+    static final String SCENARIO_CREATE = "create";
+    static final String SCENARIO_UPDATE = "update";
+
+    static final String PRODUCT_TYPE_KEY = "product-type-key";
+    static final String CHANNEL_KEY = "channel-key";
+    static final int PRODUCT_CATEGORY_COUNT = 100;
+    static final int CATEGORY_CHILDREN_COUNT = 10;
+
+    /**
+     * Builds a simulator, whose responses have the supplied latency.
+     *
+     * @param latencyMillis the latency of every response in milliseconds.
+     * @return the simulator.
+     */
+    @Nonnull
+    static CtpSimulator simulator(final int latencyMillis) {
+        return CtpSimulatorBuilder.of()
+                                  .latency(Duration.ofMillis(latencyMillis))
+                                  .build();
+    }
+
+    /**
+     * Generates the draft of the product with the supplied index. Every product has a master variant with a price
+     * and is in one of {@link #PRODUCT_CATEGORY_COUNT} categories.
+     *
+     * @param index           the index of the product.
+     * @param changed         whether to generate the changed values of the product.
+     * @param productType     the reference of the product type of the product.
+     * @param categoryOfIndex builds the reference of the category with the supplied index.
+     * @return the generated draft.
+     */
+    @Nonnull
+    static ProductDraft productDraft(final int index, final boolean changed,
+                                     @Nonnull final Reference<ProductType> productType,
+                                     @Nonnull final IntFunction<Reference<Category>> categoryOfIndex) {
+        final String key = "product-" + index;
+        return ProductDraftBuilder
+            .of(productType, LocalizedString.of(Locale.ENGLISH, changed ? "changed " + key : key),
+                LocalizedString.of(Locale.ENGLISH, key),
+                ProductVariantDraftBuilder.of()
+                                          .sku("sku-" + index)
+                                          .key("variant-" + index)
+                                          .prices(PriceDraftBuilder
+                                              .of(MoneyImpl.of(BigDecimal.valueOf(changed ? 1099 : 999, 2), EUR))
+                                              .build())
+                                          .build())
+            .key(key)
+            .categories(Collections.singleton(
+                categoryOfIndex.apply(index % PRODUCT_CATEGORY_COUNT).toResourceIdentifier()))
+            .build();
+    }
+
+    /**
+     * Generates the draft of the category with the supplied index. The categories form a tree, in which every
+     * category has {@link #CATEGORY_CHILDREN_COUNT} children, so the parent of a category always has a lower index.
+     *
+     * @param index    the index of the category.
+     * @param changed  whether to generate the changed values of the category.
+     * @param parentId the id of the parent of the category or {@code null} for the root category.
+     * @return the generated draft.
+     */
+    @Nonnull
+    static CategoryDraft categoryDraft(final int index, final boolean changed, @Nullable final String parentId) {
+        final String key = categoryKey(index);
+        return CategoryDraftBuilder
+            .of(LocalizedString.of(Locale.ENGLISH, key), LocalizedString.of(Locale.ENGLISH, key))
+            .key(key)
+            .description(LocalizedString.of(Locale.ENGLISH, changed ? "changed description" : "description"))
+            .parent(parentId == null ? null : Category.referenceOfId(parentId))
+            .build();
+    }
+
+    /**
+     * Gets the index of the parent of the category with the supplied index in the tree of the generated categories.
+     *
+     * @param index the index of the category.
+     * @return the index of the parent category or -1 for the root category.
+     */
+    static int parentIndex(final int index) {
+        return index == 0 ? -1 : (index - 1) / CATEGORY_CHILDREN_COUNT;
+    }
+
+    @Nonnull
+    static String categoryKey(final int index) {
+        return "category-" + index;
+    }
+
+    /**
+     * Generates the draft of the inventory entry with the supplied index.
+     *
+     * @param index         the index of the inventory entry.
+     * @param changed       whether to generate the changed values of the inventory entry.
+     * @param supplyChannel the reference of the supply channel of the inventory entry.
+     * @return the generated draft.
+     */
+    @Nonnull
+    static InventoryEntryDraft inventoryEntryDraft(final int index, final boolean changed,
+                                                   @Nonnull final Reference<Channel> supplyChannel) {
+        return InventoryEntryDraft.of("sku-" + index, changed ? 20L : 10L, null, null, supplyChannel);
+    }
+
+    /**
+     * Prints the throughput of a simulated sync and the requests it sent to the simulator, by HTTP method and
+     * endpoint.
+     *
+     * @param benchmark  the name and the parameters of the benchmark.
+     * @param statistics the statistics of the sync.
+     * @param simulator  the simulator the sync was run against.
+     */
+    static void report(@Nonnull final String benchmark, @Nonnull final BaseSyncStatistics statistics,
+                       @Nonnull final CtpSimulator simulator) {
+        final long millis = Math.max(1, statistics.getLatestBatchProcessingTimeInMillis());
+        System.out.println(format("%n%s: %d drafts in %d ms (%.0f drafts/s), %d requests %s, %d conflicts. %s",
+            benchmark, statistics.getProcessed(), millis, statistics.getProcessed() * 1000d / millis,
+            simulator.getRequestCount(), simulator.getRequestCounts(), simulator.getConflictCount(),
+            statistics.getReportMessage()));
+    }
+
+    private SimulatorFixtures() {
+    }
+}
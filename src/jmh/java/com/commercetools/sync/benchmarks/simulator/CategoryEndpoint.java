@@ -0,0 +1,56 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * The simulated {@code /categories} endpoint, which maintains the parent and the ancestors of the categories.
+ */
+final class CategoryEndpoint extends SimulatedEndpoint {
+
+    CategoryEndpoint(@Nonnull final CtpSimulator simulator) {
+        super("categories", "category", "key", true, simulator);
+    }
+
+    @Override
+    void buildResource(@Nonnull final ObjectNode draft, @Nonnull final ObjectNode resource) {
+        super.buildResource(draft, resource);
+        setParent(resource, draft.get("parent"));
+        final ArrayNode assets = resource.putArray("assets");
+        listOf(draft.get("assets")).forEach(asset -> {
+            final ObjectNode assetResource = ((ObjectNode) asset).deepCopy();
+            assetResource.put("id", UUID.randomUUID().toString());
+            setCustomFields(assetResource, asset.get("custom"));
+            assets.add(assetResource);
+        });
+    }
+
+    @Override
+    void applyAction(@Nonnull final ObjectNode resource, @Nonnull final String action,
+                     @Nonnull final ObjectNode payload) {
+        if ("changeParent".equals(action)) {
+            setParent(resource, payload.get("parent"));
+        } else {
+            super.applyAction(resource, action, payload);
+        }
+    }
+
+    private void setParent(@Nonnull final ObjectNode resource, @Nullable final JsonNode parentIdentifier) {
+        final ObjectNode parent = simulator.reference(parentIdentifier, "category");
+        final ArrayNode ancestors = JSON.arrayNode();
+        if (parent != null) {
+            final ObjectNode parentCategory = get(parent.get("id").asText());
+            if (parentCategory != null) {
+                ancestors.addAll(arrayOf(parentCategory.get("ancestors")));
+            }
+            ancestors.add(parent);
+        }
+        setField(resource, "parent", parent);
+        resource.set("ancestors", ancestors);
+    }
+}
@@ -0,0 +1,378 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.sphere.sdk.client.BadRequestException;
+import io.sphere.sdk.client.ConcurrentModificationException;
+import io.sphere.sdk.client.ErrorResponse;
+import io.sphere.sdk.client.NotFoundException;
+import io.sphere.sdk.client.ServiceUnavailableException;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpRequestIntent;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.http.StringHttpRequestBody;
+import io.sphere.sdk.json.SphereJsonUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.String.format;
+
+/**
+ * An in-process {@link SphereClient}, which simulates a CTP project in memory, so that the syncs can be run and
+ * measured end to end without a CTP project. It handles the requests on the HTTP level: it answers the HTTP request
+ * of every {@link SphereRequest} with the JSON that CTP would respond with, which is then deserialized by the request
+ * itself. So the requests, the serialization of the drafts and update actions, and the deserialization of the
+ * responses are the same as with a real client.
+ *
+ * <p>The simulator supports the endpoints of the products, categories, inventory entries, types, channels, states,
+ * tax categories and product types. It supports queries with the predicates that the services use (for example
+ * {@code key in (...)}, {@code sku in (...)} and the cursor predicates on the ids), the creation of resources from
+ * drafts and the update actions that the syncs build. Updates with an outdated version fail with a
+ * {@link ConcurrentModificationException}, which carries the current version of the resource.
+ *
+ * <p>The responses are delayed by the configured latency on a scheduler, so no thread is blocked while a request is
+ * in flight. Errors can be injected with a configured rate: a {@link ServiceUnavailableException} for any request
+ * and a {@link ConcurrentModificationException} for update requests. The simulator counts the requests by HTTP
+ * method and endpoint, for example {@code POST /products/{id}} for the product updates.
+ */
+public final class CtpSimulator implements SphereClient {
+    private static final SphereApiConfig CONFIG = SphereApiConfig.of("ctp-simulator");
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final Map<String, SimulatedEndpoint> endpointsByPath = new HashMap<>();
+    private final Map<String, SimulatedEndpoint> endpointsByTypeId = new HashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final long latencyNanos;
+    private final long latencyJitterNanos;
+    private final double errorRate;
+    private final double conflictRate;
+
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final LongAdder conflictCount = new LongAdder();
+    private final LongAdder injectedErrorCount = new LongAdder();
+
+    CtpSimulator(@Nonnull final CtpSimulatorBuilder builder) {
+        this.latencyNanos = builder.getLatency().toNanos();
+        this.latencyJitterNanos = builder.getLatencyJitter().toNanos();
+        this.errorRate = builder.getErrorRate();
+        this.conflictRate = builder.getConflictRate();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(builder.getThreads(), runnable -> {
+            final Thread thread = new Thread(runnable, "ctp-simulator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        addEndpoint(new ProductEndpoint(this));
+        addEndpoint(new CategoryEndpoint(this));
+        addEndpoint(new InventoryEntryEndpoint(this));
+        addEndpoint(new SimulatedEndpoint("types", "type", "key", true, this));
+        addEndpoint(new SimulatedEndpoint("channels", "channel", "key", true, this));
+        addEndpoint(new SimulatedEndpoint("states", "state", "key", true, this));
+        addEndpoint(new SimulatedEndpoint("tax-categories", "tax-category", "key", true, this));
+        addEndpoint(new SimulatedEndpoint("product-types", "product-type", "key", true, this));
+        addEndpoint(new SimulatedEndpoint("customer-groups", "customer-group", "key", true, this));
+    }
+
+    /**
+     * Creates a simulator without latency and without injected errors.
+     *
+     * @return the simulator.
+     */
+    @Nonnull
+    public static CtpSimulator of() {
+        return CtpSimulatorBuilder.of().build();
+    }
+
+    private void addEndpoint(@Nonnull final SimulatedEndpoint endpoint) {
+        endpointsByPath.put(endpoint.getPath(), endpoint);
+        endpointsByTypeId.put(endpoint.getTypeId(), endpoint);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final CompletableFuture<T> response = new CompletableFuture<>();
+        final Runnable handler = () -> {
+            try {
+                response.complete(handle(sphereRequest, true));
+            } catch (final Throwable exception) {
+                response.completeExceptionally(exception);
+            }
+        };
+        final long delayNanos = latencyNanos
+            + (latencyJitterNanos > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterNanos) : 0);
+        if (delayNanos > 0) {
+            scheduler.schedule(handler, delayNanos, TimeUnit.NANOSECONDS);
+        } else {
+            scheduler.execute(handler);
+        }
+        return response;
+    }
+
+    /**
+     * Executes the supplied request synchronously, without latency, without injected errors and without counting
+     * it. It's meant to set up the resources of a benchmark.
+     *
+     * @param sphereRequest the request to execute.
+     * @param <T>           the type of the result of the request.
+     * @return the result of the request.
+     */
+    public <T> T seed(@Nonnull final SphereRequest<T> sphereRequest) {
+        return handle(sphereRequest, false);
+    }
+
+    @Nonnull
+    private <T> T handle(@Nonnull final SphereRequest<T> sphereRequest, final boolean isSimulated) {
+        final HttpRequestIntent httpRequest = sphereRequest.httpRequestIntent();
+        final String[] pathAndQuery = httpRequest.getPath().split("\\?", 2);
+        final String[] pathSegments = pathAndQuery[0].replaceFirst("^/", "").split("/");
+        final SimulatedEndpoint endpoint = endpointsByPath.get(pathSegments[0]);
+        if (isSimulated) {
+            requestCounts.computeIfAbsent(format("%s /%s%s", httpRequest.getHttpMethod(), pathSegments[0],
+                pathSegments.length > 1 ? "/{id}" : ""), key -> new LongAdder()).increment();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrorCount.increment();
+                throw new ServiceUnavailableException();
+            }
+        }
+        if (endpoint == null) {
+            throw new BadRequestException(format("The endpoint '%s' isn't supported by the simulator.",
+                pathAndQuery[0]));
+        }
+
+        final JsonNode responseBody;
+        try {
+            responseBody = respond(endpoint, httpRequest, pathSegments,
+                pathAndQuery.length > 1 ? pathAndQuery[1] : "", isSimulated);
+        } catch (final VersionConflictException versionConflictException) {
+            conflictCount.increment();
+            throw concurrentModification(versionConflictException.getCurrentVersion());
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            throw new BadRequestException(illegalArgumentException.getMessage());
+        }
+        return sphereRequest.deserialize(HttpResponse.of(200, responseBody.toString()));
+    }
+
+    @Nonnull
+    private JsonNode respond(@Nonnull final SimulatedEndpoint endpoint, @Nonnull final HttpRequestIntent httpRequest,
+                             @Nonnull final String[] pathSegments, @Nonnull final String queryString,
+                             final boolean isSimulated) {
+        final HttpMethod httpMethod = httpRequest.getHttpMethod();
+        if (httpMethod == HttpMethod.GET && pathSegments.length == 1) {
+            return query(endpoint, parseQueryParameters(queryString));
+        }
+        if (httpMethod == HttpMethod.GET && pathSegments.length == 2) {
+            final ObjectNode resource = endpoint.get(pathSegments[1]);
+            if (resource == null) {
+                throw new NotFoundException();
+            }
+            return resource;
+        }
+        if (httpMethod == HttpMethod.POST && pathSegments.length == 1) {
+            return endpoint.create((ObjectNode) readBody(httpRequest));
+        }
+        if (httpMethod == HttpMethod.POST && pathSegments.length == 2) {
+            final JsonNode body = readBody(httpRequest);
+            final long version = body.get("version").asLong();
+            if (isSimulated && conflictRate > 0 && ThreadLocalRandom.current().nextDouble() < conflictRate) {
+                final ObjectNode resource = endpoint.get(pathSegments[1]);
+                throw new VersionConflictException(resource == null ? version : resource.get("version").asLong());
+            }
+            return endpoint.update(pathSegments[1], version, (ArrayNode) body.get("actions"));
+        }
+        throw new BadRequestException(format("The request '%s %s' isn't supported by the simulator.", httpMethod,
+            httpRequest.getPath()));
+    }
+
+    @Nonnull
+    private static JsonNode query(@Nonnull final SimulatedEndpoint endpoint,
+                                  @Nonnull final Map<String, List<String>> parameters) {
+        final List<String> sorts = parameters.getOrDefault("sort", new ArrayList<>());
+        if (sorts.stream().anyMatch(sort -> !sort.trim().equalsIgnoreCase("id asc"))) {
+            throw new IllegalArgumentException(format("The sort '%s' isn't supported by the simulator.", sorts));
+        }
+        final List<SimulatedPredicate> conditions = new ArrayList<>();
+        parameters.getOrDefault("where", new ArrayList<>())
+                  .forEach(predicate -> conditions.addAll(SimulatedPredicate.parse(predicate)));
+        return endpoint.query(conditions,
+            Integer.parseInt(getFirst(parameters, "limit", String.valueOf(DEFAULT_LIMIT))),
+            Integer.parseInt(getFirst(parameters, "offset", "0")),
+            Boolean.parseBoolean(getFirst(parameters, "withTotal", "true")));
+    }
+
+    @Nonnull
+    private static String getFirst(@Nonnull final Map<String, List<String>> parameters, @Nonnull final String name,
+                                   @Nonnull final String defaultValue) {
+        final List<String> values = parameters.get(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    @Nonnull
+    private static Map<String, List<String>> parseQueryParameters(@Nonnull final String queryString) {
+        final Map<String, List<String>> parameters = new HashMap<>();
+        for (String parameter : queryString.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            final String[] nameAndValue = parameter.split("=", 2);
+            parameters.computeIfAbsent(decode(nameAndValue[0]), name -> new ArrayList<>())
+                      .add(nameAndValue.length > 1 ? decode(nameAndValue[1]) : "");
+        }
+        return parameters;
+    }
+
+    @Nonnull
+    private static String decode(@Nonnull final String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException unsupportedEncodingException) {
+            throw new IllegalStateException(unsupportedEncodingException);
+        }
+    }
+
+    @Nonnull
+    private static JsonNode readBody(@Nonnull final HttpRequestIntent httpRequest) {
+        if (!(httpRequest.getBody() instanceof StringHttpRequestBody)) {
+            throw new BadRequestException(format("The request '%s %s' has no JSON body.",
+                httpRequest.getHttpMethod(), httpRequest.getPath()));
+        }
+        return SphereJsonUtils.parse(((StringHttpRequestBody) httpRequest.getBody()).getString());
+    }
+
+    @Nonnull
+    private static ConcurrentModificationException concurrentModification(final long currentVersion) {
+        final String message = format("Object has a different version than expected. Current version: %d.",
+            currentVersion);
+        final ObjectNode error = JsonNodeFactory.instance.objectNode();
+        error.put("code", "ConcurrentModification");
+        error.put("message", message);
+        error.put("currentVersion", currentVersion);
+        final ObjectNode errorResponse = JsonNodeFactory.instance.objectNode();
+        errorResponse.put("statusCode", 409);
+        errorResponse.put("message", message);
+        errorResponse.putArray("errors").add(error);
+        return new ConcurrentModificationException(
+            SphereJsonUtils.readObject(errorResponse.toString(), ErrorResponse.class));
+    }
+
+    /**
+     * Resolves the supplied resource identifier, which identifies a resource by its id or by its key, to a
+     * reference of the supplied type id.
+     *
+     * @param resourceIdentifier the JSON of the resource identifier or of a reference.
+     * @param typeId             the type id of the reference.
+     * @return the JSON of the reference or {@code null} if the supplied resource identifier is {@code null}.
+     * @throws BadRequestException if there is no resource with the key of the resource identifier.
+     */
+    @Nullable
+    ObjectNode reference(@Nullable final JsonNode resourceIdentifier, @Nonnull final String typeId) {
+        if (resourceIdentifier == null || resourceIdentifier.isNull()) {
+            return null;
+        }
+        String id = resourceIdentifier.path("id").asText(null);
+        if (id == null) {
+            final String key = resourceIdentifier.path("key").asText(null);
+            final SimulatedEndpoint endpoint = endpointsByTypeId.get(typeId);
+            id = key == null || endpoint == null ? null : endpoint.findId(key);
+            if (id == null) {
+                throw new BadRequestException(format("ReferencedResourceNotFound: There is no %s with the key '%s'.",
+                    typeId, key));
+            }
+        }
+        return JsonNodeFactory.instance.objectNode().put("typeId", typeId).put("id", id);
+    }
+
+    /**
+     * Gets the number of requests executed since the simulator was created or its counts were reset, by HTTP method
+     * and endpoint, for example {@code POST /products/{id}} for the product updates.
+     *
+     * @return the request counts sorted by HTTP method and endpoint.
+     */
+    @Nonnull
+    public Map<String, Long> getRequestCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        requestCounts.forEach((request, count) -> counts.put(request, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Gets the total number of requests executed since the simulator was created or its counts were reset.
+     *
+     * @return the total number of requests.
+     */
+    public long getRequestCount() {
+        return requestCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Gets the number of update requests which failed with a {@link ConcurrentModificationException}, including
+     * the injected ones.
+     *
+     * @return the number of version conflicts.
+     */
+    public long getConflictCount() {
+        return conflictCount.sum();
+    }
+
+    /**
+     * Gets the number of requests which failed with an injected {@link ServiceUnavailableException}.
+     *
+     * @return the number of injected errors.
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.sum();
+    }
+
+    /**
+     * Resets the request, conflict and error counts, for example after the resources of a benchmark were set up.
+     */
+    public void resetCounts() {
+        requestCounts.clear();
+        conflictCount.reset();
+        injectedErrorCount.reset();
+    }
+
+    /**
+     * Gets the number of resources of the supplied endpoint.
+     *
+     * @param path the path of the endpoint, for example {@code products}.
+     * @return the number of resources of the endpoint.
+     */
+    public int getResourceCount(@Nonnull final String path) {
+        final SimulatedEndpoint endpoint = endpointsByPath.get(path);
+        return endpoint == null ? 0 : endpoint.size();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+
+    @Override
+    public SphereApiConfig getConfig() {
+        return CONFIG;
+    }
+}
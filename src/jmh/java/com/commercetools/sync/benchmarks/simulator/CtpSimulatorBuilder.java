@@ -0,0 +1,114 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * Builds a {@link CtpSimulator} with a latency and rates of injected errors.
+ */
+public final class CtpSimulatorBuilder {
+    private Duration latency = Duration.ZERO;
+    private Duration latencyJitter = Duration.ZERO;
+    private double errorRate;
+    private double conflictRate;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private CtpSimulatorBuilder() {
+    }
+
+    @Nonnull
+    public static CtpSimulatorBuilder of() {
+        return new CtpSimulatorBuilder();
+    }
+
+    /**
+     * Sets the latency of every response of the simulator. It defaults to zero.
+     *
+     * @param latency the latency of every response.
+     * @return {@code this} builder.
+     */
+    @Nonnull
+    public CtpSimulatorBuilder latency(@Nonnull final Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Sets the upper bound of a random latency, which is added to the latency of every response. It defaults to
+     * zero.
+     *
+     * @param latencyJitter the upper bound of the random latency of every response.
+     * @return {@code this} builder.
+     */
+    @Nonnull
+    public CtpSimulatorBuilder latencyJitter(@Nonnull final Duration latencyJitter) {
+        this.latencyJitter = latencyJitter;
+        return this;
+    }
+
+    /**
+     * Sets the rate of the requests that fail with a {@code 503 Service Unavailable} error. It defaults to zero.
+     *
+     * @param errorRate the rate of failing requests, between 0 and 1.
+     * @return {@code this} builder.
+     */
+    @Nonnull
+    public CtpSimulatorBuilder errorRate(final double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Sets the rate of the update requests that fail with a {@code 409 ConcurrentModification} error, as if the
+     * resource had been updated concurrently. The version of the resource doesn't change, so the error carries the
+     * version that the update was sent with. It defaults to zero.
+     *
+     * @param conflictRate the rate of conflicting update requests, between 0 and 1.
+     * @return {@code this} builder.
+     */
+    @Nonnull
+    public CtpSimulatorBuilder conflictRate(final double conflictRate) {
+        this.conflictRate = conflictRate;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads which handle the requests and complete their responses. It defaults to the number
+     * of available processors.
+     *
+     * @param threads the number of threads of the simulator.
+     * @return {@code this} builder.
+     */
+    @Nonnull
+    public CtpSimulatorBuilder threads(final int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    @Nonnull
+    public CtpSimulator build() {
+        return new CtpSimulator(this);
+    }
+
+    @Nonnull
+    Duration getLatency() {
+        return latency;
+    }
+
+    @Nonnull
+    Duration getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    double getErrorRate() {
+        return errorRate;
+    }
+
+    double getConflictRate() {
+        return conflictRate;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+}
@@ -0,0 +1,46 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The simulated {@code /inventory} endpoint. The inventory entries are indexed by their SKUs, which, unlike keys,
+ * aren't unique across the supply channels.
+ */
+final class InventoryEntryEndpoint extends SimulatedEndpoint {
+
+    InventoryEntryEndpoint(@Nonnull final CtpSimulator simulator) {
+        super("inventory", "inventory-entry", "sku", false, simulator);
+    }
+
+    @Override
+    void buildResource(@Nonnull final ObjectNode draft, @Nonnull final ObjectNode resource) {
+        super.buildResource(draft, resource);
+        final long quantityOnStock = draft.path("quantityOnStock").asLong(0L);
+        resource.put("quantityOnStock", quantityOnStock);
+        resource.put("availableQuantity", quantityOnStock);
+        setField(resource, "supplyChannel", simulator.reference(draft.get("supplyChannel"), "channel"));
+    }
+
+    @Override
+    void applyAction(@Nonnull final ObjectNode resource, @Nonnull final String action,
+                     @Nonnull final ObjectNode payload) {
+        switch (action) {
+            case "changeQuantity":
+                final long quantity = payload.get("quantity").asLong();
+                final long reservedQuantity =
+                    resource.get("quantityOnStock").asLong() - resource.get("availableQuantity").asLong();
+                resource.put("quantityOnStock", quantity);
+                resource.put("availableQuantity", quantity - reservedQuantity);
+                break;
+            case "setSupplyChannel":
+                final JsonNode supplyChannel = payload.get("supplyChannel");
+                setField(resource, "supplyChannel", simulator.reference(supplyChannel, "channel"));
+                break;
+            default:
+                super.applyAction(resource, action, payload);
+        }
+    }
+}
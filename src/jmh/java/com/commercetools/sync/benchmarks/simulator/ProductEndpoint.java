@@ -0,0 +1,317 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.sphere.sdk.client.BadRequestException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static java.lang.String.format;
+
+/**
+ * The simulated {@code /products} endpoint. It maintains the current and the staged data of the products: the update
+ * actions of the product data change the staged data, unless their {@code staged} flag is {@code false}, and
+ * {@code publish} and {@code revertStagedChanges} copy the data from one projection to the other.
+ */
+final class ProductEndpoint extends SimulatedEndpoint {
+    private static final String[] PRODUCT_DATA_FIELDS = {"name", "slug", "description", "searchKeywords",
+        "metaTitle", "metaDescription", "metaKeywords"};
+
+    ProductEndpoint(@Nonnull final CtpSimulator simulator) {
+        super("products", "product", "key", true, simulator);
+    }
+
+    @Override
+    void buildResource(@Nonnull final ObjectNode draft, @Nonnull final ObjectNode resource) {
+        setField(resource, "key", draft.get("key"));
+        resource.set("productType", simulator.reference(draft.get("productType"), "product-type"));
+        setField(resource, "taxCategory", simulator.reference(draft.get("taxCategory"), "tax-category"));
+        setField(resource, "state", simulator.reference(draft.get("state"), "state"));
+
+        final ObjectNode productData = JSON.objectNode();
+        for (String field : PRODUCT_DATA_FIELDS) {
+            setField(productData, field, draft.get(field));
+        }
+        if (!productData.has("searchKeywords")) {
+            productData.putObject("searchKeywords");
+        }
+        final ArrayNode categories = productData.putArray("categories");
+        listOf(draft.get("categories")).forEach(category ->
+            categories.add(simulator.reference(category, "category")));
+        final JsonNode categoryOrderHints = draft.get("categoryOrderHints");
+        productData.set("categoryOrderHints",
+            categoryOrderHints == null || categoryOrderHints.isNull() ? JSON.objectNode() : categoryOrderHints);
+        productData.set("masterVariant", buildVariant(draft.path("masterVariant"), 1));
+        final ArrayNode variants = productData.putArray("variants");
+        final List<JsonNode> variantDrafts = listOf(draft.get("variants"));
+        for (int i = 0; i < variantDrafts.size(); i++) {
+            variants.add(buildVariant(variantDrafts.get(i), i + 2));
+        }
+
+        final ObjectNode masterData = resource.putObject("masterData");
+        masterData.set("current", productData.deepCopy());
+        masterData.set("staged", productData);
+        masterData.put("published", draft.path("publish").asBoolean(false));
+        masterData.put("hasStagedChanges", false);
+    }
+
+    @Override
+    void applyAction(@Nonnull final ObjectNode resource, @Nonnull final String action,
+                     @Nonnull final ObjectNode payload) {
+        final ObjectNode masterData = (ObjectNode) resource.get("masterData");
+        switch (action) {
+            case "setKey":
+                setField(resource, "key", payload.get("key"));
+                return;
+            case "setTaxCategory":
+                setField(resource, "taxCategory", simulator.reference(payload.get("taxCategory"), "tax-category"));
+                return;
+            case "transitionState":
+                setField(resource, "state", simulator.reference(payload.get("state"), "state"));
+                return;
+            case "publish":
+                masterData.set("current", masterData.get("staged").deepCopy());
+                masterData.put("published", true);
+                masterData.put("hasStagedChanges", false);
+                return;
+            case "unpublish":
+                masterData.put("published", false);
+                return;
+            case "revertStagedChanges":
+                masterData.set("staged", masterData.get("current").deepCopy());
+                masterData.put("hasStagedChanges", false);
+                return;
+            default:
+                break;
+        }
+
+        // The actions on the product data are applied to a copy of the action, whose new variants and prices have
+        // their ids already, so that both projections get the same ids if the action isn't staged.
+        final ObjectNode resolvedPayload = resolvePayload((ObjectNode) masterData.get("staged"), action, payload);
+        final boolean staged = payload.path("staged").asBoolean(true);
+        applyProductDataAction((ObjectNode) masterData.get("staged"), action, resolvedPayload);
+        if (staged) {
+            masterData.put("hasStagedChanges", true);
+        } else {
+            applyProductDataAction((ObjectNode) masterData.get("current"), action, resolvedPayload);
+        }
+    }
+
+    @Nonnull
+    private ObjectNode resolvePayload(@Nonnull final ObjectNode stagedData, @Nonnull final String action,
+                                      @Nonnull final ObjectNode payload) {
+        switch (action) {
+            case "addVariant":
+                final int variantId = getAllVariants(stagedData).stream()
+                                                                .mapToInt(variant -> variant.get("id").asInt())
+                                                                .max().orElse(0) + 1;
+                final ObjectNode addVariantPayload = payload.deepCopy();
+                addVariantPayload.set("variant", buildVariant(payload, variantId));
+                return addVariantPayload;
+            case "addPrice":
+                final ObjectNode addPricePayload = payload.deepCopy();
+                addPricePayload.set("price", buildPrice(payload.get("price"), UUID.randomUUID().toString()));
+                return addPricePayload;
+            case "changePrice":
+                final ObjectNode changePricePayload = payload.deepCopy();
+                changePricePayload.set("price", buildPrice(payload.get("price"), payload.get("priceId").asText()));
+                return changePricePayload;
+            case "addToCategory":
+                final ObjectNode addToCategoryPayload = payload.deepCopy();
+                addToCategoryPayload.set("category", simulator.reference(payload.get("category"), "category"));
+                return addToCategoryPayload;
+            default:
+                return payload;
+        }
+    }
+
+    private void applyProductDataAction(@Nonnull final ObjectNode productData, @Nonnull final String action,
+                                        @Nonnull final ObjectNode payload) {
+        switch (action) {
+            case "addToCategory":
+                final String categoryId = payload.get("category").get("id").asText();
+                if (!containsCategory(productData, categoryId)) {
+                    ((ArrayNode) productData.get("categories")).add(payload.get("category"));
+                }
+                setField((ObjectNode) productData.get("categoryOrderHints"), categoryId, payload.get("orderHint"));
+                break;
+            case "removeFromCategory":
+                final String removedCategoryId = payload.get("category").get("id").asText();
+                removeIf((ArrayNode) productData.get("categories"),
+                    category -> category.get("id").asText().equals(removedCategoryId));
+                ((ObjectNode) productData.get("categoryOrderHints")).remove(removedCategoryId);
+                break;
+            case "setCategoryOrderHint":
+                setField((ObjectNode) productData.get("categoryOrderHints"), payload.get("categoryId").asText(),
+                    payload.get("orderHint"));
+                break;
+            case "addVariant":
+                ((ArrayNode) productData.get("variants")).add(payload.get("variant").deepCopy());
+                break;
+            case "removeVariant":
+                final ObjectNode removedVariant = findVariant(productData, payload.get("id"), payload.get("sku"));
+                removeIf((ArrayNode) productData.get("variants"), variant -> variant == removedVariant);
+                break;
+            case "changeMasterVariant":
+                changeMasterVariant(productData, findVariant(productData, payload.get("variantId"),
+                    payload.get("sku")));
+                break;
+            case "setAttributeInAllVariants":
+                getAllVariants(productData).forEach(variant -> setAttribute(variant, payload));
+                break;
+            case "setAttribute":
+                setAttribute(findVariant(productData, payload), payload);
+                break;
+            case "addExternalImage":
+                findVariant(productData, payload).withArray("images").add(payload.get("image"));
+                break;
+            case "removeImage":
+                final String removedImageUrl = payload.get("imageUrl").asText();
+                removeIf(findVariant(productData, payload).withArray("images"),
+                    image -> image.get("url").asText().equals(removedImageUrl));
+                break;
+            case "moveImageToPosition":
+                moveImageToPosition(findVariant(productData, payload).withArray("images"),
+                    payload.get("imageUrl").asText(), payload.get("position").asInt());
+                break;
+            case "addPrice":
+                findVariant(productData, payload).withArray("prices").add(payload.get("price").deepCopy());
+                break;
+            case "changePrice":
+            case "removePrice":
+                final String priceId = payload.get("priceId").asText();
+                for (ObjectNode variant : getAllVariants(productData)) {
+                    final ArrayNode prices = variant.withArray("prices");
+                    for (int i = 0; i < prices.size(); i++) {
+                        if (prices.get(i).get("id").asText().equals(priceId)) {
+                            if ("changePrice".equals(action)) {
+                                prices.set(i, payload.get("price").deepCopy());
+                            } else {
+                                prices.remove(i);
+                            }
+                            return;
+                        }
+                    }
+                }
+                throw new BadRequestException(format("InvalidOperation: There is no price with the id '%s'.",
+                    priceId));
+            case "setSku":
+                setField(findVariant(productData, payload), "sku", payload.get("sku"));
+                break;
+            case "setProductVariantKey":
+                setField(findVariant(productData, payload), "key", payload.get("key"));
+                break;
+            default:
+                setFieldOfAction(productData, action, payload);
+        }
+    }
+
+    @Nonnull
+    private ObjectNode buildVariant(@Nonnull final JsonNode variantDraft, final int variantId) {
+        final ObjectNode variant = JSON.objectNode();
+        variant.put("id", variantId);
+        setField(variant, "sku", variantDraft.get("sku"));
+        setField(variant, "key", variantDraft.get("key"));
+        final ArrayNode prices = variant.putArray("prices");
+        listOf(variantDraft.get("prices")).forEach(price ->
+            prices.add(buildPrice(price, UUID.randomUUID().toString())));
+        variant.set("images", arrayOf(variantDraft.get("images")));
+        variant.set("attributes", arrayOf(variantDraft.get("attributes")));
+        variant.set("assets", arrayOf(variantDraft.get("assets")));
+        return variant;
+    }
+
+    @Nonnull
+    private ObjectNode buildPrice(@Nonnull final JsonNode priceDraft, @Nonnull final String priceId) {
+        final ObjectNode price = ((ObjectNode) priceDraft).deepCopy();
+        price.put("id", priceId);
+        setField(price, "customerGroup", simulator.reference(priceDraft.get("customerGroup"), "customer-group"));
+        setField(price, "channel", simulator.reference(priceDraft.get("channel"), "channel"));
+        setCustomFields(price, priceDraft.get("custom"));
+        return price;
+    }
+
+    private static void setAttribute(@Nonnull final ObjectNode variant, @Nonnull final ObjectNode payload) {
+        final String name = payload.get("name").asText();
+        final ArrayNode attributes = variant.withArray("attributes");
+        removeIf(attributes, attribute -> attribute.get("name").asText().equals(name));
+        final JsonNode value = payload.get("value");
+        if (value != null && !value.isNull()) {
+            attributes.add(JSON.objectNode().put("name", name).set("value", value));
+        }
+    }
+
+    private static void moveImageToPosition(@Nonnull final ArrayNode images, @Nonnull final String imageUrl,
+                                            final int position) {
+        for (int i = 0; i < images.size(); i++) {
+            if (images.get(i).get("url").asText().equals(imageUrl)) {
+                final JsonNode image = images.remove(i);
+                images.insert(position, image);
+                return;
+            }
+        }
+        throw new BadRequestException(format("InvalidOperation: There is no image with the url '%s'.", imageUrl));
+    }
+
+    private static void changeMasterVariant(@Nonnull final ObjectNode productData,
+                                            @Nonnull final ObjectNode newMasterVariant) {
+        final JsonNode oldMasterVariant = productData.get("masterVariant");
+        if (oldMasterVariant == newMasterVariant) {
+            return;
+        }
+        final ArrayNode variants = (ArrayNode) productData.get("variants");
+        removeIf(variants, variant -> variant == newMasterVariant);
+        variants.add(oldMasterVariant);
+        productData.set("masterVariant", newMasterVariant);
+    }
+
+    @Nonnull
+    private static ObjectNode findVariant(@Nonnull final ObjectNode productData, @Nonnull final ObjectNode payload) {
+        return findVariant(productData, payload.get("variantId"), payload.get("sku"));
+    }
+
+    @Nonnull
+    private static ObjectNode findVariant(@Nonnull final ObjectNode productData, @Nullable final JsonNode variantId,
+                                          @Nullable final JsonNode sku) {
+        for (ObjectNode variant : getAllVariants(productData)) {
+            if (variantId != null && !variantId.isNull()
+                ? variant.get("id").asInt() == variantId.asInt()
+                : sku != null && sku.asText().equals(variant.path("sku").asText(null))) {
+                return variant;
+            }
+        }
+        throw new BadRequestException(format("InvalidOperation: There is no variant with the id '%s' or the sku "
+            + "'%s'.", variantId, sku));
+    }
+
+    @Nonnull
+    private static List<ObjectNode> getAllVariants(@Nonnull final ObjectNode productData) {
+        final List<ObjectNode> variants = new ArrayList<>();
+        variants.add((ObjectNode) productData.get("masterVariant"));
+        productData.get("variants").forEach(variant -> variants.add((ObjectNode) variant));
+        return variants;
+    }
+
+    private static boolean containsCategory(@Nonnull final ObjectNode productData, @Nonnull final String categoryId) {
+        for (JsonNode category : productData.get("categories")) {
+            if (category.get("id").asText().equals(categoryId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void removeIf(@Nonnull final ArrayNode array, @Nonnull final Predicate<JsonNode> predicate) {
+        for (int i = array.size() - 1; i >= 0; i--) {
+            if (predicate.test(array.get(i))) {
+                array.remove(i);
+            }
+        }
+    }
+}
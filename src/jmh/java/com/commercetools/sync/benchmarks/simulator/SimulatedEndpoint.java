@@ -0,0 +1,387 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.sphere.sdk.client.BadRequestException;
+import io.sphere.sdk.client.NotFoundException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * An in-memory CTP endpoint, for example {@code /categories}, which stores the JSON representation of its resources
+ * sorted by their ids. Resources are created from the JSON of their drafts and updated by applying the JSON of the
+ * update actions of an update command, with the same optimistic concurrency control as CTP: an update with an
+ * outdated version fails with a 409 {@code ConcurrentModification} error.
+ *
+ * <p>This class stores the resources generically and applies the update actions that every resource supports. The
+ * subclasses build the resources of their drafts and apply their resource-specific update actions.
+ */
+class SimulatedEndpoint {
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private final String path;
+    private final String typeId;
+    private final String indexedField;
+    private final boolean uniqueIndex;
+    private final ConcurrentSkipListMap<String, StoredResource> resources = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> index = new ConcurrentHashMap<>();
+    final CtpSimulator simulator;
+
+    /**
+     * Creates an endpoint, whose resources are indexed by the supplied field, so that the services can query them by
+     * its values efficiently.
+     *
+     * @param path         the path of the endpoint, for example {@code categories}.
+     * @param typeId       the type id of the references to the resources of the endpoint.
+     * @param indexedField the field to index the resources by.
+     * @param uniqueIndex  whether the values of the indexed field are unique, like the keys of the resources.
+     * @param simulator    the simulator the endpoint belongs to.
+     */
+    SimulatedEndpoint(@Nonnull final String path, @Nonnull final String typeId, @Nonnull final String indexedField,
+                      final boolean uniqueIndex, @Nonnull final CtpSimulator simulator) {
+        this.path = path;
+        this.typeId = typeId;
+        this.indexedField = indexedField;
+        this.uniqueIndex = uniqueIndex;
+        this.simulator = simulator;
+    }
+
+    @Nonnull
+    String getPath() {
+        return path;
+    }
+
+    @Nonnull
+    String getTypeId() {
+        return typeId;
+    }
+
+    int size() {
+        return resources.size();
+    }
+
+    @Nullable
+    ObjectNode get(@Nonnull final String id) {
+        final StoredResource storedResource = resources.get(id);
+        return storedResource == null ? null : storedResource.json;
+    }
+
+    /**
+     * Gets the id of the resource with the supplied {@code value} of the indexed field, which is the key for all the
+     * endpoints with keys.
+     *
+     * @param value the value of the indexed field.
+     * @return the id of the resource or {@code null} if there is none.
+     */
+    @Nullable
+    String findId(@Nonnull final String value) {
+        final Set<String> ids = index.get(value);
+        return ids == null || ids.isEmpty() ? null : ids.iterator().next();
+    }
+
+    /**
+     * Creates a resource from the supplied draft.
+     *
+     * @param draft the JSON of the draft of the resource.
+     * @return the JSON of the created resource.
+     * @throws BadRequestException if another resource has the same value of the unique indexed field.
+     */
+    @Nonnull
+    ObjectNode create(@Nonnull final ObjectNode draft) {
+        final ObjectNode resource = JSON.objectNode();
+        resource.put("id", UUID.randomUUID().toString());
+        resource.put("version", 1L);
+        final String timestamp = timestamp();
+        resource.put("createdAt", timestamp);
+        resource.put("lastModifiedAt", timestamp);
+        buildResource(draft, resource);
+
+        final String indexedValue = getIndexedValue(resource);
+        if (uniqueIndex && indexedValue != null) {
+            synchronized (index) {
+                if (findId(indexedValue) != null) {
+                    throw new BadRequestException(format("DuplicateField: A %s with the %s '%s' already exists.",
+                        typeId, indexedField, indexedValue));
+                }
+                addToIndex(indexedValue, resource.get("id").asText());
+            }
+        } else if (indexedValue != null) {
+            addToIndex(indexedValue, resource.get("id").asText());
+        }
+        resources.put(resource.get("id").asText(), new StoredResource(resource));
+        return resource;
+    }
+
+    /**
+     * Applies the supplied update actions to the resource with the supplied id. The actions are applied to a copy
+     * of the resource, which replaces the resource only if no other update replaced it in the meantime.
+     *
+     * @param id      the id of the resource to update.
+     * @param version the version of the resource that the actions were built for.
+     * @param actions the JSON of the update actions.
+     * @return the JSON of the updated resource.
+     * @throws NotFoundException           if there is no resource with the supplied id.
+     * @throws VersionConflictException    if the resource has another version than the supplied one.
+     * @throws BadRequestException         if an update action isn't supported by the simulator.
+     */
+    @Nonnull
+    ObjectNode update(@Nonnull final String id, final long version, @Nonnull final ArrayNode actions) {
+        while (true) {
+            final StoredResource storedResource = resources.get(id);
+            if (storedResource == null) {
+                throw new NotFoundException();
+            }
+            final long currentVersion = storedResource.json.get("version").asLong();
+            if (currentVersion != version) {
+                throw new VersionConflictException(currentVersion);
+            }
+            final ObjectNode resource = storedResource.json.deepCopy();
+            for (JsonNode action : actions) {
+                applyAction(resource, action.get("action").asText(), (ObjectNode) action);
+            }
+            resource.put("version", currentVersion + 1);
+            resource.put("lastModifiedAt", timestamp());
+            if (resources.replace(id, storedResource, new StoredResource(resource))) {
+                final String oldIndexedValue = getIndexedValue(storedResource.json);
+                final String newIndexedValue = getIndexedValue(resource);
+                if (oldIndexedValue != null && !oldIndexedValue.equals(newIndexedValue)) {
+                    index.getOrDefault(oldIndexedValue, Collections.emptySet()).remove(id);
+                }
+                if (newIndexedValue != null && !newIndexedValue.equals(oldIndexedValue)) {
+                    addToIndex(newIndexedValue, id);
+                }
+                return resource;
+            }
+        }
+    }
+
+    /**
+     * Queries the resources which satisfy all the supplied conditions, sorted by their ids. The conditions on the
+     * indexed field and the lower bounds of the id are answered from the index and the sorted ids, so that querying
+     * by keys or by cursor doesn't scan all the resources.
+     *
+     * @param conditions the conditions the resources have to satisfy.
+     * @param limit      the maximum number of resources to return.
+     * @param offset     the number of matching resources to skip.
+     * @param withTotal  whether to count all the matching resources.
+     * @return the JSON of the paged query result.
+     */
+    @Nonnull
+    ObjectNode query(@Nonnull final List<SimulatedPredicate> conditions, final int limit, final int offset,
+                     final boolean withTotal) {
+        final List<ObjectNode> matchingResources = getCandidates(conditions)
+            .stream()
+            .map(storedResource -> storedResource.json)
+            .filter(resource -> conditions.stream().allMatch(condition -> condition.test(resource)))
+            .collect(Collectors.toList());
+
+        final ObjectNode result = JSON.objectNode();
+        result.put("offset", offset);
+        result.put("limit", limit);
+        final ArrayNode results = result.putArray("results");
+        matchingResources.stream().skip(offset).limit(limit).forEach(results::add);
+        result.put("count", results.size());
+        if (withTotal) {
+            result.put("total", matchingResources.size());
+        }
+        return result;
+    }
+
+    @Nonnull
+    private Collection<StoredResource> getCandidates(@Nonnull final List<SimulatedPredicate> conditions) {
+        for (SimulatedPredicate condition : conditions) {
+            if (condition.getPath().equals(indexedField) && (condition.getOperator() == SimulatedPredicate.Operator.IN
+                || condition.getOperator() == SimulatedPredicate.Operator.EQUALS)) {
+                return condition.getValues().stream()
+                                .flatMap(value -> index.getOrDefault(value.asText(), Collections.emptySet()).stream())
+                                .distinct()
+                                .sorted()
+                                .map(resources::get)
+                                .filter(storedResource -> storedResource != null)
+                                .collect(Collectors.toList());
+            }
+        }
+        for (SimulatedPredicate condition : conditions) {
+            if (condition.getPath().equals("id")) {
+                final String id = condition.getValues().get(0).asText();
+                if (condition.getOperator() == SimulatedPredicate.Operator.GREATER) {
+                    return resources.tailMap(id, false).values();
+                }
+                if (condition.getOperator() == SimulatedPredicate.Operator.GREATER_OR_EQUAL) {
+                    return resources.tailMap(id, true).values();
+                }
+            }
+        }
+        return resources.values();
+    }
+
+    /**
+     * Builds the resource of the supplied draft. The id, the version and the timestamps of the resource are already
+     * set. By default, all the fields of the draft are copied and the custom fields are converted to the custom
+     * fields of a resource.
+     *
+     * @param draft    the JSON of the draft.
+     * @param resource the JSON of the resource to build.
+     */
+    void buildResource(@Nonnull final ObjectNode draft, @Nonnull final ObjectNode resource) {
+        draft.fields().forEachRemaining(field -> resource.set(field.getKey(), field.getValue()));
+        setCustomFields(resource, draft.get("custom"));
+    }
+
+    /**
+     * Applies the supplied update action to the supplied resource. This method supports the custom type and custom
+     * field actions and all the actions which set a field of the resource, whose names are "set" or "change"
+     * followed by the name of the field, like {@code setKey} or {@code changeName}.
+     *
+     * @param resource the JSON of the resource to update.
+     * @param action   the name of the update action.
+     * @param payload  the JSON of the update action.
+     * @throws BadRequestException if the update action isn't supported.
+     */
+    void applyAction(@Nonnull final ObjectNode resource, @Nonnull final String action,
+                     @Nonnull final ObjectNode payload) {
+        switch (action) {
+            case "setCustomType":
+                setCustomFields(resource, payload.hasNonNull("type") ? payload : null);
+                break;
+            case "setCustomField":
+                final JsonNode custom = resource.get("custom");
+                if (custom == null || custom.isNull()) {
+                    throw new BadRequestException("InvalidOperation: The resource has no custom type.");
+                }
+                setField((ObjectNode) custom.get("fields"), payload.get("name").asText(), payload.get("value"));
+                break;
+            default:
+                setFieldOfAction(resource, action, payload);
+        }
+    }
+
+    /**
+     * Sets the field of the supplied {@code node} which the supplied "set" or "change" update action sets to the
+     * value of the action.
+     *
+     * @param node    the JSON node to update.
+     * @param action  the name of the update action.
+     * @param payload the JSON of the update action.
+     * @throws BadRequestException if the name of the action doesn't start with "set" or "change".
+     */
+    static void setFieldOfAction(@Nonnull final ObjectNode node, @Nonnull final String action,
+                                 @Nonnull final ObjectNode payload) {
+        final String fieldName;
+        if (action.startsWith("set")) {
+            fieldName = action.substring("set".length());
+        } else if (action.startsWith("change")) {
+            fieldName = action.substring("change".length());
+        } else {
+            throw new BadRequestException(format("InvalidInput: The update action '%s' isn't supported by the "
+                + "simulator.", action));
+        }
+        final String field = Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
+        setField(node, field, payload.get(field));
+    }
+
+    /**
+     * Sets the supplied field of the supplied {@code node} to the supplied value or removes it if the value is
+     * {@code null}.
+     *
+     * @param node  the JSON node to update.
+     * @param field the name of the field.
+     * @param value the new value of the field.
+     */
+    static void setField(@Nonnull final ObjectNode node, @Nonnull final String field,
+                         @Nullable final JsonNode value) {
+        if (value == null || value.isNull()) {
+            node.remove(field);
+        } else {
+            node.set(field, value);
+        }
+    }
+
+    /**
+     * Sets the custom fields of the supplied {@code node} from the supplied custom fields draft, which references its
+     * type by id or by key, or removes them if the draft is {@code null}.
+     *
+     * @param node         the JSON node to update.
+     * @param customFields the JSON of the custom fields draft or of the payload of a {@code setCustomType} action.
+     */
+    void setCustomFields(@Nonnull final ObjectNode node, @Nullable final JsonNode customFields) {
+        if (customFields == null || customFields.isNull()) {
+            node.remove("custom");
+            return;
+        }
+        final ObjectNode custom = JSON.objectNode();
+        custom.set("type", simulator.reference(customFields.get("type"), "type"));
+        final JsonNode fields = customFields.get("fields");
+        final ObjectNode customFieldValues = custom.putObject("fields");
+        if (fields != null && fields.isObject()) {
+            fields.fields().forEachRemaining(field -> setField(customFieldValues, field.getKey(), field.getValue()));
+        }
+        node.set("custom", custom);
+    }
+
+    @Nonnull
+    static ArrayNode arrayOf(@Nullable final JsonNode node) {
+        final ArrayNode array = JSON.arrayNode();
+        if (node != null && node.isArray()) {
+            node.forEach(array::add);
+        }
+        return array;
+    }
+
+    @Nonnull
+    static List<JsonNode> listOf(@Nullable final JsonNode node) {
+        final List<JsonNode> list = new ArrayList<>();
+        if (node != null && node.isArray()) {
+            node.forEach(list::add);
+        }
+        return list;
+    }
+
+    @Nonnull
+    private static String timestamp() {
+        return TIMESTAMP_FORMATTER.format(ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Nullable
+    private String getIndexedValue(@Nonnull final JsonNode resource) {
+        final JsonNode value = resource.get(indexedField);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private void addToIndex(@Nonnull final String value, @Nonnull final String id) {
+        index.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    /**
+     * Holds the JSON of a stored resource, so that replacing a resource compares the stored instances instead of
+     * their JSON.
+     */
+    private static final class StoredResource {
+        private final ObjectNode json;
+
+        private StoredResource(@Nonnull final ObjectNode json) {
+            this.json = json;
+        }
+    }
+}
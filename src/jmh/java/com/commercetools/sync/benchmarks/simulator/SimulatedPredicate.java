@@ -0,0 +1,308 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.lang.String.format;
+
+/**
+ * A condition of a CTP query predicate on a field of a resource, for example {@code key in ("key1", "key2")} or
+ * {@code id > "id1"}. The simulator supports the subset of the predicate language that the services of the library
+ * use: conjunctions of comparisons, {@code in}, {@code not in}, {@code is defined}, {@code is not defined} and
+ * {@code contains any} conditions on (dotted) field paths of the resources.
+ */
+final class SimulatedPredicate implements Predicate<JsonNode> {
+    enum Operator {
+        EQUALS, NOT_EQUALS, GREATER, GREATER_OR_EQUAL, LESS, LESS_OR_EQUAL, IN, NOT_IN, DEFINED, NOT_DEFINED,
+        CONTAINS_ANY
+    }
+
+    private final String path;
+    private final Operator operator;
+    private final List<JsonNode> values;
+
+    private SimulatedPredicate(@Nonnull final String path, @Nonnull final Operator operator,
+                               @Nonnull final List<JsonNode> values) {
+        this.path = path;
+        this.operator = operator;
+        this.values = values;
+    }
+
+    /**
+     * Parses the supplied CTP query predicate into the conditions it consists of.
+     *
+     * @param predicate the query predicate to parse.
+     * @return the conditions of the predicate, which all have to be satisfied.
+     * @throws IllegalArgumentException if the predicate isn't supported by the simulator.
+     */
+    @Nonnull
+    static List<SimulatedPredicate> parse(@Nonnull final String predicate) {
+        return new Parser(predicate).parseConjunction();
+    }
+
+    @Nonnull
+    String getPath() {
+        return path;
+    }
+
+    @Nonnull
+    Operator getOperator() {
+        return operator;
+    }
+
+    @Nonnull
+    List<JsonNode> getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean test(@Nonnull final JsonNode resource) {
+        final JsonNode field = getField(resource);
+        switch (operator) {
+            case DEFINED:
+                return field != null;
+            case NOT_DEFINED:
+                return field == null;
+            case IN:
+                return field != null && values.stream().anyMatch(value -> compare(field, value) == 0);
+            case NOT_IN:
+                return field == null || values.stream().noneMatch(value -> compare(field, value) == 0);
+            case CONTAINS_ANY:
+                if (field == null || !field.isArray()) {
+                    return false;
+                }
+                for (JsonNode element : field) {
+                    if (values.stream().anyMatch(value -> compare(element, value) == 0)) {
+                        return true;
+                    }
+                }
+                return false;
+            case NOT_EQUALS:
+                return field == null || compare(field, values.get(0)) != 0;
+            default:
+                return field != null && testComparison(compare(field, values.get(0)));
+        }
+    }
+
+    private boolean testComparison(final int comparison) {
+        switch (operator) {
+            case EQUALS:
+                return comparison == 0;
+            case GREATER:
+                return comparison > 0;
+            case GREATER_OR_EQUAL:
+                return comparison >= 0;
+            case LESS:
+                return comparison < 0;
+            default:
+                return comparison <= 0;
+        }
+    }
+
+    @Nullable
+    private JsonNode getField(@Nonnull final JsonNode resource) {
+        JsonNode field = resource;
+        for (String fieldName : path.split("\\.")) {
+            field = field.get(fieldName);
+            if (field == null || field.isNull()) {
+                return null;
+            }
+        }
+        return field;
+    }
+
+    private static int compare(@Nonnull final JsonNode field, @Nonnull final JsonNode value) {
+        if (field.isNumber() && value.isNumber()) {
+            return field.decimalValue().compareTo(value.decimalValue());
+        }
+        return field.asText().compareTo(value.asText());
+    }
+
+    private static final class Parser {
+        private final String predicate;
+        private int position;
+
+        private Parser(@Nonnull final String predicate) {
+            this.predicate = predicate;
+        }
+
+        @Nonnull
+        private List<SimulatedPredicate> parseConjunction() {
+            final List<SimulatedPredicate> conditions = new ArrayList<>();
+            conditions.add(parseCondition());
+            while (acceptWord("and")) {
+                conditions.add(parseCondition());
+            }
+            skipWhitespace();
+            if (position < predicate.length()) {
+                throw unsupported();
+            }
+            return conditions;
+        }
+
+        @Nonnull
+        private SimulatedPredicate parseCondition() {
+            final String path = parsePath();
+            if (acceptWord("is")) {
+                final boolean negated = acceptWord("not");
+                expectWord("defined");
+                return new SimulatedPredicate(path, negated ? Operator.NOT_DEFINED : Operator.DEFINED,
+                    new ArrayList<>());
+            }
+            if (acceptWord("not")) {
+                expectWord("in");
+                return new SimulatedPredicate(path, Operator.NOT_IN, parseValueList());
+            }
+            if (acceptWord("in")) {
+                return new SimulatedPredicate(path, Operator.IN, parseValueList());
+            }
+            if (acceptWord("contains")) {
+                expectWord("any");
+                return new SimulatedPredicate(path, Operator.CONTAINS_ANY, parseValueList());
+            }
+            final Operator operator = parseComparisonOperator();
+            final List<JsonNode> values = new ArrayList<>();
+            values.add(parseValue());
+            return new SimulatedPredicate(path, operator, values);
+        }
+
+        @Nonnull
+        private Operator parseComparisonOperator() {
+            if (accept("!=") || accept("<>")) {
+                return Operator.NOT_EQUALS;
+            }
+            if (accept(">=")) {
+                return Operator.GREATER_OR_EQUAL;
+            }
+            if (accept("<=")) {
+                return Operator.LESS_OR_EQUAL;
+            }
+            if (accept("=")) {
+                return Operator.EQUALS;
+            }
+            if (accept(">")) {
+                return Operator.GREATER;
+            }
+            if (accept("<")) {
+                return Operator.LESS;
+            }
+            throw unsupported();
+        }
+
+        @Nonnull
+        private List<JsonNode> parseValueList() {
+            if (!accept("(")) {
+                throw unsupported();
+            }
+            final List<JsonNode> values = new ArrayList<>();
+            if (accept(")")) {
+                return values;
+            }
+            do {
+                values.add(parseValue());
+            } while (accept(","));
+            if (!accept(")")) {
+                throw unsupported();
+            }
+            return values;
+        }
+
+        @Nonnull
+        private JsonNode parseValue() {
+            skipWhitespace();
+            if (accept("\"")) {
+                final StringBuilder value = new StringBuilder();
+                while (position < predicate.length() && predicate.charAt(position) != '"') {
+                    if (predicate.charAt(position) == '\\' && position + 1 < predicate.length()) {
+                        position++;
+                    }
+                    value.append(predicate.charAt(position++));
+                }
+                if (!accept("\"")) {
+                    throw unsupported();
+                }
+                return TextNode.valueOf(value.toString());
+            }
+            if (acceptWord("true")) {
+                return BooleanNode.TRUE;
+            }
+            if (acceptWord("false")) {
+                return BooleanNode.FALSE;
+            }
+            final int start = position;
+            while (position < predicate.length() && isNumberCharacter(predicate.charAt(position))) {
+                position++;
+            }
+            try {
+                return DecimalNode.valueOf(new BigDecimal(predicate.substring(start, position)));
+            } catch (NumberFormatException numberFormatException) {
+                throw unsupported();
+            }
+        }
+
+        private static boolean isNumberCharacter(final char character) {
+            return Character.isDigit(character) || "-+.eE".indexOf(character) >= 0;
+        }
+
+        @Nonnull
+        private String parsePath() {
+            skipWhitespace();
+            final int start = position;
+            while (position < predicate.length() && (Character.isJavaIdentifierPart(predicate.charAt(position))
+                || predicate.charAt(position) == '.')) {
+                position++;
+            }
+            if (start == position) {
+                throw unsupported();
+            }
+            return predicate.substring(start, position);
+        }
+
+        private boolean accept(@Nonnull final String token) {
+            skipWhitespace();
+            if (predicate.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptWord(@Nonnull final String word) {
+            skipWhitespace();
+            final int end = position + word.length();
+            if (predicate.regionMatches(true, position, word, 0, word.length())
+                && (end == predicate.length() || !Character.isJavaIdentifierPart(predicate.charAt(end)))) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private void expectWord(@Nonnull final String word) {
+            if (!acceptWord(word)) {
+                throw unsupported();
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < predicate.length() && Character.isWhitespace(predicate.charAt(position))) {
+                position++;
+            }
+        }
+
+        @Nonnull
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException(format("The query predicate '%s' isn't supported by the simulator "
+                + "(at position %d).", predicate, position));
+        }
+    }
+}
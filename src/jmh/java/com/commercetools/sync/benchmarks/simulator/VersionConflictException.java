@@ -0,0 +1,21 @@
+package com.commercetools.sync.benchmarks.simulator;
+
+/**
+ * Thrown by a {@link SimulatedEndpoint} if an update command has another version than the resource it updates. The
+ * {@link CtpSimulator} responds to it with a 409 {@code ConcurrentModification} error, which carries the current
+ * version of the resource like the errors of CTP do.
+ */
+final class VersionConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long currentVersion;
+
+    VersionConflictException(final long currentVersion) {
+        super("ConcurrentModification: The resource has the version " + currentVersion + ".");
+        this.currentVersion = currentVersion;
+    }
+
+    long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,72 @@
+package com.commercetools.sync.categories;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state of a single batch of a {@link CategorySync}. A new context is created for each batch and passed through
+ * the stages of the batch, instead of keeping this state in fields of the sync, so that batches and sync instances
+ * don't share it. All the collections are thread-safe, since they are filled from the callbacks of the CTP requests.
+ */
+final class CategoryBatchContext {
+    private final Set<CategoryDraft> newCategoryDrafts = ConcurrentHashMap.newKeySet();
+    private final Set<CategoryDraft> referencesResolvedDrafts = ConcurrentHashMap.newKeySet();
+    private final Set<String> categoryKeysWithResolvedParents = ConcurrentHashMap.newKeySet();
+    private final Set<String> categoryKeysToFetch = ConcurrentHashMap.newKeySet();
+    private final Map<CategoryDraft, Category> categoryDraftsToUpdate = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the drafts with resolved references of the categories that don't exist yet and should be created.
+     *
+     * @return the drafts of the categories to create.
+     */
+    @Nonnull
+    Set<CategoryDraft> getNewCategoryDrafts() {
+        return newCategoryDrafts;
+    }
+
+    /**
+     * Gets all the drafts of the batch whose references have been resolved.
+     *
+     * @return the drafts with resolved references.
+     */
+    @Nonnull
+    Set<CategoryDraft> getReferencesResolvedDrafts() {
+        return referencesResolvedDrafts;
+    }
+
+    /**
+     * Gets the keys of the categories whose missing parents have been created in this batch.
+     *
+     * @return the keys of the categories with resolved parents.
+     */
+    @Nonnull
+    Set<String> getCategoryKeysWithResolvedParents() {
+        return categoryKeysWithResolvedParents;
+    }
+
+    /**
+     * Gets the keys of the existing categories that have to be fetched to be updated.
+     *
+     * @return the keys of the categories to fetch.
+     */
+    @Nonnull
+    Set<String> getCategoryKeysToFetch() {
+        return categoryKeysToFetch;
+    }
+
+    /**
+     * Gets the drafts mapped to the existing categories they should be synced to.
+     *
+     * @return the drafts mapped to the categories to update.
+     */
+    @Nonnull
+    Map<CategoryDraft, Category> getCategoryDraftsToUpdate() {
+        return categoryDraftsToUpdate;
+    }
+}
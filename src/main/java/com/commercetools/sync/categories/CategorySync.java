@@ -2,6 +2,8 @@ package com.commercetools.sync.categories;
 
 import com.commercetools.sync.categories.helpers.CategoryReferenceResolver;
 import com.commercetools.sync.categories.helpers.CategorySyncStatistics;
+import com.commercetools.sync.categories.helpers.MissingParentsIndex;
+import com.commercetools.sync.categories.utils.CategoryHierarchyUtils;
 import com.commercetools.sync.commons.BaseSync;
 import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
 import com.commercetools.sync.services.CategoryService;
@@ -14,10 +16,12 @@ import io.sphere.sdk.categories.CategoryDraft;
 import io.sphere.sdk.categories.CategoryDraftBuilder;
 import io.sphere.sdk.client.ConcurrentModificationException;
 import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.models.Reference;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,9 +32,12 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.commercetools.sync.categories.helpers.CategoryReferenceResolver.getParentCategoryKey;
+import static com.commercetools.sync.categories.utils.CategoryFingerprintUtils.hasSameFingerprint;
+import static com.commercetools.sync.categories.utils.CategoryHierarchyUtils.groupByHierarchyLevel;
 import static com.commercetools.sync.categories.utils.CategorySyncUtils.buildActions;
 import static com.commercetools.sync.commons.utils.SyncUtils.batchDrafts;
 import static java.lang.String.format;
@@ -43,19 +50,13 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
         + "CategoryDraft with key:'%s'. Reason: %s";
     private static final String UPDATE_FAILED = "Failed to update Category with key: '%s'. Reason: %s";
     private static final String FETCH_ON_RETRY = "Failed to fetch category on retry.";
+    private static final String CONFLICT_RETRIES_EXHAUSTED = "The category was modified concurrently %d times.";
 
     private final CategoryService categoryService;
     private final CategoryReferenceResolver referenceResolver;
 
-    private final Map<String, ArrayList<String>> categoryKeysWithMissingParents = new HashMap<>();
-    private final Set<String> processedCategoryKeys = new HashSet<>();
-
-    private Set<CategoryDraft> existingCategoryDrafts = new HashSet<>();
-    private Set<CategoryDraft> newCategoryDrafts = new HashSet<>();
-    private Set<CategoryDraft> referencesResolvedDrafts = new HashSet<>();
-    private Set<String> categoryKeysWithResolvedParents = new HashSet<>();
-    private Set<String> categoryKeysToFetch = new HashSet<>();
-    private Map<CategoryDraft, Category> categoryDraftsToUpdate = new HashMap<>();
+    private final MissingParentsIndex categoryKeysWithMissingParents = new MissingParentsIndex();
+    private final Set<String> processedCategoryKeys = ConcurrentHashMap.newKeySet();
 
     /**
      * Takes a {@link CategorySyncOptions} instance to instantiate a new {@link CategorySync} instance that could be
@@ -88,16 +89,22 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
         super(new CategorySyncStatistics(), syncOptions);
         this.categoryService = categoryService;
         this.referenceResolver = new CategoryReferenceResolver(syncOptions, typeService, categoryService);
-        this.statistics.setCategoryKeysWithMissingParents(categoryKeysWithMissingParents);
+        this.statistics.setMissingParentsIndex(categoryKeysWithMissingParents);
     }
 
     /**
-     * Given a list of {@code CategoryDraft} that represent a batch of category drafts, this method for the first batch
-     * only caches a list of all the categories in the CTP project in a cached map that representing each category's
-     * key to the id. It then validates the category drafts, then resolves all the references. Then it creates all
-     * categories that need to be created in parallel while keeping track of the categories that have their
-     * non-existing parents. Then it does update actions that don't require parent changes in parallel. Then in a
-     * blocking fashion issues update actions that don't involve parent changes sequentially.
+     * Given a list of {@code CategoryDraft} that represent a batch of category drafts, this method first groups the
+     * drafts by their level in the category hierarchy of the supplied drafts, so that the parent of each draft is
+     * synced before the draft itself (See {@link CategoryHierarchyUtils#groupByHierarchyLevel(List, boolean)}). Then
+     * each level is split into batches, which are synced one after the other. This way a category whose parent is
+     * among the supplied drafts is created with its final parent in a single request, instead of being created
+     * without a parent and updated once its parent is created.
+     *
+     * <p>For the first batch only, a list of all the categories in the CTP project is cached in a map that represents
+     * each category's key to the id. Each batch then validates the category drafts, then resolves all the references.
+     * Then it creates all categories that need to be created in parallel while keeping track of the categories that
+     * have their non-existing parents. Then it issues the update actions that involve parent changes, level by level
+     * of the new parents' depth. Then it does update actions that don't require parent changes in parallel.
      *
      * <p>More on the exact implementation of how the sync works here:
      * https://sphere.atlassian.net/wiki/spaces/PS/pages/145193124/Category+Parallelisation+Technical+Concept
@@ -110,19 +117,24 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      */
     @Override
     protected CompletionStage<CategorySyncStatistics> process(@Nonnull final List<CategoryDraft> categoryDrafts) {
-        final List<List<CategoryDraft>> batches = batchDrafts(categoryDrafts, syncOptions.getBatchSize());
+        final List<List<CategoryDraft>> batches =
+            groupByHierarchyLevel(categoryDrafts, syncOptions.shouldAllowUuidKeys())
+                .stream()
+                .flatMap(hierarchyLevel -> batchDrafts(hierarchyLevel, syncOptions.getBatchSize()).stream())
+                .collect(Collectors.toList());
         return syncBatches(batches, CompletableFuture.completedFuture(statistics));
     }
 
+    /**
+     * Category batches are always synced one after the other, since a batch may create the parent categories that the
+     * categories of the next batch are waiting for. With a single lane, {@link #syncBatches(List, CompletionStage)}
+     * starts each batch once the previous one has finished syncing. This also applies to the chunks of a streamed sync.
+     *
+     * @return always 1.
+     */
     @Override
-    protected CompletionStage<CategorySyncStatistics> syncBatches(@Nonnull final List<List<CategoryDraft>> batches,
-                                                                  @Nonnull final
-                                                                  CompletionStage<CategorySyncStatistics> result) {
-        if (batches.isEmpty()) {
-            return result;
-        }
-        final List<CategoryDraft> firstBatch = batches.remove(0);
-        return syncBatches(batches, result.thenCompose(subResult -> processBatch(firstBatch)));
+    protected int getMaxParallelBatches() {
+        return 1;
     }
 
     /**
@@ -130,8 +142,9 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      * only caches a list of all the categories in the CTP project in a cached map that representing each category's
      * key to the id. It then validates the category drafts, then resolves all the references. Then it creates all
      * categories that need to be created in parallel while keeping track of the categories that have their
-     * non-existing parents. Then it does update actions that don't require parent changes in parallel. Then in a
-     * blocking fashion issues update actions that don't involve parent changes sequentially.
+     * non-existing parents. Then it issues the update actions that involve parent changes in a non-blocking fashion,
+     * level by level of the new parents' depth, with the categories of each level in parallel. Then it does update
+     * actions that don't require parent changes in parallel.
      *
      * <p>More on the exact implementation of how the sync works here:
      * https://github.com/commercetools/commercetools-sync-java/wiki/Category-Sync-Underlying-Concept
@@ -145,28 +158,24 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
     @Override
     protected CompletionStage<CategorySyncStatistics> processBatch(@Nonnull final List<CategoryDraft> categoryDrafts) {
         final int numberOfNewDraftsToProcess = getNumberOfProcessedCategories(categoryDrafts);
-        referencesResolvedDrafts = new HashSet<>();
-        existingCategoryDrafts = new HashSet<>();
-        newCategoryDrafts = new HashSet<>();
-        categoryKeysWithResolvedParents = new HashSet<>();
-        categoryDraftsToUpdate = new HashMap<>();
+        final CategoryBatchContext batchContext = new CategoryBatchContext();
 
         return categoryService.cacheKeysToIds()
                               .thenCompose(keyToIdCache -> {
-                                  prepareDraftsForProcessing(categoryDrafts, keyToIdCache);
-                                  categoryKeysToFetch = existingCategoryDrafts.stream().map(CategoryDraft::getKey)
-                                                                              .collect(Collectors.toSet());
-                                  return categoryService.createCategories(newCategoryDrafts)
-                                                        .thenAccept(this::processCreatedCategories)
+                                  prepareDraftsForProcessing(categoryDrafts, keyToIdCache, batchContext);
+                                  return categoryService.createCategories(batchContext.getNewCategoryDrafts())
+                                                        .thenAccept(createdCategories ->
+                                                            processCreatedCategories(createdCategories, batchContext))
                                                         .thenCompose(result -> categoryService
-                                                            .fetchMatchingCategoriesByKeys(categoryKeysToFetch))
+                                                            .fetchMatchingCategoriesByKeys(
+                                                                batchContext.getCategoryKeysToFetch()))
                                                         .thenAccept(fetchedCategories ->
                                                             processFetchedCategories(fetchedCategories,
-                                                                referencesResolvedDrafts, keyToIdCache))
-                                                        .thenAccept(result ->
-                                                            updateCategoriesSequentially(categoryDraftsToUpdate))
+                                                                keyToIdCache, batchContext))
                                                         .thenCompose(result ->
-                                                            updateCategoriesInParallel(categoryDraftsToUpdate))
+                                                            updateCategoriesByParentDepth(batchContext))
+                                                        .thenCompose(result ->
+                                                            updateCategoriesInParallel(batchContext))
                                                         .thenApply((result) -> {
                                                             statistics.incrementProcessed(numberOfNewDraftsToProcess);
                                                             return statistics;
@@ -203,12 +212,14 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      *     <li>Checks if the draft is {@code null}, then the error callback is triggered and the
      *     draft is skipped.</li>
      *     <li>Then for each draft adds each with a non-existing parent in keyToId cached map to a map
-     *     {@code categoryKeysWithMissingParents} (mapping from parent key to list of subcategory keys)</li>
+     *     {@code categoryKeysWithMissingParents} (indexing parent keys to subcategory keys and vice versa)</li>
      *     <li>Then it resolves the references (parent category reference and custom type reference) on each draft. For
      *     each draft with resolved references:
      *      <ol>
-     *          <li>Checks if the draft exists, then it adds it to the {@code existingCategoryDrafts} array.</li>
-     *          <li>If the draft doesn't exist, then it adds it to the {@code newCategoryDrafts} array.</li>
+     *          <li>Checks if the draft exists, then it adds its key to the {@code categoryKeysToFetch} of the batch
+     *          context.</li>
+     *          <li>If the draft doesn't exist, then it adds it to the {@code newCategoryDrafts} of the batch
+     *          context.</li>
      *      </ol>
      *      </li>
      *</ol>
@@ -217,22 +228,26 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      *
      * @param categoryDrafts the input list of category drafts in the sync batch.
      * @param keyToIdCache the cache containing mapping of all existing category keys to ids.
+     * @param batchContext the state of the sync batch.
      */
     private void prepareDraftsForProcessing(@Nonnull final List<CategoryDraft> categoryDrafts,
-                                            @Nonnull final Map<String, String> keyToIdCache) {
+                                            @Nonnull final Map<String, String> keyToIdCache,
+                                            @Nonnull final CategoryBatchContext batchContext) {
         for (CategoryDraft categoryDraft : categoryDrafts) {
             if (categoryDraft != null) {
                 final String categoryKey = categoryDraft.getKey();
                 if (isNotBlank(categoryKey)) {
                     try {
-                        categoryDraft = updateCategoriesWithMissingParents(categoryDraft, keyToIdCache);
-                        referenceResolver.resolveReferences(categoryDraft)
+                        final CategoryDraft categoryDraftWithParent =
+                            updateCategoriesWithMissingParents(categoryDraft, keyToIdCache);
+                        measureReferenceResolution(() -> referenceResolver.resolveReferences(categoryDraftWithParent))
                                          .thenAccept(referencesResolvedDraft -> {
-                                             referencesResolvedDrafts.add(referencesResolvedDraft);
+                                             batchContext.getReferencesResolvedDrafts()
+                                                         .add(referencesResolvedDraft);
                                              if (keyToIdCache.containsKey(categoryKey)) {
-                                                 existingCategoryDrafts.add(referencesResolvedDraft);
+                                                 batchContext.getCategoryKeysToFetch().add(categoryKey);
                                              } else {
-                                                 newCategoryDrafts.add(referencesResolvedDraft);
+                                                 batchContext.getNewCategoryDrafts().add(referencesResolvedDraft);
                                              }
                                          })
                                          .exceptionally(referenceResolutionException -> {
@@ -280,7 +295,7 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
         return getParentCategoryKey(categoryDraft, syncOptions.shouldAllowUuidKeys())
             .map(parentCategoryKey -> {
                 if (isMissingCategory(parentCategoryKey, keyToIdCache)) {
-                    addCategoryKeyToMissingParentsMap(categoryDraft.getKey(), parentCategoryKey);
+                    categoryKeysWithMissingParents.put(categoryDraft.getKey(), parentCategoryKey);
                     return CategoryDraftBuilder.of(categoryDraft)
                                                .parent(null)
                                                .build();
@@ -302,27 +317,6 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
         return !keyToIdCache.containsKey(categoryKey);
     }
 
-    /**
-     * This method checks if there is an entry with the key of the missing parent category {@code parentKey} in the
-     * {@code categoryKeysWithMissingParents}, if there isn't it creates a new entry with this parent key and as a value
-     * a new list containing the {@code categoryKey}. Otherwise, if there is already, it just adds the
-     * {@code categoryKey} to the existing list.
-     *
-     * @param categoryKey the key of the category with a missing parent.
-     * @param parentKey   the key of the missing parent.
-     */
-    private void addCategoryKeyToMissingParentsMap(@Nonnull final String categoryKey, @Nonnull final String parentKey) {
-        final ArrayList<String> childCategoryKeys = categoryKeysWithMissingParents.get(parentKey);
-        if (childCategoryKeys != null) {
-            childCategoryKeys.add(categoryKey);
-        } else {
-            final ArrayList<String> newChildCategoryKeys = new ArrayList<>();
-            newChildCategoryKeys.add(categoryKey);
-            categoryKeysWithMissingParents.put(parentKey, newChildCategoryKeys);
-        }
-    }
-
-
     /**
      * This method does the following on each category created from the provided {@link Set} of categories:
      * <ol>
@@ -346,30 +340,31 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      * </ol>
      *
      * @param createdCategories the set of created categories that needs to be processed.
+     * @param batchContext      the state of the sync batch.
      */
-    private void processCreatedCategories(@Nonnull final Set<Category> createdCategories) {
-        final int numberOfFailedCategories = newCategoryDrafts.size() - createdCategories.size();
+    private void processCreatedCategories(@Nonnull final Set<Category> createdCategories,
+                                          @Nonnull final CategoryBatchContext batchContext) {
+        final int numberOfFailedCategories = batchContext.getNewCategoryDrafts().size() - createdCategories.size();
         statistics.incrementFailed(numberOfFailedCategories);
 
         statistics.incrementCreated(createdCategories.size());
+        final Map<String, Category> createdCategoriesByKey = createdCategories
+            .stream()
+            .collect(Collectors.toMap(Category::getKey, category -> category, (first, second) -> first));
         createdCategories.forEach(createdCategory -> {
             final String createdCategoryKey = createdCategory.getKey();
             processedCategoryKeys.add(createdCategoryKey);
-            final ArrayList<String> childCategoryKeys = categoryKeysWithMissingParents.get(createdCategoryKey);
-            if (childCategoryKeys != null) {
-                for (String childCategoryKey : childCategoryKeys) {
-                    categoryKeysWithResolvedParents.add(childCategoryKey);
-                    final Optional<Category> createdChild = getCategoryByKeyIfExists(createdCategories,
-                        childCategoryKey);
-                    if (createdChild.isPresent()) {
-                        final Category category = createdChild.get();
-                        final CategoryDraft categoryDraft = CategoryDraftBuilder.of(category)
-                                                                                .parent(createdCategory)
-                                                                                .build();
-                        categoryDraftsToUpdate.put(categoryDraft, category);
-                    } else {
-                        categoryKeysToFetch.add(childCategoryKey);
-                    }
+            markCategorySynced(createdCategoryKey);
+            for (String childCategoryKey : categoryKeysWithMissingParents.getChildKeys(createdCategoryKey)) {
+                batchContext.getCategoryKeysWithResolvedParents().add(childCategoryKey);
+                final Category createdChild = createdCategoriesByKey.get(childCategoryKey);
+                if (createdChild != null) {
+                    final CategoryDraft categoryDraft = CategoryDraftBuilder.of(createdChild)
+                                                                            .parent(createdCategory)
+                                                                            .build();
+                    batchContext.getCategoryDraftsToUpdate().put(categoryDraft, createdChild);
+                } else {
+                    batchContext.getCategoryKeysToFetch().add(childCategoryKey);
                 }
             }
         });
@@ -393,18 +388,22 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      * the value is the fetched {@link Category}.</li>
      * </ol>
      *
-     * @param fetchedCategories        {@code Set} of categories which have just been fetched and
-     * @param resolvedReferencesDrafts {@code Set} of CategoryDrafts with resolved references, they are used to get
-     *                                 a draft with a resolved reference for the input list of drafts.
-     * @param keyToIdCache             the cache containing mapping of all existing category keys to ids.
+     * @param fetchedCategories {@code Set} of categories which have just been fetched and
+     * @param keyToIdCache      the cache containing mapping of all existing category keys to ids.
+     * @param batchContext      the state of the sync batch, whose CategoryDrafts with resolved references are used to
+     *                          get a draft with a resolved reference for the input list of drafts.
      */
     private void processFetchedCategories(@Nonnull final Set<Category> fetchedCategories,
-                                          @Nonnull final Set<CategoryDraft> resolvedReferencesDrafts,
-                                          @Nonnull final Map<String, String> keyToIdCache) {
+                                          @Nonnull final Map<String, String> keyToIdCache,
+                                          @Nonnull final CategoryBatchContext batchContext) {
+        final Map<String, CategoryDraft> resolvedReferencesDraftsByKey = batchContext
+            .getReferencesResolvedDrafts()
+            .stream()
+            .collect(Collectors.toMap(CategoryDraft::getKey, categoryDraft -> categoryDraft, (first, second) -> first));
         fetchedCategories.forEach(fetchedCategory -> {
             final String fetchedCategoryKey = fetchedCategory.getKey();
             final Optional<CategoryDraft> draftByKeyIfExists =
-                getDraftByKeyIfExists(resolvedReferencesDrafts, fetchedCategoryKey);
+                Optional.ofNullable(resolvedReferencesDraftsByKey.get(fetchedCategoryKey));
             final CategoryDraftBuilder categoryDraftBuilder =
                 draftByKeyIfExists.map(categoryDraft -> {
                     if (categoryDraft.getParent() == null) {
@@ -414,77 +413,103 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
                     return CategoryDraftBuilder.of(categoryDraft);
                 })
                                   .orElseGet(() -> CategoryDraftBuilder.of(fetchedCategory));
-            if (categoryKeysWithResolvedParents.contains(fetchedCategoryKey)) {
-                final String parentKey = getMissingParentKey(fetchedCategoryKey);
+            if (batchContext.getCategoryKeysWithResolvedParents().contains(fetchedCategoryKey)) {
+                final String parentKey = categoryKeysWithMissingParents.getMissingParentKey(fetchedCategoryKey);
                 final String parentId = keyToIdCache.get(parentKey);
                 categoryDraftBuilder.parent(Category.referenceOfId(parentId));
             }
-            categoryDraftsToUpdate.put(categoryDraftBuilder.build(), fetchedCategory);
+            batchContext.getCategoryDraftsToUpdate().put(categoryDraftBuilder.build(), fetchedCategory);
         });
     }
 
 
     /**
-     * Given a categoryKey {@code childCategoryKey} this method, checks in the {@code categoryKeysWithMissingParents}
-     * if it exists as a child to a missing parent, and returns the key of that missing parent. Otherwise, it returns
-     * null.
-     * @param childCategoryKey key of the category to look if it has a missing parent.
-     * @return the key of the parent category.
-     */
-    private String getMissingParentKey(@Nonnull final String childCategoryKey) {
-        return categoryKeysWithMissingParents.entrySet()
-                                             .stream()
-                                             .filter(missingParentEntry -> missingParentEntry.getValue().contains(
-                                                 childCategoryKey))
-                                             .findFirst()
-                                             .map(Map.Entry::getKey)
-                                             .orElse(null);
-    }
-
-    /**
-     * Given a {@link Set} of categories and a {@code key}. This method tries to find a category with this key in this
-     * set and returns an optional containing it or an empty optional if no category exist with such key.
+     * Given a {@link Map} of categoryDrafts to Categories that require syncing, this method filters out the pairs that
+     * need a {@link io.sphere.sdk.categories.commands.updateactions.ChangeParent} update action, and groups them by
+     * the depth of their new parent among these categories (See {@link #groupByNewParentDepth(Map)}). The groups are
+     * updated one after the other in a non-blocking fashion, while the categories of each group are updated in
+     * parallel. This way a category is only moved once its new parent has been moved, as advised by the CTP
+     * documentation: http://dev.commercetools.com/http-api-projects-categories.html#change-parent, while independent
+     * subtrees are moved in parallel.
      *
-     * @param categories set of categories to look for a category with such key.
-     * @param key the key to look for a category for in the supplied set of categories.
-     * @return an optional containing the category or an empty optional if no category exist with such key.
+     * @param batchContext the state of the sync batch, which holds the categoryDrafts to Categories that require
+     *                     syncing.
+     * @return a future which is completed once all the categories with parent changes have been updated.
      */
-    private static Optional<Category> getCategoryByKeyIfExists(@Nonnull final Set<Category> categories,
-                                                        @Nonnull final String key) {
-        return categories.stream()
-                         .filter(category -> Objects.equals(category.getKey(), key))
-                         .findFirst();
+    private CompletionStage<Void> updateCategoriesByParentDepth(@Nonnull final CategoryBatchContext batchContext) {
+        final Map<CategoryDraft, Category> categoriesWithParentChanges = new HashMap<>();
+        batchContext.getCategoryDraftsToUpdate().forEach((categoryDraft, category) -> {
+            if (requiresChangeParentUpdateAction(category, categoryDraft)) {
+                categoriesWithParentChanges.put(categoryDraft, category);
+            }
+        });
+
+        CompletionStage<Void> result = CompletableFuture.completedFuture(null);
+        for (Map<CategoryDraft, Category> depthGroup : groupByNewParentDepth(categoriesWithParentChanges)) {
+            result = result.thenCompose(previousGroupResult -> updateCategories(depthGroup, batchContext));
+        }
+        return result;
     }
 
     /**
-     * Given a {@link Set} of categoryDrafts and a {@code key}. This method tries to find a categoryDraft with this key
-     * in this set and returns an optional containing it or an empty optional if no categoryDraft exist with such key.
+     * Groups the supplied categories, which require a parent change, by the depth of their new parent among the
+     * supplied categories. A category whose new parent is not among the supplied categories is in the first group.
+     * Every next group contains the categories whose new parents are in the previous group. If the new parents of
+     * the supplied categories form a cycle, the cycle is cut at the category it's first reached from.
      *
-     * @param categoryDrafts set of categoryDrafts to look for a categoryDraft with such key.
-     * @param key the key to look for a categoryDraft for in the supplied set of categoryDrafts.
-     * @return an optional containing the categoryDraft or an empty optional if no category exist with such key.
+     * @param categoriesWithParentChanges a {@link Map} of categoryDrafts to Categories that require a parent change.
+     * @return the groups of the categoryDrafts to Categories ordered by the depth of their new parents.
      */
-    private static Optional<CategoryDraft> getDraftByKeyIfExists(@Nonnull final Set<CategoryDraft> categoryDrafts,
-                                                          @Nonnull final String key) {
-        return categoryDrafts.stream()
-                             .filter(categoryDraft -> Objects.equals(categoryDraft.getKey(), key))
-                             .findFirst();
+    @Nonnull
+    static List<Map<CategoryDraft, Category>> groupByNewParentDepth(
+        @Nonnull final Map<CategoryDraft, Category> categoriesWithParentChanges) {
+        final Map<String, CategoryDraft> draftsByCategoryId = new HashMap<>();
+        categoriesWithParentChanges.forEach((categoryDraft, category) ->
+            draftsByCategoryId.put(category.getId(), categoryDraft));
+
+        final Map<CategoryDraft, Integer> depths = new HashMap<>();
+        final List<Map<CategoryDraft, Category>> depthGroups = new ArrayList<>();
+        categoriesWithParentChanges.forEach((categoryDraft, category) -> {
+            final int depth = getNewParentDepth(categoryDraft, draftsByCategoryId, depths);
+            while (depthGroups.size() <= depth) {
+                depthGroups.add(new HashMap<>());
+            }
+            depthGroups.get(depth).put(categoryDraft, category);
+        });
+        return depthGroups;
     }
 
     /**
-     * Given a {@link Map} of categoryDrafts to Categories that require syncing, this method filters out the pairs that
-     * need a {@link io.sphere.sdk.categories.commands.updateactions.ChangeParent} update action, and in turn performs
-     * the sync on them in a sequential/blocking fashion as advised by the CTP documentation:
-     * http://dev.commercetools.com/http-api-projects-categories.html#change-parent
+     * Computes the depth of the new parent of the supplied {@code categoryDraft} by walking up its new parents, as
+     * long as they are among the categories that require a parent change. The depths of all the drafts on the way
+     * are memoized in {@code depths}, so each draft is only walked over once.
      *
-     * @param matchingCategories a {@link Map} of categoryDrafts to Categories that require syncing.
+     * @param categoryDraft      the draft to compute the depth of.
+     * @param draftsByCategoryId the drafts of the categories that require a parent change by the category ids.
+     * @param depths             the depths computed so far.
+     * @return the depth of the draft, where 0 means that its new parent doesn't require a parent change itself.
      */
-    private void updateCategoriesSequentially(@Nonnull final Map<CategoryDraft, Category> matchingCategories) {
-        matchingCategories.entrySet().stream()
-                          .filter(entry -> requiresChangeParentUpdateAction(entry.getValue(), entry.getKey()))
-                          .map(entry -> buildUpdateActionsAndUpdate(entry.getValue(), entry.getKey()))
-                          .map(CompletionStage::toCompletableFuture)
-                          .forEach(CompletableFuture::join);
+    private static int getNewParentDepth(@Nonnull final CategoryDraft categoryDraft,
+                                         @Nonnull final Map<String, CategoryDraft> draftsByCategoryId,
+                                         @Nonnull final Map<CategoryDraft, Integer> depths) {
+        final List<CategoryDraft> draftsWithoutDepth = new ArrayList<>();
+        final Set<CategoryDraft> visitedDrafts = new HashSet<>();
+        int depth = -1;
+        CategoryDraft currentDraft = categoryDraft;
+        while (currentDraft != null && visitedDrafts.add(currentDraft)) {
+            final Integer currentDepth = depths.get(currentDraft);
+            if (currentDepth != null) {
+                depth = currentDepth;
+                break;
+            }
+            draftsWithoutDepth.add(currentDraft);
+            final Reference<Category> newParent = currentDraft.getParent();
+            currentDraft = newParent == null ? null : draftsByCategoryId.get(newParent.getId());
+        }
+        for (int index = draftsWithoutDepth.size() - 1; index >= 0; index--) {
+            depths.put(draftsWithoutDepth.get(index), ++depth);
+        }
+        return depths.get(categoryDraft);
     }
 
     /**
@@ -507,14 +532,33 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      * don't need a {@link io.sphere.sdk.categories.commands.updateactions.ChangeParent} update action, and in turn
      * performs the sync on them in a parallel/non-blocking fashion.
      *
+     * @param batchContext the state of the sync batch, which holds the categoryDrafts to Categories that require
+     *                     syncing.
+     */
+    private CompletionStage<Void> updateCategoriesInParallel(@Nonnull final CategoryBatchContext batchContext) {
+        final Map<CategoryDraft, Category> categoriesWithoutParentChanges = new HashMap<>();
+        batchContext.getCategoryDraftsToUpdate().forEach((categoryDraft, category) -> {
+            if (!requiresChangeParentUpdateAction(category, categoryDraft)) {
+                categoriesWithoutParentChanges.put(categoryDraft, category);
+            }
+        });
+        return updateCategories(categoriesWithoutParentChanges, batchContext);
+    }
+
+    /**
+     * Given a {@link Map} of categoryDrafts to Categories that require syncing, this method performs the sync on all
+     * of them in a parallel/non-blocking fashion.
+     *
      * @param matchingCategories a {@link Map} of categoryDrafts to Categories that require syncing.
+     * @param batchContext       the state of the sync batch.
+     * @return a future which is completed once all the categories have been updated.
      */
-    private CompletionStage<Void> updateCategoriesInParallel(
-        @Nonnull final Map<CategoryDraft, Category> matchingCategories) {
+    private CompletionStage<Void> updateCategories(@Nonnull final Map<CategoryDraft, Category> matchingCategories,
+                                                   @Nonnull final CategoryBatchContext batchContext) {
         final List<CompletableFuture<Void>> futures =
             matchingCategories.entrySet().stream()
-                              .filter(entry -> !requiresChangeParentUpdateAction(entry.getValue(), entry.getKey()))
-                              .map(entry -> buildUpdateActionsAndUpdate(entry.getValue(), entry.getKey()))
+                              .map(entry -> buildUpdateActionsAndUpdate(entry.getValue(), entry.getKey(),
+                                  batchContext, 0))
                               .map(CompletionStage::toCompletableFuture)
                               .collect(Collectors.toList());
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
@@ -528,16 +572,24 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      *
      * @param oldCategory the category which could be updated.
      * @param newCategory the category draft where we get the new data.
+     * @param batchContext the state of the sync batch.
+     * @param conflicts   the number of concurrent modifications the previous updates of the category failed with.
      * @return a future which contains an empty result after execution of the update.
      */
     @SuppressFBWarnings("NP_NONNULL_PARAM_VIOLATION") // https://github.com/findbugsproject/findbugs/issues/79
     private CompletionStage<Void> buildUpdateActionsAndUpdate(@Nonnull final Category oldCategory,
-                                                              @Nonnull final CategoryDraft newCategory) {
+                                                              @Nonnull final CategoryDraft newCategory,
+                                                              @Nonnull final CategoryBatchContext batchContext,
+                                                              final int conflicts) {
 
-        final List<UpdateAction<Category>> updateActions = buildActions(oldCategory, newCategory, syncOptions);
+        final List<UpdateAction<Category>> updateActions = isInSync(oldCategory, newCategory)
+            ? Collections.emptyList()
+            : measureBuildUpdateActions(() -> buildActions(oldCategory, newCategory, syncOptions));
         if (!updateActions.isEmpty()) {
-            return updateCategory(oldCategory, newCategory, updateActions);
+            return updateCategory(oldCategory, null, newCategory, updateActions, batchContext, conflicts);
         }
+        recordConflicts(conflicts);
+        markCategorySynced(oldCategory.getKey());
         return CompletableFuture.completedFuture(null);
     }
 
@@ -546,70 +598,131 @@ public class CategorySync extends BaseSync<CategoryDraft, CategorySyncStatistics
      * Given a {@link Category} and a {@link List} of {@link UpdateAction} elements, this method issues a request to
      * the CTP project defined by the client configuration stored in the {@code syncOptions} instance
      * of this class to update the specified category with this list of update actions. If the update request failed
-     * due to a {@link ConcurrentModificationException}, the method recalculates the update actions required for
-     * syncing the {@link Category} and reissues the update request.
+     * due to a {@link ConcurrentModificationException}, the update is retried after a backoff, as long as the
+     * {@link CategorySyncOptions#getConflictRetryPolicy()} allows it. If the exception contains the current version
+     * of the category, the same update actions are applied again to the current version. Otherwise, or if applying
+     * them again failed for any reason, e.g. because they are stale for the current version, the category is fetched
+     * again and the update actions required for syncing it are recalculated.
      *
      * <p>The {@code statistics} instance is updated accordingly to whether the CTP request was carried
      * out successfully or not. If an exception was thrown on executing the request to CTP,
      * the optional error callback specified in the {@code syncOptions} is called.
      *
-     * @param category      the category to update.
-     * @param updateActions the list of update actions to update the category with.
+     * @param category       the category to update.
+     * @param currentVersion the version of the category to apply the update actions to or {@code null} to apply them
+     *                       to the version of the {@code category}.
+     * @param newCategory    the category draft where we get the new data.
+     * @param updateActions  the list of update actions to update the category with.
+     * @param batchContext   the state of the sync batch.
+     * @param conflicts      the number of concurrent modifications the previous updates of the category failed with.
      * @return a future which contains an empty result after execution of the update.
      */
     private CompletionStage<Void> updateCategory(@Nonnull final Category category,
+                                                 @Nullable final Long currentVersion,
                                                  @Nonnull final CategoryDraft newCategory,
-                                                 @Nonnull final List<UpdateAction<Category>> updateActions) {
+                                                 @Nonnull final List<UpdateAction<Category>> updateActions,
+                                                 @Nonnull final CategoryBatchContext batchContext,
+                                                 final int conflicts) {
         final String categoryKey = category.getKey();
-        return categoryService.updateCategory(category, updateActions)
-                              .handle((updatedCategory, sphereException) -> sphereException)
-                              .thenCompose(sphereException -> {
-                                  if (sphereException != null) {
-                                      return executeSupplierIfConcurrentModificationException(
-                                          sphereException,
-                                          () -> fetchAndUpdate(category, newCategory),
-                                          () -> {
-                                              if (!processedCategoryKeys.contains(categoryKey)) {
-                                                  handleError(format(UPDATE_FAILED, categoryKey, sphereException),
-                                                      sphereException);
-                                                  processedCategoryKeys.add(categoryKey);
-                                              }
-                                              return CompletableFuture.completedFuture(null);
-                                          });
-                                  } else {
-                                      if (!processedCategoryKeys.contains(categoryKey)) {
-                                          statistics.incrementUpdated();
-                                          processedCategoryKeys.add(categoryKey);
-                                      }
-                                      if (categoryKeysWithResolvedParents.contains(categoryKey)) {
-                                          removeUpdatedCategoryFromMissingParentsMap(categoryKey);
-                                      }
-                                      return CompletableFuture.completedFuture(null);
-                                  }
-                              });
+        final CompletionStage<Category> update = currentVersion == null
+            ? categoryService.updateCategory(category, updateActions)
+            : categoryService.updateCategory(category, currentVersion, updateActions);
+        return update.handle((updatedCategory, sphereException) -> sphereException)
+                     .thenCompose(sphereException -> {
+                         if (sphereException != null) {
+                             return retryIfConcurrentModificationException(
+                                 sphereException,
+                                 currentVersion != null,
+                                 conflicts,
+                                 retryConflicts -> {
+                                     final Long versionToRetry =
+                                         currentVersion == null ? getCurrentVersion(sphereException) : null;
+                                     return versionToRetry == null
+                                         ? fetchAndUpdate(category, newCategory, batchContext, retryConflicts)
+                                         : updateCategory(category, versionToRetry, newCategory,
+                                             updateActions, batchContext, retryConflicts);
+                                 },
+                                 retryConflicts -> {
+                                     if (processedCategoryKeys.add(categoryKey)) {
+                                         handleError(format(UPDATE_FAILED, categoryKey,
+                                             format(CONFLICT_RETRIES_EXHAUSTED, retryConflicts)),
+                                             sphereException);
+                                     }
+                                     return CompletableFuture.completedFuture(null);
+                                 },
+                                 () -> {
+                                     if (processedCategoryKeys.add(categoryKey)) {
+                                         handleError(format(UPDATE_FAILED, categoryKey, sphereException),
+                                             sphereException);
+                                     }
+                                     return CompletableFuture.completedFuture(null);
+                                 });
+                         } else {
+                             recordConflicts(conflicts);
+                             if (processedCategoryKeys.add(categoryKey)) {
+                                 statistics.incrementUpdated();
+                             }
+                             if (batchContext.getCategoryKeysWithResolvedParents().contains(categoryKey)) {
+                                 categoryKeysWithMissingParents.remove(categoryKey);
+                             }
+                             markCategorySynced(categoryKey);
+                             return CompletableFuture.completedFuture(null);
+                         }
+                     });
+    }
+
+    /**
+     * Checks if the category is in sync with the draft by comparing their fingerprints, which is much cheaper than
+     * building the update actions between them. The update actions of categories with an update actions callback are
+     * always built, since the callback could add update actions.
+     *
+     * @param oldCategory the category which could be updated.
+     * @param newCategory the category draft where we get the new data.
+     * @return {@code true} if no update actions need to be built for the category, otherwise {@code false}.
+     */
+    private boolean isInSync(@Nonnull final Category oldCategory, @Nonnull final CategoryDraft newCategory) {
+        return syncOptions.getUpdateActionsCallBack() == null && hasSameFingerprint(oldCategory, newCategory);
     }
 
     private CompletionStage<Void> fetchAndUpdate(@Nonnull final Category oldCategory,
-                                                 @Nonnull final CategoryDraft newCategory) {
+                                                 @Nonnull final CategoryDraft newCategory,
+                                                 @Nonnull final CategoryBatchContext batchContext,
+                                                 final int conflicts) {
         final String key = oldCategory.getKey();
         return categoryService.fetchCategory(key)
                 .thenCompose(categoryOptional ->
                         categoryOptional
-                                .map(fetchedCategory -> buildUpdateActionsAndUpdate(fetchedCategory, newCategory))
+                                .map(fetchedCategory -> buildUpdateActionsAndUpdate(fetchedCategory, newCategory,
+                                    batchContext, conflicts))
                                 .orElseGet(() -> {
+                                    recordConflicts(conflicts);
                                     handleError(format(UPDATE_FAILED, key, FETCH_ON_RETRY), null);
                                     return CompletableFuture.completedFuture(null);
                                 }));
     }
 
     /**
-     * Given a {@code categoryKey} this method removes its occurences from the map
-     * {@code categoryKeysWithMissingParents}.
+     * Category drafts are identified by their key in the {@link CategorySyncOptions#getDeltaSyncState()}.
      *
-     * @param categoryKey the category key to remove from {@code categoryKeysWithMissingParents}
+     * @param categoryDraft the draft to get the key of.
+     * @return the key of the category draft.
      */
-    private void removeUpdatedCategoryFromMissingParentsMap(@Nonnull final String categoryKey) {
-        categoryKeysWithMissingParents.forEach((key, value) -> value.remove(categoryKey));
+    @Nullable
+    @Override
+    protected String getDeltaKey(@Nonnull final CategoryDraft categoryDraft) {
+        return categoryDraft.getKey();
+    }
+
+    /**
+     * Marks the category with the supplied key as synced for the delta sync, unless its parent is still missing. Such
+     * a category was created or updated without its parent, so it has to be synced again until its parent exists.
+     *
+     * @param categoryKey the key of the category that was synced.
+     */
+    private void markCategorySynced(@Nonnull final String categoryKey) {
+        if (categoryKeysWithMissingParents.getMissingParentKey(categoryKey) == null) {
+            markSynced(categoryKey);
+        }
     }
 
     /**
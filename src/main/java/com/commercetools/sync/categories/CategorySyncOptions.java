@@ -1,12 +1,18 @@
 package com.commercetools.sync.categories;
 
 import com.commercetools.sync.commons.BaseSyncOptions;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.KeyToIdCacheType;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import io.sphere.sdk.categories.Category;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.commands.UpdateAction;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,22 +25,36 @@ public final class CategorySyncOptions extends BaseSyncOptions {
                         @Nullable final BiConsumer<String, Throwable> updateActionErrorCallBack,
                         @Nullable final Consumer<String> updateActionWarningCallBack,
                         final int batchSize,
+                        final int maxParallelBatches,
                         final boolean removeOtherLocales,
                         final boolean removeOtherSetEntries,
                         final boolean removeOtherCollectionEntries,
                         final boolean removeOtherProperties,
                         final boolean allowUuid,
+                        @Nullable final SyncMetrics syncMetrics,
+                        @Nullable final Consumer<SyncMetricsSnapshot> syncMetricsListener,
+                        @Nullable final Path keyToIdCacheDirectory,
+                        @Nullable final KeyToIdCacheType keyToIdCacheType,
+                        @Nullable final DeltaSyncState deltaSyncState,
+                        @Nullable final ConflictRetryPolicy conflictRetryPolicy,
                         @Nullable final Function<List<UpdateAction<Category>>,
                           List<UpdateAction<Category>>> updateActionsCallBack) {
         super(ctpClient,
             updateActionErrorCallBack,
             updateActionWarningCallBack,
             batchSize,
+            maxParallelBatches,
             removeOtherLocales,
             removeOtherSetEntries,
             removeOtherCollectionEntries,
             removeOtherProperties,
-            allowUuid);
+            allowUuid,
+            syncMetrics,
+            syncMetricsListener,
+            keyToIdCacheDirectory,
+            keyToIdCacheType,
+            deltaSyncState,
+            conflictRetryPolicy);
         this.updateActionsCallBack = updateActionsCallBack;
     }
 
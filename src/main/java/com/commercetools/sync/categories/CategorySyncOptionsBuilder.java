@@ -57,11 +57,18 @@ public final class CategorySyncOptionsBuilder extends BaseSyncOptionsBuilder<Cat
             this.errorCallBack,
             this.warningCallBack,
             this.batchSize,
+            this.maxParallelBatches,
             this.removeOtherLocales,
             this.removeOtherSetEntries,
             this.removeOtherCollectionEntries,
             this.removeOtherProperties,
             this.allowUuid,
+            this.syncMetrics,
+            this.syncMetricsListener,
+            this.keyToIdCacheDirectory,
+            this.keyToIdCacheType,
+            this.deltaSyncState,
+            this.conflictRetryPolicy,
             this.updateActionsFilter);
     }
 
@@ -2,6 +2,7 @@ package com.commercetools.sync.categories.helpers;
 
 
 import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
@@ -12,10 +13,10 @@ import static java.lang.String.format;
 
 public class CategorySyncStatistics extends BaseSyncStatistics {
     /**
-     * Map that represents categories with missing parents; the keys of the map are the keys of the missing parent
-     * categories and the value of each is a list of the children category keys.
+     * Index of the categories with missing parents; it maps the keys of the missing parent categories to the keys of
+     * their children and vice versa.
      */
-    private Map<String, ArrayList<String>> categoryKeysWithMissingParents = new HashMap<>();
+    private MissingParentsIndex categoryKeysWithMissingParents = new MissingParentsIndex();
 
     public CategorySyncStatistics() {
         super();
@@ -37,6 +38,11 @@ public class CategorySyncStatistics extends BaseSyncStatistics {
         return reportMessage;
     }
 
+    static int getNumberOfCategoriesWithMissingParents(
+        @Nonnull final MissingParentsIndex categoryKeysWithMissingParents) {
+        return categoryKeysWithMissingParents.size();
+    }
+
     static int getNumberOfCategoriesWithMissingParents(
         @Nonnull final Map<String, ArrayList<String>> categoryKeysWithMissingParents) {
         return categoryKeysWithMissingParents.values()
@@ -45,12 +51,50 @@ public class CategorySyncStatistics extends BaseSyncStatistics {
                                       .reduce(0, Integer::sum);
     }
 
-    public Map<String, ArrayList<String>> getCategoryKeysWithMissingParents() {
+    /**
+     * Gets the index of the categories with missing parents of the sync. The index is updated by the sync, so it
+     * reflects the later changes of the categories with missing parents.
+     *
+     * @return the index of the categories with missing parents.
+     */
+    @JsonIgnore
+    @Nonnull
+    public MissingParentsIndex getMissingParentsIndex() {
         return categoryKeysWithMissingParents;
     }
 
+    public void setMissingParentsIndex(@Nonnull final MissingParentsIndex missingParentsIndex) {
+        this.categoryKeysWithMissingParents = missingParentsIndex;
+    }
+
+    /**
+     * Gets a copy of the keys of the missing parent categories mapped to the keys of their children. The copy doesn't
+     * reflect the later changes of the categories with missing parents.
+     *
+     * @return a map of the keys of the missing parent categories to the keys of their children.
+     * @deprecated use {@link #getMissingParentsIndex()} and {@link MissingParentsIndex#asMap()} instead.
+     */
+    @Deprecated
+    public Map<String, ArrayList<String>> getCategoryKeysWithMissingParents() {
+        final Map<String, ArrayList<String>> categoryKeysWithMissingParentsCopy = new HashMap<>();
+        categoryKeysWithMissingParents.asMap().forEach((parentKey, childKeys) ->
+            categoryKeysWithMissingParentsCopy.put(parentKey, new ArrayList<>(childKeys)));
+        return categoryKeysWithMissingParentsCopy;
+    }
+
+    /**
+     * Replaces the categories with missing parents with the ones of the supplied map. The current index is cleared
+     * and repopulated in place, so it stays the one that is updated by the sync.
+     *
+     * @param categoryKeysWithMissingParents a map of the keys of missing parent categories to the keys of their
+     *                                       children.
+     * @deprecated use {@link #getMissingParentsIndex()} to update the categories with missing parents instead.
+     */
+    @Deprecated
     public void setCategoryKeysWithMissingParents(@Nonnull final
                                                   Map<String, ArrayList<String>> categoryKeysWithMissingParents) {
-        this.categoryKeysWithMissingParents = categoryKeysWithMissingParents;
+        this.categoryKeysWithMissingParents.clear();
+        categoryKeysWithMissingParents.forEach((parentKey, childKeys) ->
+            childKeys.forEach(childKey -> this.categoryKeysWithMissingParents.put(childKey, parentKey)));
     }
 }
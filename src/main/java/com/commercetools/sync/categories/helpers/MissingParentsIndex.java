@@ -0,0 +1,115 @@
+package com.commercetools.sync.categories.helpers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the categories whose parents are missing in the CTP project. It indexes the keys of these categories
+ * in both directions: from the key of each missing parent to the keys of its children and from the key of each child
+ * to the key of its missing parent. This way, looking up, adding and removing a child takes constant time, regardless
+ * of the number of categories with missing parents.
+ *
+ * <p>The index is thread-safe, since it's updated from the callbacks of the CTP requests of the sync.
+ */
+public final class MissingParentsIndex {
+    private final Map<String, Set<String>> childKeysByParentKey = new HashMap<>();
+    private final Map<String, String> parentKeyByChildKey = new HashMap<>();
+
+    /**
+     * Adds the category with the key {@code childKey} as a child of the missing parent with the key
+     * {@code parentKey}. If the child was already tracked as a child of another missing parent, it's moved to the new
+     * one.
+     *
+     * @param childKey  the key of the category with a missing parent.
+     * @param parentKey the key of the missing parent.
+     */
+    public synchronized void put(@Nonnull final String childKey, @Nonnull final String parentKey) {
+        final String previousParentKey = parentKeyByChildKey.put(childKey, parentKey);
+        if (previousParentKey != null && !previousParentKey.equals(parentKey)) {
+            removeChildKey(previousParentKey, childKey);
+        }
+        childKeysByParentKey.computeIfAbsent(parentKey, key -> new LinkedHashSet<>()).add(childKey);
+    }
+
+    /**
+     * Gets the key of the missing parent of the category with the key {@code childKey}.
+     *
+     * @param childKey the key of the category to get the missing parent key of.
+     * @return the key of the missing parent or {@code null} if the category doesn't have a missing parent.
+     */
+    @Nullable
+    public synchronized String getMissingParentKey(@Nonnull final String childKey) {
+        return parentKeyByChildKey.get(childKey);
+    }
+
+    /**
+     * Gets the keys of the children of the missing parent with the key {@code parentKey}.
+     *
+     * @param parentKey the key of the missing parent.
+     * @return an unmodifiable copy of the keys of the children of the missing parent, which is empty if no category
+     *         is waiting for this parent.
+     */
+    @Nonnull
+    public synchronized Set<String> getChildKeys(@Nonnull final String parentKey) {
+        final Set<String> childKeys = childKeysByParentKey.get(parentKey);
+        return childKeys == null ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(childKeys));
+    }
+
+    /**
+     * Removes the category with the key {@code childKey} from the index, e.g. once its parent has been set.
+     *
+     * @param childKey the key of the category to remove.
+     */
+    public synchronized void remove(@Nonnull final String childKey) {
+        final String parentKey = parentKeyByChildKey.remove(childKey);
+        if (parentKey != null) {
+            removeChildKey(parentKey, childKey);
+        }
+    }
+
+    /**
+     * Removes all the categories from the index.
+     */
+    public synchronized void clear() {
+        childKeysByParentKey.clear();
+        parentKeyByChildKey.clear();
+    }
+
+    private void removeChildKey(@Nonnull final String parentKey, @Nonnull final String childKey) {
+        final Set<String> childKeys = childKeysByParentKey.get(parentKey);
+        if (childKeys != null) {
+            childKeys.remove(childKey);
+            if (childKeys.isEmpty()) {
+                childKeysByParentKey.remove(parentKey);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of categories with missing parents.
+     *
+     * @return the number of categories with missing parents.
+     */
+    public synchronized int size() {
+        return parentKeyByChildKey.size();
+    }
+
+    /**
+     * Gets a snapshot of the keys of the missing parents mapped to the keys of their children. The snapshot is a copy,
+     * so it doesn't reflect the later changes of the index.
+     *
+     * @return an unmodifiable copy of the keys of the missing parents mapped to the keys of their children.
+     */
+    @Nonnull
+    public synchronized Map<String, Set<String>> asMap() {
+        final Map<String, Set<String>> childKeysByParentKeyCopy = new HashMap<>();
+        childKeysByParentKey.forEach((parentKey, childKeys) ->
+            childKeysByParentKeyCopy.put(parentKey, Collections.unmodifiableSet(new LinkedHashSet<>(childKeys))));
+        return Collections.unmodifiableMap(childKeysByParentKeyCopy);
+    }
+}
@@ -0,0 +1,82 @@
+package com.commercetools.sync.categories.utils;
+
+import com.commercetools.sync.commons.helpers.DraftFingerprint;
+import com.commercetools.sync.commons.helpers.FingerprintHasher;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.commercetools.sync.commons.utils.CustomFingerprintUtils.putCustomFields;
+
+/**
+ * This class provides methods for computing the fingerprints of categories and their drafts over the fields that
+ * {@link CategorySyncUtils#buildCoreActions} compares. A category and a draft with the same fingerprint are in sync,
+ * so the update actions between them don't need to be built.
+ */
+public final class CategoryFingerprintUtils {
+
+    /**
+     * Compares the fingerprints of a {@link Category} and a {@link CategoryDraft}.
+     *
+     * @param oldCategory the category which could be updated.
+     * @param newCategory the category draft that contains the new data.
+     * @return {@code true} if both have the same fingerprint, so {@link CategorySyncUtils#buildCoreActions} wouldn't
+     *         build any update action for them, otherwise {@code false}.
+     */
+    public static boolean hasSameFingerprint(@Nonnull final Category oldCategory,
+                                             @Nonnull final CategoryDraft newCategory) {
+        final FingerprintHasher hasher = FingerprintHasher.of();
+        final DraftFingerprint newFingerprint = fingerprint(hasher, newCategory);
+        return newFingerprint != null && newFingerprint.equals(fingerprint(hasher.reset(), oldCategory));
+    }
+
+    /**
+     * Computes the fingerprint of the compared fields of a {@link CategoryDraft}.
+     *
+     * @param hasher the hasher to compute the fingerprint with.
+     * @param draft  the draft to compute the fingerprint of.
+     * @return the fingerprint of the draft or {@code null} if the draft can't be compared by its fingerprint.
+     */
+    @Nullable
+    public static DraftFingerprint fingerprint(@Nonnull final FingerprintHasher hasher,
+                                               @Nonnull final CategoryDraft draft) {
+        hasher.putLocalizedString(draft.getName())
+              .putLocalizedString(draft.getSlug())
+              .putString(draft.getExternalId())
+              .putLocalizedString(draft.getDescription())
+              .putString(draft.getParent() == null ? null : draft.getParent().getId())
+              .putString(draft.getOrderHint())
+              .putLocalizedString(draft.getMetaTitle())
+              .putLocalizedString(draft.getMetaDescription())
+              .putLocalizedString(draft.getMetaKeywords());
+        return putCustomFields(hasher, draft.getCustom()) ? hasher.fingerprint() : null;
+    }
+
+    /**
+     * Computes the fingerprint of the compared fields of a {@link Category}.
+     *
+     * @param hasher   the hasher to compute the fingerprint with.
+     * @param category the category to compute the fingerprint of.
+     * @return the fingerprint of the category.
+     */
+    @Nonnull
+    public static DraftFingerprint fingerprint(@Nonnull final FingerprintHasher hasher,
+                                               @Nonnull final Category category) {
+        hasher.putLocalizedString(category.getName())
+              .putLocalizedString(category.getSlug())
+              .putString(category.getExternalId())
+              .putLocalizedString(category.getDescription())
+              .putString(category.getParent() == null ? null : category.getParent().getId())
+              .putString(category.getOrderHint())
+              .putLocalizedString(category.getMetaTitle())
+              .putLocalizedString(category.getMetaDescription())
+              .putLocalizedString(category.getMetaKeywords());
+        putCustomFields(hasher, category.getCustom());
+        return hasher.fingerprint();
+    }
+
+    private CategoryFingerprintUtils() {
+    }
+}
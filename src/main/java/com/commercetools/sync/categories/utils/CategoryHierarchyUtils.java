@@ -0,0 +1,110 @@
+package com.commercetools.sync.categories.utils;
+
+import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import io.sphere.sdk.categories.CategoryDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.commercetools.sync.categories.helpers.CategoryReferenceResolver.getParentCategoryKey;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+public final class CategoryHierarchyUtils {
+
+    /**
+     * Sorts the supplied {@code categoryDrafts} topologically by their parent keys and groups them by their level in
+     * the hierarchy of the supplied drafts. The first level contains the drafts that have no parent among the
+     * supplied drafts, i.e. the drafts without a parent, the drafts whose parent either already exists or is missing
+     * and the drafts that are invalid (null, without a key or with an invalid parent reference). Every next level
+     * contains the drafts whose parents are in the previous level. Drafts that are part of a cycle of parents, can't
+     * be placed on any level, so they are appended as an extra last level.
+     *
+     * <p>Syncing the levels one after the other makes sure that the parent of each draft is already created when
+     * the draft is created, so it can be created with its final parent in a single request, while all the drafts of
+     * one level can still be created in parallel.
+     *
+     * <p>The drafts keep their order of the supplied list within each level. The grouping takes linear time in the
+     * number of the drafts.
+     *
+     * @param categoryDrafts      the category drafts to group by their hierarchy level.
+     * @param shouldAllowUuidKeys a flag that specifies whether the parent keys could be in UUID format or not.
+     * @return the levels of the hierarchy of the supplied drafts, starting with the top level.
+     */
+    @Nonnull
+    public static List<List<CategoryDraft>> groupByHierarchyLevel(@Nonnull final List<CategoryDraft> categoryDrafts,
+                                                                  final boolean shouldAllowUuidKeys) {
+        final Set<String> categoryKeys = new HashSet<>();
+        categoryDrafts.forEach(categoryDraft -> {
+            if (categoryDraft != null && isNotBlank(categoryDraft.getKey())) {
+                categoryKeys.add(categoryDraft.getKey());
+            }
+        });
+
+        final Map<String, List<CategoryDraft>> childrenByParentKey = new HashMap<>();
+        final List<CategoryDraft> topLevel = new ArrayList<>();
+        for (CategoryDraft categoryDraft : categoryDrafts) {
+            final String parentKey = getParentKeyIfValid(categoryDraft, shouldAllowUuidKeys);
+            if (parentKey != null && categoryKeys.contains(parentKey)) {
+                childrenByParentKey.computeIfAbsent(parentKey, key -> new ArrayList<>()).add(categoryDraft);
+            } else {
+                topLevel.add(categoryDraft);
+            }
+        }
+
+        final List<List<CategoryDraft>> levels = new ArrayList<>();
+        int numberOfPlacedDrafts = 0;
+        List<CategoryDraft> currentLevel = topLevel;
+        while (!currentLevel.isEmpty()) {
+            levels.add(currentLevel);
+            numberOfPlacedDrafts += currentLevel.size();
+            final List<CategoryDraft> nextLevel = new ArrayList<>();
+            for (CategoryDraft categoryDraft : currentLevel) {
+                if (categoryDraft != null && isNotBlank(categoryDraft.getKey())) {
+                    final List<CategoryDraft> children = childrenByParentKey.remove(categoryDraft.getKey());
+                    if (children != null) {
+                        nextLevel.addAll(children);
+                    }
+                }
+            }
+            currentLevel = nextLevel;
+        }
+
+        if (numberOfPlacedDrafts < categoryDrafts.size()) {
+            final List<CategoryDraft> draftsWithCyclicParents = new ArrayList<>();
+            childrenByParentKey.values().forEach(draftsWithCyclicParents::addAll);
+            levels.add(draftsWithCyclicParents);
+        }
+        return levels;
+    }
+
+    /**
+     * Gets the parent key of the supplied {@code categoryDraft}, if the draft is valid and has a valid parent
+     * reference. The reference resolution errors are reported later on by the sync, when the draft is processed.
+     *
+     * @param categoryDraft       the category draft to get the parent key of.
+     * @param shouldAllowUuidKeys a flag that specifies whether the parent key could be in UUID format or not.
+     * @return the parent key of the draft or {@code null} if the draft or its parent reference are not valid or the
+     *         draft has no parent.
+     */
+    @Nullable
+    private static String getParentKeyIfValid(@Nullable final CategoryDraft categoryDraft,
+                                              final boolean shouldAllowUuidKeys) {
+        if (categoryDraft == null || !isNotBlank(categoryDraft.getKey())) {
+            return null;
+        }
+        try {
+            return getParentCategoryKey(categoryDraft, shouldAllowUuidKeys).orElse(null);
+        } catch (ReferenceResolutionException referenceResolutionException) {
+            return null;
+        }
+    }
+
+    private CategoryHierarchyUtils() {
+    }
+}
@@ -1,17 +1,43 @@
 package com.commercetools.sync.commons;
 
+import com.commercetools.sync.commons.exceptions.PartialUpdateException;
 import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.DraftFingerprint;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import io.sphere.sdk.client.ConcurrentModificationException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.commercetools.sync.commons.utils.SyncUtils.batchDrafts;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 
 
 public abstract class BaseSync<T, U extends BaseSyncStatistics, V extends BaseSyncOptions> {
+    private static final long NO_METRICS_REPORTED = -1;
+
     protected final U statistics;
     protected final V syncOptions;
+    private final Map<String, DraftFingerprint> pendingFingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong processedDraftsOfLastMetricsReport = new AtomicLong(NO_METRICS_REPORTED);
 
     protected BaseSync(@Nonnull final U statistics, @Nonnull final V syncOptions) {
         this.statistics = statistics;
@@ -39,20 +65,163 @@ public abstract class BaseSync<T, U extends BaseSyncStatistics, V extends BaseSy
      * <p>The time before and after the actual sync process starts is recorded in the {@link BaseSyncStatistics}
      * container so that the total processing time is computed in the statistics.
      *
+     * <p>If the options of this sync have a {@link BaseSyncOptions#getDeltaSyncState()}, the drafts whose content is
+     * unchanged since they were last synced are counted as processed and skipped (see {@link #getDeltaKey(Object)}).
+     *
      * @param resourceDrafts the list of new resources as drafts.
      * @return an instance of {@link CompletionStage}&lt;{@code U}&gt; which contains as a result an instance of
      *      {@code U} which is a subclass of {@link BaseSyncStatistics} representing the {@code statistics} instance
      *      attribute of {@code this} {@link BaseSync}.
      */
     public CompletionStage<U> sync(@Nonnull final List<T> resourceDrafts) {
-        statistics.startTimer();
-        return process(resourceDrafts).thenApply(resultingStatistics -> {
+        startTimers();
+        final Instant startTime = Instant.now();
+        final int numberOfFailedBeforeSync = statistics.getFailed();
+        final DeltaSyncState deltaSyncState = syncOptions.getDeltaSyncState();
+        final List<T> changedDrafts = deltaSyncState == null ? resourceDrafts : resourceDrafts
+            .stream()
+            .filter(resourceDraft -> isChangedDraft(resourceDraft, deltaSyncState))
+            .collect(toList());
+        return process(changedDrafts).thenApply(resultingStatistics -> {
             resultingStatistics.calculateProcessingTime();
+            completeDeltaSync(startTime, numberOfFailedBeforeSync);
+            reportFinalMetrics();
             return resultingStatistics;
         });
     }
 
 
+    /**
+     * Given a stream of resource (e.g. categories, products, etc..) drafts. This method pulls the drafts lazily from
+     * the stream into chunks of {@link BaseSyncOptions#getBatchSize()} drafts and syncs each chunk, exactly like
+     * {@link #sync(List)} would sync it, so the drafts in the stream are never all held in memory at once.
+     *
+     * <p>The next chunk is only pulled from the stream once one of the in-flight chunks has finished syncing. At most
+     * {@link #getMaxParallelBatches()} chunks are in flight at the same time, which bounds the number of drafts held
+     * in memory by the sync to the batch size times the number of parallel batches, regardless of the size of the
+     * stream. The stream is closed once the sync has finished. Drafts that are unchanged according to the
+     * {@link BaseSyncOptions#getDeltaSyncState()} are skipped, exactly like {@link #sync(List)} would skip them.
+     *
+     * <p>The time before and after the actual sync process starts is recorded in the {@link BaseSyncStatistics}
+     * container so that the total processing time is computed in the statistics.
+     *
+     * @param resourceDrafts the stream of new resources as drafts.
+     * @return an instance of {@link CompletionStage}&lt;{@code U}&gt; which contains as a result an instance of
+     *      {@code U} which is a subclass of {@link BaseSyncStatistics} representing the {@code statistics} instance
+     *      attribute of {@code this} {@link BaseSync}.
+     */
+    public CompletionStage<U> sync(@Nonnull final Stream<T> resourceDrafts) {
+        startTimers();
+        final Instant startTime = Instant.now();
+        final int numberOfFailedBeforeSync = statistics.getFailed();
+        final DeltaSyncState deltaSyncState = syncOptions.getDeltaSyncState();
+        final Stream<T> changedDrafts = deltaSyncState == null ? resourceDrafts
+            : resourceDrafts.filter(resourceDraft -> isChangedDraft(resourceDraft, deltaSyncState));
+        final Iterator<List<T>> batches = batchDrafts(changedDrafts.iterator(), syncOptions.getBatchSize());
+        return syncLanes(batches, this::process)
+            .whenComplete((resultingStatistics, exception) -> resourceDrafts.close())
+            .thenApply(resultingStatistics -> {
+                resultingStatistics.calculateProcessingTime();
+                completeDeltaSync(startTime, numberOfFailedBeforeSync);
+                reportFinalMetrics();
+                return resultingStatistics;
+            });
+    }
+
+    /**
+     * Checks if the supplied {@code resourceDraft} has to be synced, because its fingerprint differs from the one it
+     * had when it was last synced successfully. If it doesn't have to be synced, it's counted as processed. Otherwise,
+     * its fingerprint is kept until it has been synced successfully (see {@link #markSynced(String)}).
+     *
+     * @param resourceDraft  the draft to check.
+     * @param deltaSyncState the state of the delta sync.
+     * @return {@code true} if the draft has to be synced, {@code false} if it's unchanged.
+     */
+    private boolean isChangedDraft(@Nullable final T resourceDraft, @Nonnull final DeltaSyncState deltaSyncState) {
+        final String deltaKey = resourceDraft == null ? null : getDeltaKey(resourceDraft);
+        if (isBlank(deltaKey)) {
+            return true;
+        }
+        final DraftFingerprint fingerprint = getFingerprint(resourceDraft);
+        if (fingerprint == null) {
+            return true;
+        }
+        if (fingerprint.equals(deltaSyncState.getFingerprint(deltaKey))) {
+            statistics.incrementProcessed();
+            return false;
+        }
+        pendingFingerprints.put(deltaKey, fingerprint);
+        return true;
+    }
+
+    /**
+     * Advances the watermark of the {@link BaseSyncOptions#getDeltaSyncState()}, if any, to the start time of the run
+     * if no draft failed to sync in the run.
+     */
+    private void completeDeltaSync(@Nonnull final Instant startTime, final int numberOfFailedBeforeSync) {
+        final DeltaSyncState deltaSyncState = syncOptions.getDeltaSyncState();
+        if (deltaSyncState != null) {
+            if (statistics.getFailed() == numberOfFailedBeforeSync) {
+                deltaSyncState.setWatermark(startTime);
+            }
+            pendingFingerprints.clear();
+        }
+    }
+
+    /**
+     * Gets the key which identifies the supplied {@code resourceDraft} in the
+     * {@link BaseSyncOptions#getDeltaSyncState()}, e.g. the key of a product draft. The key has to be computed from the
+     * draft as supplied to the sync, i.e. before its references are resolved. By default, there is no key, so delta
+     * syncs aren't supported and all the drafts are synced.
+     *
+     * @param resourceDraft the draft to get the key of.
+     * @return the key of the draft or {@code null} if the draft has to be synced regardless of its fingerprint.
+     */
+    @Nullable
+    protected String getDeltaKey(@Nonnull final T resourceDraft) {
+        return null;
+    }
+
+    /**
+     * Computes the fingerprint of the content of the supplied {@code resourceDraft}, which is compared with the
+     * fingerprint the draft had when it was last synced.
+     *
+     * @param resourceDraft the draft to compute the fingerprint of.
+     * @return the fingerprint of the draft or {@code null} if the draft has to be synced regardless of its
+     *         fingerprint.
+     */
+    @Nullable
+    protected DraftFingerprint getFingerprint(@Nonnull final T resourceDraft) {
+        return DraftFingerprint.ofDraft(resourceDraft);
+    }
+
+    /**
+     * Records that the draft with the supplied {@link #getDeltaKey(Object)} was synced successfully, i.e. created,
+     * updated or already up to date, so that it's skipped by the next runs of a delta sync as long as its fingerprint
+     * doesn't change. Drafts which are never marked as synced, e.g. because they failed to sync, are synced again by
+     * the next runs.
+     *
+     * @param deltaKey the key of the draft that was synced.
+     */
+    protected void markSynced(@Nullable final String deltaKey) {
+        final DeltaSyncState deltaSyncState = syncOptions.getDeltaSyncState();
+        if (deltaSyncState != null && deltaKey != null) {
+            final DraftFingerprint fingerprint = pendingFingerprints.remove(deltaKey);
+            if (fingerprint != null) {
+                deltaSyncState.putFingerprint(deltaKey, fingerprint);
+            }
+        }
+    }
+
+    private void startTimers() {
+        statistics.startTimer();
+        processedDraftsOfLastMetricsReport.set(NO_METRICS_REPORTED);
+        final SyncMetrics syncMetrics = syncOptions.getSyncMetrics();
+        if (syncMetrics != null) {
+            syncMetrics.startTimer();
+        }
+    }
+
     /**
      * Returns an instance of type U which is a subclass of {@link BaseSyncStatistics} containing all the stats of the
      * sync process; which includes a report message, the total number of update, created, failed, processed resources
@@ -65,22 +234,282 @@ public abstract class BaseSync<T, U extends BaseSyncStatistics, V extends BaseSy
         return statistics;
     }
 
+    /**
+     * Takes a snapshot of the {@link BaseSyncOptions#getSyncMetrics()} of this sync, which shows where the time of
+     * the sync is spent: in the requests to the CTP project, in resolving references or in building update actions.
+     *
+     * @return a snapshot of the metrics of this sync or {@code null} if the sync doesn't record metrics.
+     */
+    @Nullable
+    public SyncMetricsSnapshot getMetricsSnapshot() {
+        final SyncMetrics syncMetrics = syncOptions.getSyncMetrics();
+        return syncMetrics == null ? null : syncMetrics.snapshot(statistics.getProcessed());
+    }
+
+    /**
+     * Calls the {@link BaseSyncOptions#getSyncMetricsListener()} with a snapshot of the metrics of this sync, if both
+     * the metrics and the listener are set. It's called whenever a batch has been synced.
+     */
+    protected void reportMetrics() {
+        final Consumer<SyncMetricsSnapshot> syncMetricsListener = syncOptions.getSyncMetricsListener();
+        if (syncMetricsListener != null) {
+            final SyncMetricsSnapshot metricsSnapshot = getMetricsSnapshot();
+            if (metricsSnapshot != null) {
+                processedDraftsOfLastMetricsReport.set(metricsSnapshot.getProcessedDrafts());
+                syncMetricsListener.accept(metricsSnapshot);
+            }
+        }
+    }
+
+    /**
+     * Reports the metrics of this sync once it has completed, unless they have already been reported after the last
+     * draft was processed, e.g. by the report of the last batch. This way, the listener doesn't get the same final
+     * snapshot twice, but still gets one if no batch was synced, e.g. if all the drafts were skipped.
+     */
+    private void reportFinalMetrics() {
+        if (processedDraftsOfLastMetricsReport.get() != statistics.getProcessed()) {
+            reportMetrics();
+        }
+    }
+
+    /**
+     * Builds the update actions of a single draft with the supplied {@code updateActionsBuilder} and records the time
+     * it took in the metrics of this sync, if any.
+     *
+     * @param updateActionsBuilder the supplier that builds the update actions.
+     * @param <S>                  the type of the result of the builder.
+     * @return the result of the builder.
+     */
+    protected <S> S measureBuildUpdateActions(@Nonnull final Supplier<S> updateActionsBuilder) {
+        final SyncMetrics syncMetrics = syncOptions.getSyncMetrics();
+        if (syncMetrics == null) {
+            return updateActionsBuilder.get();
+        }
+        final long startTime = System.nanoTime();
+        final S updateActions = updateActionsBuilder.get();
+        syncMetrics.recordBuildUpdateActionsLatency(System.nanoTime() - startTime);
+        return updateActions;
+    }
+
+    /**
+     * Resolves the references of a single draft with the supplied {@code referenceResolution} and records the time
+     * until the resolution has completed in the metrics of this sync, if any.
+     *
+     * @param referenceResolution the supplier that starts resolving the references.
+     * @param <S>                 the type of the resolved draft.
+     * @return the stage of the reference resolution.
+     */
+    protected <S> CompletionStage<S> measureReferenceResolution(
+        @Nonnull final Supplier<CompletionStage<S>> referenceResolution) {
+        final SyncMetrics syncMetrics = syncOptions.getSyncMetrics();
+        if (syncMetrics == null) {
+            return referenceResolution.get();
+        }
+        final long startTime = System.nanoTime();
+        return referenceResolution.get().whenComplete((resolvedDraft, exception) ->
+            syncMetrics.recordReferenceResolutionLatency(System.nanoTime() - startTime));
+    }
+
+    /**
+     * Records a retried update in the metrics of this sync, if any.
+     */
+    protected void recordRetry() {
+        final SyncMetrics syncMetrics = syncOptions.getSyncMetrics();
+        if (syncMetrics != null) {
+            syncMetrics.incrementRetries();
+        }
+    }
+
+    /**
+     * Records the number of concurrent modifications the updates of a resource failed with in the metrics of this
+     * sync, if any. It's called once the resource has been updated or its update has failed for good. Resources
+     * without any concurrent modification aren't recorded.
+     *
+     * @param numberOfConflicts the number of concurrent modifications of the resource.
+     */
+    protected void recordConflicts(final int numberOfConflicts) {
+        final SyncMetrics syncMetrics = syncOptions.getSyncMetrics();
+        if (syncMetrics != null && numberOfConflicts > 0) {
+            syncMetrics.recordConflicts(numberOfConflicts);
+        }
+    }
+
+    /**
+     * Handles the supplied {@code sphereException} an update of a resource failed with. If it's a
+     * {@link ConcurrentModificationException} and the {@link BaseSyncOptions#getConflictRetryPolicy()} allows another
+     * retry of the update, the supplied {@code retry} is started once the backoff of the retry has passed, without
+     * blocking any thread. If the policy doesn't allow another retry, {@code onRetriesExhausted} is executed instead.
+     * Otherwise, if it's not a {@link ConcurrentModificationException}, {@code onOtherException} is executed.
+     *
+     * <p>If the failed update re-applied the actions of a previous update to the current version reported by its
+     * concurrent modification, any exception is handled like a concurrent modification. The actions may be stale for
+     * that version, e.g. fail with a bad request because they conflict with the concurrent change, so the retry has to
+     * fetch the resource and build the actions again, instead of failing it.
+     *
+     * @param sphereException    the exception the update failed with.
+     * @param isVersionReapply   {@code true} if the failed update re-applied the actions of a previous update to the
+     *                           current version reported by its concurrent modification.
+     * @param previousConflicts  the number of concurrent modifications the previous updates of the same resource
+     *                           failed with, i.e. 0 for the first update of a resource.
+     * @param retry              starts the retry of the update, given the number of concurrent modifications of the
+     *                           resource so far, which has to be passed to this method if the retry fails again.
+     * @param onRetriesExhausted executed with the number of concurrent modifications of the resource, if the update
+     *                           isn't retried anymore.
+     * @param onOtherException   executed if the {@code sphereException} is not a concurrent modification.
+     * @param <S>                the type of the result of the update.
+     * @return the result of the executed function.
+     */
+    protected <S> CompletionStage<S> retryIfConcurrentModificationException(
+        @Nonnull final Throwable sphereException,
+        final boolean isVersionReapply,
+        final int previousConflicts,
+        @Nonnull final IntFunction<CompletionStage<S>> retry,
+        @Nonnull final IntFunction<CompletionStage<S>> onRetriesExhausted,
+        @Nonnull final Supplier<CompletionStage<S>> onOtherException) {
+        if (isVersionReapply) {
+            return retryConflict(previousConflicts, retry, onRetriesExhausted);
+        }
+        return executeSupplierIfConcurrentModificationException(sphereException,
+            () -> retryConflict(previousConflicts, retry, onRetriesExhausted),
+            () -> {
+                recordConflicts(previousConflicts);
+                return onOtherException.get();
+            });
+    }
+
+    private <S> CompletionStage<S> retryConflict(final int previousConflicts,
+                                                 @Nonnull final IntFunction<CompletionStage<S>> retry,
+                                                 @Nonnull final IntFunction<CompletionStage<S>> onRetriesExhausted) {
+        final int conflicts = previousConflicts + 1;
+        final ConflictRetryPolicy conflictRetryPolicy = syncOptions.getConflictRetryPolicy();
+        if (!conflictRetryPolicy.canRetry(conflicts)) {
+            recordConflicts(conflicts);
+            return onRetriesExhausted.apply(conflicts);
+        }
+        recordRetry();
+        return conflictRetryPolicy.scheduleRetry(conflicts, () -> retry.apply(conflicts));
+    }
+
     /**
      * Given a list of resource (e.g. categories, products, etc..  batches represented by a
-     * {@link List}&lt;{@link List}&gt; of resources, this method recursively calls
-     * {@link #processBatch(List)} on each batch, then removes it, until there are no more batches, in other words,
-     * all batches have been synced.
+     * {@link List}&lt;{@link List}&gt; of resources, this method calls {@link #processBatch(List)} on each batch
+     * until there are no more batches, in other words, all batches have been synced.
+     *
+     * <p>At most {@link #getMaxParallelBatches()} batches are in flight at the same time. Each of these
+     * parallel lanes picks the next pending batch as soon as its current batch has finished syncing. With the default
+     * value of 1, there is only one lane, so each batch is only started once the previous batch has finished syncing.
+     * The metrics of the sync are reported (see {@link #reportMetrics()}) whenever a batch has finished syncing.
      *
      * @param batches the batches of resources to sync.
-     * @param result  in the first call of this recursive method, this result is normally a completed future, it
-     *                used from within the method to recursively sync each batch once the previous batch has
-     *                finished syncing.
+     * @param result  in the first call of this method, this result is normally a completed future, the processing
+     *                of the batches starts once it is completed.
      * @return an instance of {@link CompletionStage}&lt;{@code U}&gt; which contains as a result an instance of
      *      {@link BaseSyncStatistics} representing the {@code statistics} of the sync process executed on the
      *      given list of batches.
      */
-    protected abstract CompletionStage<U> syncBatches(@Nonnull final List<List<T>> batches,
-                                                      @Nonnull final CompletionStage<U> result);
+    protected CompletionStage<U> syncBatches(@Nonnull final List<List<T>> batches,
+                                             @Nonnull final CompletionStage<U> result) {
+        if (batches.isEmpty()) {
+            return result;
+        }
+        return result.thenCompose(subResult -> syncLanes(batches.iterator(), batch -> processBatch(batch)
+            .thenApply(batchResult -> {
+                reportMetrics();
+                return batchResult;
+            })));
+    }
+
+    /**
+     * Starts {@link #getMaxParallelBatches()} parallel lanes that share the supplied {@code pendingBatches} iterator.
+     * Each lane pulls the next pending batch, syncs it with the supplied {@code batchSyncer} and only pulls the next
+     * batch once the current one has finished syncing.
+     *
+     * @param pendingBatches the batches that haven't been started yet, shared by all the parallel lanes.
+     * @param batchSyncer    the function used to sync a single batch.
+     * @return an instance of {@link CompletionStage}&lt;{@code U}&gt; which is completed with the {@code statistics}
+     *      of this sync once all the lanes have run out of pending batches.
+     */
+    private CompletionStage<U> syncLanes(@Nonnull final Iterator<List<T>> pendingBatches,
+                                         @Nonnull final Function<List<T>, CompletionStage<U>> batchSyncer) {
+        final List<CompletableFuture<Void>> lanes = IntStream.range(0, Math.max(getMaxParallelBatches(), 1))
+                                                             .mapToObj(lane -> CompletableFuture
+                                                                 .completedFuture((Void) null)
+                                                                 .thenCompose(ignored ->
+                                                                     syncPendingBatches(pendingBatches, batchSyncer)))
+                                                             .collect(toList());
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[lanes.size()]))
+                                .thenApply(ignored -> statistics);
+    }
+
+    /**
+     * Pulls the next batch from the supplied {@code pendingBatches} iterator and syncs it with the supplied
+     * {@code batchSyncer}. Once the batch has finished syncing, the lane picks up the next pending batch, until there
+     * are no more batches left.
+     *
+     * @param pendingBatches the batches that haven't been started yet, shared by all the parallel lanes.
+     * @param batchSyncer    the function used to sync a single batch.
+     * @return a future which is completed once there are no more pending batches left to pick by this lane.
+     */
+    private CompletionStage<Void> syncPendingBatches(@Nonnull final Iterator<List<T>> pendingBatches,
+                                                     @Nonnull final Function<List<T>, CompletionStage<U>>
+                                                         batchSyncer) {
+        final CompletableFuture<Void> laneResult = new CompletableFuture<>();
+        syncPendingBatches(pendingBatches, batchSyncer, laneResult);
+        return laneResult;
+    }
+
+    /**
+     * Syncs the pending batches of a lane in a loop, as long as they finish syncing synchronously (e.g. if all their
+     * drafts are skipped), and only continues asynchronously once a batch is still syncing. This way, the stack
+     * doesn't grow with the number of batches, no matter how many of them finish synchronously.
+     *
+     * @param pendingBatches the batches that haven't been started yet, shared by all the parallel lanes.
+     * @param batchSyncer    the function used to sync a single batch.
+     * @param laneResult     the future which is completed once there are no more pending batches left to pick by
+     *                       this lane.
+     */
+    private void syncPendingBatches(@Nonnull final Iterator<List<T>> pendingBatches,
+                                    @Nonnull final Function<List<T>, CompletionStage<U>> batchSyncer,
+                                    @Nonnull final CompletableFuture<Void> laneResult) {
+        try {
+            List<T> batch = nextBatch(pendingBatches);
+            while (batch != null) {
+                final CompletableFuture<U> batchResult = batchSyncer.apply(batch).toCompletableFuture();
+                if (!batchResult.isDone() || batchResult.isCompletedExceptionally()) {
+                    batchResult.whenComplete((subResult, exception) -> {
+                        if (exception != null) {
+                            laneResult.completeExceptionally(exception);
+                        } else {
+                            syncPendingBatches(pendingBatches, batchSyncer, laneResult);
+                        }
+                    });
+                    return;
+                }
+                batch = nextBatch(pendingBatches);
+            }
+            laneResult.complete(null);
+        } catch (final RuntimeException exception) {
+            laneResult.completeExceptionally(exception);
+        }
+    }
+
+    @Nullable
+    private static <T> List<T> nextBatch(@Nonnull final Iterator<List<T>> pendingBatches) {
+        synchronized (pendingBatches) {
+            return pendingBatches.hasNext() ? pendingBatches.next() : null;
+        }
+    }
+
+    /**
+     * Returns the maximum number of batches that are synced in parallel by this sync. By default, this is the value
+     * of {@link BaseSyncOptions#getMaxParallelBatches()}. Syncs whose batches depend on each other override this
+     * method to sync their batches one after the other.
+     *
+     * @return the maximum number of batches that are synced in parallel by this sync.
+     */
+    protected int getMaxParallelBatches() {
+        return syncOptions.getMaxParallelBatches();
+    }
 
     protected abstract CompletionStage<U> processBatch(@Nonnull final List<T> batch);
 
@@ -92,6 +521,10 @@ public abstract class BaseSync<T, U extends BaseSyncStatistics, V extends BaseSy
      * the other {@code onOtherExceptionSupplier} {@link Supplier}. Regardless, which supplier is executed the results
      * of either is the result of this method.
      *
+     * <p>A {@link PartialUpdateException}, whose failed chunk of update actions failed with a
+     * {@link ConcurrentModificationException}, is treated as a {@link ConcurrentModificationException} as well, since
+     * the update actions which weren't applied can be rebuilt from the refetched resource.
+     *
      * @param sphereException                  the sphere exception to check if is
      *                                         {@link ConcurrentModificationException}.
      * @param onConcurrentModificationSupplier the supplier to execute if the {@code sphereException} is a
@@ -105,9 +538,29 @@ public abstract class BaseSync<T, U extends BaseSyncStatistics, V extends BaseSy
         @Nonnull final Throwable sphereException,
         @Nonnull final Supplier<S> onConcurrentModificationSupplier,
         @Nonnull final Supplier<S> onOtherExceptionSupplier) {
-        if (sphereException instanceof ConcurrentModificationException) {
+        if (sphereException instanceof ConcurrentModificationException
+            || (sphereException instanceof PartialUpdateException
+                && sphereException.getCause() instanceof ConcurrentModificationException)) {
             return onConcurrentModificationSupplier.get();
         }
         return onOtherExceptionSupplier.get();
     }
+
+    /**
+     * Gets the current version of the resource, which the update that failed with the supplied
+     * {@code sphereException} was rejected for, if the error response of the {@link ConcurrentModificationException}
+     * contains it. Then the same update actions can be applied again with the current version, without fetching the
+     * resource again. A {@link PartialUpdateException} has no current version, since only some of its update actions
+     * have to be applied again.
+     *
+     * @param sphereException the exception the update failed with.
+     * @return the current version of the resource or {@code null} if it's unknown.
+     */
+    @Nullable
+    protected static Long getCurrentVersion(@Nonnull final Throwable sphereException) {
+        if (sphereException instanceof ConcurrentModificationException) {
+            return ((ConcurrentModificationException) sphereException).getCurrentVersion();
+        }
+        return null;
+    }
 }
@@ -1,9 +1,16 @@
 package com.commercetools.sync.commons;
 
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.KeyToIdCacheType;
+import com.commercetools.sync.commons.helpers.MetricsSphereClientDecorator;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import io.sphere.sdk.client.SphereClient;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -12,34 +19,56 @@ public class BaseSyncOptions {
     private final BiConsumer<String, Throwable> errorCallBack;
     private final Consumer<String> warningCallBack;
     private int batchSize;
+    private int maxParallelBatches;
     private boolean removeOtherLocales = true;
     private boolean removeOtherSetEntries = true;
     private boolean removeOtherCollectionEntries = true;
     private boolean removeOtherProperties = true;
     private boolean allowUuid = false;
+    private final SyncMetrics syncMetrics;
+    private final Consumer<SyncMetricsSnapshot> syncMetricsListener;
+    private final Path keyToIdCacheDirectory;
+    private final KeyToIdCacheType keyToIdCacheType;
+    private final DeltaSyncState deltaSyncState;
+    private final ConflictRetryPolicy conflictRetryPolicy;
 
     protected BaseSyncOptions(@Nonnull final SphereClient ctpClient,
                               final BiConsumer<String, Throwable> errorCallBack,
                               final Consumer<String> warningCallBack,
                               final int batchSize,
+                              final int maxParallelBatches,
                               final boolean removeOtherLocales,
                               final boolean removeOtherSetEntries,
                               final boolean removeOtherCollectionEntries,
                               final boolean removeOtherProperties,
-                              final boolean allowUuid) {
-        this.ctpClient = ctpClient;
+                              final boolean allowUuid,
+                              @Nullable final SyncMetrics syncMetrics,
+                              @Nullable final Consumer<SyncMetricsSnapshot> syncMetricsListener,
+                              @Nullable final Path keyToIdCacheDirectory,
+                              @Nullable final KeyToIdCacheType keyToIdCacheType,
+                              @Nullable final DeltaSyncState deltaSyncState,
+                              @Nullable final ConflictRetryPolicy conflictRetryPolicy) {
+        this.ctpClient = syncMetrics == null ? ctpClient : MetricsSphereClientDecorator.of(ctpClient, syncMetrics);
         this.errorCallBack = errorCallBack;
         this.batchSize = batchSize;
+        this.maxParallelBatches = maxParallelBatches;
         this.warningCallBack = warningCallBack;
         this.removeOtherLocales = removeOtherLocales;
         this.removeOtherSetEntries = removeOtherSetEntries;
         this.removeOtherCollectionEntries = removeOtherCollectionEntries;
         this.removeOtherProperties = removeOtherProperties;
         this.allowUuid = allowUuid;
+        this.syncMetrics = syncMetrics;
+        this.syncMetricsListener = syncMetricsListener;
+        this.keyToIdCacheDirectory = keyToIdCacheDirectory;
+        this.keyToIdCacheType = keyToIdCacheType;
+        this.deltaSyncState = deltaSyncState;
+        this.conflictRetryPolicy = conflictRetryPolicy;
     }
 
     /**
-     * Returns the {@link SphereClient} responsible for interaction with the target CTP project.
+     * Returns the {@link SphereClient} responsible for interaction with the target CTP project. If
+     * {@link #getSyncMetrics()} are set, the client records the latencies of its requests in them.
      *
      * @return the {@link SphereClient} responsible for interaction with the target CTP project.
      */
@@ -188,4 +217,91 @@ public class BaseSyncOptions {
     public int getBatchSize() {
         return batchSize;
     }
+
+    /**
+     * Gets the maximum number of batches that are processed at the same time during the sync process. With the
+     * default value of 1, batches are processed strictly one after the other. With a value greater than 1, the sync
+     * starts fetching and resolving the references of the next batch(es) while the update and create requests of the
+     * previous batch(es) are still in flight; a new batch is started as soon as one of the in-flight batches is done.
+     *
+     * <p>This value is set to 1 by default.
+     * @return option that indicates the maximum number of batches processed in parallel.
+     */
+    public int getMaxParallelBatches() {
+        return maxParallelBatches;
+    }
+
+    /**
+     * Returns the {@link SyncMetrics} the sync records its metrics in, e.g. the latencies of its requests to the CTP
+     * project, the time spent resolving references and building update actions and the number of retried updates.
+     * By default, no metrics are recorded.
+     *
+     * @return the {@link SyncMetrics} of the sync or {@code null} if no metrics are recorded.
+     */
+    @Nullable
+    public SyncMetrics getSyncMetrics() {
+        return syncMetrics;
+    }
+
+    /**
+     * Returns the {@code syncMetricsListener} {@link Consumer}&lt;{@link SyncMetricsSnapshot}&gt; function set to
+     * {@code this} {@link BaseSyncOptions}. It represents the callback that is called with a snapshot of the
+     * {@link #getSyncMetrics()} whenever a batch has been synced and once the sync has completed.
+     *
+     * @return the {@code syncMetricsListener} {@link Consumer}&lt;{@link SyncMetricsSnapshot}&gt; function set to
+     *      {@code this} {@link BaseSyncOptions}
+     */
+    @Nullable
+    public Consumer<SyncMetricsSnapshot> getSyncMetricsListener() {
+        return syncMetricsListener;
+    }
+
+    /**
+     * Gets the directory where the key to id caches of the services are persisted between the sync runs. If it's
+     * set, the caches are loaded from the directory on their first use and only the resources that were modified
+     * since the caches were persisted are fetched from the CTP project, instead of all of them. By default, it's not
+     * set and the caches are built from all the resources on every run.
+     *
+     * @return the directory of the persistent key to id caches or {@code null} if the caches aren't persisted.
+     */
+    @Nullable
+    public Path getKeyToIdCacheDirectory() {
+        return keyToIdCacheDirectory;
+    }
+
+    /**
+     * Gets the type of map the services keep their key to id caches in. By default, it's
+     * {@link KeyToIdCacheType#CONCURRENT_HASH_MAP}. For projects with millions of resources, a
+     * {@link KeyToIdCacheType#COMPACT} or {@link KeyToIdCacheType#COMPACT_OFF_HEAP} cache takes a fraction of the heap.
+     *
+     * @return the type of the key to id caches of the services.
+     */
+    @Nonnull
+    public KeyToIdCacheType getKeyToIdCacheType() {
+        return keyToIdCacheType == null ? KeyToIdCacheType.CONCURRENT_HASH_MAP : keyToIdCacheType;
+    }
+
+    /**
+     * Gets the state of the delta sync of this sync, i.e. the fingerprints of the drafts that were synced successfully
+     * by the previous runs and the watermark of the last run without failures. If it's set, the sync skips the drafts
+     * whose fingerprints are unchanged, before any reference resolution, fetch or diff, and only syncs the remaining
+     * drafts. By default, it's not set and all drafts are synced.
+     *
+     * @return the state of the delta sync or {@code null} if all drafts are synced.
+     */
+    @Nullable
+    public DeltaSyncState getDeltaSyncState() {
+        return deltaSyncState;
+    }
+
+    /**
+     * Gets the policy which defines how often and after which backoff the sync retries the update of a resource that
+     * failed because the resource was modified concurrently. By default, it's {@link ConflictRetryPolicy#of()}.
+     *
+     * @return the policy of the retries of concurrently modified resources.
+     */
+    @Nonnull
+    public ConflictRetryPolicy getConflictRetryPolicy() {
+        return conflictRetryPolicy == null ? ConflictRetryPolicy.of() : conflictRetryPolicy;
+    }
 }
@@ -1,8 +1,14 @@
 package com.commercetools.sync.commons;
 
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.KeyToIdCacheType;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import io.sphere.sdk.client.SphereClient;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -11,11 +17,18 @@ public abstract class BaseSyncOptionsBuilder<T extends BaseSyncOptionsBuilder<T,
     protected BiConsumer<String, Throwable> errorCallBack;
     protected Consumer<String> warningCallBack;
     protected int batchSize = 30;
+    protected int maxParallelBatches = 1;
     protected boolean removeOtherLocales = true;
     protected boolean removeOtherSetEntries = true;
     protected boolean removeOtherCollectionEntries = true;
     protected boolean removeOtherProperties = true;
     protected boolean allowUuid = false;
+    protected SyncMetrics syncMetrics;
+    protected Consumer<SyncMetricsSnapshot> syncMetricsListener;
+    protected Path keyToIdCacheDirectory;
+    protected KeyToIdCacheType keyToIdCacheType = KeyToIdCacheType.CONCURRENT_HASH_MAP;
+    protected DeltaSyncState deltaSyncState;
+    protected ConflictRetryPolicy conflictRetryPolicy;
 
     /**
      * Sets the {@code errorCallBack} function of the sync module. This callback will be called whenever an event occurs
@@ -62,6 +75,25 @@ public abstract class BaseSyncOptionsBuilder<T extends BaseSyncOptionsBuilder<T,
         return getThis();
     }
 
+    /**
+     * Set option that indicates the maximum number of batches that are processed at the same time during the sync
+     * process. With the default value of 1, a batch is only started after the previous one has completely finished
+     * syncing. With a bigger value, the fetching and reference resolution of the next batch(es) overlaps with the
+     * create and update requests of the batch(es) still in flight, which keeps the connection to the CTP project busy.
+     *
+     * <p>This value is set to 1 by default.
+     *
+     * @param maxParallelBatches int that indicates the maximum number of batches processed in parallel. Has to be
+     *                           positive or else will be ignored and default value of 1 would be used.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setMaxParallelBatches(final int maxParallelBatches) {
+        if (maxParallelBatches > 0) {
+            this.maxParallelBatches = maxParallelBatches;
+        }
+        return getThis();
+    }
+
     /**
      * Sets the {@code removeOtherLocales} boolean flag which adds additional localizations without deleting
      * existing ones. If set to true, which is the default value of the option, it deletes the
@@ -127,6 +159,92 @@ public abstract class BaseSyncOptionsBuilder<T extends BaseSyncOptionsBuilder<T,
         return getThis();
     }
 
+    /**
+     * Sets the {@link SyncMetrics} the sync records its metrics in: the latencies of its fetch, create and update
+     * requests, the time spent resolving references and building update actions, the number of update actions per
+     * update request and the number of retried updates. The same instance can be passed to the client limiters, e.g.
+     * {@link com.commercetools.sync.commons.helpers.RateLimitingSphereClientDecorator}, to record the time requests
+     * wait in their queues as well. By default, no metrics are recorded.
+     *
+     * @param syncMetrics the metrics to record the metrics of the sync in.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setSyncMetrics(@Nonnull final SyncMetrics syncMetrics) {
+        this.syncMetrics = syncMetrics;
+        return getThis();
+    }
+
+    /**
+     * Sets the {@code syncMetricsListener} function of the sync module. This callback will be called with a snapshot
+     * of the {@link SyncMetrics} of the sync whenever a batch has been synced and once the sync has completed, unless
+     * the report of the last batch already covers all the processed drafts. It's only called if
+     * {@link #setSyncMetrics(SyncMetrics)} is set.
+     *
+     * @param syncMetricsListener the new value to set to the sync metrics listener.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setSyncMetricsListener(@Nonnull final Consumer<SyncMetricsSnapshot> syncMetricsListener) {
+        this.syncMetricsListener = syncMetricsListener;
+        return getThis();
+    }
+
+    /**
+     * Sets the directory where the key to id caches of the services are persisted between the sync runs, e.g. the
+     * keys and ids of all the products of the CTP project. If it's set, a sync run only fetches the resources that
+     * were modified since the previous run persisted the caches, instead of all of them. The directory should only be
+     * used by one sync at a time. By default, it's not set and the caches are built from all the resources on every
+     * run.
+     *
+     * @param keyToIdCacheDirectory the directory of the persistent key to id caches.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setKeyToIdCacheDirectory(@Nonnull final Path keyToIdCacheDirectory) {
+        this.keyToIdCacheDirectory = keyToIdCacheDirectory;
+        return getThis();
+    }
+
+    /**
+     * Sets the type of map the services keep their key to id caches in. A {@link KeyToIdCacheType#COMPACT} cache
+     * keeps the ids, which are UUIDs, as primitives and the keys as packed bytes, so it takes a fraction of the heap of
+     * the default {@link KeyToIdCacheType#CONCURRENT_HASH_MAP} cache, at the cost of slightly slower lookups. A
+     * {@link KeyToIdCacheType#COMPACT_OFF_HEAP} cache additionally keeps the keys off the heap.
+     *
+     * @param keyToIdCacheType the type of the key to id caches of the services.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setKeyToIdCacheType(@Nonnull final KeyToIdCacheType keyToIdCacheType) {
+        this.keyToIdCacheType = keyToIdCacheType;
+        return getThis();
+    }
+
+    /**
+     * Sets the state of a delta sync. If it's set, the sync skips every draft whose content is unchanged since it was
+     * last synced successfully with the same state, which makes a run where only a few drafts changed since the
+     * previous run much faster. The resources in the CTP project are expected to only be changed by the sync, see
+     * {@link DeltaSyncState}. By default, it's not set and all drafts are synced.
+     *
+     * @param deltaSyncState the state of the delta sync, e.g. {@link DeltaSyncState#of()} for the first run.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setDeltaSyncState(@Nonnull final DeltaSyncState deltaSyncState) {
+        this.deltaSyncState = deltaSyncState;
+        return getThis();
+    }
+
+    /**
+     * Sets the policy which defines how often and after which backoff the sync retries the update of a resource that
+     * failed because the resource was modified concurrently, e.g. {@code ConflictRetryPolicy.of(3,
+     * Duration.ofMillis(100), Duration.ofSeconds(1))}. By default, it's {@link ConflictRetryPolicy#of()}, which
+     * retries an update at most {@value ConflictRetryPolicy#DEFAULT_MAX_RETRIES} times.
+     *
+     * @param conflictRetryPolicy the policy of the retries of concurrently modified resources.
+     * @return {@code this} instance of {@link BaseSyncOptionsBuilder}
+     */
+    public T setConflictRetryPolicy(@Nonnull final ConflictRetryPolicy conflictRetryPolicy) {
+        this.conflictRetryPolicy = conflictRetryPolicy;
+        return getThis();
+    }
+
     /**
      * Creates new instance of {@code S} which extends {@link BaseSyncOptions} enriched with all attributes provided to
      * {@code this} builder.
@@ -0,0 +1,60 @@
+package com.commercetools.sync.commons.exceptions;
+
+import io.sphere.sdk.commands.UpdateAction;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Thrown if the update actions of a resource were applied in several update requests (chunks) and one of the chunks
+ * failed after the preceding chunks had been applied. The resource is left with the actions of the applied chunks
+ * only, so the exception tells which chunk failed and which version the resource has after the applied chunks. The
+ * cause of the exception is the error of the failed chunk.
+ */
+public class PartialUpdateException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int appliedChunks;
+    private final int totalChunks;
+    private final transient List<? extends UpdateAction<?>> failedActions;
+    private final long version;
+
+    /**
+     * Creates an exception for the failure of the chunk following the {@code appliedChunks} applied chunks.
+     *
+     * @param resourceId    the id of the updated resource.
+     * @param appliedChunks the number of chunks which were applied before the failed one.
+     * @param totalChunks   the total number of chunks of the update actions.
+     * @param failedActions the update actions of the failed chunk.
+     * @param version       the version of the resource after the applied chunks.
+     * @param cause         the error of the failed chunk.
+     */
+    public PartialUpdateException(@Nonnull final String resourceId, final int appliedChunks, final int totalChunks,
+                                  @Nonnull final List<? extends UpdateAction<?>> failedActions, final long version,
+                                  @Nonnull final Throwable cause) {
+        super(String.format("Applied %d of %d chunks of update actions to the resource with id '%s' (version %d). "
+            + "Chunk %d with %d update actions failed. Reason: %s", appliedChunks, totalChunks, resourceId, version,
+            appliedChunks + 1, failedActions.size(), cause), cause);
+        this.appliedChunks = appliedChunks;
+        this.totalChunks = totalChunks;
+        this.failedActions = failedActions;
+        this.version = version;
+    }
+
+    public int getAppliedChunks() {
+        return appliedChunks;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    @Nonnull
+    public List<? extends UpdateAction<?>> getFailedActions() {
+        return failedActions;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,237 @@
+package com.commercetools.sync.commons.helpers;
+
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereClientDecorator;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.client.SphereServiceException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongConsumer;
+
+import static io.sphere.sdk.http.HttpStatusCode.SERVICE_UNAVAILABLE_503;
+
+/**
+ * A {@link SphereClient} decorator that limits the number of requests in flight to the decorated client. As opposed
+ * to a fixed limit, the limit is adjusted from the responses of the decorated client using an additive increase,
+ * multiplicative decrease (AIMD) control:
+ * <ul>
+ *     <li>Every successful response, that was received while the limit was fully used, increases the limit by
+ *     {@code 1 / limit}, which adds up to an increase of 1 once a whole window of {@code limit} requests succeeded.
+ *     </li>
+ *     <li>Every response with the status code 429 or 503, or which took longer than the {@code latencyThreshold},
+ *     decreases the limit by 10%. The limit is decreased at most once per epoch, i.e. only by responses to requests
+ *     that were started after the last decrease. This way, a burst of failures of the requests that were in flight
+ *     at the same time decreases the limit once, instead of once per failure.</li>
+ * </ul>
+ * The limit always stays between the {@code minLimit} and the {@code maxLimit}. Requests that exceed the limit are
+ * queued and executed in order, as soon as requests in flight are completed.
+ */
+public final class AdaptiveConcurrencySphereClientDecorator extends SphereClientDecorator {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofSeconds(5);
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int TOO_MANY_REQUESTS_429 = 429;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdInNanos;
+    private final SyncMetrics syncMetrics;
+    private final Queue<LongConsumer> pendingRequests = new ArrayDeque<>();
+    private double limit;
+    private long limitEpoch;
+    private int inFlightRequests;
+
+    private AdaptiveConcurrencySphereClientDecorator(@Nonnull final SphereClient delegate,
+                                                     final int initialLimit,
+                                                     final int minLimit,
+                                                     final int maxLimit,
+                                                     @Nonnull final Duration latencyThreshold,
+                                                     @Nullable final SyncMetrics syncMetrics) {
+        super(delegate);
+        this.syncMetrics = syncMetrics;
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+        this.latencyThresholdInNanos = latencyThreshold.toNanos();
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} with an adaptive limit of requests in flight which starts at
+     * {@value #DEFAULT_INITIAL_LIMIT} requests and stays between {@value #DEFAULT_MIN_LIMIT} and
+     * {@value #DEFAULT_MAX_LIMIT} requests. The limit is decreased on responses that took longer than 5 seconds.
+     *
+     * @param delegate the client to limit the requests in flight to.
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static AdaptiveConcurrencySphereClientDecorator of(@Nonnull final SphereClient delegate) {
+        return of(delegate, DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_LATENCY_THRESHOLD);
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} with an adaptive limit of requests in flight.
+     *
+     * @param delegate         the client to limit the requests in flight to.
+     * @param initialLimit     the limit of requests in flight to start with.
+     * @param minLimit         the lowest value the limit can be decreased to, at least 1.
+     * @param maxLimit         the highest value the limit can be increased to.
+     * @param latencyThreshold responses that took longer than this threshold decrease the limit.
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static AdaptiveConcurrencySphereClientDecorator of(@Nonnull final SphereClient delegate,
+                                                              final int initialLimit,
+                                                              final int minLimit,
+                                                              final int maxLimit,
+                                                              @Nonnull final Duration latencyThreshold) {
+        return new AdaptiveConcurrencySphereClientDecorator(delegate, initialLimit, minLimit, maxLimit,
+            latencyThreshold, null);
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} with an adaptive limit of requests in flight and records the time each
+     * request waits in the queue of the limiter in the supplied {@code syncMetrics}.
+     *
+     * @param delegate         the client to limit the requests in flight to.
+     * @param initialLimit     the limit of requests in flight to start with.
+     * @param minLimit         the lowest value the limit can be decreased to, at least 1.
+     * @param maxLimit         the highest value the limit can be increased to.
+     * @param latencyThreshold responses that took longer than this threshold decrease the limit.
+     * @param syncMetrics      the metrics to record the waiting time of the requests in.
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static AdaptiveConcurrencySphereClientDecorator of(@Nonnull final SphereClient delegate,
+                                                              final int initialLimit,
+                                                              final int minLimit,
+                                                              final int maxLimit,
+                                                              @Nonnull final Duration latencyThreshold,
+                                                              @Nonnull final SyncMetrics syncMetrics) {
+        return new AdaptiveConcurrencySphereClientDecorator(delegate, initialLimit, minLimit, maxLimit,
+            latencyThreshold, syncMetrics);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long queueingTime = System.nanoTime();
+        synchronized (this) {
+            pendingRequests.add(startEpoch -> {
+                if (syncMetrics != null) {
+                    syncMetrics.recordQueueWaitTime(System.nanoTime() - queueingTime);
+                }
+                executeAndRelease(sphereRequest, startEpoch, result);
+            });
+        }
+        executePendingRequests();
+        return result;
+    }
+
+    /**
+     * Returns the current limit of requests in flight.
+     *
+     * @return the current limit of requests in flight.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of requests that are currently executed by the decorated client.
+     *
+     * @return the number of requests in flight.
+     */
+    public synchronized int getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    /**
+     * Returns the number of requests that are queued because the limit of requests in flight is reached.
+     *
+     * @return the number of queued requests.
+     */
+    public synchronized int getQueueDepth() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Starts as many queued requests as the current limit allows. The requests are started outside of the lock, so
+     * that the decorated client is never called while holding it.
+     */
+    private void executePendingRequests() {
+        final List<Runnable> requestsToStart = new ArrayList<>();
+        synchronized (this) {
+            while (inFlightRequests < getLimit() && !pendingRequests.isEmpty()) {
+                inFlightRequests++;
+                final LongConsumer pendingRequest = pendingRequests.poll();
+                final long startEpoch = limitEpoch;
+                requestsToStart.add(() -> pendingRequest.accept(startEpoch));
+            }
+        }
+        requestsToStart.forEach(Runnable::run);
+    }
+
+    private <T> void executeAndRelease(@Nonnull final SphereRequest<T> sphereRequest, final long startEpoch,
+                                       @Nonnull final CompletableFuture<T> result) {
+        final long startTime = System.nanoTime();
+        CompletionStage<T> response;
+        try {
+            response = super.execute(sphereRequest);
+        } catch (final RuntimeException exception) {
+            final CompletableFuture<T> failedResponse = new CompletableFuture<>();
+            failedResponse.completeExceptionally(exception);
+            response = failedResponse;
+        }
+        response.whenComplete((value, exception) -> {
+            onResponse(System.nanoTime() - startTime, startEpoch, exception);
+            executePendingRequests();
+            if (exception != null) {
+                result.completeExceptionally(exception);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Releases the slot of the completed request and adjusts the limit according to its outcome.
+     *
+     * @param latencyInNanos the time the request took to complete.
+     * @param startEpoch     the epoch of the limit when the request was started.
+     * @param exception      the exception the request failed with or {@code null} if it succeeded.
+     */
+    private synchronized void onResponse(final long latencyInNanos, final long startEpoch,
+                                         @Nullable final Throwable exception) {
+        final boolean isLimitFullyUsed = inFlightRequests >= getLimit() || !pendingRequests.isEmpty();
+        inFlightRequests--;
+        if (isOverloaded(exception) || latencyInNanos > latencyThresholdInNanos) {
+            if (startEpoch == limitEpoch) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                limitEpoch++;
+            }
+        } else if (exception == null && isLimitFullyUsed) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    private static boolean isOverloaded(@Nullable final Throwable exception) {
+        final Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause() : exception;
+        if (cause instanceof SphereServiceException) {
+            final int statusCode = ((SphereServiceException) cause).getStatusCode();
+            return statusCode == TOO_MANY_REQUESTS_429 || statusCode == SERVICE_UNAVAILABLE_503;
+        }
+        return false;
+    }
+}
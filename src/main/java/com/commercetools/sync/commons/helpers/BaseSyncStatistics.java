@@ -2,16 +2,22 @@ package com.commercetools.sync.commons.helpers;
 
 import io.netty.util.internal.StringUtil;
 
+import javax.annotation.Nonnull;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.lang.String.format;
 
+/**
+ * The statistics of a sync. The counters are backed by {@link LongAdder}s, since they are incremented concurrently from
+ * the callbacks of the CTP requests. This keeps incrementing them cheap under contention without losing updates.
+ */
 public abstract class BaseSyncStatistics {
     protected String reportMessage;
-    private int updated;
-    private int created;
-    private int failed;
-    private int processed;
+    private final LongAdder updated = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder processed = new LongAdder();
     private long latestBatchStartTime;
     private long latestBatchProcessingTimeInDays;
     private long latestBatchProcessingTimeInHours;
@@ -41,14 +47,14 @@ public abstract class BaseSyncStatistics {
      * @return total number of resources that were updated.
      */
     public int getUpdated() {
-        return updated;
+        return updated.intValue();
     }
 
     /**
      * Increments the total number of resource that were updated.
      */
     public void incrementUpdated() {
-        this.updated++;
+        updated.increment();
     }
 
     /**
@@ -57,7 +63,7 @@ public abstract class BaseSyncStatistics {
      * @param times the total number of times to increment.
      */
     public void incrementUpdated(final int times) {
-        this.updated += times;
+        updated.add(times);
     }
 
     /**
@@ -66,14 +72,14 @@ public abstract class BaseSyncStatistics {
      * @return total number of resources that were created.
      */
     public int getCreated() {
-        return created;
+        return created.intValue();
     }
 
     /**
      * Increments the total number of resource that were created.
      */
     public void incrementCreated() {
-        this.created++;
+        created.increment();
     }
 
     /**
@@ -82,7 +88,7 @@ public abstract class BaseSyncStatistics {
      * @param times the total number of times to increment.
      */
     public void incrementCreated(final int times) {
-        this.created += times;
+        created.add(times);
     }
 
     /**
@@ -91,14 +97,14 @@ public abstract class BaseSyncStatistics {
      * @return total number of resources that were processed/synced.
      */
     public int getProcessed() {
-        return processed;
+        return processed.intValue();
     }
 
     /**
      * Increments the total number of resources that were processed/synced.
      */
     public void incrementProcessed() {
-        this.processed++;
+        processed.increment();
     }
 
     /**
@@ -107,7 +113,7 @@ public abstract class BaseSyncStatistics {
      * @param times the total number of times to increment.
      */
     public void incrementProcessed(final int times) {
-        this.processed += times;
+        processed.add(times);
     }
 
     /**
@@ -116,7 +122,7 @@ public abstract class BaseSyncStatistics {
      * @return total number of resources that failed to sync.
      */
     public int getFailed() {
-        return failed;
+        return failed.intValue();
     }
 
     /**
@@ -124,7 +130,7 @@ public abstract class BaseSyncStatistics {
      *
      */
     public void incrementFailed() {
-        this.failed++;
+        failed.increment();
     }
 
     /**
@@ -133,7 +139,19 @@ public abstract class BaseSyncStatistics {
      * @param times the total number of times to increment.
      */
     public void incrementFailed(final int times) {
-        this.failed += times;
+        failed.add(times);
+    }
+
+    /**
+     * Takes a snapshot of the counters of this statistics instance. Each counter of the snapshot is exact, but while
+     * batches are still being synced, the counters are read one after the other and not atomically as a whole. The
+     * snapshot is therefore consistent once the stage returned by the sync has completed.
+     *
+     * @return an immutable snapshot of the counters of this statistics instance.
+     */
+    @Nonnull
+    public SyncStatisticsSnapshot snapshot() {
+        return new SyncStatisticsSnapshot(updated.sum(), created.sum(), failed.sum(), processed.sum());
     }
 
     /**
@@ -0,0 +1,463 @@
+package com.commercetools.sync.commons.helpers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A memory efficient map of resource keys to resource ids, meant for the key to id caches of projects with millions
+ * of resources. As opposed to a {@link java.util.concurrent.ConcurrentHashMap}, which keeps two {@link String}s,
+ * their character arrays and a node object per entry, this map keeps:
+ * <ul>
+ *     <li>every id, which is a UUID in CTP, as two {@code long}s in a primitive array,</li>
+ *     <li>every key as length-prefixed UTF-8 bytes in a packed byte arena, which is either on the heap or, for
+ *     {@link #ofOffHeap()}, off the heap in a direct buffer,</li>
+ *     <li>the arena offset and the hash of every key in an open addressing table with linear probing.</li>
+ * </ul>
+ * This takes less than a third of the heap of a {@link java.util.concurrent.ConcurrentHashMap} per entry. Ids that
+ * aren't lowercase UUIDs and keys longer than 65535 UTF-8 bytes are kept in a plain {@link HashMap} instead.
+ *
+ * <p>The map is thread-safe: reads share a read lock and writes take a write lock. Null keys and ids aren't allowed.
+ * The views of the map, e.g. its {@link #entrySet()}, are snapshots of the map at the time they were created and
+ * don't support modifications.
+ */
+public final class CompactKeyToIdMap extends AbstractMap<String, String> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_ARENA_SIZE = 1024;
+    private static final int MAX_KEY_LENGTH = 0xFFFF;
+    private static final int UUID_LENGTH = 36;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final boolean offHeap;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, String> overflow = new HashMap<>();
+    // The arena offset of the key of each slot plus 1, 0 for an empty slot.
+    private int[] keyOffsets;
+    private int[] keyHashes;
+    // The most and the least significant bits of the id of each slot.
+    private long[] ids;
+    private ByteBuffer arena;
+    private int arenaSize;
+    private int liveArenaSize;
+    private int tableSize;
+
+    private CompactKeyToIdMap(final boolean offHeap) {
+        this.offHeap = offHeap;
+        initialize(INITIAL_CAPACITY, INITIAL_ARENA_SIZE);
+    }
+
+    /**
+     * Creates a new, empty map which keeps its keys on the heap.
+     *
+     * @return a new instance of {@link CompactKeyToIdMap}.
+     */
+    @Nonnull
+    public static CompactKeyToIdMap of() {
+        return new CompactKeyToIdMap(false);
+    }
+
+    /**
+     * Creates a new, empty map which keeps its keys off the heap, in a direct buffer. The buffer is released once the
+     * map is garbage collected.
+     *
+     * @return a new instance of {@link CompactKeyToIdMap}.
+     */
+    @Nonnull
+    public static CompactKeyToIdMap ofOffHeap() {
+        return new CompactKeyToIdMap(true);
+    }
+
+    @Override
+    public int size() {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return tableSize + overflow.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @Nullable
+    public String get(@Nullable final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final String stringKey = (String) key;
+        final byte[] keyBytes = stringKey.getBytes(StandardCharsets.UTF_8);
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            if (keyBytes.length > MAX_KEY_LENGTH) {
+                return overflow.get(stringKey);
+            }
+            final int slot = findSlot(hash(stringKey), keyBytes);
+            return slot >= 0 ? formatUuid(ids[2 * slot], ids[2 * slot + 1]) : overflow.get(stringKey);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    @Nullable
+    public String put(@Nonnull final String key, @Nonnull final String id) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(id);
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final boolean isCompact = keyBytes.length <= MAX_KEY_LENGTH && isUuid(id);
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (!isCompact) {
+                final String previousId = keyBytes.length <= MAX_KEY_LENGTH ? removeFromTable(key, keyBytes) : null;
+                final String previousOverflowId = overflow.put(key, id);
+                return previousId != null ? previousId : previousOverflowId;
+            }
+            final String previousOverflowId = overflow.remove(key);
+            final int hash = hash(key);
+            final int existingSlot = findSlot(hash, keyBytes);
+            if (existingSlot >= 0) {
+                final String previousId = formatUuid(ids[2 * existingSlot], ids[2 * existingSlot + 1]);
+                setId(existingSlot, id);
+                return previousId;
+            }
+            if ((tableSize + 1) * 4L > keyOffsets.length * 3L) {
+                initialize(keyOffsets.length * 2, Math.max(liveArenaSize * 2, INITIAL_ARENA_SIZE));
+            }
+            // Appending the key might compact the arena and move the entries, so the slot is looked up afterwards.
+            final int keyOffset = appendKey(keyBytes);
+            final int slot = -(findSlot(hash, keyBytes) + 1);
+            keyOffsets[slot] = keyOffset + 1;
+            keyHashes[slot] = hash;
+            setId(slot, id);
+            tableSize++;
+            return previousOverflowId;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    @Nullable
+    public String remove(@Nullable final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final String stringKey = (String) key;
+        final byte[] keyBytes = stringKey.getBytes(StandardCharsets.UTF_8);
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final String previousId = keyBytes.length <= MAX_KEY_LENGTH ? removeFromTable(stringKey, keyBytes) : null;
+            return previousId != null ? previousId : overflow.remove(stringKey);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(@Nullable final Object key, @Nullable final Object id) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            // The write lock is reentrant, so the value can't change between the get and the remove.
+            if (id == null || !id.equals(get(key))) {
+                return false;
+            }
+            remove(key);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            overflow.clear();
+            tableSize = 0;
+            keyOffsets = null;
+            initialize(INITIAL_CAPACITY, INITIAL_ARENA_SIZE);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Set<Entry<String, String>> entrySet() {
+        final List<Entry<String, String>> entries;
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            entries = new ArrayList<>(tableSize + overflow.size());
+            for (int slot = 0; slot < keyOffsets.length; slot++) {
+                if (keyOffsets[slot] != 0) {
+                    entries.add(new SimpleImmutableEntry<>(readKey(keyOffsets[slot] - 1),
+                        formatUuid(ids[2 * slot], ids[2 * slot + 1])));
+                }
+            }
+            overflow.forEach((key, id) -> entries.add(new SimpleImmutableEntry<>(key, id)));
+        } finally {
+            readLock.unlock();
+        }
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            @Nonnull
+            public Iterator<Entry<String, String>> iterator() {
+                final Iterator<Entry<String, String>> iterator = entries.iterator();
+                return new Iterator<Entry<String, String>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        return iterator.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    /**
+     * Finds the slot of the key with the supplied hash and UTF-8 bytes.
+     *
+     * @return the slot of the key or, if the key isn't in the table, {@code -(slot + 1)} of the empty slot where it
+     *         would be inserted.
+     */
+    private int findSlot(final int hash, @Nonnull final byte[] keyBytes) {
+        final int mask = keyOffsets.length - 1;
+        int slot = hash & mask;
+        while (keyOffsets[slot] != 0) {
+            if (keyHashes[slot] == hash && keyEquals(keyOffsets[slot] - 1, keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -(slot + 1);
+    }
+
+    /**
+     * Removes the key from the table and shifts the following entries of its probe sequence back, so that no
+     * tombstones are needed. The bytes of the key are left in the arena until it's compacted.
+     *
+     * @return the previous id of the key or {@code null} if the key wasn't in the table.
+     */
+    @Nullable
+    private String removeFromTable(@Nonnull final String key, @Nonnull final byte[] keyBytes) {
+        int emptySlot = findSlot(hash(key), keyBytes);
+        if (emptySlot < 0) {
+            return null;
+        }
+        final String previousId = formatUuid(ids[2 * emptySlot], ids[2 * emptySlot + 1]);
+        liveArenaSize -= Short.BYTES + keyBytes.length;
+        tableSize--;
+        keyOffsets[emptySlot] = 0;
+
+        final int mask = keyOffsets.length - 1;
+        int slot = emptySlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (keyOffsets[slot] == 0) {
+                return previousId;
+            }
+            final int homeSlot = keyHashes[slot] & mask;
+            if (((slot - homeSlot) & mask) >= ((slot - emptySlot) & mask)) {
+                keyOffsets[emptySlot] = keyOffsets[slot];
+                keyHashes[emptySlot] = keyHashes[slot];
+                ids[2 * emptySlot] = ids[2 * slot];
+                ids[2 * emptySlot + 1] = ids[2 * slot + 1];
+                keyOffsets[slot] = 0;
+                emptySlot = slot;
+            }
+        }
+    }
+
+    /**
+     * Replaces the table with an empty table of the supplied capacity and a compacted arena, into which the live
+     * entries of the current table are moved.
+     */
+    private void initialize(final int capacity, final int arenaCapacity) {
+        final int[] previousKeyOffsets = keyOffsets;
+        final int[] previousKeyHashes = keyHashes;
+        final long[] previousIds = ids;
+        final ByteBuffer previousArena = arena;
+
+        keyOffsets = new int[capacity];
+        keyHashes = new int[capacity];
+        ids = new long[2 * capacity];
+        arena = allocate(arenaCapacity);
+        arenaSize = 0;
+        liveArenaSize = 0;
+        if (previousKeyOffsets == null) {
+            return;
+        }
+        final int mask = capacity - 1;
+        for (int previousSlot = 0; previousSlot < previousKeyOffsets.length; previousSlot++) {
+            if (previousKeyOffsets[previousSlot] != 0) {
+                int slot = previousKeyHashes[previousSlot] & mask;
+                while (keyOffsets[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keyOffsets[slot] = copyKey(previousArena, previousKeyOffsets[previousSlot] - 1) + 1;
+                keyHashes[slot] = previousKeyHashes[previousSlot];
+                ids[2 * slot] = previousIds[2 * previousSlot];
+                ids[2 * slot + 1] = previousIds[2 * previousSlot + 1];
+            }
+        }
+    }
+
+    private int appendKey(@Nonnull final byte[] keyBytes) {
+        final int requiredSize = Short.BYTES + keyBytes.length;
+        if (arenaSize + requiredSize > arena.capacity()) {
+            if (arenaSize - liveArenaSize >= liveArenaSize) {
+                // More than half of the arena is taken by removed keys, so it's compacted instead of grown.
+                initialize(keyOffsets.length, Math.max((liveArenaSize + requiredSize) * 2, INITIAL_ARENA_SIZE));
+            } else {
+                final ByteBuffer grownArena = allocate((int) Math.min(Integer.MAX_VALUE,
+                    Math.max(2L * arena.capacity(), (long) arenaSize + requiredSize)));
+                final ByteBuffer usedArena = arena.duplicate();
+                usedArena.position(0).limit(arenaSize);
+                grownArena.put(usedArena);
+                arena = grownArena;
+            }
+        }
+        final int offset = arenaSize;
+        arena.putShort(offset, (short) keyBytes.length);
+        for (int index = 0; index < keyBytes.length; index++) {
+            arena.put(offset + Short.BYTES + index, keyBytes[index]);
+        }
+        arenaSize += requiredSize;
+        liveArenaSize += requiredSize;
+        return offset;
+    }
+
+    private int copyKey(@Nonnull final ByteBuffer sourceArena, final int sourceOffset) {
+        final int length = Short.BYTES + Short.toUnsignedInt(sourceArena.getShort(sourceOffset));
+        final ByteBuffer key = sourceArena.duplicate();
+        key.position(sourceOffset).limit(sourceOffset + length);
+        final int offset = arenaSize;
+        arena.position(offset);
+        arena.put(key);
+        arenaSize += length;
+        liveArenaSize += length;
+        return offset;
+    }
+
+    private boolean keyEquals(final int offset, @Nonnull final byte[] keyBytes) {
+        if (Short.toUnsignedInt(arena.getShort(offset)) != keyBytes.length) {
+            return false;
+        }
+        for (int index = 0; index < keyBytes.length; index++) {
+            if (arena.get(offset + Short.BYTES + index) != keyBytes[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    private String readKey(final int offset) {
+        final byte[] keyBytes = new byte[Short.toUnsignedInt(arena.getShort(offset))];
+        for (int index = 0; index < keyBytes.length; index++) {
+            keyBytes[index] = arena.get(offset + Short.BYTES + index);
+        }
+        return new String(keyBytes, StandardCharsets.UTF_8);
+    }
+
+    @Nonnull
+    private ByteBuffer allocate(final int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private void setId(final int slot, @Nonnull final String id) {
+        ids[2 * slot] = parseHex(id, 0, 8) << 32 | parseHex(id, 9, 13) << 16 | parseHex(id, 14, 18);
+        ids[2 * slot + 1] = parseHex(id, 19, 23) << 48 | parseHex(id, 24, 36);
+    }
+
+    private static int hash(@Nonnull final String key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Checks if the supplied {@code id} is a UUID in its canonical lowercase form, e.g.
+     * {@code 3d5d2b0f-4a4b-4c7b-9e8a-1f2e3d4c5b6a}, which can be formatted back to the same string from its bits.
+     */
+    static boolean isUuid(@Nonnull final String id) {
+        if (id.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int index = 0; index < UUID_LENGTH; index++) {
+            final char character = id.charAt(index);
+            if (index == 8 || index == 13 || index == 18 || index == 23) {
+                if (character != '-') {
+                    return false;
+                }
+            } else if (!(character >= '0' && character <= '9') && !(character >= 'a' && character <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(@Nonnull final String id, final int beginIndex, final int endIndex) {
+        long value = 0;
+        for (int index = beginIndex; index < endIndex; index++) {
+            value = value << 4 | Character.digit(id.charAt(index), 16);
+        }
+        return value;
+    }
+
+    @Nonnull
+    static String formatUuid(final long mostSignificantBits, final long leastSignificantBits) {
+        final char[] characters = new char[UUID_LENGTH];
+        formatHex(characters, 0, 8, mostSignificantBits >>> 32);
+        characters[8] = '-';
+        formatHex(characters, 9, 13, mostSignificantBits >>> 16);
+        characters[13] = '-';
+        formatHex(characters, 14, 18, mostSignificantBits);
+        characters[18] = '-';
+        formatHex(characters, 19, 23, leastSignificantBits >>> 48);
+        characters[23] = '-';
+        formatHex(characters, 24, 36, leastSignificantBits);
+        return new String(characters);
+    }
+
+    private static void formatHex(@Nonnull final char[] characters, final int beginIndex, final int endIndex,
+                                  final long value) {
+        long remainingValue = value;
+        for (int index = endIndex - 1; index >= beginIndex; index--) {
+            characters[index] = HEX_DIGITS[(int) (remainingValue & 0xF)];
+            remainingValue >>>= 4;
+        }
+    }
+}
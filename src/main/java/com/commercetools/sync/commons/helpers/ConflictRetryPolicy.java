@@ -0,0 +1,169 @@
+package com.commercetools.sync.commons.helpers;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Defines how often and after which delay a sync retries the update of a resource that failed with a
+ * {@link io.sphere.sdk.client.ConcurrentModificationException}, i.e. because the resource was modified concurrently.
+ *
+ * <p>An update is retried at most {@link #getMaxRetries()} times. Before each retry, the sync waits for a backoff that
+ * starts at {@link #getInitialBackoff()} and doubles with each retry of the same resource, up to
+ * {@link #getMaxBackoff()}. The backoff is jittered, i.e. a random duration between half of it and all of it, so that
+ * the updates of resources that conflicted at the same time aren't retried at the same time again. The waiting doesn't
+ * block any thread: the retry is scheduled to be started once the backoff has passed. The scheduler thread only hands
+ * the retry off to the {@link java.util.concurrent.ForkJoinPool#commonPool()}, so that building and sending the
+ * request of a retry doesn't delay the other retries that are due.
+ */
+public final class ConflictRetryPolicy {
+    public static final int DEFAULT_MAX_RETRIES = 5;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(50);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(2);
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ctp-conflict-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int maxRetries;
+    private final long initialBackoffInNanos;
+    private final long maxBackoffInNanos;
+
+    private ConflictRetryPolicy(final int maxRetries, @Nonnull final Duration initialBackoff,
+                                @Nonnull final Duration maxBackoff) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialBackoffInNanos = Math.max(0, initialBackoff.toNanos());
+        this.maxBackoffInNanos = Math.max(initialBackoffInNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Creates the default policy, which retries an update at most {@link #DEFAULT_MAX_RETRIES} times with a backoff
+     * from {@link #DEFAULT_INITIAL_BACKOFF} up to {@link #DEFAULT_MAX_BACKOFF}.
+     *
+     * @return the default policy.
+     */
+    @Nonnull
+    public static ConflictRetryPolicy of() {
+        return of(DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * Creates a policy, which retries an update at most {@code maxRetries} times with a backoff from
+     * {@code initialBackoff} up to {@code maxBackoff}.
+     *
+     * @param maxRetries     the maximum number of retries of the update of a resource. With 0, updates that failed
+     *                       with a concurrent modification aren't retried.
+     * @param initialBackoff the backoff before the first retry. With {@link Duration#ZERO}, updates are retried
+     *                       immediately.
+     * @param maxBackoff     the maximum backoff before a retry. It's at least the {@code initialBackoff}.
+     * @return the policy.
+     */
+    @Nonnull
+    public static ConflictRetryPolicy of(final int maxRetries, @Nonnull final Duration initialBackoff,
+                                         @Nonnull final Duration maxBackoff) {
+        return new ConflictRetryPolicy(maxRetries, initialBackoff, maxBackoff);
+    }
+
+    /**
+     * Gets the maximum number of retries of the update of a resource.
+     *
+     * @return the maximum number of retries.
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Gets the backoff before the first retry of the update of a resource.
+     *
+     * @return the initial backoff.
+     */
+    @Nonnull
+    public Duration getInitialBackoff() {
+        return Duration.ofNanos(initialBackoffInNanos);
+    }
+
+    /**
+     * Gets the maximum backoff before a retry, which the doubling backoff doesn't exceed.
+     *
+     * @return the maximum backoff.
+     */
+    @Nonnull
+    public Duration getMaxBackoff() {
+        return Duration.ofNanos(maxBackoffInNanos);
+    }
+
+    /**
+     * Checks if the update of a resource can be retried once more.
+     *
+     * @param retry the number of the retry, starting at 1 for the first retry of the update of a resource.
+     * @return {@code true} if the retry is allowed, otherwise {@code false}.
+     */
+    public boolean canRetry(final int retry) {
+        return retry <= maxRetries;
+    }
+
+    /**
+     * Computes the jittered backoff before the supplied retry, which is a random duration between half and all of the
+     * exponential backoff of the retry.
+     *
+     * @param retry the number of the retry, starting at 1 for the first retry of the update of a resource.
+     * @return the backoff in nanoseconds.
+     */
+    long getBackoffInNanos(final int retry) {
+        final int doublings = Math.min(Math.max(retry - 1, 0), Long.SIZE - 2);
+        final long exponentialBackoff = initialBackoffInNanos > (maxBackoffInNanos >> doublings)
+            ? maxBackoffInNanos : initialBackoffInNanos << doublings;
+        final long halfBackoff = exponentialBackoff / 2;
+        return halfBackoff + ThreadLocalRandom.current().nextLong(exponentialBackoff - halfBackoff + 1);
+    }
+
+    /**
+     * Starts the supplied {@code retry} of an update in the {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * once the backoff of the retry has passed.
+     *
+     * @param retryNumber the number of the retry, starting at 1 for the first retry of the update of a resource.
+     * @param retry       the supplier that starts the retry.
+     * @param <T>         the type of the result of the retry.
+     * @return a {@link CompletionStage} which is completed with the result of the retry.
+     */
+    @Nonnull
+    public <T> CompletionStage<T> scheduleRetry(final int retryNumber,
+                                                @Nonnull final Supplier<CompletionStage<T>> retry) {
+        final long backoffInNanos = getBackoffInNanos(retryNumber);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        if (backoffInNanos <= 0) {
+            startRetry(retry, result);
+        } else {
+            SCHEDULER.schedule(() -> startRetry(retry, result), backoffInNanos, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    private static <T> void startRetry(@Nonnull final Supplier<CompletionStage<T>> retry,
+                                       @Nonnull final CompletableFuture<T> result) {
+        try {
+            CompletableFuture.supplyAsync(retry)
+                             .thenCompose(Function.identity())
+                             .whenComplete((value, exception) -> {
+                                 if (exception != null) {
+                                     result.completeExceptionally(exception instanceof CompletionException
+                                         && exception.getCause() != null ? exception.getCause() : exception);
+                                 } else {
+                                     result.complete(value);
+                                 }
+                             });
+        } catch (final RuntimeException exception) {
+            result.completeExceptionally(exception);
+        }
+    }
+}
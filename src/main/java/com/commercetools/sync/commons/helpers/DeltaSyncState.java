@@ -0,0 +1,170 @@
+package com.commercetools.sync.commons.helpers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * The state of a delta sync: the {@link DraftFingerprint}s of the drafts that were synced successfully, by the key
+ * of the draft, and a watermark. A sync whose options have a delta sync state skips every draft whose fingerprint is
+ * unchanged since it was last synced, before any reference resolution, fetch or diff, and only syncs the remaining
+ * drafts. The state is updated by the sync with the fingerprints of the drafts it synced successfully.
+ *
+ * <p>The watermark is the time a sync run, that synced all its drafts successfully, started at. It can be used to
+ * only read the records that changed since the watermark from the source system. It's only advanced by runs without
+ * failures, so the drafts that failed to sync are read again by the next run.
+ *
+ * <p>A delta sync assumes the synced resources are only changed by the sync. A resource that was changed in the CTP
+ * project in between, but whose draft didn't change, isn't synced back. Such changes can be reverted by a full sync
+ * with a new, empty state.
+ *
+ * <p>The state can be shared between the runs of a process or persisted between processes with {@link #save(Path)}
+ * and {@link #load(Path)}. A state must only be used by one sync at a time.
+ */
+public final class DeltaSyncState {
+    private static final int MAGIC_NUMBER = 0x44535331;
+    private static final int FORMAT_VERSION = 1;
+    private static final long NO_WATERMARK = Long.MIN_VALUE;
+
+    private final Map<String, DraftFingerprint> fingerprints;
+    private volatile Instant watermark;
+
+    private DeltaSyncState(@Nonnull final Map<String, DraftFingerprint> fingerprints,
+                           @Nullable final Instant watermark) {
+        this.fingerprints = new ConcurrentHashMap<>(fingerprints);
+        this.watermark = watermark;
+    }
+
+    /**
+     * Creates a new, empty delta sync state, with which the first run syncs all of its drafts.
+     *
+     * @return a new, empty instance of {@link DeltaSyncState}.
+     */
+    @Nonnull
+    public static DeltaSyncState of() {
+        return new DeltaSyncState(new HashMap<>(), null);
+    }
+
+    /**
+     * Loads a delta sync state that was saved with {@link #save(Path)} from the supplied {@code file}.
+     *
+     * @param file the file to load the state from.
+     * @return the loaded state or a new, empty state if the file doesn't exist.
+     * @throws IOException if the file can't be read or isn't a delta sync state.
+     */
+    @Nonnull
+    public static DeltaSyncState load(@Nonnull final Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return of();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC_NUMBER || input.readInt() != FORMAT_VERSION) {
+                throw new IOException(format("The file '%s' isn't a delta sync state.", file));
+            }
+            final long watermarkMillis = input.readLong();
+            final int numberOfFingerprints = input.readInt();
+            final Map<String, DraftFingerprint> fingerprints = new HashMap<>(numberOfFingerprints * 2);
+            for (int index = 0; index < numberOfFingerprints; index++) {
+                fingerprints.put(input.readUTF(), DraftFingerprint.of(input.readLong(), input.readLong()));
+            }
+            return new DeltaSyncState(fingerprints,
+                watermarkMillis == NO_WATERMARK ? null : Instant.ofEpochMilli(watermarkMillis));
+        }
+    }
+
+    /**
+     * Saves this state to the supplied {@code file}, so that it can be loaded by a later process with
+     * {@link #load(Path)}. The state is written to a temporary file first, which then replaces the supplied file, so
+     * the file always contains a complete state.
+     *
+     * @param file the file to save the state to.
+     * @throws IOException if the file can't be written.
+     */
+    public void save(@Nonnull final Path file) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            final Map<String, DraftFingerprint> fingerprintsToSave = new HashMap<>(fingerprints);
+            final Instant watermarkToSave = watermark;
+            try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC_NUMBER);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(watermarkToSave == null ? NO_WATERMARK : watermarkToSave.toEpochMilli());
+                output.writeInt(fingerprintsToSave.size());
+                for (Map.Entry<String, DraftFingerprint> entry : fingerprintsToSave.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(entry.getValue().getMostSignificantBits());
+                    output.writeLong(entry.getValue().getLeastSignificantBits());
+                }
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Gets the watermark of this state, which is the time the last run without failures started at.
+     *
+     * @return the time the last run without failures started at or {@code null} if there was no such run yet.
+     */
+    @Nullable
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Advances the watermark to the supplied time. It's called by the sync once a run without failures has completed.
+     *
+     * @param watermark the time the run started at.
+     */
+    public void setWatermark(@Nonnull final Instant watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * Gets the fingerprint of the draft with the supplied key.
+     *
+     * @param key the key of the draft.
+     * @return the fingerprint of the draft with the supplied key when it was last synced successfully or {@code null}
+     *         if it wasn't synced yet.
+     */
+    @Nullable
+    public DraftFingerprint getFingerprint(@Nonnull final String key) {
+        return fingerprints.get(key);
+    }
+
+    /**
+     * Records the fingerprint of a draft that was synced successfully.
+     *
+     * @param key         the key of the draft.
+     * @param fingerprint the fingerprint of the draft.
+     */
+    public void putFingerprint(@Nonnull final String key, @Nonnull final DraftFingerprint fingerprint) {
+        fingerprints.put(key, fingerprint);
+    }
+
+    /**
+     * Gets the number of drafts that have a fingerprint in this state.
+     *
+     * @return the number of fingerprinted drafts.
+     */
+    public int size() {
+        return fingerprints.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.commercetools.sync.commons.helpers;
+
+import io.sphere.sdk.json.SphereJsonUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A 128-bit fingerprint of the content of a resource draft. Two drafts with the same content have the same
+ * fingerprint, so a draft whose fingerprint didn't change since it was last synced doesn't need to be synced again.
+ */
+public final class DraftFingerprint {
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+
+    private DraftFingerprint(final long mostSignificantBits, final long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    /**
+     * Creates a fingerprint from its 128 bits.
+     *
+     * @param mostSignificantBits  the most significant 64 bits of the fingerprint.
+     * @param leastSignificantBits the least significant 64 bits of the fingerprint.
+     * @return the fingerprint with the supplied bits.
+     */
+    @Nonnull
+    public static DraftFingerprint of(final long mostSignificantBits, final long leastSignificantBits) {
+        return new DraftFingerprint(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Computes the fingerprint of the supplied {@code draft} from the MD5 digest of its JSON representation, which is
+     * the same as the body of the request that creates a resource from the draft.
+     *
+     * @param draft the draft to compute the fingerprint of.
+     * @return the fingerprint of the draft or {@code null} if the draft couldn't be serialized to JSON.
+     */
+    @Nullable
+    public static DraftFingerprint ofDraft(@Nonnull final Object draft) {
+        final String json;
+        try {
+            json = SphereJsonUtils.toJsonString(draft);
+        } catch (final RuntimeException exception) {
+            return null;
+        }
+        final ByteBuffer digest = ByteBuffer.wrap(getMessageDigest().digest(json.getBytes(StandardCharsets.UTF_8)));
+        return new DraftFingerprint(digest.getLong(), digest.getLong());
+    }
+
+    @Nonnull
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (final NoSuchAlgorithmException exception) {
+            // Every implementation of the Java platform is required to support MD5.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DraftFingerprint)) {
+            return false;
+        }
+        final DraftFingerprint otherFingerprint = (DraftFingerprint) other;
+        return mostSignificantBits == otherFingerprint.mostSignificantBits
+            && leastSignificantBits == otherFingerprint.leastSignificantBits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mostSignificantBits) * 31 + Long.hashCode(leastSignificantBits);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,429 @@
+package com.commercetools.sync.commons.helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import io.sphere.sdk.models.LocalizedString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A streaming hasher that computes a 128-bit {@link DraftFingerprint} of the values put into it, without building
+ * any intermediate representation of them. It's used to compare the content of a draft to the content of an existing
+ * resource, field by field, before the update actions between them are built.
+ *
+ * <p>Every value is mixed into two 64-bit lanes, with the block mixing and the finalization of MurmurHash3. The values
+ * are tagged by their kind, so that for example {@code null}, an empty string and an empty list all hash differently.
+ * The values of unordered containers, like the entries of a JSON object or the translations of a
+ * {@link LocalizedString}, are hashed separately and combined commutatively, so that their iteration order doesn't
+ * change the fingerprint.
+ *
+ * <p>The fingerprint isn't cryptographic and mustn't be used to compare data supplied by an adversary. A hasher isn't
+ * thread-safe, it can be reused after {@link #reset()}.
+ */
+public final class FingerprintHasher {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static final long NULL_TAG = 1;
+    private static final long STRING_TAG = 2;
+    private static final long LIST_TAG = 3;
+    private static final long UNORDERED_TAG = 4;
+    private static final long DECIMAL_TAG = 5;
+    private static final long TIME_TAG = 6;
+    private static final long VALUE_TAG = 7;
+    private static final long JSON_TAG = 16;
+
+    private long h1;
+    private long h2;
+    private long length;
+    private long finalH1;
+    private long finalH2;
+    private FingerprintHasher elementHasher;
+
+    private FingerprintHasher() {
+    }
+
+    /**
+     * @return a new, empty hasher.
+     */
+    @Nonnull
+    public static FingerprintHasher of() {
+        return new FingerprintHasher();
+    }
+
+    /**
+     * Resets this hasher to its empty state, so that it can be reused for another fingerprint.
+     *
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher reset() {
+        h1 = 0;
+        h2 = 0;
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Computes the fingerprint of all the values that were put into this hasher since it was created or reset. More
+     * values can still be put into the hasher afterwards.
+     *
+     * @return the fingerprint of the values put into this hasher.
+     */
+    @Nonnull
+    public DraftFingerprint fingerprint() {
+        finish();
+        return DraftFingerprint.of(finalH1, finalH2);
+    }
+
+    /**
+     * Puts a {@code null} value into this hasher, which hashes differently from any other value.
+     *
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putNull() {
+        mix(NULL_TAG);
+        return this;
+    }
+
+    /**
+     * Puts the supplied boolean into this hasher.
+     *
+     * @param value the boolean to put.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putBoolean(final boolean value) {
+        mix(VALUE_TAG);
+        mix(value ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * Puts the supplied number into this hasher.
+     *
+     * @param value the number to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putLong(@Nullable final Long value) {
+        if (value == null) {
+            return putNull();
+        }
+        mix(VALUE_TAG);
+        mix(value);
+        return this;
+    }
+
+    /**
+     * Puts the supplied number into this hasher. It hashes the same as the equal {@code long} value.
+     *
+     * @param value the number to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putInt(@Nullable final Integer value) {
+        return putLong(value == null ? null : value.longValue());
+    }
+
+    /**
+     * Puts the characters of the supplied string into this hasher, four characters at a time.
+     *
+     * @param value the string to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putString(@Nullable final String value) {
+        if (value == null) {
+            return putNull();
+        }
+        final int stringLength = value.length();
+        mix(STRING_TAG);
+        mix(stringLength);
+        int index = 0;
+        for (; index + 4 <= stringLength; index += 4) {
+            mix((long) value.charAt(index)
+                | (long) value.charAt(index + 1) << 16
+                | (long) value.charAt(index + 2) << 32
+                | (long) value.charAt(index + 3) << 48);
+        }
+        if (index < stringLength) {
+            long block = 0;
+            for (int shift = 0; index < stringLength; index++, shift += 16) {
+                block |= (long) value.charAt(index) << shift;
+            }
+            mix(block);
+        }
+        return this;
+    }
+
+    /**
+     * Puts the numeric value of the supplied decimal into this hasher, so that numerically equal decimals with
+     * different scales, like {@code 1.5} and {@code 1.50}, hash the same.
+     *
+     * @param value the decimal to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putDecimal(@Nullable final BigDecimal value) {
+        if (value == null) {
+            return putNull();
+        }
+        final BigDecimal strippedValue = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        return putExactDecimal(strippedValue);
+    }
+
+    /**
+     * Puts the supplied instant into this hasher, with nanosecond precision.
+     *
+     * @param value the instant to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putInstant(@Nullable final Instant value) {
+        if (value == null) {
+            return putNull();
+        }
+        mix(TIME_TAG);
+        mix(value.getEpochSecond());
+        mix(value.getNano());
+        return this;
+    }
+
+    /**
+     * Puts the supplied date time into this hasher. Like {@link ZonedDateTime#equals(Object)}, the fingerprint
+     * depends on the instant, the offset and the zone of the date time.
+     *
+     * @param value the date time to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putZonedDateTime(@Nullable final ZonedDateTime value) {
+        if (value == null) {
+            return putNull();
+        }
+        mix(TIME_TAG);
+        mix(value.toEpochSecond());
+        mix(value.getNano());
+        mix(value.getOffset().getTotalSeconds());
+        return putString(value.getZone().getId());
+    }
+
+    /**
+     * Puts the translations of the supplied localized string into this hasher, regardless of their order.
+     *
+     * @param value the localized string to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putLocalizedString(@Nullable final LocalizedString value) {
+        if (value == null) {
+            return putNull();
+        }
+        return putUnordered(value.getLocales(), (hasher, locale) ->
+            hasher.putString(locale.toLanguageTag()).putString(value.get(locale)));
+    }
+
+    /**
+     * Puts the supplied JSON value into this hasher. Two values hash the same if they are equal as defined by
+     * {@link JsonNode#equals(Object)}: the fields of objects are hashed regardless of their order, whereas numbers of
+     * different types, like {@code 1} and {@code 1.0}, hash differently.
+     *
+     * @param value the JSON value to put or {@code null}.
+     * @return this hasher.
+     */
+    @Nonnull
+    public FingerprintHasher putJson(@Nullable final JsonNode value) {
+        if (value == null) {
+            return putNull();
+        }
+        final JsonNodeType nodeType = value.getNodeType();
+        mix(JSON_TAG + nodeType.ordinal());
+        switch (nodeType) {
+            case OBJECT:
+                return putUnordered(value.fields(), FingerprintHasher::putJsonField);
+            case ARRAY:
+                mix(value.size());
+                for (JsonNode element : value) {
+                    putJson(element);
+                }
+                return this;
+            case NUMBER:
+                return putJsonNumber(value);
+            case BOOLEAN:
+                mix(value.booleanValue() ? 1 : 0);
+                return this;
+            case NULL:
+            case MISSING:
+                return this;
+            default:
+                // Strings, binary and POJO nodes are compared by their textual representation.
+                return putString(nodeType == JsonNodeType.STRING ? value.textValue() : value.asText());
+        }
+    }
+
+    @Nonnull
+    private FingerprintHasher putJsonNumber(@Nonnull final JsonNode value) {
+        final JsonParser.NumberType numberType = value.numberType();
+        mix(numberType.ordinal());
+        switch (numberType) {
+            case INT:
+            case LONG:
+                mix(value.longValue());
+                return this;
+            case FLOAT:
+            case DOUBLE:
+                mix(Double.doubleToLongBits(value.doubleValue()));
+                return this;
+            case BIG_INTEGER:
+                return putBigInteger(value.bigIntegerValue());
+            default:
+                return putExactDecimal(value.decimalValue());
+        }
+    }
+
+    private void putJsonField(@Nonnull final Map.Entry<String, JsonNode> field) {
+        putString(field.getKey()).putJson(field.getValue());
+    }
+
+    /**
+     * Puts the supplied elements into this hasher in their order, each of them with the supplied
+     * {@code elementHasher}.
+     *
+     * @param elements      the elements to put or {@code null}.
+     * @param elementHasher puts a single element into the hasher it's supplied with.
+     * @param <E>           the type of the elements.
+     * @return this hasher.
+     */
+    @Nonnull
+    public <E> FingerprintHasher putOrdered(@Nullable final List<E> elements,
+                                            @Nonnull final BiConsumer<FingerprintHasher, ? super E> elementHasher) {
+        if (elements == null) {
+            return putNull();
+        }
+        mix(LIST_TAG);
+        mix(elements.size());
+        for (E element : elements) {
+            elementHasher.accept(this, element);
+        }
+        return this;
+    }
+
+    /**
+     * Puts the supplied elements into this hasher regardless of their order. Each element is put into a separate,
+     * reused hasher with the supplied {@code elementHasher} and the fingerprints of the elements are summed
+     * up. Elements for which the {@code elementHasher} doesn't put any value are ignored, which allows leaving out the
+     * elements that don't matter for the comparison, like custom fields without a value.
+     *
+     * @param elements      the elements to put or {@code null}.
+     * @param elementHasher puts a single element into the hasher it's supplied with.
+     * @param <E>           the type of the elements.
+     * @return this hasher.
+     */
+    @Nonnull
+    public <E> FingerprintHasher putUnordered(@Nullable final Iterable<E> elements,
+                                              @Nonnull final BiConsumer<FingerprintHasher, ? super E> elementHasher) {
+        if (elements == null) {
+            return putNull();
+        }
+        return putUnordered(elements.iterator(), elementHasher);
+    }
+
+    @Nonnull
+    private <E> FingerprintHasher putUnordered(@Nonnull final Iterator<E> elements,
+                                               @Nonnull final BiConsumer<FingerprintHasher, ? super E> elementHasher) {
+        if (this.elementHasher == null) {
+            this.elementHasher = new FingerprintHasher();
+        }
+        final FingerprintHasher hasher = this.elementHasher;
+        long sumH1 = 0;
+        long sumH2 = 0;
+        long numberOfElements = 0;
+        while (elements.hasNext()) {
+            hasher.reset();
+            elementHasher.accept(hasher, elements.next());
+            if (hasher.length > 0) {
+                hasher.finish();
+                sumH1 += hasher.finalH1;
+                sumH2 += hasher.finalH2;
+                numberOfElements++;
+            }
+        }
+        mix(UNORDERED_TAG);
+        mix(numberOfElements);
+        mix(sumH1);
+        mix(sumH2);
+        return this;
+    }
+
+    @Nonnull
+    private FingerprintHasher putExactDecimal(@Nonnull final BigDecimal value) {
+        mix(DECIMAL_TAG);
+        mix(value.scale());
+        return putBigInteger(value.unscaledValue());
+    }
+
+    @Nonnull
+    private FingerprintHasher putBigInteger(@Nonnull final BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            mix(value.longValue());
+        } else {
+            putString(value.toString());
+        }
+        return this;
+    }
+
+    private void mix(final long value) {
+        length++;
+
+        long k1 = value * C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        h1 ^= k1;
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        long k2 = value * C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        h2 ^= k2;
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private void finish() {
+        long result1 = h1 ^ length;
+        long result2 = h2 ^ length;
+        result1 += result2;
+        result2 += result1;
+        result1 = fmix(result1);
+        result2 = fmix(result2);
+        result1 += result2;
+        result2 += result1;
+        finalH1 = result1;
+        finalH2 = result2;
+    }
+
+    private static long fmix(final long value) {
+        long result = value;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.commercetools.sync.commons.helpers;
+
+/**
+ * The types of map the services keep their key to id caches in.
+ */
+public enum KeyToIdCacheType {
+    /**
+     * A {@link java.util.concurrent.ConcurrentHashMap}, which is the fastest but takes the most heap per entry.
+     */
+    CONCURRENT_HASH_MAP,
+
+    /**
+     * A {@link CompactKeyToIdMap} which keeps the keys on the heap.
+     */
+    COMPACT,
+
+    /**
+     * A {@link CompactKeyToIdMap} which keeps the keys off the heap.
+     */
+    COMPACT_OFF_HEAP
+}
@@ -0,0 +1,149 @@
+package com.commercetools.sync.commons.helpers;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values (e.g. latencies in nanoseconds or numbers of update actions) with a fixed
+ * relative precision, in the style of an HDR histogram. The values are counted in buckets whose width doubles with
+ * every power of two, and every power of two is split into {@value #SUB_BUCKET_COUNT} linear sub-buckets. This way,
+ * the value of any percentile is accurate to about 3% of the value, from 1 up to {@link Long#MAX_VALUE}, with a
+ * fixed memory footprint.
+ *
+ * <p>Recording a value is lock-free and takes constant time, so the histogram can be updated from the callbacks of
+ * concurrent CTP requests.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records the supplied {@code value}. Negative values are recorded as 0.
+     *
+     * @param value the value to record.
+     */
+    public void record(final long value) {
+        final long nonNegativeValue = Math.max(value, 0);
+        counts.incrementAndGet(getBucketIndex(nonNegativeValue));
+        totalCount.increment();
+        sum.add(nonNegativeValue);
+        max.accumulate(nonNegativeValue);
+    }
+
+    /**
+     * Takes a snapshot of the values recorded so far. Values recorded while the snapshot is taken might only be
+     * partially included in it.
+     *
+     * @return an immutable snapshot of the recorded values.
+     */
+    @Nonnull
+    public Snapshot snapshot() {
+        final long[] bucketCounts = new long[BUCKET_COUNT];
+        long snapshotCount = 0;
+        for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+            bucketCounts[bucketIndex] = counts.get(bucketIndex);
+            snapshotCount += bucketCounts[bucketIndex];
+        }
+        return new Snapshot(bucketCounts, snapshotCount, sum.sum(), max.get());
+    }
+
+    /**
+     * Gets the index of the bucket of the supplied {@code value}. Values below {@value #SUB_BUCKET_COUNT} have a
+     * bucket of their own. Every bigger value is shifted right until it fits in {@value #SUB_BUCKET_BITS} + 1 bits,
+     * which drops the bits below the precision of its power of two.
+     *
+     * @param value the non-negative value to get the bucket index of.
+     * @return the index of the bucket of the value.
+     */
+    static int getBucketIndex(final long value) {
+        final int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the highest value that is counted in the bucket with the supplied {@code bucketIndex}.
+     *
+     * @param bucketIndex the index of the bucket.
+     * @return the highest value of the bucket.
+     */
+    static long getHighestValueOfBucket(final int bucketIndex) {
+        final int shift = Math.max(0, (bucketIndex >>> SUB_BUCKET_BITS) - 1);
+        final long lowestValue = (long) (bucketIndex - (shift << SUB_BUCKET_BITS)) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+
+    /**
+     * An immutable snapshot of the values recorded by a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] bucketCounts;
+        private final long totalCount;
+        private final long sum;
+        private final long max;
+
+        Snapshot(@Nonnull final long[] bucketCounts, final long totalCount, final long sum, final long max) {
+            this.bucketCounts = bucketCounts;
+            this.totalCount = totalCount;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return the number of recorded values.
+         */
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * Gets the highest recorded value.
+         *
+         * @return the highest recorded value or 0 if no value has been recorded.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the arithmetic mean of the recorded values.
+         *
+         * @return the arithmetic mean of the recorded values or 0 if no value has been recorded.
+         */
+        public double getMean() {
+            return totalCount == 0 ? 0 : sum / (double) totalCount;
+        }
+
+        /**
+         * Gets the value below which the supplied {@code percentile} of the recorded values fall. The returned value
+         * is the highest value of the bucket of the percentile, but never more than the highest recorded value.
+         *
+         * @param percentile the percentile between 0 and 100, e.g. 99 for the 99th percentile.
+         * @return the value at the percentile or 0 if no value has been recorded.
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            final double boundedPercentile = Math.min(Math.max(percentile, 0), 100);
+            final long countAtPercentile = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * totalCount));
+            long cumulativeCount = 0;
+            for (int bucketIndex = 0; bucketIndex < bucketCounts.length; bucketIndex++) {
+                cumulativeCount += bucketCounts[bucketIndex];
+                if (cumulativeCount >= countAtPercentile) {
+                    return Math.min(getHighestValueOfBucket(bucketIndex), max);
+                }
+            }
+            return max;
+        }
+    }
+}
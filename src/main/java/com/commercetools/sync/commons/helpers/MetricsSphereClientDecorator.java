@@ -0,0 +1,75 @@
+package com.commercetools.sync.commons.helpers;
+
+import com.commercetools.sync.commons.helpers.SyncMetrics.RequestType;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereClientDecorator;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.commands.CreateCommand;
+import io.sphere.sdk.commands.UpdateCommand;
+import io.sphere.sdk.commands.UpdateCommandDsl;
+import io.sphere.sdk.http.HttpMethod;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link SphereClient} decorator that records the latency of every fetch, create and update request to the
+ * decorated client in a {@link SyncMetrics} instance, together with the number of update actions of every update
+ * request. The latency is measured from the call to the decorated client, so it includes the time a request waits
+ * in the queue of a client limiter that is decorated by this client.
+ */
+public final class MetricsSphereClientDecorator extends SphereClientDecorator {
+    private final SyncMetrics syncMetrics;
+
+    private MetricsSphereClientDecorator(@Nonnull final SphereClient delegate,
+                                         @Nonnull final SyncMetrics syncMetrics) {
+        super(delegate);
+        this.syncMetrics = syncMetrics;
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} to record the metrics of its requests in the supplied
+     * {@code syncMetrics}.
+     *
+     * @param delegate    the client to record the metrics of the requests of.
+     * @param syncMetrics the metrics to record the requests in.
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static MetricsSphereClientDecorator of(@Nonnull final SphereClient delegate,
+                                                  @Nonnull final SyncMetrics syncMetrics) {
+        return new MetricsSphereClientDecorator(delegate, syncMetrics);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final RequestType requestType = getRequestType(sphereRequest);
+        if (requestType == null) {
+            return super.execute(sphereRequest);
+        }
+        if (sphereRequest instanceof UpdateCommandDsl) {
+            syncMetrics.recordUpdateActions(((UpdateCommandDsl<?, ?>) sphereRequest).getUpdateActions().size());
+        }
+        final long startTime = System.nanoTime();
+        return super.execute(sphereRequest).whenComplete((result, exception) ->
+            syncMetrics.recordRequestLatency(requestType, System.nanoTime() - startTime));
+    }
+
+    /**
+     * Gets the type of the supplied {@code sphereRequest}, under which its latency is recorded.
+     *
+     * @param sphereRequest the request to get the type of.
+     * @return the type of the request or {@code null} if it's neither a fetch, a create nor an update request.
+     */
+    @Nullable
+    static RequestType getRequestType(@Nonnull final SphereRequest<?> sphereRequest) {
+        if (sphereRequest instanceof UpdateCommand) {
+            return RequestType.UPDATE;
+        }
+        if (sphereRequest instanceof CreateCommand) {
+            return RequestType.CREATE;
+        }
+        return sphereRequest.httpRequestIntent().getHttpMethod() == HttpMethod.GET ? RequestType.FETCH : null;
+    }
+}
@@ -0,0 +1,195 @@
+package com.commercetools.sync.commons.helpers;
+
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereClientDecorator;
+import io.sphere.sdk.client.SphereRequest;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link SphereClient} decorator that limits the rate of the requests sent to each endpoint of the CTP API (e.g.
+ * {@code products}, {@code categories} or {@code inventory}) with a token bucket per endpoint. Each bucket is refilled
+ * with the configured number of requests per second and holds at most the tokens of the configured burst duration,
+ * so bursts are smoothed out to the configured rate. Requests to endpoints without a configured budget are not
+ * limited.
+ *
+ * <p>A request that exceeds the budget of its endpoint is not blocking any thread while it waits. Instead, it is
+ * scheduled to be sent once its token is available. Requests of the same endpoint are sent in the order they were
+ * executed.
+ */
+public final class RateLimitingSphereClientDecorator extends SphereClientDecorator {
+    public static final Duration DEFAULT_BURST_DURATION = Duration.ofSeconds(1);
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ctp-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, TokenBucket> tokenBucketsByEndpoint = new HashMap<>();
+    private final SyncMetrics syncMetrics;
+
+    private RateLimitingSphereClientDecorator(@Nonnull final SphereClient delegate,
+                                              @Nonnull final Map<String, Integer> requestsPerSecondByEndpoint,
+                                              @Nonnull final Duration burstDuration,
+                                              @Nullable final SyncMetrics syncMetrics) {
+        super(delegate);
+        this.syncMetrics = syncMetrics;
+        requestsPerSecondByEndpoint.forEach((endpoint, requestsPerSecond) -> {
+            if (requestsPerSecond != null && requestsPerSecond > 0) {
+                tokenBucketsByEndpoint.put(endpoint, new TokenBucket(requestsPerSecond, burstDuration));
+            }
+        });
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} with a rate limit per endpoint of the CTP API, allowing bursts of at
+     * most one second's worth of requests.
+     *
+     * @param delegate                    the client to limit the rate of requests to.
+     * @param requestsPerSecondByEndpoint the number of requests per second allowed for each endpoint, where each
+     *                                    endpoint is identified by the first segment of its path (e.g.
+     *                                    {@code products}, {@code categories} or {@code inventory}).
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static RateLimitingSphereClientDecorator of(@Nonnull final SphereClient delegate,
+                                                       @Nonnull final Map<String, Integer>
+                                                           requestsPerSecondByEndpoint) {
+        return of(delegate, requestsPerSecondByEndpoint, DEFAULT_BURST_DURATION);
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} with a rate limit per endpoint of the CTP API.
+     *
+     * @param delegate                    the client to limit the rate of requests to.
+     * @param requestsPerSecondByEndpoint the number of requests per second allowed for each endpoint, where each
+     *                                    endpoint is identified by the first segment of its path (e.g.
+     *                                    {@code products}, {@code categories} or {@code inventory}).
+     * @param burstDuration               the duration, whose worth of requests can be sent at once after the
+     *                                    endpoint has been idle. It's at least one request.
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static RateLimitingSphereClientDecorator of(@Nonnull final SphereClient delegate,
+                                                       @Nonnull final Map<String, Integer>
+                                                           requestsPerSecondByEndpoint,
+                                                       @Nonnull final Duration burstDuration) {
+        return new RateLimitingSphereClientDecorator(delegate, requestsPerSecondByEndpoint, burstDuration, null);
+    }
+
+    /**
+     * Decorates the supplied {@code delegate} with a rate limit per endpoint of the CTP API and records the time each
+     * rate limited request waits for its token in the supplied {@code syncMetrics}.
+     *
+     * @param delegate                    the client to limit the rate of requests to.
+     * @param requestsPerSecondByEndpoint the number of requests per second allowed for each endpoint, where each
+     *                                    endpoint is identified by the first segment of its path (e.g.
+     *                                    {@code products}, {@code categories} or {@code inventory}).
+     * @param burstDuration               the duration, whose worth of requests can be sent at once after the
+     *                                    endpoint has been idle. It's at least one request.
+     * @param syncMetrics                 the metrics to record the waiting time of the requests in.
+     * @return the decorated client.
+     */
+    @Nonnull
+    public static RateLimitingSphereClientDecorator of(@Nonnull final SphereClient delegate,
+                                                       @Nonnull final Map<String, Integer>
+                                                           requestsPerSecondByEndpoint,
+                                                       @Nonnull final Duration burstDuration,
+                                                       @Nonnull final SyncMetrics syncMetrics) {
+        return new RateLimitingSphereClientDecorator(delegate, requestsPerSecondByEndpoint, burstDuration,
+            syncMetrics);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final TokenBucket tokenBucket = tokenBucketsByEndpoint.get(getEndpoint(sphereRequest));
+        final long delayInNanos = tokenBucket == null ? 0 : tokenBucket.reserve(System.nanoTime());
+        if (tokenBucket != null && syncMetrics != null) {
+            syncMetrics.recordQueueWaitTime(Math.max(delayInNanos, 0));
+        }
+        if (delayInNanos <= 0) {
+            return super.execute(sphereRequest);
+        }
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        SCHEDULER.schedule(() -> {
+            try {
+                super.execute(sphereRequest).whenComplete((value, exception) -> {
+                    if (exception != null) {
+                        result.completeExceptionally(exception);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (final RuntimeException exception) {
+                result.completeExceptionally(exception);
+            }
+        }, delayInNanos, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Gets the endpoint of the supplied {@code sphereRequest}, which is the first segment of the path of its http
+     * request (e.g. {@code products} for {@code /products/{id}?expand=productType}).
+     *
+     * @param sphereRequest the request to get the endpoint of.
+     * @return the endpoint of the request or {@code null} if its path is not available.
+     */
+    @Nullable
+    static String getEndpoint(@Nonnull final SphereRequest<?> sphereRequest) {
+        final String path = sphereRequest.httpRequestIntent().getPath();
+        if (path == null) {
+            return null;
+        }
+        final String pathWithoutLeadingSlash = path.startsWith("/") ? path.substring(1) : path;
+        int endIndex = pathWithoutLeadingSlash.length();
+        for (int i = 0; i < pathWithoutLeadingSlash.length(); i++) {
+            final char character = pathWithoutLeadingSlash.charAt(i);
+            if (character == '/' || character == '?') {
+                endIndex = i;
+                break;
+            }
+        }
+        return pathWithoutLeadingSlash.substring(0, endIndex);
+    }
+
+    /**
+     * A token bucket that is refilled continuously at a fixed rate. Tokens are reserved ahead, so the number of
+     * available tokens becomes negative when requests have to wait, which keeps the waiting requests in order.
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double availableTokens;
+        private long lastRefillTime;
+
+        TokenBucket(final int requestsPerSecond, @Nonnull final Duration burstDuration) {
+            this.tokensPerNano = requestsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, burstDuration.toNanos() * tokensPerNano);
+            this.availableTokens = capacity;
+            this.lastRefillTime = System.nanoTime();
+        }
+
+        /**
+         * Reserves a token for a request at the supplied time and returns how long the request has to wait for
+         * its token.
+         *
+         * @param now the current time in nanoseconds, as given by {@link System#nanoTime()}.
+         * @return the number of nanoseconds the request has to wait before it can be sent, 0 if it can be sent now.
+         */
+        synchronized long reserve(final long now) {
+            availableTokens = Math.min(capacity, availableTokens + (now - lastRefillTime) * tokensPerNano);
+            lastRefillTime = now;
+            availableTokens--;
+            return availableTokens >= 0 ? 0 : (long) Math.ceil(-availableTokens / tokensPerNano);
+        }
+    }
+}
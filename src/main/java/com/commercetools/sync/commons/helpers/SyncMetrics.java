@@ -0,0 +1,138 @@
+package com.commercetools.sync.commons.helpers;
+
+import javax.annotation.Nonnull;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where the time of a sync is spent: the latencies of the fetch, create and update requests to the CTP
+ * project, the time spent resolving references and building update actions, the number of update actions per update
+ * request, the number of retried updates, the number of concurrent modifications per conflicting resource and the
+ * time requests wait in the queue of a client limiter. All the
+ * recording methods are thread-safe and lock-free.
+ *
+ * <p>The same instance can be shared by the sync options and the client decorators of a sync (e.g.
+ * {@link RateLimitingSphereClientDecorator} and {@link AdaptiveConcurrencySphereClientDecorator}), so that all the
+ * metrics of the sync are found in a single {@link SyncMetricsSnapshot}.
+ */
+public final class SyncMetrics {
+    /**
+     * The types of the requests to the CTP project whose latencies are recorded separately.
+     */
+    public enum RequestType {
+        FETCH, CREATE, UPDATE
+    }
+
+    private final Map<RequestType, LatencyHistogram> requestLatencies = new EnumMap<>(RequestType.class);
+    private final LatencyHistogram referenceResolutionLatency = new LatencyHistogram();
+    private final LatencyHistogram buildUpdateActionsLatency = new LatencyHistogram();
+    private final LatencyHistogram updateActionsPerUpdate = new LatencyHistogram();
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+    private final LatencyHistogram conflictsPerResource = new LatencyHistogram();
+    private final LongAdder retries = new LongAdder();
+    private volatile long startTime = System.nanoTime();
+
+    private SyncMetrics() {
+        for (RequestType requestType : RequestType.values()) {
+            requestLatencies.put(requestType, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Creates a new, empty {@link SyncMetrics} instance.
+     *
+     * @return a new instance of {@link SyncMetrics}.
+     */
+    @Nonnull
+    public static SyncMetrics of() {
+        return new SyncMetrics();
+    }
+
+    /**
+     * Restarts the time the throughput of the sync is calculated from. It's called by the sync when it starts.
+     */
+    public void startTimer() {
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Records the latency of a request to the CTP project.
+     *
+     * @param requestType    the type of the request.
+     * @param latencyInNanos the time from sending the request until its response was received.
+     */
+    public void recordRequestLatency(@Nonnull final RequestType requestType, final long latencyInNanos) {
+        requestLatencies.get(requestType).record(latencyInNanos);
+    }
+
+    /**
+     * Records the number of update actions sent in a single update request.
+     *
+     * @param numberOfUpdateActions the number of update actions of the request.
+     */
+    public void recordUpdateActions(final int numberOfUpdateActions) {
+        updateActionsPerUpdate.record(numberOfUpdateActions);
+    }
+
+    /**
+     * Records the time it took to resolve the references of a single draft.
+     *
+     * @param latencyInNanos the time it took to resolve the references.
+     */
+    public void recordReferenceResolutionLatency(final long latencyInNanos) {
+        referenceResolutionLatency.record(latencyInNanos);
+    }
+
+    /**
+     * Records the time it took to build the update actions of a single draft.
+     *
+     * @param latencyInNanos the time it took to build the update actions.
+     */
+    public void recordBuildUpdateActionsLatency(final long latencyInNanos) {
+        buildUpdateActionsLatency.record(latencyInNanos);
+    }
+
+    /**
+     * Records the time a request waited in the queue of a client limiter before it was sent.
+     *
+     * @param waitTimeInNanos the time the request waited.
+     */
+    public void recordQueueWaitTime(final long waitTimeInNanos) {
+        queueWaitTime.record(waitTimeInNanos);
+    }
+
+    /**
+     * Increments the number of updates that were retried, e.g. after a concurrent modification.
+     */
+    public void incrementRetries() {
+        retries.increment();
+    }
+
+    /**
+     * Records the number of concurrent modifications the updates of a single resource failed with, once the resource
+     * has been updated or its update has failed for good.
+     *
+     * @param numberOfConflicts the number of concurrent modifications of the resource.
+     */
+    public void recordConflicts(final int numberOfConflicts) {
+        conflictsPerResource.record(numberOfConflicts);
+    }
+
+    /**
+     * Takes a snapshot of the metrics recorded so far.
+     *
+     * @param processedDrafts the number of drafts processed by the sync so far, which is used to calculate its
+     *                        throughput.
+     * @return an immutable snapshot of the metrics.
+     */
+    @Nonnull
+    public SyncMetricsSnapshot snapshot(final long processedDrafts) {
+        final Map<RequestType, LatencyHistogram.Snapshot> requestLatencySnapshots = new EnumMap<>(RequestType.class);
+        requestLatencies.forEach((requestType, histogram) -> requestLatencySnapshots.put(requestType,
+            histogram.snapshot()));
+        return new SyncMetricsSnapshot(requestLatencySnapshots, referenceResolutionLatency.snapshot(),
+            buildUpdateActionsLatency.snapshot(), updateActionsPerUpdate.snapshot(), queueWaitTime.snapshot(),
+            conflictsPerResource.snapshot(), retries.sum(), processedDrafts, System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,141 @@
+package com.commercetools.sync.commons.helpers;
+
+import com.commercetools.sync.commons.helpers.SyncMetrics.RequestType;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable snapshot of the {@link SyncMetrics} of a sync. All the latencies are in nanoseconds.
+ */
+public final class SyncMetricsSnapshot {
+    private final Map<RequestType, LatencyHistogram.Snapshot> requestLatencies;
+    private final LatencyHistogram.Snapshot referenceResolutionLatency;
+    private final LatencyHistogram.Snapshot buildUpdateActionsLatency;
+    private final LatencyHistogram.Snapshot updateActionsPerUpdate;
+    private final LatencyHistogram.Snapshot queueWaitTime;
+    private final LatencyHistogram.Snapshot conflictsPerResource;
+    private final long retries;
+    private final long processedDrafts;
+    private final long elapsedTimeInNanos;
+
+    SyncMetricsSnapshot(@Nonnull final Map<RequestType, LatencyHistogram.Snapshot> requestLatencies,
+                        @Nonnull final LatencyHistogram.Snapshot referenceResolutionLatency,
+                        @Nonnull final LatencyHistogram.Snapshot buildUpdateActionsLatency,
+                        @Nonnull final LatencyHistogram.Snapshot updateActionsPerUpdate,
+                        @Nonnull final LatencyHistogram.Snapshot queueWaitTime,
+                        @Nonnull final LatencyHistogram.Snapshot conflictsPerResource,
+                        final long retries,
+                        final long processedDrafts,
+                        final long elapsedTimeInNanos) {
+        this.requestLatencies = Collections.unmodifiableMap(requestLatencies);
+        this.referenceResolutionLatency = referenceResolutionLatency;
+        this.buildUpdateActionsLatency = buildUpdateActionsLatency;
+        this.updateActionsPerUpdate = updateActionsPerUpdate;
+        this.queueWaitTime = queueWaitTime;
+        this.conflictsPerResource = conflictsPerResource;
+        this.retries = retries;
+        this.processedDrafts = processedDrafts;
+        this.elapsedTimeInNanos = elapsedTimeInNanos;
+    }
+
+    /**
+     * Gets the latencies of the requests of the supplied type to the CTP project.
+     *
+     * @param requestType the type of the requests to get the latencies of.
+     * @return the latencies of the requests of the supplied type to the CTP project.
+     */
+    @Nonnull
+    public LatencyHistogram.Snapshot getRequestLatency(@Nonnull final RequestType requestType) {
+        return requestLatencies.get(requestType);
+    }
+
+    /**
+     * Gets the time it took to resolve the references of each draft.
+     *
+     * @return the reference resolution latencies.
+     */
+    @Nonnull
+    public LatencyHistogram.Snapshot getReferenceResolutionLatency() {
+        return referenceResolutionLatency;
+    }
+
+    /**
+     * Gets the time it took to build the update actions of each draft.
+     *
+     * @return the update actions building latencies.
+     */
+    @Nonnull
+    public LatencyHistogram.Snapshot getBuildUpdateActionsLatency() {
+        return buildUpdateActionsLatency;
+    }
+
+    /**
+     * Gets the number of update actions sent in each update request.
+     *
+     * @return the numbers of update actions per update request.
+     */
+    @Nonnull
+    public LatencyHistogram.Snapshot getUpdateActionsPerUpdate() {
+        return updateActionsPerUpdate;
+    }
+
+    /**
+     * Gets the time each request waited in the queue of a client limiter before it was sent.
+     *
+     * @return the queue wait times.
+     */
+    @Nonnull
+    public LatencyHistogram.Snapshot getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    /**
+     * Gets the number of concurrent modifications of each resource whose updates failed with at least one.
+     *
+     * @return the numbers of conflicts per conflicting resource.
+     */
+    @Nonnull
+    public LatencyHistogram.Snapshot getConflictsPerResource() {
+        return conflictsPerResource;
+    }
+
+    /**
+     * Gets the number of updates that were retried.
+     *
+     * @return the number of retried updates.
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Gets the number of drafts processed by the sync when the snapshot was taken.
+     *
+     * @return the number of processed drafts.
+     */
+    public long getProcessedDrafts() {
+        return processedDrafts;
+    }
+
+    /**
+     * Gets the time in nanoseconds from the start of the sync until the snapshot was taken.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedTimeInNanos() {
+        return elapsedTimeInNanos;
+    }
+
+    /**
+     * Gets the number of drafts processed per second, from the start of the sync until the snapshot was taken.
+     *
+     * @return the throughput in drafts per second.
+     */
+    public double getDraftsPerSecond() {
+        return elapsedTimeInNanos <= 0 ? 0 : processedDrafts * (double) TimeUnit.SECONDS.toNanos(1)
+            / elapsedTimeInNanos;
+    }
+}
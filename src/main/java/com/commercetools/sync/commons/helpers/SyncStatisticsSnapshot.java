@@ -0,0 +1,54 @@
+package com.commercetools.sync.commons.helpers;
+
+/**
+ * An immutable snapshot of the counters of a {@link BaseSyncStatistics} instance.
+ */
+public final class SyncStatisticsSnapshot {
+    private final long updated;
+    private final long created;
+    private final long failed;
+    private final long processed;
+
+    SyncStatisticsSnapshot(final long updated, final long created, final long failed, final long processed) {
+        this.updated = updated;
+        this.created = created;
+        this.failed = failed;
+        this.processed = processed;
+    }
+
+    /**
+     * Gets the number of resources that were updated when the snapshot was taken.
+     *
+     * @return the number of updated resources.
+     */
+    public long getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Gets the number of resources that were created when the snapshot was taken.
+     *
+     * @return the number of created resources.
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * Gets the number of resources that failed to sync when the snapshot was taken.
+     *
+     * @return the number of failed resources.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the number of resources that were processed when the snapshot was taken.
+     *
+     * @return the number of processed resources.
+     */
+    public long getProcessed() {
+        return processed;
+    }
+}
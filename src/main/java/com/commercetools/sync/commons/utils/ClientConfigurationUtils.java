@@ -1,5 +1,7 @@
 package com.commercetools.sync.commons.utils;
 
+import com.commercetools.sync.commons.helpers.AdaptiveConcurrencySphereClientDecorator;
+import com.commercetools.sync.commons.helpers.RateLimitingSphereClientDecorator;
 import io.sphere.sdk.client.BlockingSphereClient;
 import io.sphere.sdk.client.QueueSphereClientDecorator;
 import io.sphere.sdk.client.RetrySphereClientDecorator;
@@ -33,6 +35,8 @@ public class ClientConfigurationUtils {
     private static final long DEFAULT_TIMEOUT = 30000;
     private static final TimeUnit DEFAULT_TIMEOUT_TIME_UNIT = TimeUnit.MILLISECONDS;
     private static Map<SphereClientConfig, SphereClient> delegatesCache = new HashMap<>();
+    private static Map<SphereClientConfig, AdaptiveConcurrencySphereClientDecorator> adaptiveDelegatesCache =
+        new HashMap<>();
 
     /**
      * Creates a {@link BlockingSphereClient} with a custom {@code timeout} with a custom {@link TimeUnit}.
@@ -45,16 +49,69 @@ public class ClientConfigurationUtils {
     public static synchronized SphereClient createClient(@Nonnull final SphereClientConfig clientConfig,
                                                          final long timeout,
                                                          @Nonnull final TimeUnit timeUnit) {
-        if (!delegatesCache.containsKey(clientConfig)) {
-            final HttpClient httpClient = getHttpClient();
-            final SphereAccessTokenSupplier tokenSupplier =
-                SphereAccessTokenSupplier.ofAutoRefresh(clientConfig, httpClient, false);
-            final SphereClient underlying = SphereClient.of(clientConfig, httpClient, tokenSupplier);
-            final SphereClient retryClient = withRetry(underlying);
-            final SphereClient limitedParallelRequestsClient = withLimitedParallelRequests(retryClient);
-            delegatesCache.put(clientConfig, limitedParallelRequestsClient);
+        return BlockingSphereClient.of(getDelegate(clientConfig), timeout, timeUnit);
+    }
+
+    /**
+     * Creates a {@link BlockingSphereClient} with a custom {@code timeout} with a custom {@link TimeUnit}. If
+     * {@code withAdaptiveConcurrency} is {@code true}, the number of parallel requests of the client is limited by an
+     * {@link AdaptiveConcurrencySphereClientDecorator}, which adjusts the limit to the observed latency and throttling
+     * responses, instead of a fixed limit of 20 parallel requests. The decorator can be retrieved with
+     * {@link #getAdaptiveConcurrencyDecorator(SphereClientConfig)} to read its current limit and queue depth.
+     *
+     * @param clientConfig            the client configuration for the client.
+     * @param timeout                 the timeout value for the client requests.
+     * @param timeUnit                the timeout time unit.
+     * @param withAdaptiveConcurrency whether the parallel requests of the client should be limited adaptively.
+     * @return the instantiated {@link BlockingSphereClient}.
+     */
+    public static synchronized SphereClient createClient(@Nonnull final SphereClientConfig clientConfig,
+                                                         final long timeout,
+                                                         @Nonnull final TimeUnit timeUnit,
+                                                         final boolean withAdaptiveConcurrency) {
+        if (!withAdaptiveConcurrency) {
+            return createClient(clientConfig, timeout, timeUnit);
         }
-        return BlockingSphereClient.of(delegatesCache.get(clientConfig), timeout, timeUnit);
+        return BlockingSphereClient.of(getAdaptiveConcurrencyDecorator(clientConfig), timeout, timeUnit);
+    }
+
+    /**
+     * Creates a {@link BlockingSphereClient} with a custom {@code timeout} with a custom {@link TimeUnit}, which limits
+     * the rate of requests sent to each endpoint of the CTP API with a {@link RateLimitingSphereClientDecorator}.
+     * For example, a budget of {@code products -> 20} and {@code inventory -> 10} lets a product sync and an inventory
+     * sync run side by side on the same project without exceeding their share of the rate limit. Requests exceeding
+     * the budget of their endpoint are delayed without blocking any thread.
+     *
+     * @param clientConfig                the client configuration for the client.
+     * @param timeout                     the timeout value for the client requests.
+     * @param timeUnit                    the timeout time unit.
+     * @param requestsPerSecondByEndpoint the number of requests per second allowed for each endpoint, where each
+     *                                    endpoint is identified by the first segment of its path (e.g.
+     *                                    {@code products}, {@code categories} or {@code inventory}).
+     * @return the instantiated {@link BlockingSphereClient}.
+     */
+    public static synchronized SphereClient createClient(@Nonnull final SphereClientConfig clientConfig,
+                                                         final long timeout,
+                                                         @Nonnull final TimeUnit timeUnit,
+                                                         @Nonnull final Map<String, Integer>
+                                                             requestsPerSecondByEndpoint) {
+        final SphereClient rateLimitedClient =
+            RateLimitingSphereClientDecorator.of(getDelegate(clientConfig), requestsPerSecondByEndpoint);
+        return BlockingSphereClient.of(rateLimitedClient, timeout, timeUnit);
+    }
+
+    /**
+     * Gets the {@link AdaptiveConcurrencySphereClientDecorator} that limits the parallel requests of the clients
+     * created with {@link #createClient(SphereClientConfig, long, TimeUnit, boolean)} for the supplied
+     * {@code clientConfig}. The decorator is created during the first invocation and then cached.
+     *
+     * @param clientConfig the client configuration for the client.
+     * @return the {@link AdaptiveConcurrencySphereClientDecorator} of the supplied {@code clientConfig}.
+     */
+    public static synchronized AdaptiveConcurrencySphereClientDecorator getAdaptiveConcurrencyDecorator(
+        @Nonnull final SphereClientConfig clientConfig) {
+        return adaptiveDelegatesCache.computeIfAbsent(clientConfig, config ->
+            AdaptiveConcurrencySphereClientDecorator.of(withRetry(createUnderlyingClient(config))));
     }
 
     /**
@@ -67,6 +124,29 @@ public class ClientConfigurationUtils {
         return createClient(clientConfig, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_TIME_UNIT);
     }
 
+    /**
+     * Gets the client with retries and a limited number of parallel requests for the supplied {@code clientConfig}.
+     * The client is created during the first invocation and then cached.
+     *
+     * @param clientConfig the client configuration for the client.
+     * @return the cached client of the supplied {@code clientConfig}.
+     */
+    private static SphereClient getDelegate(@Nonnull final SphereClientConfig clientConfig) {
+        if (!delegatesCache.containsKey(clientConfig)) {
+            final SphereClient retryClient = withRetry(createUnderlyingClient(clientConfig));
+            final SphereClient limitedParallelRequestsClient = withLimitedParallelRequests(retryClient);
+            delegatesCache.put(clientConfig, limitedParallelRequestsClient);
+        }
+        return delegatesCache.get(clientConfig);
+    }
+
+    private static SphereClient createUnderlyingClient(@Nonnull final SphereClientConfig clientConfig) {
+        final HttpClient httpClient = getHttpClient();
+        final SphereAccessTokenSupplier tokenSupplier =
+            SphereAccessTokenSupplier.ofAutoRefresh(clientConfig, httpClient, false);
+        return SphereClient.of(clientConfig, httpClient, tokenSupplier);
+    }
+
     /**
      * Gets an asynchronous {@link HttpClient} to be used by the {@link BlockingSphereClient}.
      * Client is created during first invocation and then cached.
@@ -1,6 +1,7 @@
 package com.commercetools.sync.commons.utils;
 
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Resource;
 import io.sphere.sdk.queries.QueryDsl;
 
 import javax.annotation.Nonnull;
@@ -12,6 +13,8 @@ import java.util.function.Function;
 import static io.sphere.sdk.queries.QueryExecutionUtils.DEFAULT_PAGE_SIZE;
 
 public final class CtpQueryUtils {
+    public static final int DEFAULT_PREFETCHED_PAGES = 4;
+    public static final int DEFAULT_MAX_IN_FLIGHT_PAGES = 10;
 
     private CtpQueryUtils() {
     }
@@ -95,4 +98,70 @@ public final class CtpQueryUtils {
                  @Nonnull final Consumer<List<T>> consumer, final int pageSize) {
         return QueryAll.of(query, pageSize).run(client, consumer);
     }
+
+    /**
+     * Queries all elements matching a query by using an offset based pagination. The method takes a consumer
+     * {@link Consumer} that is applied on on every page of elements queried. At most {@code maxInFlightPages} pages
+     * are requested at the same time and each page is handed to the consumer as soon as it's fetched, so the memory
+     * used by the query doesn't grow with the number of elements matching the query.
+     *
+     * @param client           commercetools client
+     * @param query            query containing predicates and expansion paths
+     * @param consumer         that is applied on every page queried.
+     * @param <T>              type of one query result element
+     * @param <C>              type of the query
+     * @param pageSize         the page size.
+     * @param maxInFlightPages the maximum number of pages requested at the same time.
+     * @return elements
+     */
+    @Nonnull
+    public static <T, C extends QueryDsl<T, C>> CompletionStage<Void>
+        queryAll(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query,
+                 @Nonnull final Consumer<List<T>> consumer, final int pageSize, final int maxInFlightPages) {
+        return QueryAll.of(query, pageSize, maxInFlightPages).run(client, consumer);
+    }
+
+    /**
+     * Queries all elements matching a query by using a cursor based pagination with page size 500 and 4 pages
+     * requested ahead. The method takes a consumer {@link Consumer} that is applied on on every page of elements
+     * queried.
+     *
+     * @param client   commercetools client
+     * @param query    query containing predicates and expansion paths
+     * @param consumer that is applied on every page queried.
+     * @param <T>      type of one query result element
+     * @param <C>      type of the query
+     * @return elements
+     * @see #queryAllByCursor(SphereClient, QueryDsl, Consumer, int, int)
+     */
+    @Nonnull
+    public static <T extends Resource<T>, C extends QueryDsl<T, C>> CompletionStage<Void>
+        queryAllByCursor(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query,
+                         @Nonnull final Consumer<List<T>> consumer) {
+        return queryAllByCursor(client, query, consumer, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCHED_PAGES);
+    }
+
+    /**
+     * Queries all elements matching a query by using a cursor based pagination. The elements are sorted by
+     * {@code id asc}, overriding any sort of the supplied query, and every next page is queried with the predicate
+     * {@code id > lastSeenId} instead of an offset, so the cost of querying a page doesn't grow with its depth. Up to
+     * {@code prefetchedPages} pages are requested ahead at the same time. The method takes a consumer
+     * {@link Consumer} that is applied on on every page of elements queried, possibly on several pages at the same
+     * time.
+     *
+     * @param client          commercetools client
+     * @param query           query containing predicates and expansion paths
+     * @param consumer        that is applied on every page queried.
+     * @param <T>             type of one query result element
+     * @param <C>             type of the query
+     * @param pageSize        the page size.
+     * @param prefetchedPages the number of pages requested ahead at the same time.
+     * @return elements
+     */
+    @Nonnull
+    public static <T extends Resource<T>, C extends QueryDsl<T, C>> CompletionStage<Void>
+        queryAllByCursor(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query,
+                         @Nonnull final Consumer<List<T>> consumer, final int pageSize, final int prefetchedPages) {
+        return CursorQueryAll.of(query, pageSize, prefetchedPages).run(client, consumer);
+    }
 }
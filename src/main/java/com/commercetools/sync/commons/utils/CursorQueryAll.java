@@ -0,0 +1,147 @@
+package com.commercetools.sync.commons.utils;
+
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Resource;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryDsl;
+import io.sphere.sdk.queries.QueryPredicate;
+import io.sphere.sdk.queries.QuerySort;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Queries all the elements matching a query by paging with a cursor on the id of the elements instead of an offset.
+ * Every page is sorted by {@code id asc} and the next page is queried with the predicate {@code id > lastSeenId},
+ * where {@code lastSeenId} is the id of the last element of the previous page. As opposed to an offset, which gets
+ * slower the deeper the page is, the cost of such a query is the same for every page.
+ *
+ * <p>Since the next page of a cursor can only be queried once the previous page has been fetched, the id range is
+ * split into {@code prefetchedPages} segments of equal size, each paged by its own cursor. Resource ids are
+ * uniformly distributed UUIDs, so this keeps up to {@code prefetchedPages} pages requested ahead at the same time.
+ * Within each segment, the next page is requested before the consumer is applied on the current page.
+ */
+final class CursorQueryAll<T extends Resource<T>, C extends QueryDsl<T, C>> {
+    private static final String UUID_SUFFIX = "-0000-0000-0000-000000000000";
+    private static final long UUID_PREFIX_RANGE = 0x100000000L;
+
+    private final QueryDsl<T, C> baseQuery;
+    private final long pageSize;
+    private final int prefetchedPages;
+
+    private CursorQueryAll(final QueryDsl<T, C> baseQuery, final long pageSize, final int prefetchedPages) {
+        this.baseQuery = baseQuery.withSort(QuerySort.of("id asc"))
+                                  .withLimit(pageSize)
+                                  .withFetchTotal(false);
+        this.pageSize = pageSize;
+        this.prefetchedPages = Math.max(prefetchedPages, 1);
+    }
+
+    /**
+     * Given a {@link Consumer}, this method applies this consumer on each page of the results from
+     * {@link this} instance's {@code baseQuery}. The consumer could be applied on pages of different id segments at
+     * the same time, so it has to be thread-safe.
+     *
+     * @param client   the CTP client that the query is run on.
+     * @param consumer the consumer that gets called on each page of results.
+     * @return an empty future.
+     */
+    @Nonnull
+    CompletionStage<Void> run(final SphereClient client, final Consumer<List<T>> consumer) {
+        final List<CompletableFuture<Void>> segmentResults =
+            IntStream.range(0, prefetchedPages)
+                     .mapToObj(segment -> {
+                         final String lowerBoundId = getSegmentBoundId(segment);
+                         final String upperBoundId = getSegmentBoundId(segment + 1);
+                         final String lowerBoundPredicate =
+                             lowerBoundId == null ? null : format("id >= \"%s\"", lowerBoundId);
+                         return consumePages(client, consumer,
+                             queryPage(client, lowerBoundPredicate, upperBoundId), upperBoundId);
+                     })
+                     .map(CompletionStage::toCompletableFuture)
+                     .collect(toList());
+        return CompletableFuture.allOf(segmentResults.toArray(new CompletableFuture[segmentResults.size()]));
+    }
+
+    /**
+     * Applies the {@code consumer} on the page of the supplied {@code pageStage} once it's fetched. If the page is
+     * full, the next page of the segment is requested, using the id of the last element of the page as a cursor,
+     * before the consumer is applied on the current page.
+     *
+     * @param client       the CTP client that the query is run on.
+     * @param consumer     the consumer that gets called on each page of results.
+     * @param pageStage    the future of the page to apply the consumer on.
+     * @param upperBoundId the exclusive upper bound of the ids of the segment or {@code null} for the last segment.
+     * @return a future which is completed once the consumer has been applied on all the pages of the segment.
+     */
+    @Nonnull
+    private CompletionStage<Void> consumePages(final SphereClient client, final Consumer<List<T>> consumer,
+                                               final CompletionStage<PagedQueryResult<T>> pageStage,
+                                               @Nullable final String upperBoundId) {
+        return pageStage.thenCompose(page -> {
+            final List<T> results = page.getResults();
+            if (results.size() < pageSize) {
+                consumer.accept(results);
+                return completedFuture(null);
+            }
+            final String lastSeenId = results.get(results.size() - 1).getId();
+            final CompletionStage<PagedQueryResult<T>> nextPageStage =
+                queryPage(client, format("id > \"%s\"", lastSeenId), upperBoundId);
+            consumer.accept(results);
+            return consumePages(client, consumer, nextPageStage, upperBoundId);
+        });
+    }
+
+    /**
+     * Gets the next page of results of {@link this} instance's query which satisfy the supplied cursor predicate and
+     * are below the supplied upper bound.
+     *
+     * @param client          the CTP client that the query is run on.
+     * @param cursorPredicate the predicate on the id that the results should satisfy or {@code null} if none.
+     * @param upperBoundId    the exclusive upper bound of the ids of the results or {@code null} if none.
+     * @return a future containing the requested page of results.
+     */
+    @Nonnull
+    private CompletionStage<PagedQueryResult<T>> queryPage(final SphereClient client,
+                                                           @Nullable final String cursorPredicate,
+                                                           @Nullable final String upperBoundId) {
+        QueryDsl<T, C> query = baseQuery;
+        if (cursorPredicate != null) {
+            query = query.plusPredicates(QueryPredicate.<T>of(cursorPredicate));
+        }
+        if (upperBoundId != null) {
+            query = query.plusPredicates(QueryPredicate.<T>of(format("id < \"%s\"", upperBoundId)));
+        }
+        return client.execute(query);
+    }
+
+    /**
+     * Gets the smallest id of the segment with the supplied {@code segment} index. The first segment has no lower
+     * bound and the segment after the last one doesn't exist, for both {@code null} is returned.
+     *
+     * @param segment the index of the segment.
+     * @return the smallest id of the segment or {@code null} if the segment has no lower bound.
+     */
+    @Nullable
+    String getSegmentBoundId(final int segment) {
+        if (segment <= 0 || segment >= prefetchedPages) {
+            return null;
+        }
+        return format("%08x", segment * UUID_PREFIX_RANGE / prefetchedPages) + UUID_SUFFIX;
+    }
+
+    @Nonnull
+    static <T extends Resource<T>, C extends QueryDsl<T, C>> CursorQueryAll<T, C> of(
+        @Nonnull final QueryDsl<T, C> baseQuery, final int pageSize, final int prefetchedPages) {
+        return new CursorQueryAll<>(baseQuery, pageSize, prefetchedPages);
+    }
+}
@@ -0,0 +1,78 @@
+package com.commercetools.sync.commons.utils;
+
+import com.commercetools.sync.commons.helpers.FingerprintHasher;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.types.CustomFields;
+import io.sphere.sdk.types.CustomFieldsDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * This class provides methods for putting the custom fields of a resource and of its draft into a
+ * {@link FingerprintHasher}, in the same view that {@link CustomUpdateActionUtils} compares them in: custom fields
+ * with a type id and the same non-null field values hash the same, regardless of the fields which are unset.
+ */
+public final class CustomFingerprintUtils {
+
+    /**
+     * Puts the custom fields of a draft into the supplied {@code hasher}. Custom fields without a type id or without
+     * a fields map can't be compared by their fingerprint, since {@link CustomUpdateActionUtils} reports an error or
+     * always builds an update action for them.
+     *
+     * @param hasher       the hasher to put the custom fields into.
+     * @param customFields the custom fields of the draft or {@code null}.
+     * @return {@code true} if the custom fields were put into the hasher or {@code false} if they can't be compared
+     *         by their fingerprint.
+     */
+    public static boolean putCustomFields(@Nonnull final FingerprintHasher hasher,
+                                          @Nullable final CustomFieldsDraft customFields) {
+        if (customFields == null) {
+            hasher.putNull();
+            return true;
+        }
+        final String typeId = customFields.getType() == null ? null : customFields.getType().getId();
+        if (isBlank(typeId) || customFields.getFields() == null) {
+            return false;
+        }
+        putCustomFields(hasher, typeId, customFields.getFields());
+        return true;
+    }
+
+    /**
+     * Puts the custom fields of a resource into the supplied {@code hasher}.
+     *
+     * @param hasher       the hasher to put the custom fields into.
+     * @param customFields the custom fields of the resource or {@code null}.
+     */
+    public static void putCustomFields(@Nonnull final FingerprintHasher hasher,
+                                       @Nullable final CustomFields customFields) {
+        if (customFields == null) {
+            hasher.putNull();
+            return;
+        }
+        putCustomFields(hasher, customFields.getType() == null ? null : customFields.getType().getId(),
+            customFields.getFieldsJsonMap());
+    }
+
+    private static void putCustomFields(@Nonnull final FingerprintHasher hasher,
+                                        @Nullable final String typeId,
+                                        @Nullable final Map<String, JsonNode> fields) {
+        hasher.putString(typeId);
+        if (fields == null) {
+            hasher.putNull();
+            return;
+        }
+        hasher.putUnordered(fields.entrySet(), (fieldHasher, field) -> {
+            if (field.getValue() != null) {
+                fieldHasher.putString(field.getKey()).putJson(field.getValue());
+            }
+        });
+    }
+
+    private CustomFingerprintUtils() {
+    }
+}
@@ -7,12 +7,14 @@ import io.sphere.sdk.queries.QuerySort;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
@@ -21,10 +23,12 @@ import static java.util.stream.Collectors.toList;
 final class QueryAll<T, C extends QueryDsl<T, C>> {
     private final QueryDsl<T, C> baseQuery;
     private final long pageSize;
+    private final int maxInFlightPages;
 
-    private QueryAll(final QueryDsl<T, C> baseQuery, final long pageSize) {
+    private QueryAll(final QueryDsl<T, C> baseQuery, final long pageSize, final int maxInFlightPages) {
         this.baseQuery = !baseQuery.sort().isEmpty() ? baseQuery : baseQuery.withSort(QuerySort.of("id asc"));
         this.pageSize = pageSize;
+        this.maxInFlightPages = Math.max(maxInFlightPages, 1);
     }
 
     /**
@@ -40,21 +44,21 @@ final class QueryAll<T, C extends QueryDsl<T, C>> {
     @Nonnull
     <S> CompletionStage<List<S>> run(final SphereClient client, final Function<List<T>, S> callback) {
         return queryPage(client, 0).thenCompose(result -> {
-            final List<CompletableFuture<S>> futureResults = new ArrayList<>();
+            final long totalPages = Math.max(getTotalNumberOfPages(result.getTotal()), 1);
+            final List<S> callbackResults =
+                Collections.synchronizedList(new ArrayList<>(Collections.nCopies((int) totalPages, null)));
 
-            final S callbackResult = callback.apply(result.getResults());
-            final List<CompletableFuture<S>> nextPagesCallbackResults =
-                queryNextPages(client, result.getTotal(), callback);
-
-            futureResults.add(completedFuture(callbackResult));
-            futureResults.addAll(nextPagesCallbackResults);
-            return transformListOfFuturesToFutureOfLists(futureResults);
+            callbackResults.set(0, callback.apply(result.getResults()));
+            return queryNextPages(client, totalPages, (pageNumber, page) ->
+                callbackResults.set(pageNumber.intValue(), callback.apply(page)))
+                .thenApply(ignored -> new ArrayList<>(callbackResults));
         });
     }
 
     /**
      * Given a {@link Consumer}, this method applies this consumer on each page of the results from
-     * {@link this} instance's {@code baseQuery}.
+     * {@link this} instance's {@code baseQuery}. Each page is handed to the consumer as soon as it's fetched and is
+     * not referenced by this method afterwards.
      *
      * @param client   the CTP client that the query is run on.
      * @param consumer the consumer that gets called on each page of results.
@@ -63,55 +67,58 @@ final class QueryAll<T, C extends QueryDsl<T, C>> {
     @Nonnull
     CompletionStage<Void> run(final SphereClient client, final Consumer<List<T>> consumer) {
         return queryPage(client, 0).thenCompose(result -> {
-            final List<CompletableFuture<Void>> futureResults = new ArrayList<>();
             consumer.accept(result.getResults());
-            futureResults.addAll(queryNextPages(client, result.getTotal(), consumer));
-            return CompletableFuture.allOf(futureResults.toArray(new CompletableFuture[futureResults.size()]));
+            return queryNextPages(client, getTotalNumberOfPages(result.getTotal()),
+                (pageNumber, page) -> consumer.accept(page));
         });
     }
 
     /**
-     * Given a {@link Consumer}, this method first calculates the total numbr of pages resulting from the query, then
-     * it applies this consumer on each page of the results from {@link this} instance's {@code baseQuery}
-     * and returns a list of futures after applying of this consumer on each page.
+     * Given the total number of pages resulting from the query, this method queries all the pages after the first
+     * one and applies the supplied {@code pageConsumer} on the number and the results of each page. At most
+     * {@code maxInFlightPages} pages are requested at the same time. Each of these parallel lanes requests the next
+     * page as soon as its current page has been consumed.
      *
-     * @param client        the CTP client that the query is run on.
-     * @param totalElements the total number of elements resulting from the query.
-     * @param consumer      the consumer to apply on each page of results.
-     * @return a list of futures of applying the consumer on each page of results.
+     * @param client       the CTP client that the query is run on.
+     * @param totalPages   the total number of pages resulting from the query.
+     * @param pageConsumer the consumer to apply on the number and the results of each page.
+     * @return a future which is completed once all the pages have been consumed.
      */
     @Nonnull
-    private List<CompletableFuture<Void>> queryNextPages(final SphereClient client, final long totalElements,
-                                                         final Consumer<List<T>> consumer) {
-        final long totalPages = getTotalNumberOfPages(totalElements);
-        return LongStream.range(1, totalPages)
-                         .mapToObj(page -> queryPage(client, page)
-                             .thenApply(PagedQueryResult::getResults)
-                             .thenAccept(consumer)
-                             .toCompletableFuture())
-                         .collect(toList());
+    private CompletionStage<Void> queryNextPages(final SphereClient client, final long totalPages,
+                                                 final BiConsumer<Long, List<T>> pageConsumer) {
+        final AtomicLong nextPageNumber = new AtomicLong(1);
+        final long numberOfLanes = Math.min(maxInFlightPages, totalPages - 1);
+        final List<CompletableFuture<Void>> lanes =
+            LongStream.range(0, numberOfLanes)
+                      .mapToObj(lane -> queryPendingPages(client, totalPages, nextPageNumber, pageConsumer))
+                      .map(CompletionStage::toCompletableFuture)
+                      .collect(toList());
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[lanes.size()]));
     }
 
     /**
-     * Given a callback {@link Function}, this method first calculates the total number of pages resulting from the
-     * query, then it applies this callback on each page of the results from {@link this} instance's {@code baseQuery}
-     * and returns a list containing the result of this callback on each page.
+     * Takes the next page number that hasn't been requested yet, queries this page and applies the supplied
+     * {@code pageConsumer} on it. Once the page has been consumed, the method calls itself again to query the next
+     * pending page, until there are no more pages left.
      *
-     * @param client        the CTP client that the query is run on.
-     * @param totalElements the total number of elements resulting from the query.
-     * @param callback      the callback to apply on each page of results.
-     * @return a list of futures containing the results of applying the callback on each page of results.
+     * @param client         the CTP client that the query is run on.
+     * @param totalPages     the total number of pages resulting from the query.
+     * @param nextPageNumber the number of the next page that hasn't been requested yet, shared by all the lanes.
+     * @param pageConsumer   the consumer to apply on the number and the results of each page.
+     * @return a future which is completed once there are no more pages left to query by this lane.
      */
     @Nonnull
-    private <S> List<CompletableFuture<S>> queryNextPages(final SphereClient client, final long totalElements,
-                                                          final Function<List<T>, S> callback) {
-        final long totalPages = getTotalNumberOfPages(totalElements);
-        return LongStream.range(1, totalPages)
-                         .mapToObj(page -> queryPage(client, page)
-                             .thenApply(PagedQueryResult::getResults)
-                             .thenApply(callback)
-                             .toCompletableFuture())
-                         .collect(toList());
+    private CompletionStage<Void> queryPendingPages(final SphereClient client, final long totalPages,
+                                                    final AtomicLong nextPageNumber,
+                                                    final BiConsumer<Long, List<T>> pageConsumer) {
+        final long pageNumber = nextPageNumber.getAndIncrement();
+        if (pageNumber >= totalPages) {
+            return completedFuture(null);
+        }
+        return queryPage(client, pageNumber)
+            .thenAccept(result -> pageConsumer.accept(pageNumber, result.getResults()))
+            .thenCompose(ignored -> queryPendingPages(client, totalPages, nextPageNumber, pageConsumer));
     }
 
     /**
@@ -140,27 +147,15 @@ final class QueryAll<T, C extends QueryDsl<T, C>> {
         return client.execute(query);
     }
 
-    /**
-     * Given a list of futures, this method converts it to a future containing a list of results of these futures after
-     * executing them in parallel with {@link CompletableFuture#allOf(CompletableFuture[])}.
-     *
-     * @param futures list of futures.
-     * @param <S>     the type of the results of the futures.
-     * @return a future containing a list of the results of the input futures.
-     */
     @Nonnull
-    private <S> CompletableFuture<List<S>> transformListOfFuturesToFutureOfLists(
-        final List<CompletableFuture<S>> futures) {
-        final CompletableFuture[] futuresAsArray = futures.toArray(new CompletableFuture[futures.size()]);
-        return CompletableFuture.allOf(futuresAsArray)
-                                .thenApply(x -> futures.stream()
-                                                       .map(CompletableFuture::join)
-                                                       .collect(Collectors.toList()));
+    static <T, C extends QueryDsl<T, C>> QueryAll<T, C> of(@Nonnull final QueryDsl<T, C> baseQuery,
+                                                           final int pageSize) {
+        return of(baseQuery, pageSize, CtpQueryUtils.DEFAULT_MAX_IN_FLIGHT_PAGES);
     }
 
     @Nonnull
     static <T, C extends QueryDsl<T, C>> QueryAll<T, C> of(@Nonnull final QueryDsl<T, C> baseQuery,
-                                                           final int pageSize) {
-        return new QueryAll<>(baseQuery, pageSize);
+                                                           final int pageSize, final int maxInFlightPages) {
+        return new QueryAll<>(baseQuery, pageSize, maxInFlightPages);
     }
-}
\ No newline at end of file
+}
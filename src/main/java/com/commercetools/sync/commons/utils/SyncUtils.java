@@ -9,7 +9,10 @@ import io.sphere.sdk.types.CustomFieldsDraftBuilder;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Supplier;
 
 public final class SyncUtils {
@@ -34,6 +37,44 @@ public final class SyncUtils {
         return batches;
     }
 
+    /**
+     * Given an iterator of resource (e.g. categories, products, etc..) drafts and a {@code batchSize}, this method
+     * returns an iterator of batches, each represented by a {@link List} of at most {@code batchSize} resources. As
+     * opposed to {@link #batchDrafts(List, int)}, the drafts are pulled lazily from the supplied {@code drafts}
+     * iterator, only once the next batch is requested. If the {@code batchSize} is not positive, the returned
+     * iterator has no batches.
+     *
+     * @param <T>       the type of the draft resources.
+     * @param drafts    the iterator of drafts to split into batches.
+     * @param batchSize the size of each batch.
+     * @return an iterator of lists where each list represents a batch of resources.
+     */
+    @Nonnull
+    public static <T> Iterator<List<T>> batchDrafts(@Nonnull final Iterator<T> drafts,
+                                                    final int batchSize) {
+        if (batchSize <= 0) {
+            return Collections.emptyIterator();
+        }
+        return new Iterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return drafts.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!drafts.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && drafts.hasNext()) {
+                    batch.add(drafts.next());
+                }
+                return batch;
+            }
+        };
+    }
+
     /**
      * Given a resource of type {@code T} that extends {@link Custom} (i.e. it has {@link CustomFields}, this method
      * checks if the custom fields are existing (not null) and they are reference expanded. If they are then
@@ -28,13 +28,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import static java.lang.Math.min;
+import static com.commercetools.sync.commons.utils.SyncUtils.batchDrafts;
+import static com.commercetools.sync.inventories.utils.InventoryFingerprintUtils.hasSameFingerprint;
 import static java.lang.String.format;
-import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
@@ -49,6 +49,10 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
     private static final String CTP_INVENTORY_FETCH_FAILED = "Failed to fetch existing inventory entries of SKUs %s.";
     private static final String CTP_INVENTORY_ENTRY_UPDATE_FAILED = "Failed to update inventory entry of SKU '%s' and "
         + "supply channel id '%s'.";
+    private static final String CTP_INVENTORY_ENTRY_CONFLICT_RETRIES_EXHAUSTED = "Failed to update inventory entry of "
+        + "SKU '%s' and supply channel id '%s'. It was modified concurrently %d times.";
+    private static final String CTP_INVENTORY_ENTRY_UNEXPECTED_DELETE = "Failed to update inventory entry of SKU '%s' "
+        + "and supply channel id '%s'. It was deleted unexpectedly.";
     private static final String INVENTORY_DRAFT_HAS_NO_SKU = "Failed to process inventory entry without SKU.";
     private static final String INVENTORY_DRAFT_IS_NULL = "Failed to process null inventory draft.";
     private static final String CTP_INVENTORY_ENTRY_CREATE_FAILED = "Failed to create inventory entry of SKU '%s' "
@@ -82,7 +86,9 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
 
     /**
      * Iterates through the whole {@code inventories} list and accumulates its valid drafts to batches. Every batch
-     * is then processed by {@link InventorySync#processBatch(List)}.
+     * is then processed by {@link InventorySync#processBatch(List)} through
+     * {@link #syncBatches(List, CompletionStage)}, which keeps at most {@link #getMaxParallelBatches()} batches in
+     * flight and reports the metrics of the sync whenever a batch has finished.
      *
      * <p><strong>Inherited doc:</strong>
      * {@inheritDoc}
@@ -98,28 +104,25 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
         final List<InventoryEntryDraft> validInventories = inventories.stream()
             .filter(this::validateDraft)
             .collect(toList());
-        final List<CompletableFuture<InventorySyncStatistics>> completableFutures = IntStream
-            .range(0, calculateAmountOfBatches(validInventories.size()))
-            .mapToObj(batchIndex -> getBatch(batchIndex, validInventories))
-            .map(this::processBatch)
-            .map(CompletionStage::toCompletableFuture)
-            .collect(toList());
-        return allOf(completableFutures.toArray(new CompletableFuture[completableFutures.size()]))
-            .thenApply(v -> {
-                statistics.incrementProcessed(inventories.size());
-                return statistics;
-            });
+        statistics.incrementProcessed(inventories.size() - validInventories.size());
+        return syncBatches(batchDrafts(validInventories, syncOptions.getBatchSize()), completedFuture(statistics));
     }
 
+    /**
+     * Inventory entry drafts are identified by their SKU and the id of their supply channel reference, as supplied
+     * to the sync, in the {@link InventorySyncOptions#getDeltaSyncState()}.
+     *
+     * @param inventoryEntryDraft the draft to get the key of.
+     * @return the key of the inventory entry draft or {@code null} if it has no SKU.
+     */
+    @Nullable
     @Override
-    protected CompletionStage<InventorySyncStatistics> syncBatches(
-        @Nonnull final List<List<InventoryEntryDraft>> batches,
-        @Nonnull final CompletionStage<InventorySyncStatistics> result) {
-        if (batches.isEmpty()) {
-            return result;
+    protected String getDeltaKey(@Nonnull final InventoryEntryDraft inventoryEntryDraft) {
+        if (isBlank(inventoryEntryDraft.getSku())) {
+            return null;
         }
-        final List<InventoryEntryDraft> firstBatch = batches.remove(0);
-        return syncBatches(batches, result.thenCompose(subResult -> processBatch(firstBatch)));
+        final Reference<Channel> supplyChannel = inventoryEntryDraft.getSupplyChannel();
+        return format("%s|%s", inventoryEntryDraft.getSku(), supplyChannel != null ? supplyChannel.getId() : "");
     }
 
     /**
@@ -141,30 +144,6 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
         return false;
     }
 
-    /**
-     * Calculates amount of batches, available in a list of a given size. The batch size is specified by a sync options.
-     *
-     * @param listSize size of a list
-     * @return amount of batches, available in a list of a given size
-     */
-    private int calculateAmountOfBatches(int listSize) {
-        return (listSize + syncOptions.getBatchSize() - 1) / syncOptions.getBatchSize();
-    }
-
-    /**
-     * Returns a batch of drafts, extracted from a given list. The batch size is specified by a sync options.
-     *
-     * @param batchIndex zero-based index of a batch
-     * @param drafts list of drafts
-     * @return an n-th batch of drafts, where n is specified by {@code batchIndex}
-     */
-    @Nonnull
-    private List<InventoryEntryDraft> getBatch(final int batchIndex, @Nonnull final List<InventoryEntryDraft> drafts) {
-        final int startIndex = batchIndex * syncOptions.getBatchSize();
-        final int endIndex = min((batchIndex + 1) * syncOptions.getBatchSize(), drafts.size());
-        return drafts.subList(startIndex, endIndex);
-    }
-
     /**
      * Fetches existing {@link InventoryEntry} objects from CTP project that correspond to passed {@code batchOfDrafts}.
      * Having existing inventory entries fetched, {@code batchOfDrafts} is compared and synced with fetched objects by
@@ -179,7 +158,11 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
         return fetchExistingInventories(batchOfDrafts)
             .thenCompose(oldInventoriesOptional -> oldInventoriesOptional
                 .map(oldInventories -> syncBatch(oldInventories, batchOfDrafts))
-                .orElseGet(() -> completedFuture(statistics)));
+                .orElseGet(() -> completedFuture(statistics)))
+            .thenApply(batchResult -> {
+                statistics.incrementProcessed(batchOfDrafts.size());
+                return batchResult;
+            });
     }
 
     /**
@@ -219,9 +202,10 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
             .stream().collect(toMap(InventoryEntryIdentifier::of, identity()));
         final List<CompletableFuture<Void>> futures = new ArrayList<>(inventoryEntryDrafts.size());
         inventoryEntryDrafts.forEach(inventoryEntryDraft ->
-            futures.add(referenceResolver.resolveReferences(inventoryEntryDraft)
+            futures.add(measureReferenceResolution(() -> referenceResolver.resolveReferences(inventoryEntryDraft))
                                          .thenCompose(resolvedDraft ->
-                                             syncDraft(identifierToOldInventoryEntry, resolvedDraft))
+                                             syncDraft(identifierToOldInventoryEntry, resolvedDraft,
+                                                 getDeltaKey(inventoryEntryDraft)))
                                          .exceptionally(referenceResolutionException -> {
                                              final String errorMessage = format(FAILED_TO_RESOLVE_REFERENCES,
                                                  inventoryEntryDraft.getSku(),
@@ -252,21 +236,24 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
      *
      * @param oldInventories map of {@link InventoryEntryIdentifier} to old {@link InventoryEntry} instances
      * @param resolvedDraft inventory entry draft which has its references resolved
+     * @param deltaKey the key of the draft, before its references were resolved, in the delta sync state
      * @return a future which contains an empty result after execution of the update
      */
     private CompletableFuture<Void> syncDraft(@Nonnull final Map<InventoryEntryIdentifier , InventoryEntry>
                                                   oldInventories,
-                                              @Nonnull final InventoryEntryDraft resolvedDraft) {
+                                              @Nonnull final InventoryEntryDraft resolvedDraft,
+                                              @Nonnull final String deltaKey) {
         final InventoryEntry oldInventory = oldInventories.get(InventoryEntryIdentifier.of(resolvedDraft));
         return oldInventory != null
-            ? buildUpdateActionsAndUpdate(oldInventory, resolvedDraft).toCompletableFuture()
-            : create(resolvedDraft).toCompletableFuture();
+            ? buildUpdateActionsAndUpdate(oldInventory, resolvedDraft, deltaKey, 0).toCompletableFuture()
+            : create(resolvedDraft, deltaKey).toCompletableFuture();
     }
 
     /**
      * Given an existing {@link InventoryEntry} and a new {@link InventoryEntryDraft}, the method calculates all the
      * update actions required to synchronize the existing entry to be the same as the new one. If there are update
-     * actions found, a request is made to CTP to update the existing entry, otherwise it doesn't issue a request.
+     * actions found, a request is made to CTP to update the existing entry, otherwise it doesn't issue a request. The
+     * update actions aren't built at all if the entry and the draft have the same fingerprint.
      *
      * <p>The {@code statistics} instance is updated accordingly to whether the CTP request was carried
      * out successfully or not. If an exception was thrown on executing the request to CTP, the error handling method
@@ -275,27 +262,126 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
      * @param entry existing inventory entry that could be updated.
      * @param draft draft containing data that could differ from data in {@code entry}.
      *              <strong>Sku isn't compared</strong>
+     * @param deltaKey the key of the draft in the delta sync state.
+     * @param conflicts the number of concurrent modifications the previous updates of the entry failed with.
      * @return a future which contains an empty result after execution of the update.
      */
     @SuppressFBWarnings("NP_NONNULL_PARAM_VIOLATION") // https://github.com/findbugsproject/findbugs/issues/79
     private CompletionStage<Void> buildUpdateActionsAndUpdate(@Nonnull final InventoryEntry entry,
-                                                              @Nonnull final InventoryEntryDraft draft) {
-        final List<UpdateAction<InventoryEntry>> updateActions =
-            InventorySyncUtils.buildActions(entry, draft, syncOptions);
+                                                              @Nonnull final InventoryEntryDraft draft,
+                                                              @Nonnull final String deltaKey,
+                                                              final int conflicts) {
+        final List<UpdateAction<InventoryEntry>> updateActions = hasSameFingerprint(entry, draft)
+            ? Collections.emptyList()
+            : measureBuildUpdateActions(() -> InventorySyncUtils.buildActions(entry, draft, syncOptions));
         if (!updateActions.isEmpty()) {
-            return inventoryService.updateInventoryEntry(entry, updateActions)
-                .thenAccept(updatedInventory -> statistics.incrementUpdated())
-                .exceptionally(exception -> {
-                    final Reference<Channel> supplyChannel = draft.getSupplyChannel();
-                    final String errorMessage = format(CTP_INVENTORY_ENTRY_UPDATE_FAILED, draft.getSku(),
-                        supplyChannel != null ? supplyChannel.getId() : null);
-                    handleError(errorMessage, exception, 1);
-                    return null;
-                });
+            return updateEntry(entry, null, draft, updateActions, deltaKey, conflicts);
         }
+        recordConflicts(conflicts);
+        markSynced(deltaKey);
         return completedFuture(null);
     }
 
+    /**
+     * Issues a request to the CTP project to update the supplied {@code entry} with the supplied update actions. If the
+     * update failed due to a {@link io.sphere.sdk.client.ConcurrentModificationException}, the update is retried after
+     * a backoff, as long as the {@link InventorySyncOptions#getConflictRetryPolicy()} allows another retry. If the
+     * exception contains the current version of the entry, the same update actions are applied again to the current
+     * version. Otherwise, or if applying them again failed for any reason, e.g. because they are stale for the current
+     * version, the entry is fetched again and updated with the update actions recalculated from it.
+     *
+     * @param entry          existing inventory entry that should be updated.
+     * @param currentVersion the version of the entry to apply the update actions to or {@code null} to apply them to
+     *                       the version of the {@code entry}.
+     * @param draft          draft containing the data the entry is synced with.
+     * @param updateActions  the update actions to update the entry with.
+     * @param deltaKey       the key of the draft in the delta sync state.
+     * @param conflicts      the number of concurrent modifications the previous updates of the entry failed with.
+     * @return a future which contains an empty result after execution of the update.
+     */
+    private CompletionStage<Void> updateEntry(@Nonnull final InventoryEntry entry,
+                                              @Nullable final Long currentVersion,
+                                              @Nonnull final InventoryEntryDraft draft,
+                                              @Nonnull final List<UpdateAction<InventoryEntry>> updateActions,
+                                              @Nonnull final String deltaKey,
+                                              final int conflicts) {
+        final CompletionStage<InventoryEntry> update = currentVersion == null
+            ? inventoryService.updateInventoryEntry(entry, updateActions)
+            : inventoryService.updateInventoryEntry(entry, currentVersion, updateActions);
+        return update
+            .thenAccept(updatedInventory -> {
+                recordConflicts(conflicts);
+                statistics.incrementUpdated();
+                markSynced(deltaKey);
+            })
+            .handle((result, exception) -> exception)
+            .thenCompose(exception -> {
+                if (exception == null) {
+                    return completedFuture(null);
+                }
+                final Throwable sphereException = exception instanceof CompletionException
+                    ? exception.getCause() : exception;
+                return retryIfConcurrentModificationException(sphereException, currentVersion != null, conflicts,
+                    retryConflicts -> {
+                        final Long versionToRetry = currentVersion == null ? getCurrentVersion(sphereException) : null;
+                        return versionToRetry == null
+                            ? fetchAndUpdate(draft, deltaKey, retryConflicts)
+                            : updateEntry(entry, versionToRetry, draft, updateActions, deltaKey, retryConflicts);
+                    },
+                    retryConflicts -> {
+                        handleError(format(CTP_INVENTORY_ENTRY_CONFLICT_RETRIES_EXHAUSTED, draft.getSku(),
+                            getSupplyChannelId(draft), retryConflicts), exception, 1);
+                        return completedFuture(null);
+                    },
+                    () -> {
+                        handleError(format(CTP_INVENTORY_ENTRY_UPDATE_FAILED, draft.getSku(),
+                            getSupplyChannelId(draft)), exception, 1);
+                        return completedFuture(null);
+                    });
+            });
+    }
+
+    /**
+     * Fetches the inventory entry of the supplied {@code draft} again, after its update failed due to a concurrent
+     * modification, and updates it with the update actions recalculated from the fetched entry.
+     *
+     * @param draft     draft containing the data the entry is synced with.
+     * @param deltaKey  the key of the draft in the delta sync state.
+     * @param conflicts the number of concurrent modifications the previous updates of the entry failed with.
+     * @return a future which contains an empty result after execution of the update.
+     */
+    private CompletionStage<Void> fetchAndUpdate(@Nonnull final InventoryEntryDraft draft,
+                                                 @Nonnull final String deltaKey,
+                                                 final int conflicts) {
+        final Set<String> skus = Collections.singleton(draft.getSku());
+        final InventoryEntryIdentifier identifier = InventoryEntryIdentifier.of(draft);
+        return inventoryService.fetchInventoryEntriesBySkus(skus)
+            .thenApply(Optional::of)
+            .exceptionally(exception -> {
+                recordConflicts(conflicts);
+                handleError(format(CTP_INVENTORY_FETCH_FAILED, skus), exception, 1);
+                return Optional.empty();
+            })
+            .thenCompose(fetchedEntries -> fetchedEntries
+                .map(entries -> entries.stream()
+                                       .filter(entry -> identifier.equals(InventoryEntryIdentifier.of(entry)))
+                                       .findFirst()
+                                       .map(entry -> buildUpdateActionsAndUpdate(entry, draft, deltaKey, conflicts))
+                                       .orElseGet(() -> {
+                                           recordConflicts(conflicts);
+                                           handleError(format(CTP_INVENTORY_ENTRY_UNEXPECTED_DELETE, draft.getSku(),
+                                               getSupplyChannelId(draft)), null, 1);
+                                           return completedFuture(null);
+                                       }))
+                .orElseGet(() -> completedFuture(null)));
+    }
+
+    @Nullable
+    private static String getSupplyChannelId(@Nonnull final InventoryEntryDraft draft) {
+        final Reference<Channel> supplyChannel = draft.getSupplyChannel();
+        return supplyChannel != null ? supplyChannel.getId() : null;
+    }
+
     /**
      * Given an inventory entry {@code draft}, issues a request to the CTP project to create a corresponding Inventory
      * Entry.
@@ -305,11 +391,15 @@ public final class InventorySync extends BaseSync<InventoryEntryDraft, Inventory
      * is called.
      *
      * @param draft the inventory entry draft to create the inventory entry from.
+     * @param deltaKey the key of the draft in the delta sync state.
      * @return a future which contains an empty result after execution of the create.
      */
-    private CompletionStage<Void> create(@Nonnull final InventoryEntryDraft draft) {
+    private CompletionStage<Void> create(@Nonnull final InventoryEntryDraft draft, @Nonnull final String deltaKey) {
         return inventoryService.createInventoryEntry(draft)
-            .thenAccept(createdInventory -> statistics.incrementCreated())
+            .thenAccept(createdInventory -> {
+                statistics.incrementCreated();
+                markSynced(deltaKey);
+            })
             .exceptionally(exception -> {
                 final Reference<Channel> supplyChannel = draft.getSupplyChannel();
                 final String errorMessage = format(CTP_INVENTORY_ENTRY_CREATE_FAILED, draft.getSku(),
@@ -1,9 +1,16 @@
 package com.commercetools.sync.inventories;
 
 import com.commercetools.sync.commons.BaseSyncOptions;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.KeyToIdCacheType;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import io.sphere.sdk.client.SphereClient;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -15,21 +22,35 @@ public final class InventorySyncOptions extends BaseSyncOptions {
                          final BiConsumer<String, Throwable> updateActionErrorCallBack,
                          final Consumer<String> updateActionWarningCallBack,
                          final int batchSize,
+                         final int maxParallelBatches,
                          final boolean removeOtherLocales,
                          final boolean removeOtherSetEntries,
                          final boolean removeOtherCollectionEntries,
                          final boolean removeOtherProperties,
                          final boolean allowUuid,
+                         @Nullable final SyncMetrics syncMetrics,
+                         @Nullable final Consumer<SyncMetricsSnapshot> syncMetricsListener,
+                         @Nullable final Path keyToIdCacheDirectory,
+                         @Nullable final KeyToIdCacheType keyToIdCacheType,
+                         @Nullable final DeltaSyncState deltaSyncState,
+                         @Nullable final ConflictRetryPolicy conflictRetryPolicy,
                          boolean ensureChannels) {
         super(ctpClient,
             updateActionErrorCallBack,
             updateActionWarningCallBack,
             batchSize,
+            maxParallelBatches,
             removeOtherLocales,
             removeOtherSetEntries,
             removeOtherCollectionEntries,
             removeOtherProperties,
-            allowUuid);
+            allowUuid,
+            syncMetrics,
+            syncMetricsListener,
+            keyToIdCacheDirectory,
+            keyToIdCacheType,
+            deltaSyncState,
+            conflictRetryPolicy);
         this.ensureChannels = ensureChannels;
 
     }
@@ -59,11 +59,18 @@ public final class InventorySyncOptionsBuilder extends
             this.errorCallBack,
             this.warningCallBack,
             this.batchSize,
+            this.maxParallelBatches,
             this.removeOtherLocales,
             this.removeOtherSetEntries,
             this.removeOtherCollectionEntries,
             this.removeOtherProperties,
             this.allowUuid,
+            this.syncMetrics,
+            this.syncMetricsListener,
+            this.keyToIdCacheDirectory,
+            this.keyToIdCacheType,
+            this.deltaSyncState,
+            this.conflictRetryPolicy,
             this.ensureChannels);
     }
 
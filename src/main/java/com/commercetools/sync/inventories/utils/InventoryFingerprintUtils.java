@@ -0,0 +1,72 @@
+package com.commercetools.sync.inventories.utils;
+
+import com.commercetools.sync.commons.helpers.DraftFingerprint;
+import com.commercetools.sync.commons.helpers.FingerprintHasher;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.commercetools.sync.commons.utils.CustomFingerprintUtils.putCustomFields;
+
+/**
+ * This class provides methods for computing the fingerprints of inventory entries and their drafts over the fields
+ * that {@link InventorySyncUtils#buildActions} compares. An entry and a draft with the same fingerprint are in sync,
+ * so the update actions between them don't need to be built.
+ */
+public final class InventoryFingerprintUtils {
+
+    private InventoryFingerprintUtils() { }
+
+    /**
+     * Compares the fingerprints of an {@link InventoryEntry} and an {@link InventoryEntryDraft}.
+     *
+     * @param oldEntry the inventory entry which could be updated.
+     * @param newEntry the inventory entry draft that contains the new data.
+     * @return {@code true} if both have the same fingerprint, so {@link InventorySyncUtils#buildActions} wouldn't
+     *         build any update action for them, otherwise {@code false}.
+     */
+    public static boolean hasSameFingerprint(@Nonnull final InventoryEntry oldEntry,
+                                             @Nonnull final InventoryEntryDraft newEntry) {
+        final FingerprintHasher hasher = FingerprintHasher.of();
+        final DraftFingerprint newFingerprint = fingerprint(hasher, newEntry);
+        return newFingerprint != null && newFingerprint.equals(fingerprint(hasher.reset(), oldEntry));
+    }
+
+    /**
+     * Computes the fingerprint of the compared fields of an {@link InventoryEntryDraft}. A missing quantity on stock
+     * is fingerprinted as {@code 0}, like it's synced.
+     *
+     * @param hasher the hasher to compute the fingerprint with.
+     * @param draft  the draft to compute the fingerprint of.
+     * @return the fingerprint of the draft or {@code null} if the draft can't be compared by its fingerprint.
+     */
+    @Nullable
+    public static DraftFingerprint fingerprint(@Nonnull final FingerprintHasher hasher,
+                                               @Nonnull final InventoryEntryDraft draft) {
+        hasher.putLong(draft.getQuantityOnStock() == null ? 0L : draft.getQuantityOnStock())
+              .putInt(draft.getRestockableInDays())
+              .putZonedDateTime(draft.getExpectedDelivery())
+              .putString(draft.getSupplyChannel() == null ? null : draft.getSupplyChannel().getId());
+        return putCustomFields(hasher, draft.getCustom()) ? hasher.fingerprint() : null;
+    }
+
+    /**
+     * Computes the fingerprint of the compared fields of an {@link InventoryEntry}.
+     *
+     * @param hasher the hasher to compute the fingerprint with.
+     * @param entry  the inventory entry to compute the fingerprint of.
+     * @return the fingerprint of the inventory entry.
+     */
+    @Nonnull
+    public static DraftFingerprint fingerprint(@Nonnull final FingerprintHasher hasher,
+                                               @Nonnull final InventoryEntry entry) {
+        hasher.putLong(entry.getQuantityOnStock())
+              .putInt(entry.getRestockableInDays())
+              .putZonedDateTime(entry.getExpectedDelivery())
+              .putString(entry.getSupplyChannel() == null ? null : entry.getSupplyChannel().getId());
+        putCustomFields(hasher, entry.getCustom());
+        return hasher.fingerprint();
+    }
+}
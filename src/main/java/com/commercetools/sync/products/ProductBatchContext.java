@@ -0,0 +1,39 @@
+package com.commercetools.sync.products;
+
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state of a single batch of a {@link ProductSync}. A new context is created for each batch and passed through
+ * the stages of the batch, so that batches running in parallel and sync instances don't share it. All the collections
+ * are thread-safe, since they are filled from the callbacks of the CTP requests.
+ */
+final class ProductBatchContext {
+    private final Map<ProductDraft, Product> productsToSync = new ConcurrentHashMap<>();
+    private final Set<ProductDraft> draftsToCreate = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Gets the drafts with resolved references mapped to the existing products they should be synced to.
+     *
+     * @return the drafts mapped to the products to sync.
+     */
+    @Nonnull
+    Map<ProductDraft, Product> getProductsToSync() {
+        return productsToSync;
+    }
+
+    /**
+     * Gets the drafts with resolved references of the products that don't exist yet and should be created.
+     *
+     * @return the drafts of the products to create.
+     */
+    @Nonnull
+    Set<ProductDraft> getDraftsToCreate() {
+        return draftsToCreate;
+    }
+}
@@ -25,8 +25,8 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,6 +38,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 import static com.commercetools.sync.commons.utils.SyncUtils.batchDrafts;
+import static com.commercetools.sync.products.utils.ProductFingerprintUtils.hasSameFingerprint;
 import static com.commercetools.sync.products.utils.ProductSyncUtils.buildActions;
 import static io.sphere.sdk.states.StateType.PRODUCT_STATE;
 import static java.lang.String.format;
@@ -48,6 +49,7 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
     private static final String PRODUCT_DRAFT_IS_NULL = "ProductDraft is null.";
     private static final String UPDATE_FAILED = "Failed to update Product with key: '%s'. Reason: %s";
     private static final String UNEXPECTED_DELETE = "Product with key: '%s' was deleted unexpectedly.";
+    private static final String CONFLICT_RETRIES_EXHAUSTED = "The product was modified concurrently %d times.";
     private static final String FAILED_TO_RESOLVE_REFERENCES = "Failed to resolve references on "
         + "ProductDraft with key:'%s'. Reason: %s";
     private static final String FAILED_TO_FETCH_PRODUCT_TYPE = "Failed to fetch a productType for the product to "
@@ -57,9 +59,6 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
     private final ProductTypeService productTypeService;
     private final ProductReferenceResolver productReferenceResolver;
 
-    private Map<ProductDraft, Product> productsToSync = new HashMap<>();
-    private Set<ProductDraft> draftsToCreate = new HashSet<>();
-
     /**
      * Takes a {@link ProductSyncOptions} instance to instantiate a new {@link ProductSync} instance that could be
      * used to sync product drafts with the given products in the CTP project specified in the injected
@@ -89,31 +88,21 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
     @Override
     protected CompletionStage<ProductSyncStatistics> process(@Nonnull final List<ProductDraft> resourceDrafts) {
         final List<List<ProductDraft>> batches = batchDrafts(resourceDrafts, syncOptions.getBatchSize());
-        return syncBatches(batches, CompletableFuture.completedFuture(statistics));
-    }
-
-    @Override
-    protected CompletionStage<ProductSyncStatistics> syncBatches(@Nonnull final List<List<ProductDraft>> batches,
-                                                                 @Nonnull final CompletionStage<ProductSyncStatistics>
-                                                                     result) {
-        if (batches.isEmpty()) {
-            return result;
-        }
-        final List<ProductDraft> firstBatch = batches.remove(0);
-        return syncBatches(batches, result.thenCompose(subResult -> processBatch(firstBatch)));
+        // The key to id cache is populated once upfront, so that batches running in parallel don't each trigger it.
+        return syncBatches(batches, productService.cacheKeysToIds().thenApply(keyToIdCache -> statistics));
     }
 
     @Override
     protected CompletionStage<ProductSyncStatistics> processBatch(@Nonnull final List<ProductDraft> batch) {
-        productsToSync = new HashMap<>();
-        draftsToCreate = new HashSet<>();
+        final ProductBatchContext batchContext = new ProductBatchContext();
         return productService.cacheKeysToIds()
                              .thenCompose(keyToIdCache -> {
                                  final Set<String> productDraftKeys = getProductDraftKeys(batch);
                                  return productService.fetchMatchingProductsByKeys(productDraftKeys)
-                                                      .thenAccept(matchingProducts ->
-                                                          processFetchedProducts(matchingProducts, batch))
-                                                      .thenCompose(result -> createOrUpdateProducts())
+                                                      .thenCompose(matchingProducts ->
+                                                          processFetchedProducts(matchingProducts, batch,
+                                                              batchContext))
+                                                      .thenCompose(result -> createOrUpdateProducts(batchContext))
                                                       .thenApply(result -> {
                                                           statistics.incrementProcessed(batch.size());
                                                           return statistics;
@@ -121,6 +110,18 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
                              });
     }
 
+    /**
+     * Product drafts are identified by their key in the {@link ProductSyncOptions#getDeltaSyncState()}.
+     *
+     * @param productDraft the draft to get the key of.
+     * @return the key of the product draft.
+     */
+    @Nullable
+    @Override
+    protected String getDeltaKey(@Nonnull final ProductDraft productDraft) {
+        return productDraft.getKey();
+    }
+
     @Nonnull
     private Set<String> getProductDraftKeys(@Nonnull final List<ProductDraft> productDrafts) {
         return productDrafts.stream()
@@ -130,32 +131,57 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
                             .collect(Collectors.toSet());
     }
 
-    private void processFetchedProducts(@Nonnull final Set<Product> matchingProducts,
-                                        @Nonnull final List<ProductDraft> productDrafts) {
+    /**
+     * Given the products fetched from the CTP project and the drafts of the batch, this method resolves the references
+     * of all the valid drafts concurrently. The ids of the categories referenced by all the drafts of the batch are
+     * fetched once upfront, so that the category references of each draft are resolved from memory. Each draft with
+     * resolved references is either added to the {@code productsToSync} of the batch context, mapped to its matching
+     * existing product, or to its {@code draftsToCreate} if no matching product exists. Drafts that are null, have no
+     * key or failed reference resolution are counted as failed.
+     *
+     * @param matchingProducts the existing products fetched from the CTP project which match the keys of the drafts.
+     * @param productDrafts    the product drafts of the batch.
+     * @param batchContext     the state of the batch to collect the drafts with resolved references into.
+     * @return a future which is completed once the references of all drafts have been resolved (or failed to).
+     */
+    @Nonnull
+    private CompletionStage<Void> processFetchedProducts(@Nonnull final Set<Product> matchingProducts,
+                                                         @Nonnull final List<ProductDraft> productDrafts,
+                                                         @Nonnull final ProductBatchContext batchContext) {
+        final Map<String, Product> matchingProductsByKey =
+            matchingProducts.stream()
+                            .filter(product -> product.getKey() != null)
+                            .collect(Collectors.toMap(Product::getKey, product -> product, (first, second) -> first));
+        final CompletionStage<Map<String, String>> categoryKeysToIdsStage =
+            productReferenceResolver.fetchCategoryKeysToIds(productDrafts);
+        final List<CompletableFuture<Void>> referenceResolutionFutures = new ArrayList<>(productDrafts.size());
         for (ProductDraft productDraft : productDrafts) {
             if (productDraft != null) {
                 final String productKey = productDraft.getKey();
                 if (isNotBlank(productKey)) {
-                    productReferenceResolver.resolveReferences(productDraft)
-                                            .thenAccept(referencesResolvedDraft -> {
-                                                final Optional<Product> existingProduct =
-                                                    getProductByKeyIfExists(matchingProducts, productKey);
-                                                if (existingProduct.isPresent()) {
-                                                    productsToSync.put(referencesResolvedDraft, existingProduct.get());
-                                                } else {
-                                                    draftsToCreate.add(referencesResolvedDraft);
-                                                }
-                                            })
-                                            .exceptionally(referenceResolutionException -> {
-                                                Throwable actualException = referenceResolutionException;
-                                                if (referenceResolutionException instanceof CompletionException) {
-                                                    actualException = referenceResolutionException.getCause();
-                                                }
-                                                final String errorMessage = format(FAILED_TO_RESOLVE_REFERENCES,
-                                                    productDraft.getKey(), actualException);
-                                                handleError(errorMessage, referenceResolutionException);
-                                                return null;
-                                            }).toCompletableFuture().join();
+                    referenceResolutionFutures.add(
+                        categoryKeysToIdsStage
+                            .thenCompose(categoryKeysToIds -> measureReferenceResolution(() ->
+                                productReferenceResolver.resolveReferences(productDraft, categoryKeysToIds)))
+                            .thenAccept(referencesResolvedDraft -> {
+                                final Product existingProduct = matchingProductsByKey.get(productKey);
+                                if (existingProduct != null) {
+                                    batchContext.getProductsToSync().put(referencesResolvedDraft, existingProduct);
+                                } else {
+                                    batchContext.getDraftsToCreate().add(referencesResolvedDraft);
+                                }
+                            })
+                            .exceptionally(referenceResolutionException -> {
+                                Throwable actualException = referenceResolutionException;
+                                if (referenceResolutionException instanceof CompletionException) {
+                                    actualException = referenceResolutionException.getCause();
+                                }
+                                final String errorMessage = format(FAILED_TO_RESOLVE_REFERENCES, productKey,
+                                    actualException);
+                                handleError(errorMessage, referenceResolutionException);
+                                return null;
+                            })
+                            .toCompletableFuture());
                 } else {
                     final String errorMessage = format(PRODUCT_DRAFT_KEY_NOT_SET, productDraft.getName());
                     handleError(errorMessage, null);
@@ -164,22 +190,17 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
                 handleError(PRODUCT_DRAFT_IS_NULL, null);
             }
         }
+        return CompletableFuture.allOf(
+            referenceResolutionFutures.toArray(new CompletableFuture[referenceResolutionFutures.size()]));
     }
 
     @Nonnull
-    private CompletionStage<Void> createOrUpdateProducts() {
+    private CompletionStage<Void> createOrUpdateProducts(@Nonnull final ProductBatchContext batchContext) {
+        final Set<ProductDraft> draftsToCreate = batchContext.getDraftsToCreate();
         return productService.createProducts(draftsToCreate)
                              .thenAccept(createdProducts ->
                                  processCreatedProducts(createdProducts, draftsToCreate.size()))
-                             .thenCompose(result -> syncProducts(productsToSync));
-    }
-
-    @Nonnull
-    private static Optional<Product> getProductByKeyIfExists(@Nonnull final Set<Product> products,
-                                                             @Nonnull final String key) {
-        return products.stream()
-                       .filter(product -> Objects.equals(product.getKey(), key))
-                       .findFirst();
+                             .thenCompose(result -> syncProducts(batchContext.getProductsToSync()));
     }
 
     private void processCreatedProducts(@Nonnull final Set<Product> createdProducts,
@@ -187,13 +208,14 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
         final int numberOfFailedCreations = totalNumberOfDraftsToCreate - createdProducts.size();
         statistics.incrementFailed(numberOfFailedCreations);
         statistics.incrementCreated(createdProducts.size());
+        createdProducts.forEach(createdProduct -> markSynced(createdProduct.getKey()));
     }
 
     @Nonnull
     private CompletionStage<Void> syncProducts(@Nonnull final Map<ProductDraft, Product> productsToSync) {
         final List<CompletableFuture<Optional<Product>>> futureUpdates =
             productsToSync.entrySet().stream()
-                          .map(entry -> fetchProductAttributesMetadataAndUpdate(entry.getValue(), entry.getKey()))
+                          .map(entry -> fetchProductAttributesMetadataAndUpdate(entry.getValue(), entry.getKey(), 0))
                           .map(CompletionStage::toCompletableFuture)
                           .collect(Collectors.toList());
         return CompletableFuture.allOf(futureUpdates.toArray(new CompletableFuture[futureUpdates.size()]));
@@ -203,17 +225,24 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
     private CompletionStage<Optional<Product>> fetchProductAttributesMetadataAndUpdate(@Nonnull final Product
                                                                                            oldProduct,
                                                                                        @Nonnull final ProductDraft
-                                                                                           newProduct) {
+                                                                                           newProduct,
+                                                                                       final int conflicts) {
         return productTypeService.fetchCachedProductAttributeMetaDataMap(oldProduct.getProductType().getId())
                 .thenCompose(optionalAttributesMetaDataMap ->
                         optionalAttributesMetaDataMap.map(attributeMetaDataMap -> {
                             final List<UpdateAction<Product>> updateActions =
-                                    buildActions(oldProduct, newProduct, syncOptions, attributeMetaDataMap);
+                                isInSync(oldProduct, newProduct, attributeMetaDataMap)
+                                    ? Collections.emptyList()
+                                    : measureBuildUpdateActions(() ->
+                                        buildActions(oldProduct, newProduct, syncOptions, attributeMetaDataMap));
                             if (!updateActions.isEmpty()) {
-                                return updateProduct(oldProduct, newProduct, updateActions);
+                                return updateProduct(oldProduct, null, newProduct, updateActions, conflicts);
                             }
+                            recordConflicts(conflicts);
+                            markSynced(oldProduct.getKey());
                             return CompletableFuture.completedFuture(Optional.of(oldProduct));
                         }).orElseGet(() -> {
+                            recordConflicts(conflicts);
                             final String errorMessage = format(UPDATE_FAILED, oldProduct.getKey(),
                                     FAILED_TO_FETCH_PRODUCT_TYPE);
                             handleError(errorMessage, null);
@@ -222,29 +251,83 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
                 );
     }
 
+    /**
+     * Checks if the product is in sync with the draft by comparing their fingerprints, which is much cheaper than
+     * building the update actions between them. The update actions of products with an update actions callback are
+     * always built, since the callback could add update actions.
+     *
+     * @param oldProduct           the product which could be updated.
+     * @param newProduct           the product draft where we get the new data.
+     * @param attributeMetaDataMap the attributes metadata of the product type of the product.
+     * @return {@code true} if no update actions need to be built for the product, otherwise {@code false}.
+     */
+    private boolean isInSync(@Nonnull final Product oldProduct,
+                             @Nonnull final ProductDraft newProduct,
+                             @Nonnull final Map<String, AttributeMetaData> attributeMetaDataMap) {
+        return syncOptions.getUpdateActionsCallBack() == null
+            && hasSameFingerprint(oldProduct, newProduct, attributeMetaDataMap);
+    }
+
+    /**
+     * Updates the supplied product with the supplied update actions. If the update failed due to a
+     * {@link io.sphere.sdk.client.ConcurrentModificationException}, the update is retried after a backoff, as long as
+     * the {@link ProductSyncOptions#getConflictRetryPolicy()} allows another retry. If the exception contains the
+     * current version of the product, the same update actions are applied again to the current version, which spares
+     * fetching the product with all its variants and prices. Otherwise, or if applying them again failed for any
+     * reason, e.g. because the actions are stale for the current version, the product is fetched again and updated
+     * with the update actions recalculated from it.
+     *
+     * @param oldProduct     the product to update.
+     * @param currentVersion the version of the product to apply the update actions to or {@code null} to apply them to
+     *                       the version of the {@code oldProduct}.
+     * @param newProduct     the product draft where we get the new data.
+     * @param updateActions  the update actions to update the product with.
+     * @param conflicts      the number of concurrent modifications the previous updates of the product failed with.
+     * @return a future which contains the updated product or an empty result if the update failed.
+     */
     @Nonnull
     private CompletionStage<Optional<Product>> updateProduct(@Nonnull final Product oldProduct,
+                                                             @Nullable final Long currentVersion,
                                                              @Nonnull final ProductDraft newProduct,
-                                                             @Nonnull final List<UpdateAction<Product>> updateActions) {
-        return productService.updateProduct(oldProduct, updateActions)
-                             .handle(ImmutablePair::new)
-                             .thenCompose(updateResponse -> {
-                                 final Product updatedProduct = updateResponse.getKey();
-                                 final Throwable sphereException = updateResponse.getValue();
-                                 if (sphereException != null) {
-                                     return executeSupplierIfConcurrentModificationException(sphereException,
-                                         () -> fetchAndUpdate(oldProduct, newProduct),
-                                         () -> {
-                                             final String productKey = oldProduct.getKey();
-                                             handleError(format(UPDATE_FAILED, productKey, sphereException),
-                                                 sphereException);
-                                             return CompletableFuture.completedFuture(Optional.empty());
-                                         });
-                                 } else {
-                                     statistics.incrementUpdated();
-                                     return CompletableFuture.completedFuture(Optional.of(updatedProduct));
-                                 }
-                             });
+                                                             @Nonnull final List<UpdateAction<Product>> updateActions,
+                                                             final int conflicts) {
+        final CompletionStage<Product> update = currentVersion == null
+            ? productService.updateProduct(oldProduct, updateActions)
+            : productService.updateProduct(oldProduct, currentVersion, updateActions);
+        return update.handle(ImmutablePair::new)
+                     .thenCompose(updateResponse -> {
+                         final Product updatedProduct = updateResponse.getKey();
+                         final Throwable sphereException = updateResponse.getValue();
+                         final String productKey = oldProduct.getKey();
+                         if (sphereException != null) {
+                             return retryIfConcurrentModificationException(sphereException, currentVersion != null,
+                                 conflicts,
+                                 retryConflicts -> {
+                                     final Long versionToRetry =
+                                         currentVersion == null ? getCurrentVersion(sphereException) : null;
+                                     return versionToRetry == null
+                                         ? fetchAndUpdate(oldProduct, newProduct, retryConflicts)
+                                         : updateProduct(oldProduct, versionToRetry, newProduct, updateActions,
+                                             retryConflicts);
+                                 },
+                                 retryConflicts -> {
+                                     handleError(format(UPDATE_FAILED, productKey,
+                                         format(CONFLICT_RETRIES_EXHAUSTED, retryConflicts)),
+                                         sphereException);
+                                     return CompletableFuture.completedFuture(Optional.empty());
+                                 },
+                                 () -> {
+                                     handleError(format(UPDATE_FAILED, productKey, sphereException),
+                                         sphereException);
+                                     return CompletableFuture.completedFuture(Optional.empty());
+                                 });
+                         } else {
+                             recordConflicts(conflicts);
+                             statistics.incrementUpdated();
+                             markSynced(oldProduct.getKey());
+                             return CompletableFuture.completedFuture(Optional.of(updatedProduct));
+                         }
+                     });
     }
 
     /**
@@ -255,16 +338,20 @@ public class ProductSync extends BaseSync<ProductDraft, ProductSyncStatistics, P
      *
      * @param oldProduct the category which could be updated.
      * @param newProduct the category draft where we get the new data.
+     * @param conflicts  the number of concurrent modifications the previous updates of the product failed with.
      * @return a future which contains an empty result after execution of the update.
      */
     @Nonnull
     private CompletionStage<Optional<Product>> fetchAndUpdate(@Nonnull final Product oldProduct,
-                                                              @Nonnull final ProductDraft newProduct) {
+                                                              @Nonnull final ProductDraft newProduct,
+                                                              final int conflicts) {
         final String key = oldProduct.getKey();
         return productService.fetchProduct(key)
                 .thenCompose(productOptional -> productOptional
-                        .map(fetchedProduct -> fetchProductAttributesMetadataAndUpdate(fetchedProduct, newProduct))
+                        .map(fetchedProduct -> fetchProductAttributesMetadataAndUpdate(fetchedProduct, newProduct,
+                            conflicts))
                         .orElseGet(() -> {
+                            recordConflicts(conflicts);
                             handleError(format(UPDATE_FAILED, key, UNEXPECTED_DELETE), null);
                             return CompletableFuture.completedFuture(productOptional);
                         })
@@ -1,12 +1,18 @@
 package com.commercetools.sync.products;
 
 import com.commercetools.sync.commons.BaseSyncOptions;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.KeyToIdCacheType;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.commands.UpdateAction;
 import io.sphere.sdk.products.Product;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -31,18 +37,26 @@ public class ProductSyncOptions extends BaseSyncOptions {
                        @Nullable final BiConsumer<String, Throwable> errorCallBack,
                        @Nullable final Consumer<String> warningCallBack,
                        final int batchSize,
+                       final int maxParallelBatches,
                        final boolean removeOtherLocales,
                        final boolean removeOtherSetEntries,
                        final boolean removeOtherCollectionEntries,
                        final boolean removeOtherProperties,
                        final boolean allowUuid,
+                       @Nullable final SyncMetrics syncMetrics,
+                       @Nullable final Consumer<SyncMetricsSnapshot> syncMetricsListener,
+                       @Nullable final Path keyToIdCacheDirectory,
+                       @Nullable final KeyToIdCacheType keyToIdCacheType,
+                       @Nullable final DeltaSyncState deltaSyncState,
+                       @Nullable final ConflictRetryPolicy conflictRetryPolicy,
                        final boolean removeOtherVariants,
                        @Nullable final SyncFilter syncFilter,
                        @Nullable final Function<List<UpdateAction<Product>>,
                            List<UpdateAction<Product>>> updateActionsCallBack,
                        boolean ensurePriceChannels) {
-        super(ctpClient, errorCallBack, warningCallBack, batchSize, removeOtherLocales, removeOtherSetEntries,
-            removeOtherCollectionEntries, removeOtherProperties, allowUuid);
+        super(ctpClient, errorCallBack, warningCallBack, batchSize, maxParallelBatches, removeOtherLocales,
+            removeOtherSetEntries, removeOtherCollectionEntries, removeOtherProperties, allowUuid, syncMetrics,
+            syncMetricsListener, keyToIdCacheDirectory, keyToIdCacheType, deltaSyncState, conflictRetryPolicy);
         this.removeOtherVariants = removeOtherVariants;
         this.syncFilter = ofNullable(syncFilter).orElseGet(SyncFilter::of);
         this.updateActionsCallBack = updateActionsCallBack;
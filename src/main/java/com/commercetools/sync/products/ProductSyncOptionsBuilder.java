@@ -104,11 +104,18 @@ public final class ProductSyncOptionsBuilder
             errorCallBack,
             warningCallBack,
             batchSize,
+            maxParallelBatches,
             removeOtherLocales,
             removeOtherSetEntries,
             removeOtherCollectionEntries,
             removeOtherProperties,
             allowUuid,
+            syncMetrics,
+            syncMetricsListener,
+            keyToIdCacheDirectory,
+            keyToIdCacheType,
+            deltaSyncState,
+            conflictRetryPolicy,
             removeOtherVariants,
             syncFilter,
             updateActionsCallBack,
@@ -0,0 +1,90 @@
+package com.commercetools.sync.products.helpers;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.products.Price;
+import io.sphere.sdk.products.PriceDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * The fields that identify a {@link Price} among the prices of a product variant: its currency, country, customer
+ * group, channel and validity period. A price and a price draft with equal {@link PriceCompositeId}s are considered
+ * to be the same price, whose value may have changed.
+ */
+public final class PriceCompositeId {
+    private final String currencyCode;
+    private final CountryCode countryCode;
+    private final String customerGroupId;
+    private final String channelId;
+    private final Instant validFrom;
+    private final Instant validUntil;
+
+    private PriceCompositeId(@Nonnull final String currencyCode,
+                             @Nullable final CountryCode countryCode,
+                             @Nullable final Reference<?> customerGroup,
+                             @Nullable final Reference<?> channel,
+                             @Nullable final ZonedDateTime validFrom,
+                             @Nullable final ZonedDateTime validUntil) {
+        this.currencyCode = currencyCode;
+        this.countryCode = countryCode;
+        this.customerGroupId = customerGroup == null ? null : customerGroup.getId();
+        this.channelId = channel == null ? null : channel.getId();
+        this.validFrom = validFrom == null ? null : validFrom.toInstant();
+        this.validUntil = validUntil == null ? null : validUntil.toInstant();
+    }
+
+    /**
+     * Builds the composite id of the supplied {@code price} from its currency, country, customer group, channel and
+     * validity period.
+     *
+     * @param price the price to build the composite id of.
+     * @return the composite id of the price.
+     */
+    @Nonnull
+    public static PriceCompositeId of(@Nonnull final Price price) {
+        return new PriceCompositeId(price.getValue().getCurrency().getCurrencyCode(), price.getCountry(),
+            price.getCustomerGroup(), price.getChannel(), price.getValidFrom(), price.getValidUntil());
+    }
+
+    /**
+     * Builds the composite id of the supplied {@code priceDraft} from its currency, country, customer group, channel
+     * and validity period. The references of the draft are compared by their ids, so they have to be resolved to
+     * match the composite id of an existing {@link Price}.
+     *
+     * @param priceDraft the price draft to build the composite id of.
+     * @return the composite id of the price draft.
+     */
+    @Nonnull
+    public static PriceCompositeId of(@Nonnull final PriceDraft priceDraft) {
+        return new PriceCompositeId(priceDraft.getValue().getCurrency().getCurrencyCode(), priceDraft.getCountry(),
+            priceDraft.getCustomerGroup(), priceDraft.getChannel(), priceDraft.getValidFrom(),
+            priceDraft.getValidUntil());
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PriceCompositeId)) {
+            return false;
+        }
+        final PriceCompositeId that = (PriceCompositeId) other;
+        return currencyCode.equals(that.currencyCode)
+            && countryCode == that.countryCode
+            && Objects.equals(customerGroupId, that.customerGroupId)
+            && Objects.equals(channelId, that.channelId)
+            && Objects.equals(validFrom, that.validFrom)
+            && Objects.equals(validUntil, that.validUntil);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currencyCode, countryCode, customerGroupId, channelId, validFrom, validUntil);
+    }
+}
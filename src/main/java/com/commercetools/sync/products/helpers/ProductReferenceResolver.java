@@ -24,8 +24,9 @@ import io.sphere.sdk.taxcategories.TaxCategory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -96,14 +97,74 @@ public final class ProductReferenceResolver extends BaseReferenceResolver<Produc
      */
     @Override
     public CompletionStage<ProductDraft> resolveReferences(@Nonnull final ProductDraft productDraft) {
+        return fetchCategoryKeysToIds(Collections.singletonList(productDraft))
+            .thenCompose(categoryKeysToIds -> resolveReferences(productDraft, categoryKeysToIds));
+    }
+
+    /**
+     * Given a {@link ProductDraft} and a map of category keys to ids, which was fetched beforehand with
+     * {@link #fetchCategoryKeysToIds(List)} for a batch of drafts including this one, this method attempts to resolve
+     * all the references of the draft to return a {@link CompletionStage} which contains a new instance of the draft
+     * with the resolved references. The category references are resolved from the supplied map without any further
+     * requests to the CTP project.
+     *
+     * @param productDraft      the productDraft to resolve it's references.
+     * @param categoryKeysToIds the mapping of category keys to ids to resolve the category references of the draft
+     *                          with.
+     * @return a {@link CompletionStage} that contains as a result a new productDraft instance with resolved references
+     *         or, in case an error occurs during reference resolution, a {@link ReferenceResolutionException}.
+     */
+    @Nonnull
+    public CompletionStage<ProductDraft> resolveReferences(@Nonnull final ProductDraft productDraft,
+                                                           @Nonnull final Map<String, String> categoryKeysToIds) {
         return resolveProductTypeReference(ProductDraftBuilder.of(productDraft))
-            .thenCompose(this::resolveCategoryReferences)
+            .thenApply(draftBuilder -> resolveCategoryReferences(draftBuilder, categoryKeysToIds))
             .thenCompose(this::resolveProductPricesReferences)
             .thenCompose(this::resolveTaxCategoryReferences)
             .thenCompose(this::resolveStateReferences)
             .thenApply(ProductDraftBuilder::build);
     }
 
+    /**
+     * Given a {@link List} of product drafts, this method collects the keys of the category references of all the
+     * drafts and fetches the ids of the matching categories at once. The returned mapping could then be used to
+     * resolve the category references of each of the drafts with {@link #resolveReferences(ProductDraft, Map)}.
+     * Null drafts and category references with an invalid key are skipped; they are reported once the references
+     * of the draft itself are resolved.
+     *
+     * @param productDrafts the product drafts to fetch the ids of their categories.
+     * @return a {@link CompletionStage} that contains as a result a mapping of the category keys of the drafts to the
+     *         ids of the matching categories in the CTP project.
+     */
+    @Nonnull
+    public CompletionStage<Map<String, String>> fetchCategoryKeysToIds(
+        @Nonnull final List<ProductDraft> productDrafts) {
+        final Set<String> categoryKeys = productDrafts.stream()
+                                                      .filter(Objects::nonNull)
+                                                      .map(ProductDraft::getCategories)
+                                                      .filter(Objects::nonNull)
+                                                      .flatMap(Set::stream)
+                                                      .filter(Objects::nonNull)
+                                                      .map(this::getCategoryKeyIfValid)
+                                                      .filter(Optional::isPresent)
+                                                      .map(Optional::get)
+                                                      .collect(Collectors.toSet());
+        if (categoryKeys.isEmpty()) {
+            return completedFuture(Collections.emptyMap());
+        }
+        return categoryService.fetchCachedCategoryIds(categoryKeys);
+    }
+
+    @Nonnull
+    private Optional<String> getCategoryKeyIfValid(
+        @Nonnull final ResourceIdentifier<Category> categoryResourceIdentifier) {
+        try {
+            return Optional.of(getKeyFromResourceIdentifier(categoryResourceIdentifier, options.shouldAllowUuidKeys()));
+        } catch (ReferenceResolutionException referenceResolutionException) {
+            return Optional.empty();
+        }
+    }
+
     @Nonnull
     private CompletionStage<ProductDraftBuilder> resolveProductPricesReferences(
             @Nonnull final ProductDraftBuilder draftBuilder) {
@@ -175,58 +236,48 @@ public final class ProductReferenceResolver extends BaseReferenceResolver<Produc
             });
     }
 
+    /**
+     * Given a {@link ProductDraftBuilder} and a mapping of category keys to ids, this method sets the category
+     * references on the {@code draftBuilder} for all the categories of the draft which exist in the mapping. It also
+     * replaces the category keys on the {@link CategoryOrderHints} map of the {@code productDraft} with the ids. If a
+     * category is not found in the mapping, i.e. it doesn't exist in the CTP project, its reference is not kept on the
+     * resultant draft. If the key of a category reference is not valid, the error callback is triggered.
+     *
+     * @param draftBuilder      the product draft builder to resolve it's category references.
+     * @param categoryKeysToIds the mapping of category keys to ids to resolve the category references with.
+     * @return the same {@code draftBuilder} instance with resolved category references.
+     */
     @Nonnull
-    private CompletionStage<ProductDraftBuilder> resolveCategoryReferences(
-            @Nonnull final ProductDraftBuilder draftBuilder) {
+    private ProductDraftBuilder resolveCategoryReferences(@Nonnull final ProductDraftBuilder draftBuilder,
+                                                          @Nonnull final Map<String, String> categoryKeysToIds) {
         final Set<ResourceIdentifier<Category>> categoryResourceIdentifiers = draftBuilder.getCategories();
-        final Set<String> categoryKeys = new HashSet<>();
+        final CategoryOrderHints categoryOrderHints = draftBuilder.getCategoryOrderHints();
+        final boolean hasCategoryOrderHints = categoryOrderHints != null && !categoryOrderHints.getAsMap().isEmpty();
+        final List<Reference<Category>> categoryReferences = new ArrayList<>();
+        final Map<String, String> categoryOrderHintsMap = new HashMap<>();
 
         categoryResourceIdentifiers.forEach(categoryResourceIdentifier -> {
             if (categoryResourceIdentifier != null) {
                 try {
                     final String categoryKey = getKeyFromResourceIdentifier(categoryResourceIdentifier,
                         options.shouldAllowUuidKeys());
-                    categoryKeys.add(categoryKey);
+                    final String categoryId = categoryKeysToIds.get(categoryKey);
+                    if (categoryId != null) {
+                        categoryReferences.add(Category.referenceOfId(categoryId));
+                        final String categoryOrderHint = hasCategoryOrderHints
+                            ? categoryOrderHints.get(categoryKey) : null;
+                        if (categoryOrderHint != null) {
+                            categoryOrderHintsMap.put(categoryId, categoryOrderHint);
+                        }
+                    }
                 } catch (ReferenceResolutionException referenceResolutionException) {
                     options.applyErrorCallback(format(FAILED_TO_RESOLVE_CATEGORY, draftBuilder.getKey(),
                         referenceResolutionException), referenceResolutionException);
                 }
             }
         });
-        return fetchAndResolveCategoryReferences(draftBuilder, categoryKeys);
-    }
-
-    /**
-     * Given a {@link ProductDraftBuilder} and a {@link Set} of {@code categoryKeys} this method fetches the categories
-     * corresponding to these keys. Then it sets the category references on the {@code draftBuilder}. It also replaces
-     * the category keys on the {@link CategoryOrderHints} map of the {@code productDraft}. If the category is not found
-     * in the CTP project, the resultant draft would remain exactly the same as the passed product draft
-     * (without reference resolution).
-     *
-     * @param draftBuilder the product draft builder to resolve it's category references.
-     * @param categoryKeys the category keys of to resolve their actual id on the draft.
-     * @return a {@link CompletionStage} that contains as a result a new productDraft instance with resolved category
-     *          references or an exception.
-     */
-    @Nonnull
-    private CompletionStage<ProductDraftBuilder> fetchAndResolveCategoryReferences(
-            @Nonnull final ProductDraftBuilder draftBuilder,
-            @Nonnull final Set<String> categoryKeys) {
-        final Map<String, String> categoryOrderHintsMap = new HashMap<>();
-        final CategoryOrderHints categoryOrderHints = draftBuilder.getCategoryOrderHints();
-
-        return categoryService.fetchMatchingCategoriesByKeys(categoryKeys)
-            .thenApply(categories ->
-                categories.stream().map(category -> {
-                    final Reference<Category> categoryReference = category.toReference();
-                    if (categoryOrderHints != null && !categoryOrderHints.getAsMap().isEmpty()) {
-                        categoryOrderHintsMap.put(category.getId(), categoryOrderHints.get(category.getKey()));
-                    }
-                    return categoryReference;
-                }).collect(Collectors.toList()))
-            .thenApply(categoryReferences -> draftBuilder
-                .categories(categoryReferences)
-                .categoryOrderHints(CategoryOrderHints.of(categoryOrderHintsMap)));
+        return draftBuilder.categories(categoryReferences)
+                           .categoryOrderHints(CategoryOrderHints.of(categoryOrderHintsMap));
     }
 
 
@@ -0,0 +1,308 @@
+package com.commercetools.sync.products.utils;
+
+import com.commercetools.sync.commons.helpers.DraftFingerprint;
+import com.commercetools.sync.commons.helpers.FingerprintHasher;
+import com.commercetools.sync.products.AttributeMetaData;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.products.CategoryOrderHints;
+import io.sphere.sdk.products.Image;
+import io.sphere.sdk.products.Price;
+import io.sphere.sdk.products.PriceDraft;
+import io.sphere.sdk.products.PriceTier;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductData;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.products.ProductVariantDraft;
+import io.sphere.sdk.products.attributes.Attribute;
+import io.sphere.sdk.products.attributes.AttributeDraft;
+import io.sphere.sdk.search.SearchKeywords;
+import io.sphere.sdk.types.CustomFields;
+import io.sphere.sdk.types.CustomFieldsDraft;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.commons.lang3.BooleanUtils.toBoolean;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * This class provides methods for computing the fingerprints of products and their drafts over the fields that
+ * {@link ProductSyncUtils#buildCoreActions} compares: the fields of the staged projection of the product, its
+ * variants matched by their keys, including their attributes, images and prices, and its published flag. A product
+ * and a draft with the same fingerprint are in sync, so the update actions between them don't need to be built.
+ *
+ * <p>Some fields are compared stricter than by the update action utilities. For example, all the attributes of a
+ * variant are fingerprinted, whereas only the attributes of the draft are synced. Such differences only prevent
+ * skipping the update actions of a product, the update actions of a product that is in sync are still empty.
+ */
+public final class ProductFingerprintUtils {
+
+    /**
+     * Compares the fingerprints of a {@link Product} and a {@link ProductDraft}.
+     *
+     * @param oldProduct         the product which could be updated.
+     * @param newProduct         the product draft that contains the new data.
+     * @param attributesMetaData the attributes metadata of the product type of the product. A draft with an attribute
+     *                           without metadata isn't compared by its fingerprint, so the error is reported when
+     *                           building the update actions.
+     * @return {@code true} if both have the same fingerprint, so {@link ProductSyncUtils#buildCoreActions} wouldn't
+     *         build any update action for them, otherwise {@code false}.
+     */
+    public static boolean hasSameFingerprint(@Nonnull final Product oldProduct,
+                                             @Nonnull final ProductDraft newProduct,
+                                             @Nonnull final Map<String, AttributeMetaData> attributesMetaData) {
+        final FingerprintHasher hasher = FingerprintHasher.of();
+        final DraftFingerprint newFingerprint = fingerprint(hasher, newProduct);
+        return newFingerprint != null
+            && hasAttributesMetaData(newProduct, attributesMetaData)
+            && newFingerprint.equals(fingerprint(hasher.reset(), oldProduct));
+    }
+
+    /**
+     * Computes the fingerprint of the compared fields of a {@link ProductDraft}. Drafts for which the update action
+     * utilities report errors, like drafts with null variants, variants without a key, null attributes or prices
+     * without a value, aren't compared by their fingerprint.
+     *
+     * @param hasher the hasher to compute the fingerprint with.
+     * @param draft  the draft to compute the fingerprint of.
+     * @return the fingerprint of the draft or {@code null} if the draft can't be compared by its fingerprint.
+     */
+    @Nullable
+    public static DraftFingerprint fingerprint(@Nonnull final FingerprintHasher hasher,
+                                               @Nonnull final ProductDraft draft) {
+        final ProductVariantDraft masterVariant = draft.getMasterVariant();
+        final List<ProductVariantDraft> variants = draft.getVariants();
+        if (!isComparable(masterVariant) || variants == null
+            || !variants.stream().allMatch(ProductFingerprintUtils::isComparable)) {
+            return null;
+        }
+        hasher.putLocalizedString(draft.getName())
+              .putLocalizedString(draft.getDescription())
+              .putLocalizedString(draft.getSlug());
+        putSearchKeywords(hasher, draft.getSearchKeywords());
+        hasher.putLocalizedString(draft.getMetaTitle())
+              .putLocalizedString(draft.getMetaDescription())
+              .putLocalizedString(draft.getMetaKeywords())
+              .putString(draft.getTaxCategory() == null ? null : draft.getTaxCategory().getId())
+              .putString(draft.getState() == null ? null : draft.getState().getId())
+              .putUnordered(draft.getCategories(), (categoryHasher, category) ->
+                  categoryHasher.putString(category.getId()));
+        putCategoryOrderHints(hasher, draft.getCategoryOrderHints());
+        hasher.putBoolean(toBoolean(draft.isPublish()));
+        putVariant(hasher, masterVariant);
+        hasher.putUnordered(variants, ProductFingerprintUtils::putVariant);
+        return hasher.fingerprint();
+    }
+
+    /**
+     * Computes the fingerprint of the compared fields of a {@link Product}.
+     *
+     * @param hasher  the hasher to compute the fingerprint with.
+     * @param product the product to compute the fingerprint of.
+     * @return the fingerprint of the product or {@code null} if its master variant has no key, so it can't be compared
+     *         by its fingerprint.
+     */
+    @Nullable
+    public static DraftFingerprint fingerprint(@Nonnull final FingerprintHasher hasher,
+                                               @Nonnull final Product product) {
+        final ProductData stagedData = product.getMasterData().getStaged();
+        final ProductVariant masterVariant = stagedData.getMasterVariant();
+        if (isBlank(masterVariant.getKey())) {
+            return null;
+        }
+        hasher.putLocalizedString(stagedData.getName())
+              .putLocalizedString(stagedData.getDescription())
+              .putLocalizedString(stagedData.getSlug());
+        putSearchKeywords(hasher, stagedData.getSearchKeywords());
+        hasher.putLocalizedString(stagedData.getMetaTitle())
+              .putLocalizedString(stagedData.getMetaDescription())
+              .putLocalizedString(stagedData.getMetaKeywords())
+              .putString(product.getTaxCategory() == null ? null : product.getTaxCategory().getId())
+              .putString(product.getState() == null ? null : product.getState().getId())
+              .putUnordered(stagedData.getCategories(), (categoryHasher, category) ->
+                  categoryHasher.putString(category.getId()));
+        putCategoryOrderHints(hasher, stagedData.getCategoryOrderHints());
+        hasher.putBoolean(toBoolean(product.getMasterData().isPublished()));
+        putVariant(hasher, masterVariant);
+        hasher.putUnordered(stagedData.getVariants(), ProductFingerprintUtils::putVariant);
+        return hasher.fingerprint();
+    }
+
+    private static boolean isComparable(@Nullable final ProductVariantDraft variant) {
+        if (variant == null || isBlank(variant.getKey())) {
+            return false;
+        }
+        final List<AttributeDraft> attributes = variant.getAttributes();
+        if (attributes != null && attributes.stream()
+                                            .anyMatch(attribute -> attribute == null || attribute.getValue() == null)) {
+            return false;
+        }
+        final List<PriceDraft> prices = variant.getPrices();
+        return prices == null || prices.stream().allMatch(price -> price != null && price.getValue() != null);
+    }
+
+    private static boolean hasAttributesMetaData(@Nonnull final ProductDraft draft,
+                                                 @Nonnull final Map<String, AttributeMetaData> attributesMetaData) {
+        return hasAttributesMetaData(draft.getMasterVariant(), attributesMetaData)
+            && draft.getVariants().stream().allMatch(variant -> hasAttributesMetaData(variant, attributesMetaData));
+    }
+
+    private static boolean hasAttributesMetaData(@Nonnull final ProductVariantDraft variant,
+                                                 @Nonnull final Map<String, AttributeMetaData> attributesMetaData) {
+        final List<AttributeDraft> attributes = variant.getAttributes();
+        return attributes == null
+            || attributes.stream().allMatch(attribute -> attributesMetaData.containsKey(attribute.getName()));
+    }
+
+    private static void putVariant(@Nonnull final FingerprintHasher hasher,
+                                   @Nonnull final ProductVariantDraft variant) {
+        hasher.putString(variant.getKey())
+              .putString(variant.getSku())
+              .putUnordered(variant.getAttributes(), ProductFingerprintUtils::putAttribute)
+              .putOrdered(emptyIfNull(variant.getImages()), ProductFingerprintUtils::putImage)
+              .putUnordered(emptyIfNull(variant.getPrices()), ProductFingerprintUtils::putPrice);
+    }
+
+    private static void putVariant(@Nonnull final FingerprintHasher hasher,
+                                   @Nonnull final ProductVariant variant) {
+        hasher.putString(variant.getKey())
+              .putString(variant.getSku())
+              .putUnordered(variant.getAttributes(), ProductFingerprintUtils::putAttribute)
+              .putOrdered(emptyIfNull(variant.getImages()), ProductFingerprintUtils::putImage)
+              .putUnordered(emptyIfNull(variant.getPrices()), ProductFingerprintUtils::putPrice);
+    }
+
+    private static void putAttribute(@Nonnull final FingerprintHasher hasher, @Nonnull final AttributeDraft attribute) {
+        hasher.putString(attribute.getName()).putJson(attribute.getValue());
+    }
+
+    private static void putAttribute(@Nonnull final FingerprintHasher hasher, @Nonnull final Attribute attribute) {
+        hasher.putString(attribute.getName()).putJson(attribute.getValueAsJsonNode());
+    }
+
+    private static void putImage(@Nonnull final FingerprintHasher hasher, @Nonnull final Image image) {
+        hasher.putString(image.getUrl())
+              .putString(image.getLabel());
+        if (image.getDimensions() == null) {
+            hasher.putNull();
+        } else {
+            hasher.putInt(image.getDimensions().getWidth())
+                  .putInt(image.getDimensions().getHeight());
+        }
+    }
+
+    /**
+     * Puts a price into the supplied {@code hasher} in the view that the prices of a variant are compared in: by the
+     * fields of its {@link com.commercetools.sync.products.helpers.PriceCompositeId}, its numeric amount, its tiers
+     * and its custom fields.
+     */
+    private static void putPrice(@Nonnull final FingerprintHasher hasher, @Nonnull final PriceDraft price) {
+        putPriceScope(hasher, price.getCountry() == null ? null : price.getCountry().name(),
+            price.getCustomerGroup() == null ? null : price.getCustomerGroup().getId(),
+            price.getChannel() == null ? null : price.getChannel().getId(),
+            price.getValidFrom(), price.getValidUntil());
+        putMoney(hasher, price.getValue());
+        putTiers(hasher, price.getTiers());
+        final CustomFieldsDraft custom = price.getCustom();
+        if (custom == null) {
+            hasher.putNull();
+        } else {
+            putPriceCustomFields(hasher, custom.getType() == null ? null : custom.getType().getId(),
+                custom.getFields());
+        }
+    }
+
+    private static void putPrice(@Nonnull final FingerprintHasher hasher, @Nonnull final Price price) {
+        putPriceScope(hasher, price.getCountry() == null ? null : price.getCountry().name(),
+            price.getCustomerGroup() == null ? null : price.getCustomerGroup().getId(),
+            price.getChannel() == null ? null : price.getChannel().getId(),
+            price.getValidFrom(), price.getValidUntil());
+        putMoney(hasher, price.getValue());
+        putTiers(hasher, price.getTiers());
+        final CustomFields custom = price.getCustom();
+        if (custom == null) {
+            hasher.putNull();
+        } else {
+            putPriceCustomFields(hasher, custom.getType() == null ? null : custom.getType().getId(),
+                custom.getFieldsJsonMap());
+        }
+    }
+
+    private static void putPriceScope(@Nonnull final FingerprintHasher hasher,
+                                      @Nullable final String country,
+                                      @Nullable final String customerGroupId,
+                                      @Nullable final String channelId,
+                                      @Nullable final ZonedDateTime validFrom,
+                                      @Nullable final ZonedDateTime validUntil) {
+        hasher.putString(country)
+              .putString(customerGroupId)
+              .putString(channelId)
+              .putInstant(validFrom == null ? null : validFrom.toInstant())
+              .putInstant(validUntil == null ? null : validUntil.toInstant());
+    }
+
+    private static void putTiers(@Nonnull final FingerprintHasher hasher, @Nullable final List<PriceTier> tiers) {
+        hasher.putOrdered(emptyIfNull(tiers), (tierHasher, tier) -> {
+            tierHasher.putInt(tier.getMinimumQuantity());
+            putMoney(tierHasher, tier.getValue());
+        });
+    }
+
+    private static void putMoney(@Nonnull final FingerprintHasher hasher, @Nullable final MonetaryAmount amount) {
+        if (amount == null) {
+            hasher.putNull();
+        } else {
+            hasher.putString(amount.getCurrency().getCurrencyCode())
+                  .putDecimal(amount.getNumber().numberValue(BigDecimal.class));
+        }
+    }
+
+    /**
+     * Puts the custom fields of a price into the supplied {@code hasher}. Unlike the custom fields of a resource, the
+     * custom fields of prices are compared as they are, including the fields with a null value.
+     */
+    private static void putPriceCustomFields(@Nonnull final FingerprintHasher hasher,
+                                             @Nullable final String typeId,
+                                             @Nullable final Map<String, JsonNode> fields) {
+        hasher.putString(typeId);
+        if (fields == null) {
+            hasher.putNull();
+            return;
+        }
+        hasher.putUnordered(fields.entrySet(), (fieldHasher, field) ->
+            fieldHasher.putString(field.getKey()).putJson(field.getValue()));
+    }
+
+    private static void putSearchKeywords(@Nonnull final FingerprintHasher hasher,
+                                          @Nullable final SearchKeywords searchKeywords) {
+        hasher.putJson(searchKeywords == null ? null : SphereJsonUtils.toJsonNode(searchKeywords));
+    }
+
+    /**
+     * Puts the category order hints into the supplied {@code hasher}. Missing category order hints are put like empty
+     * ones, for which no update actions are built either.
+     */
+    private static void putCategoryOrderHints(@Nonnull final FingerprintHasher hasher,
+                                              @Nullable final CategoryOrderHints categoryOrderHints) {
+        final Map<String, String> orderHints = categoryOrderHints == null || categoryOrderHints.getAsMap() == null
+            ? Collections.emptyMap() : categoryOrderHints.getAsMap();
+        hasher.putUnordered(orderHints.entrySet(), (orderHintHasher, orderHint) ->
+            orderHintHasher.putString(orderHint.getKey()).putString(orderHint.getValue()));
+    }
+
+    @Nonnull
+    private static <T> List<T> emptyIfNull(@Nullable final List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    private ProductFingerprintUtils() {
+    }
+}
@@ -3,31 +3,41 @@ package com.commercetools.sync.products.utils;
 import com.commercetools.sync.commons.exceptions.BuildUpdateActionException;
 import com.commercetools.sync.products.AttributeMetaData;
 import com.commercetools.sync.products.ProductSyncOptions;
+import com.commercetools.sync.products.helpers.PriceCompositeId;
 import io.sphere.sdk.commands.UpdateAction;
 import io.sphere.sdk.products.Image;
+import io.sphere.sdk.products.Price;
 import io.sphere.sdk.products.PriceDraft;
+import io.sphere.sdk.products.PriceTier;
 import io.sphere.sdk.products.Product;
 import io.sphere.sdk.products.ProductVariant;
 import io.sphere.sdk.products.ProductVariantDraft;
 import io.sphere.sdk.products.attributes.Attribute;
 import io.sphere.sdk.products.attributes.AttributeDraft;
 import io.sphere.sdk.products.commands.updateactions.AddExternalImage;
+import io.sphere.sdk.products.commands.updateactions.AddPrice;
+import io.sphere.sdk.products.commands.updateactions.ChangePrice;
 import io.sphere.sdk.products.commands.updateactions.MoveImageToPosition;
 import io.sphere.sdk.products.commands.updateactions.RemoveImage;
-import io.sphere.sdk.products.commands.updateactions.SetPrices;
+import io.sphere.sdk.products.commands.updateactions.RemovePrice;
 import io.sphere.sdk.products.commands.updateactions.SetSku;
+import io.sphere.sdk.types.CustomFields;
+import io.sphere.sdk.types.CustomFieldsDraft;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.money.MonetaryAmount;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
-import static com.commercetools.sync.commons.utils.CollectionUtils.filterCollection;
 import static com.commercetools.sync.commons.utils.CommonTypeUpdateActionUtils.buildUpdateAction;
 import static com.commercetools.sync.products.utils.ProductVariantAttributeUpdateActionUtils.buildProductVariantAttributeUpdateAction;
 import static java.lang.String.format;
@@ -107,13 +117,20 @@ public final class ProductVariantUpdateActionUtils {
     }
 
     /**
-     * Compares the {@link List} of {@link io.sphere.sdk.products.Price}s of a {@link ProductVariantDraft} and a
-     * {@link ProductVariant} and returns a {@link List} of {@link UpdateAction}&lt;{@link Product}&gt;. If both the
-     * {@link ProductVariantDraft} and the {@link ProductVariant} have identical list of prices, then no update action
-     * is needed and hence an empty {@link List} is returned.
+     * Compares the {@link List} of {@link Price}s of a {@link ProductVariantDraft} and a {@link ProductVariant} and
+     * returns a {@link List} of {@link UpdateAction}&lt;{@link Product}&gt;. If both the {@link ProductVariantDraft}
+     * and the {@link ProductVariant} have identical list of prices, then no update action is needed and hence an
+     * empty {@link List} is returned.
      *
-     * <p>TODO: NOTE: Right now it always builds SetPrices UpdateAction, comparison should be
-     * TODO: calculated GITHUB ISSUE#101.
+     * <p>The prices are matched by their {@link PriceCompositeId}, which consists of the currency, country, customer
+     * group, channel and validity period of a price. This results in the following update actions:
+     * <ul>
+     *     <li>{@link RemovePrice} for every old price which has no matching new price.</li>
+     *     <li>{@link ChangePrice} for every old price which has a matching new price with a different value, tiers or
+     *     custom fields.</li>
+     *     <li>{@link AddPrice} for every new price which has no matching old price.</li>
+     * </ul>
+     * The remove actions come first, so that the added prices never clash with prices that are about to be removed.
      *
      * @param oldProductVariant the {@link ProductVariant} which should be updated.
      * @param newProductVariant the {@link ProductVariantDraft} where we get the new list of prices.
@@ -124,11 +141,79 @@ public final class ProductVariantUpdateActionUtils {
     public static List<UpdateAction<Product>> buildProductVariantPricesUpdateActions(
         @Nonnull final ProductVariant oldProductVariant,
         @Nonnull final ProductVariantDraft newProductVariant) {
-        //TODO: Right now it always builds SetPrices UpdateAction, comparison should be calculated GITHUB ISSUE#101.
         final List<PriceDraft> newProductVariantPrices =
-            newProductVariant.getPrices() == null ? new ArrayList<>() : newProductVariant.getPrices();
-        final SetPrices setPricesUpdateAction = SetPrices.of(oldProductVariant.getId(), newProductVariantPrices);
-        return Collections.singletonList(setPricesUpdateAction);
+            newProductVariant.getPrices() == null ? Collections.emptyList() : newProductVariant.getPrices();
+
+        final Map<PriceCompositeId, Price> unmatchedOldPrices = new LinkedHashMap<>();
+        oldProductVariant.getPrices().forEach(oldPrice -> unmatchedOldPrices.put(PriceCompositeId.of(oldPrice),
+            oldPrice));
+
+        final List<UpdateAction<Product>> changePriceActions = new ArrayList<>();
+        final List<UpdateAction<Product>> addPriceActions = new ArrayList<>();
+        for (PriceDraft newPrice : newProductVariantPrices) {
+            final Price oldPrice = unmatchedOldPrices.remove(PriceCompositeId.of(newPrice));
+            if (oldPrice == null) {
+                addPriceActions.add(AddPrice.ofVariantId(oldProductVariant.getId(), newPrice, true));
+            } else if (!isSamePrice(oldPrice, newPrice)) {
+                changePriceActions.add(ChangePrice.of(oldPrice, newPrice, true));
+            }
+        }
+
+        final List<UpdateAction<Product>> updateActions = new ArrayList<>();
+        unmatchedOldPrices.values().forEach(oldPrice -> updateActions.add(RemovePrice.of(oldPrice, true)));
+        updateActions.addAll(changePriceActions);
+        updateActions.addAll(addPriceActions);
+        return updateActions;
+    }
+
+    /**
+     * Checks if the value, the tiers and the custom fields of the supplied {@code oldPrice} are the same as the ones
+     * of the supplied {@code newPrice}. The amounts are compared by their numeric value, so that the same amount
+     * represented by different {@link MonetaryAmount} implementations is still considered the same.
+     *
+     * @param oldPrice the old price to compare.
+     * @param newPrice the new price draft to compare.
+     * @return {@code true} if both prices have the same value, tiers and custom fields.
+     */
+    private static boolean isSamePrice(@Nonnull final Price oldPrice, @Nonnull final PriceDraft newPrice) {
+        return isSameAmount(oldPrice.getValue(), newPrice.getValue())
+            && isSameTiers(oldPrice.getTiers(), newPrice.getTiers())
+            && isSameCustomFields(oldPrice.getCustom(), newPrice.getCustom());
+    }
+
+    private static boolean isSameAmount(@Nullable final MonetaryAmount oldAmount,
+                                        @Nullable final MonetaryAmount newAmount) {
+        if (oldAmount == null || newAmount == null) {
+            return oldAmount == newAmount;
+        }
+        return oldAmount.getCurrency().equals(newAmount.getCurrency()) && oldAmount.isEqualTo(newAmount);
+    }
+
+    private static boolean isSameTiers(@Nullable final List<PriceTier> oldTiers,
+                                       @Nullable final List<PriceTier> newTiers) {
+        final List<PriceTier> oldPriceTiers = oldTiers == null ? Collections.emptyList() : oldTiers;
+        final List<PriceTier> newPriceTiers = newTiers == null ? Collections.emptyList() : newTiers;
+        if (oldPriceTiers.size() != newPriceTiers.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldPriceTiers.size(); i++) {
+            final PriceTier oldTier = oldPriceTiers.get(i);
+            final PriceTier newTier = newPriceTiers.get(i);
+            if (!Objects.equals(oldTier.getMinimumQuantity(), newTier.getMinimumQuantity())
+                || !isSameAmount(oldTier.getValue(), newTier.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameCustomFields(@Nullable final CustomFields oldCustomFields,
+                                              @Nullable final CustomFieldsDraft newCustomFields) {
+        if (oldCustomFields == null || newCustomFields == null) {
+            return oldCustomFields == null && newCustomFields == null;
+        }
+        return Objects.equals(oldCustomFields.getType().getId(), newCustomFields.getType().getId())
+            && Objects.equals(oldCustomFields.getFieldsJsonMap(), newCustomFields.getFields());
     }
 
     /**
@@ -151,31 +236,29 @@ public final class ProductVariantUpdateActionUtils {
         final List<Image> oldProductVariantImages = oldProductVariant.getImages();
         final List<Image> newProductVariantImages = newProductVariant.getImages();
 
-        // This implementation is quite straight forward and might be slow on large arrays, this is
-        // due to it's quadratic nature on images' removal/addition.
-        // Unfortunately, currently there is no easy solution to sync 2 ordered lists
-        // having only AddExternalImage/RemoveImage/MoveImageToPosition actions.
-        // This solution should be re-optimized in the next releases to avoid O(N^2) for large lists.
-        // TODO: GITHUB ISSUE#133
-
         if (!Objects.equals(oldProductVariantImages, newProductVariantImages)) {
-            final List<Image> updatedOldImages = new ArrayList<>(oldProductVariantImages);
+            final List<Image> oldImages = oldProductVariantImages != null
+                    ? oldProductVariantImages : Collections.emptyList();
             final List<Image> newImages = newProductVariantImages != null
                     ? newProductVariantImages : Collections.emptyList();
+            final Set<Image> oldImageSet = new HashSet<>(oldImages);
+            final Set<Image> newImageSet = new HashSet<>(newImages);
+            final List<Image> updatedOldImages = new ArrayList<>(newImages.size());
+
+            oldImages.forEach(oldImage -> {
+                if (newImageSet.contains(oldImage)) {
+                    updatedOldImages.add(oldImage);
+                } else {
+                    updateActions.add(RemoveImage.ofVariantId(oldProductVariantId, oldImage, true));
+                }
+            });
 
-            filterCollection(oldProductVariantImages, oldVariantImage ->
-                    !newImages.contains(oldVariantImage))
-                    .forEach(oldImage -> {
-                        updateActions.add(RemoveImage.ofVariantId(oldProductVariantId, oldImage, true));
-                        updatedOldImages.remove(oldImage);
-                    });
-
-            filterCollection(newProductVariantImages, newVariantImage ->
-                    !oldProductVariantImages.contains(newVariantImage))
-                    .forEach(newImage -> {
-                        updateActions.add(AddExternalImage.ofVariantId(oldProductVariantId, newImage, true));
-                        updatedOldImages.add(newImage);
-                    });
+            newImages.stream()
+                     .filter(newImage -> !oldImageSet.contains(newImage))
+                     .forEach(newImage -> {
+                         updateActions.add(AddExternalImage.ofVariantId(oldProductVariantId, newImage, true));
+                         updatedOldImages.add(newImage);
+                     });
             updateActions.addAll(buildMoveImageToPositionUpdateActions(oldProductVariantId,
                     updatedOldImages, newImages));
         }
@@ -190,9 +273,10 @@ public final class ProductVariantUpdateActionUtils {
      * <p>This method expects the two lists two contain the same images only in different order. Otherwise, an
      * {@link IllegalArgumentException} would be thrown.
      *
-     * <p><b>Note</b>: the solution is still not optimized and may contain {@link MoveImageToPosition} actions
-     * for items which are already on desired positions (after previous moves in the sequence). This will be
-     * re-optimized in the next releases. TODO: GITHUB ISSUE#133
+     * <p>The images of the longest subsequence of the old list, which is already in the new order, are kept in place,
+     * so that only the rest of the images are moved. This yields the minimal number of {@link MoveImageToPosition}
+     * actions. The actions are meant to be applied in the returned order, since the position of each action is the
+     * position of the image in the list after the previous moves. The actions are built in O(n log n) time.
      *
      * @param variantId the variantId for the {@link MoveImageToPosition} update actions.
      * @param oldImages the old list of images.
@@ -213,30 +297,101 @@ public final class ProductVariantUpdateActionUtils {
                     oldImageListSize, newImageListSize));
         }
 
-        // optimization: to avoid multiple linear image index searching in the loop below - create an [image -> index]
-        // map. This avoids quadratic order of growth of the implementation for large arrays.
         final Map<Image, Integer> imageIndexMap = new HashMap<>(oldImageListSize);
         int index = 0;
         for (Image newImage : newImages) {
             imageIndexMap.put(newImage, index++);
         }
 
-        final List<MoveImageToPosition> updateActions = new ArrayList<>();
-
+        final int[] newIndexesOfOldImages = new int[oldImageListSize];
+        final int[] oldIndexesOfNewImages = new int[oldImageListSize];
         for (int oldIndex = 0; oldIndex < oldImageListSize; oldIndex++) {
             final Image oldImage = oldImages.get(oldIndex);
-            final Integer newIndex = ofNullable(imageIndexMap.get(oldImage)) // constant-time operation
+            final int newIndex = ofNullable(imageIndexMap.get(oldImage))
                 .orElseThrow(() ->
                     new IllegalArgumentException(format("Old image [%s] not found in the new images list.", oldImage)));
+            newIndexesOfOldImages[oldIndex] = newIndex;
+            oldIndexesOfNewImages[newIndex] = oldIndex;
+        }
+
+        final boolean[] isInPlace = getLongestIncreasingSubsequence(newIndexesOfOldImages);
 
-            if (oldIndex != newIndex) {
-                updateActions.add(
-                    MoveImageToPosition.ofImageUrlAndVariantId(oldImage.getUrl(), variantId, newIndex, true));
+        // Each image to move is placed right after the image preceding it in the new list. A binary indexed tree over
+        // the old indexes counts the images which are not moved yet and still lie in front of that preceding image.
+        final int[] imagesToMove = new int[oldImageListSize + 1];
+        for (int oldIndex = 0; oldIndex < oldImageListSize; oldIndex++) {
+            if (!isInPlace[oldIndex]) {
+                updateCount(imagesToMove, oldIndex, 1);
+            }
+        }
+
+        final List<MoveImageToPosition> updateActions = new ArrayList<>();
+        int lastOldIndexInPlace = -1;
+        for (int newIndex = 0; newIndex < newImageListSize; newIndex++) {
+            final int oldIndex = oldIndexesOfNewImages[newIndex];
+            if (isInPlace[oldIndex]) {
+                lastOldIndexInPlace = oldIndex;
+            } else {
+                updateCount(imagesToMove, oldIndex, -1);
+                final int position = newIndex + getCountBefore(imagesToMove, lastOldIndexInPlace);
+                updateActions.add(MoveImageToPosition
+                    .ofImageUrlAndVariantId(oldImages.get(oldIndex).getUrl(), variantId, position, true));
             }
         }
         return updateActions;
     }
 
+    /**
+     * Finds a longest strictly increasing subsequence of the supplied {@code values} using patience sorting.
+     *
+     * @param values the values to find the longest increasing subsequence of.
+     * @return an array flagging the indexes of the values that belong to the subsequence.
+     */
+    @Nonnull
+    private static boolean[] getLongestIncreasingSubsequence(@Nonnull final int[] values) {
+        final int[] pileTopIndexes = new int[values.length];
+        final int[] predecessorIndexes = new int[values.length];
+        int numberOfPiles = 0;
+        for (int index = 0; index < values.length; index++) {
+            int low = 0;
+            int high = numberOfPiles;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (values[pileTopIndexes[middle]] < values[index]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessorIndexes[index] = low > 0 ? pileTopIndexes[low - 1] : -1;
+            pileTopIndexes[low] = index;
+            if (low == numberOfPiles) {
+                numberOfPiles++;
+            }
+        }
+
+        final boolean[] isInSubsequence = new boolean[values.length];
+        for (int index = numberOfPiles > 0 ? pileTopIndexes[numberOfPiles - 1] : -1; index >= 0;
+             index = predecessorIndexes[index]) {
+            isInSubsequence[index] = true;
+        }
+        return isInSubsequence;
+    }
+
+    private static void updateCount(@Nonnull final int[] tree, final int index, final int delta) {
+        for (int node = index + 1; node < tree.length; node += node & -node) {
+            tree[node] += delta;
+        }
+    }
+
+    private static int getCountBefore(@Nonnull final int[] tree, final int index) {
+        int count = 0;
+        for (int node = index; node > 0; node -= node & -node) {
+            count += tree[node];
+        }
+        return count;
+    }
+
     /**
      * Compares the SKUs of a {@link ProductVariantDraft} and a {@link ProductVariant}. It returns a {@link SetSku}
      * update action as a result in an {@link Optional}. If both the {@link ProductVariantDraft}
@@ -77,6 +77,21 @@ public interface CategoryService {
     @Nonnull
     CompletionStage<Optional<String>> fetchCachedCategoryId(@Nonnull final String key);
 
+    /**
+     * Given a {@link Set} of category keys, this method returns a mapping of each of these keys to the id of the
+     * matching category in the CTP project defined in a potentially injected {@link SphereClient}. The ids are looked
+     * up in the cached map of category keys -&gt; ids, which is populated first if it is empty. All keys which are
+     * not found in the cache are then fetched from the CTP project with one single query and added to the cache.
+     * Keys which don't match any category are not contained in the resulting map. They are remembered, so that they
+     * aren't queried again by later calls, unless the query that didn't find them failed.
+     *
+     * @param keys the keys of the categories to get the ids for.
+     * @return {@link CompletionStage}&lt;{@link Map}&gt; in which the result of it's completion contains a mapping of
+     *         each of the supplied keys, that matches an existing {@link Category}, to the id of this category.
+     */
+    @Nonnull
+    CompletionStage<Map<String, String>> fetchCachedCategoryIds(@Nonnull final Set<String> keys);
+
     /**
      * Given a {@link CategoryDraft}, this method creates a {@link Category} based on it in the CTP project defined in
      * a potentially injected {@link io.sphere.sdk.client.SphereClient}. The created category's id and key are also
@@ -107,4 +122,22 @@ public interface CategoryService {
     @Nonnull
     CompletionStage<Category> updateCategory(@Nonnull final Category category,
                                              @Nonnull final List<UpdateAction<Category>> updateActions);
+
+    /**
+     * Given a {@link Category}, its current version and a {@link List}&lt;{@link UpdateAction}&lt;{@link Category}&gt;
+     * &gt;, this method issues an update request with these update actions on the supplied version of this
+     * {@link Category}, instead of the version of the supplied {@link Category}. It's used to apply update actions
+     * again, which were rejected because the {@link Category} was modified concurrently, without fetching it again.
+     *
+     * @param category      the {@link Category} to update.
+     * @param version       the current version of the {@link Category}.
+     * @param updateActions the update actions to update the {@link Category} with.
+     * @return {@link CompletionStage}&lt;{@link Category}&gt; containing as a result of it's completion an instance of
+     *         the {@link Category} which was updated in the CTP project or a
+     *         {@link io.sphere.sdk.models.SphereException}.
+     */
+    @Nonnull
+    CompletionStage<Category> updateCategory(@Nonnull final Category category,
+                                             @Nonnull final Long version,
+                                             @Nonnull final List<UpdateAction<Category>> updateActions);
 }
@@ -40,4 +40,20 @@ public interface InventoryService {
     CompletionStage<InventoryEntry> updateInventoryEntry(@Nonnull final InventoryEntry inventoryEntry,
                                                          @Nonnull final List<UpdateAction<InventoryEntry>>
                                                              updateActions);
+
+    /**
+     * Updates the supplied version of an existing inventory entry with {@code updateActions}, instead of the version of
+     * the supplied {@code inventoryEntry}. It's used to apply update actions again, which were rejected because the
+     * entry was modified concurrently, without fetching it again.
+     *
+     * @param inventoryEntry entry that should be updated
+     * @param version the current version of {@code inventoryEntry}
+     * @param updateActions {@link List} of actions that should be applied to {@code inventoryEntry}
+     * @return {@link CompletionStage} with updated {@link InventoryEntry} or an exception
+     */
+    @Nonnull
+    CompletionStage<InventoryEntry> updateInventoryEntry(@Nonnull final InventoryEntry inventoryEntry,
+                                                         @Nonnull final Long version,
+                                                         @Nonnull final List<UpdateAction<InventoryEntry>>
+                                                             updateActions);
 }
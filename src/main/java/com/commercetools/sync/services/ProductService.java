@@ -91,6 +91,24 @@ public interface ProductService {
     CompletionStage<Product> updateProduct(@Nonnull final Product product,
                                            @Nonnull final List<UpdateAction<Product>> updateActions);
 
+    /**
+     * Given a {@link Product}, its current version and a {@link List}&lt;{@link UpdateAction}&lt;{@link Product}&gt;
+     * &gt;, this method issues an update request with these update actions on the supplied version of this
+     * {@link Product}, instead of the version of the supplied {@link Product}. It's used to apply update actions
+     * again, which were rejected because the {@link Product} was modified concurrently, without fetching it again.
+     *
+     * @param product       the {@link Product} to update.
+     * @param version       the current version of the {@link Product}.
+     * @param updateActions the update actions to update the {@link Product} with.
+     * @return {@link CompletionStage}&lt;{@link Product}&gt; containing as a result of it's completion an instance of
+     *          the {@link Product} which was updated in the CTP project or a
+     *          {@link io.sphere.sdk.models.SphereException}.
+     */
+    @Nonnull
+    CompletionStage<Product> updateProduct(@Nonnull final Product product,
+                                           @Nonnull final Long version,
+                                           @Nonnull final List<UpdateAction<Product>> updateActions);
+
     /**
      * Given a {@link Product}, this method issues an update request to publish this {@link Product} in the CTP project
      * defined in a potentially injected {@link io.sphere.sdk.client.SphereClient}. This method returns
@@ -16,6 +16,7 @@ import org.apache.commons.lang3.StringUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +28,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.commercetools.sync.services.impl.KeyToIdCaches.newKeyToIdCache;
 import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
@@ -37,7 +39,9 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 public final class CategoryServiceImpl implements CategoryService {
     private final BaseSyncOptions syncOptions;
     private boolean isCached = false;
-    private final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+    private final Map<String, String> keyToIdCache;
+    private final Set<String> keysNotFound = ConcurrentHashMap.newKeySet();
+    private final ChunkedUpdateExecutor<Category> updateExecutor;
     private static final String CREATE_FAILED = "Failed to create CategoryDraft with key: '%s'. Reason: %s";
     private static final String FETCH_FAILED = "Failed to fetch Categories with keys: '%s'. Reason: %s";
     private static final String CATEGORY_KEY_NOT_SET = "Category with id: '%s' has no key set. Keys are required for "
@@ -45,6 +49,9 @@ public final class CategoryServiceImpl implements CategoryService {
 
     public CategoryServiceImpl(@Nonnull final BaseSyncOptions syncOptions) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
+        this.updateExecutor = new ChunkedUpdateExecutor<>(syncOptions.getCtpClient(), CategoryUpdateCommand::of,
+            category -> updateAction -> null);
     }
 
     @Nonnull
@@ -65,9 +72,12 @@ public final class CategoryServiceImpl implements CategoryService {
                 }
             });
 
-        return CtpQueryUtils.queryAll(syncOptions.getCtpClient(), CategoryQuery.of(), categoryPageConsumer)
-                            .thenAccept(result -> isCached = true)
-                            .thenApply(result -> keyToIdCache);
+        final PersistentKeyToIdCache persistentCache = PersistentKeyToIdCache.of(syncOptions, "categories");
+        final CompletionStage<Void> cacheStage = persistentCache == null
+            ? CtpQueryUtils.queryAllByCursor(syncOptions.getCtpClient(), CategoryQuery.of(), categoryPageConsumer)
+            : persistentCache.load(CategoryQuery.of(), Category::getKey, categoryPageConsumer, keyToIdCache);
+        return cacheStage.thenAccept(result -> isCached = true)
+                         .thenApply(result -> keyToIdCache);
     }
 
     @Nonnull
@@ -77,21 +87,26 @@ public final class CategoryServiceImpl implements CategoryService {
             return CompletableFuture.completedFuture(Collections.emptySet());
         }
 
+        return queryCategoriesByKeys(categoryKeys)
+            .handle((fetchedCategories, sphereException) -> {
+                if (sphereException != null) {
+                    syncOptions.applyErrorCallback(format(FETCH_FAILED, categoryKeys, sphereException),
+                        sphereException);
+                    return Collections.emptySet();
+                }
+                return fetchedCategories;
+            });
+    }
+
+    @Nonnull
+    private CompletionStage<Set<Category>> queryCategoriesByKeys(@Nonnull final Set<String> categoryKeys) {
         final Function<List<Category>, List<Category>> categoryPageCallBack = categoriesPage -> categoriesPage;
         return CtpQueryUtils.queryAll(syncOptions.getCtpClient(),
             CategoryQuery.of().plusPredicates(categoryQueryModel -> categoryQueryModel.key().isIn(categoryKeys)),
             categoryPageCallBack)
-                            .handle((fetchedCategories, sphereException) -> {
-                                if (sphereException != null) {
-                                    syncOptions
-                                        .applyErrorCallback(format(FETCH_FAILED, categoryKeys, sphereException),
-                                            sphereException);
-                                    return Collections.emptySet();
-                                }
-                                return fetchedCategories.stream()
-                                                        .flatMap(List::stream)
-                                                        .collect(Collectors.toSet());
-                            });
+                            .thenApply(fetchedCategories -> fetchedCategories.stream()
+                                                                             .flatMap(List::stream)
+                                                                             .collect(Collectors.toSet()));
     }
 
     @Nonnull
@@ -135,6 +150,50 @@ public final class CategoryServiceImpl implements CategoryService {
         return cacheAndFetch(key);
     }
 
+    @Nonnull
+    @Override
+    public CompletionStage<Map<String, String>> fetchCachedCategoryIds(@Nonnull final Set<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        return cacheKeysToIds().thenCompose(cachedKeysToIds -> {
+            final Set<String> keysMissingInCache = keys.stream()
+                                                       .filter(key -> !cachedKeysToIds.containsKey(key))
+                                                       .filter(key -> !keysNotFound.contains(key))
+                                                       .collect(Collectors.toSet());
+            if (keysMissingInCache.isEmpty()) {
+                return CompletableFuture.completedFuture(getCachedCategoryIds(keys));
+            }
+            return queryCategoriesByKeys(keysMissingInCache)
+                .handle((fetchedCategories, sphereException) -> {
+                    if (sphereException != null) {
+                        syncOptions.applyErrorCallback(format(FETCH_FAILED, keysMissingInCache, sphereException),
+                            sphereException);
+                    } else {
+                        fetchedCategories.forEach(category -> keyToIdCache.put(category.getKey(), category.getId()));
+                        // Keys that don't match any category are remembered for the lifetime of this service and
+                        // aren't queried again. A failed query doesn't tell if the keys exist, so they're kept out.
+                        keysMissingInCache.stream()
+                                          .filter(key -> !keyToIdCache.containsKey(key))
+                                          .forEach(keysNotFound::add);
+                    }
+                    return getCachedCategoryIds(keys);
+                });
+        });
+    }
+
+    @Nonnull
+    private Map<String, String> getCachedCategoryIds(@Nonnull final Set<String> keys) {
+        final Map<String, String> keysToIds = new HashMap<>();
+        keys.forEach(key -> {
+            final String cachedId = keyToIdCache.get(key);
+            if (cachedId != null) {
+                keysToIds.put(key, cachedId);
+            }
+        });
+        return keysToIds;
+    }
+
     private CompletionStage<Optional<String>> cacheAndFetch(@Nonnull final String key) {
         return cacheKeysToIds()
             .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
@@ -164,7 +223,14 @@ public final class CategoryServiceImpl implements CategoryService {
     public CompletionStage<Category> updateCategory(@Nonnull final Category category,
                                                               @Nonnull final List<UpdateAction<Category>>
                                                                   updateActions) {
-        final CategoryUpdateCommand categoryUpdateCommand = CategoryUpdateCommand.of(category, updateActions);
-        return syncOptions.getCtpClient().execute(categoryUpdateCommand);
+        return updateExecutor.execute(category, updateActions);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Category> updateCategory(@Nonnull final Category category,
+                                                    @Nonnull final Long version,
+                                                    @Nonnull final List<UpdateAction<Category>> updateActions) {
+        return updateExecutor.execute(category, version, updateActions);
     }
 }
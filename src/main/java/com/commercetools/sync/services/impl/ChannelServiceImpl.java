@@ -15,14 +15,15 @@ import org.apache.commons.lang3.StringUtils;
 import javax.annotation.Nonnull;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+import static com.commercetools.sync.services.impl.KeyToIdCaches.newKeyToIdCache;
 import static java.lang.String.format;
 
 
@@ -30,7 +31,7 @@ public final class ChannelServiceImpl implements ChannelService {
 
     private final BaseSyncOptions syncOptions;
     private final Set<ChannelRole> channelRoles;
-    private final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+    private final Map<String, String> keyToIdCache;
     private boolean isCached = false;
     private static final String CHANNEL_KEY_NOT_SET = "Channel with id: '%s' has no key set. Keys are required for "
         + "channel matching.";
@@ -38,11 +39,13 @@ public final class ChannelServiceImpl implements ChannelService {
     public ChannelServiceImpl(@Nonnull final BaseSyncOptions syncOptions,
                               @Nonnull final Set<ChannelRole> channelRoles) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
         this.channelRoles = channelRoles;
     }
 
     public ChannelServiceImpl(@Nonnull final BaseSyncOptions syncOptions) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
         this.channelRoles = Collections.emptySet();
     }
 
@@ -73,9 +76,26 @@ public final class ChannelServiceImpl implements ChannelService {
                 }
             });
 
-        return CtpQueryUtils.queryAll(syncOptions.getCtpClient(), query, channelPageConsumer)
-                            .thenAccept(result -> isCached = true)
-                            .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
+        final PersistentKeyToIdCache persistentCache = PersistentKeyToIdCache.of(syncOptions, getCacheName());
+        final CompletionStage<Void> cacheStage = persistentCache == null
+            ? CtpQueryUtils.queryAll(syncOptions.getCtpClient(), query, channelPageConsumer)
+            : persistentCache.load(query, Channel::getKey, channelPageConsumer, keyToIdCache);
+        return cacheStage.thenAccept(result -> isCached = true)
+                         .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
+    }
+
+    /**
+     * Gets the name of the persistent key to id cache of the channels, which depends on the channel roles the
+     * channels are queried by.
+     *
+     * @return the name of the persistent cache of the channels.
+     */
+    @Nonnull
+    private String getCacheName() {
+        return channelRoles.stream()
+                           .map(ChannelRole::name)
+                           .sorted()
+                           .reduce("channels", (name, role) -> name + "-" + role.toLowerCase(Locale.ENGLISH));
     }
 
     @Nonnull
@@ -0,0 +1,176 @@
+package com.commercetools.sync.services.impl;
+
+import com.commercetools.sync.commons.exceptions.PartialUpdateException;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.models.Resource;
+import io.sphere.sdk.models.Versioned;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Updates resources with update commands of at most {@link #MAX_ACTIONS_PER_REQUEST} update actions, since CTP
+ * rejects update commands with more actions. If a resource has more update actions, they are split into chunks, in
+ * their order, which are applied one after the other: each chunk is applied to the version of the resource that the
+ * previous chunk resulted in.
+ *
+ * <p>Update actions which belong together, because they have the same group (for example the actions of the same
+ * product variant), are kept in the same chunk, unless the group alone has more actions than fit in a chunk. This
+ * way, the failure of a chunk never leaves a group partially updated.
+ *
+ * <p>If the first chunk fails, nothing has been applied and the update fails with the error of the chunk, exactly
+ * like an update with a single update command. If a later chunk fails, the update fails with a
+ * {@link PartialUpdateException}, which tells which chunks were applied and which version the resource has after
+ * them. The remaining chunks aren't applied.
+ *
+ * @param <T> the type of the updated resources.
+ */
+final class ChunkedUpdateExecutor<T extends Resource<T>> {
+    static final int MAX_ACTIONS_PER_REQUEST = 500;
+
+    private final SphereClient ctpClient;
+    private final BiFunction<Versioned<T>, List<UpdateAction<T>>, SphereRequest<T>> updateCommandFactory;
+    private final Function<T, Function<UpdateAction<T>, Object>> groupsOfResource;
+    private final int maxActionsPerRequest;
+
+    /**
+     * Creates an executor which applies at most {@link #MAX_ACTIONS_PER_REQUEST} update actions per update command.
+     *
+     * @param ctpClient            the client to execute the update commands with.
+     * @param updateCommandFactory builds the update command of a chunk of update actions for a resource.
+     * @param groupsOfResource     builds a function for the supplied resource, which returns the group of an update
+     *                             action or {@code null} if the action doesn't belong to any group.
+     */
+    ChunkedUpdateExecutor(@Nonnull final SphereClient ctpClient,
+                          @Nonnull final BiFunction<Versioned<T>, List<UpdateAction<T>>, SphereRequest<T>>
+                              updateCommandFactory,
+                          @Nonnull final Function<T, Function<UpdateAction<T>, Object>> groupsOfResource) {
+        this(ctpClient, updateCommandFactory, groupsOfResource, MAX_ACTIONS_PER_REQUEST);
+    }
+
+    ChunkedUpdateExecutor(@Nonnull final SphereClient ctpClient,
+                          @Nonnull final BiFunction<Versioned<T>, List<UpdateAction<T>>, SphereRequest<T>>
+                              updateCommandFactory,
+                          @Nonnull final Function<T, Function<UpdateAction<T>, Object>> groupsOfResource,
+                          final int maxActionsPerRequest) {
+        this.ctpClient = ctpClient;
+        this.updateCommandFactory = updateCommandFactory;
+        this.groupsOfResource = groupsOfResource;
+        this.maxActionsPerRequest = maxActionsPerRequest;
+    }
+
+    /**
+     * Applies the supplied update actions to the supplied resource, in chunks if there are more actions than fit in
+     * a single update command.
+     *
+     * @param resource      the resource to update.
+     * @param updateActions the update actions to apply.
+     * @return a {@link CompletionStage} which contains the updated resource or, if a chunk failed, either the error of
+     *         the first chunk or a {@link PartialUpdateException}.
+     */
+    @Nonnull
+    CompletionStage<T> execute(@Nonnull final T resource, @Nonnull final List<UpdateAction<T>> updateActions) {
+        return execute(resource, (Versioned<T>) resource, updateActions);
+    }
+
+    /**
+     * Applies the supplied update actions to the supplied version of the supplied resource, in chunks if there are
+     * more actions than fit in a single update command. It's used to apply update actions again after they were
+     * rejected because the resource has been modified concurrently, without fetching the resource again.
+     *
+     * @param resource      the resource to update, whose version might be outdated.
+     * @param version       the version of the resource to apply the first chunk to.
+     * @param updateActions the update actions to apply.
+     * @return a {@link CompletionStage} which contains the updated resource or, if a chunk failed, either the error of
+     *         the first chunk or a {@link PartialUpdateException}.
+     */
+    @Nonnull
+    CompletionStage<T> execute(@Nonnull final T resource, @Nonnull final Long version,
+                               @Nonnull final List<UpdateAction<T>> updateActions) {
+        return execute(resource, Versioned.of(resource.getId(), version), updateActions);
+    }
+
+    @Nonnull
+    private CompletionStage<T> execute(@Nonnull final T resource, @Nonnull final Versioned<T> versionedResource,
+                                       @Nonnull final List<UpdateAction<T>> updateActions) {
+        if (updateActions.size() <= maxActionsPerRequest) {
+            return ctpClient.execute(updateCommandFactory.apply(versionedResource, updateActions));
+        }
+        final List<List<UpdateAction<T>>> chunks =
+            chunk(updateActions, groupsOfResource.apply(resource), maxActionsPerRequest);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        executeChunk(versionedResource, chunks, 0, result);
+        return result;
+    }
+
+    private void executeChunk(@Nonnull final Versioned<T> resource, @Nonnull final List<List<UpdateAction<T>>> chunks,
+                              final int chunkIndex, @Nonnull final CompletableFuture<T> result) {
+        final List<UpdateAction<T>> chunk = chunks.get(chunkIndex);
+        ctpClient.execute(updateCommandFactory.apply(resource, chunk))
+                 .whenComplete((updatedResource, exception) -> {
+                     if (exception != null) {
+                         result.completeExceptionally(chunkIndex == 0 ? exception
+                             : new PartialUpdateException(resource.getId(), chunkIndex, chunks.size(), chunk,
+                                 resource.getVersion(), exception));
+                     } else if (chunkIndex + 1 < chunks.size()) {
+                         executeChunk(updatedResource, chunks, chunkIndex + 1, result);
+                     } else {
+                         result.complete(updatedResource);
+                     }
+                 });
+    }
+
+    /**
+     * Splits the supplied update actions into chunks of at most {@code maxActionsPerChunk} actions, keeping their
+     * order. Consecutive actions of the same group are put into the same chunk, unless the group has more than
+     * {@code maxActionsPerChunk} actions, in which case the group is split as well.
+     *
+     * @param updateActions      the update actions to split.
+     * @param groupOfAction      returns the group of an update action or {@code null} if it doesn't belong to any.
+     * @param maxActionsPerChunk the maximum number of actions of a chunk.
+     * @param <A>                the type of the update actions.
+     * @return the chunks of the update actions in the order in which they have to be applied.
+     */
+    @Nonnull
+    static <A> List<List<A>> chunk(@Nonnull final List<A> updateActions,
+                                   @Nonnull final Function<A, Object> groupOfAction,
+                                   final int maxActionsPerChunk) {
+        if (updateActions.size() <= maxActionsPerChunk) {
+            return singletonList(updateActions);
+        }
+        final List<List<A>> chunks = new ArrayList<>();
+        List<A> currentChunk = new ArrayList<>();
+        int groupStart = 0;
+        while (groupStart < updateActions.size()) {
+            final Object group = groupOfAction.apply(updateActions.get(groupStart));
+            int groupEnd = groupStart + 1;
+            while (group != null && groupEnd < updateActions.size()
+                && group.equals(groupOfAction.apply(updateActions.get(groupEnd)))) {
+                groupEnd++;
+            }
+            if (!currentChunk.isEmpty() && currentChunk.size() + groupEnd - groupStart > maxActionsPerChunk) {
+                chunks.add(currentChunk);
+                currentChunk = new ArrayList<>();
+            }
+            for (A updateAction : updateActions.subList(groupStart, groupEnd)) {
+                if (currentChunk.size() == maxActionsPerChunk) {
+                    chunks.add(currentChunk);
+                    currentChunk = new ArrayList<>();
+                }
+                currentChunk.add(updateAction);
+            }
+            groupStart = groupEnd;
+        }
+        chunks.add(currentChunk);
+        return chunks;
+    }
+}
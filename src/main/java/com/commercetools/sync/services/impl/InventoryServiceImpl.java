@@ -19,9 +19,12 @@ import java.util.concurrent.CompletionStage;
 public final class InventoryServiceImpl implements InventoryService {
 
     private final SphereClient ctpClient;
+    private final ChunkedUpdateExecutor<InventoryEntry> updateExecutor;
 
     public InventoryServiceImpl(@Nonnull final SphereClient ctpClient) {
         this.ctpClient = ctpClient;
+        this.updateExecutor = new ChunkedUpdateExecutor<>(ctpClient, InventoryEntryUpdateCommand::of,
+            inventoryEntry -> updateAction -> null);
     }
 
     @Nonnull
@@ -46,6 +49,15 @@ public final class InventoryServiceImpl implements InventoryService {
     public CompletionStage<InventoryEntry> updateInventoryEntry(@Nonnull final InventoryEntry inventoryEntry,
                                                                 @Nonnull final List<UpdateAction<InventoryEntry>>
                                                                     updateActions) {
-        return ctpClient.execute(InventoryEntryUpdateCommand.of(inventoryEntry, updateActions));
+        return updateExecutor.execute(inventoryEntry, updateActions);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<InventoryEntry> updateInventoryEntry(@Nonnull final InventoryEntry inventoryEntry,
+                                                                @Nonnull final Long version,
+                                                                @Nonnull final List<UpdateAction<InventoryEntry>>
+                                                                    updateActions) {
+        return updateExecutor.execute(inventoryEntry, version, updateActions);
     }
 }
@@ -0,0 +1,32 @@
+package com.commercetools.sync.services.impl;
+
+import com.commercetools.sync.commons.BaseSyncOptions;
+import com.commercetools.sync.commons.helpers.CompactKeyToIdMap;
+import com.commercetools.sync.commons.helpers.KeyToIdCacheType;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class KeyToIdCaches {
+    /**
+     * Creates a new, empty key to id cache of the {@link KeyToIdCacheType} of the supplied {@code syncOptions}.
+     *
+     * @param syncOptions the options of the sync the cache is created for.
+     * @return a new, empty and thread-safe key to id cache.
+     */
+    @Nonnull
+    static Map<String, String> newKeyToIdCache(@Nonnull final BaseSyncOptions syncOptions) {
+        final KeyToIdCacheType keyToIdCacheType = syncOptions.getKeyToIdCacheType();
+        if (keyToIdCacheType == KeyToIdCacheType.COMPACT) {
+            return CompactKeyToIdMap.of();
+        }
+        if (keyToIdCacheType == KeyToIdCacheType.COMPACT_OFF_HEAP) {
+            return CompactKeyToIdMap.ofOffHeap();
+        }
+        return new ConcurrentHashMap<>();
+    }
+
+    private KeyToIdCaches() {
+    }
+}
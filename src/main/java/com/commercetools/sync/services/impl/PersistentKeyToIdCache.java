@@ -0,0 +1,296 @@
+package com.commercetools.sync.services.impl;
+
+import com.commercetools.sync.commons.BaseSyncOptions;
+import com.commercetools.sync.commons.utils.CtpQueryUtils;
+import io.sphere.sdk.models.Resource;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryDsl;
+import io.sphere.sdk.queries.QueryPredicate;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * A snapshot of the key to id cache of a service, which is persisted in a memory-mapped file of the
+ * {@link BaseSyncOptions#getKeyToIdCacheDirectory()}, so that it's shared by the sync runs on the same machine.
+ *
+ * <p>On the first use of a service, the snapshot is loaded from its file and only the resources that were modified
+ * since the snapshot was taken are queried, by their {@code lastModifiedAt}. Keys that were changed on a resource are
+ * replaced by its new key. Deleted resources can't be found by their {@code lastModifiedAt}, so the refreshed cache is
+ * checked against the total number of resources with a key, which takes a single request. If the numbers differ, or
+ * if there is no valid snapshot yet, the cache is rebuilt from all the resources. Either way, the snapshot is then
+ * replaced by the refreshed cache.
+ *
+ * <p>The entries of a refresh are collected in a generation of their own, next to the live cache of the service, and
+ * the snapshot is only written from a completed generation. Keys that the sync puts into the live cache while the
+ * refresh is running, e.g. of created resources, never end up in the snapshot, so a snapshot always holds exactly the
+ * resources its watermark was taken for.
+ *
+ * <p>The file starts with a header of a magic number, a format version, the watermark of the snapshot as epoch
+ * milliseconds and the number of entries, followed by the length-prefixed UTF-8 bytes of the key and the id of each
+ * entry. It's written to a temporary file which replaces the previous snapshot atomically, so a sync that fails while
+ * writing it never leaves a corrupt snapshot behind.
+ */
+final class PersistentKeyToIdCache {
+    private static final int MAGIC_NUMBER = 0x4B324944;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    // Covers the clock skew between this machine and the CTP project and the resources modified during the refresh.
+    private static final Duration WATERMARK_SAFETY_MARGIN = Duration.ofMinutes(1);
+    private static final String SNAPSHOT_READ_FAILED = "Failed to read the key to id cache snapshot '%s', the cache "
+        + "is rebuilt from all the resources. Reason: %s";
+    private static final String SNAPSHOT_WRITE_FAILED = "Failed to write the key to id cache snapshot '%s'. Reason: %s";
+
+    private final BaseSyncOptions syncOptions;
+    private final Path snapshotFile;
+
+    private PersistentKeyToIdCache(@Nonnull final BaseSyncOptions syncOptions, @Nonnull final Path snapshotFile) {
+        this.syncOptions = syncOptions;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Creates the persistent cache of the resources with the supplied {@code resourceName} (e.g. {@code products})
+     * of the CTP project of the supplied {@code syncOptions}, if the {@link BaseSyncOptions#getKeyToIdCacheDirectory()}
+     * is set.
+     *
+     * @param syncOptions  the options of the sync.
+     * @param resourceName the name of the cached resources, which has to be unique for each cached query.
+     * @return the persistent cache or {@code null} if no key to id cache directory is set.
+     */
+    @Nullable
+    static PersistentKeyToIdCache of(@Nonnull final BaseSyncOptions syncOptions, @Nonnull final String resourceName) {
+        final Path directory = syncOptions.getKeyToIdCacheDirectory();
+        if (directory == null) {
+            return null;
+        }
+        final String projectKey = syncOptions.getCtpClient().getConfig().getProjectKey();
+        return new PersistentKeyToIdCache(syncOptions, directory.resolve(format("%s-%s.keys", projectKey,
+            resourceName)));
+    }
+
+    /**
+     * Fills the supplied {@code keyToIdCache} with the keys and ids of all the resources matching the supplied
+     * {@code query}, starting from the persisted snapshot, and persists the refreshed snapshot. The supplied
+     * {@code pageConsumer} is applied on every page of the queried resources and is expected to put their keys and
+     * ids into the {@code keyToIdCache}. The persisted snapshot is taken from the entries of this refresh only, not
+     * from the {@code keyToIdCache}, which other threads may write to in the meantime.
+     *
+     * @param query        the query of all the cached resources.
+     * @param keyMapper    the function that gets the key of a resource.
+     * @param pageConsumer the consumer that puts the keys and ids of a page of resources into the cache.
+     * @param keyToIdCache the cache to fill.
+     * @param <T>          the type of the cached resources.
+     * @param <C>          the type of the query.
+     * @return a future which is completed once the cache is filled.
+     */
+    @Nonnull
+    <T extends Resource<T>, C extends QueryDsl<T, C>> CompletionStage<Void> load(
+        @Nonnull final QueryDsl<T, C> query,
+        @Nonnull final Function<T, String> keyMapper,
+        @Nonnull final Consumer<List<T>> pageConsumer,
+        @Nonnull final Map<String, String> keyToIdCache) {
+
+        final Instant refreshStart = Instant.now();
+        final Snapshot snapshot = readSnapshot();
+        // The pages of a refresh are consumed one after the other, so the generation isn't written to concurrently.
+        final Map<String, String> generation = new HashMap<>();
+        final Consumer<List<T>> generationPageConsumer = page -> {
+            page.forEach(resource -> {
+                final String key = keyMapper.apply(resource);
+                if (StringUtils.isNotBlank(key)) {
+                    generation.put(key, resource.getId());
+                }
+            });
+            pageConsumer.accept(page);
+        };
+        final CompletionStage<Void> refresh = snapshot == null
+            ? rebuild(query, generationPageConsumer, keyToIdCache, generation)
+            : refresh(snapshot, query, keyMapper, generationPageConsumer, keyToIdCache, generation);
+        return refresh.thenAccept(ignored -> writeSnapshot(refreshStart.minus(WATERMARK_SAFETY_MARGIN),
+            generation));
+    }
+
+    @Nonnull
+    private <T extends Resource<T>, C extends QueryDsl<T, C>> CompletionStage<Void> rebuild(
+        @Nonnull final QueryDsl<T, C> query,
+        @Nonnull final Consumer<List<T>> pageConsumer,
+        @Nonnull final Map<String, String> keyToIdCache,
+        @Nonnull final Map<String, String> generation) {
+        keyToIdCache.clear();
+        generation.clear();
+        return CtpQueryUtils.queryAllByCursor(syncOptions.getCtpClient(), query, pageConsumer);
+    }
+
+    @Nonnull
+    private <T extends Resource<T>, C extends QueryDsl<T, C>> CompletionStage<Void> refresh(
+        @Nonnull final Snapshot snapshot,
+        @Nonnull final QueryDsl<T, C> query,
+        @Nonnull final Function<T, String> keyMapper,
+        @Nonnull final Consumer<List<T>> pageConsumer,
+        @Nonnull final Map<String, String> keyToIdCache,
+        @Nonnull final Map<String, String> generation) {
+
+        keyToIdCache.putAll(snapshot.keyToId);
+        generation.putAll(snapshot.keyToId);
+        final Map<String, String> idToKey = new HashMap<>(snapshot.keyToId.size() * 2);
+        snapshot.keyToId.forEach((key, id) -> idToKey.put(id, key));
+
+        final Consumer<List<T>> modifiedPageConsumer = page -> {
+            page.forEach(resource -> {
+                final String previousKey = idToKey.get(resource.getId());
+                if (previousKey != null && !previousKey.equals(keyMapper.apply(resource))) {
+                    keyToIdCache.remove(previousKey, resource.getId());
+                    generation.remove(previousKey, resource.getId());
+                }
+            });
+            pageConsumer.accept(page);
+        };
+        final QueryPredicate<T> modifiedSinceSnapshot =
+            QueryPredicate.of(format("lastModifiedAt >= \"%s\"", snapshot.watermark));
+        return CtpQueryUtils
+            .queryAllByCursor(syncOptions.getCtpClient(), query.plusPredicates(modifiedSinceSnapshot),
+                modifiedPageConsumer)
+            .thenCompose(ignored -> fetchNumberOfResourcesWithKeys(query))
+            .thenCompose(numberOfResourcesWithKeys -> numberOfResourcesWithKeys == generation.size()
+                ? CompletableFuture.completedFuture(null)
+                : rebuild(query, pageConsumer, keyToIdCache, generation));
+    }
+
+    @Nonnull
+    private <T extends Resource<T>, C extends QueryDsl<T, C>> CompletionStage<Long> fetchNumberOfResourcesWithKeys(
+        @Nonnull final QueryDsl<T, C> query) {
+        return syncOptions.getCtpClient()
+                          .execute(query.plusPredicates(QueryPredicate.<T>of("key is defined"))
+                                        .withLimit(1L)
+                                        .withFetchTotal(true))
+                          .thenApply(PagedQueryResult::getTotal);
+    }
+
+    /**
+     * Reads the snapshot from its memory-mapped file.
+     *
+     * @return the snapshot or {@code null} if there is no snapshot file yet or it can't be read.
+     */
+    @Nullable
+    private Snapshot readSnapshot() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try (FileChannel fileChannel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION) {
+                syncOptions.applyWarningCallback(format(SNAPSHOT_READ_FAILED, snapshotFile, "Unknown file format."));
+                return null;
+            }
+            final Instant watermark = Instant.ofEpochMilli(buffer.getLong());
+            final int numberOfEntries = buffer.getInt();
+            final Map<String, String> keyToId = new HashMap<>(numberOfEntries * 2);
+            for (int entry = 0; entry < numberOfEntries; entry++) {
+                keyToId.put(readString(buffer), readString(buffer));
+            }
+            return new Snapshot(watermark, keyToId);
+        } catch (final IOException | BufferUnderflowException | IllegalArgumentException exception) {
+            syncOptions.applyWarningCallback(format(SNAPSHOT_READ_FAILED, snapshotFile, exception));
+            return null;
+        }
+    }
+
+    /**
+     * Writes the keys and ids of a completed refresh to a temporary memory-mapped file, which then replaces the
+     * previous snapshot file.
+     *
+     * @param watermark the time from which on the resources have to be queried to refresh the snapshot.
+     * @param keyToId   the keys and ids of the completed refresh, which aren't changed anymore.
+     */
+    private void writeSnapshot(@Nonnull final Instant watermark, @Nonnull final Map<String, String> keyToId) {
+        final List<byte[]> encodedEntries = new ArrayList<>(keyToId.size() * 2);
+        long size = HEADER_SIZE;
+        for (Map.Entry<String, String> entry : keyToId.entrySet()) {
+            final byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            final byte[] id = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            encodedEntries.add(key);
+            encodedEntries.add(id);
+            size += Integer.BYTES + key.length + Integer.BYTES + id.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            syncOptions.applyWarningCallback(format(SNAPSHOT_WRITE_FAILED, snapshotFile, "The cache is too big."));
+            return;
+        }
+
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            temporaryFile = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(),
+                ".tmp");
+            try (FileChannel fileChannel = FileChannel.open(temporaryFile, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC_NUMBER);
+                buffer.putInt(FORMAT_VERSION);
+                buffer.putLong(watermark.toEpochMilli());
+                buffer.putInt(keyToId.size());
+                encodedEntries.forEach(bytes -> buffer.putInt(bytes.length).put(bytes));
+                buffer.force();
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException exception) {
+            syncOptions.applyWarningCallback(format(SNAPSHOT_WRITE_FAILED, snapshotFile, exception));
+            deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void deleteIfExists(@Nullable final Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException ignored) {
+                // The temporary file is only left behind, it's never read.
+            }
+        }
+    }
+
+    @Nonnull
+    private static String readString(@Nonnull final MappedByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException(format("Invalid string length %d.", length));
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Snapshot {
+        private final Instant watermark;
+        private final Map<String, String> keyToId;
+
+        private Snapshot(@Nonnull final Instant watermark, @Nonnull final Map<String, String> keyToId) {
+            this.watermark = watermark;
+            this.keyToId = keyToId;
+        }
+    }
+}
@@ -8,8 +8,16 @@ import io.sphere.sdk.products.Product;
 import io.sphere.sdk.products.ProductDraft;
 import io.sphere.sdk.products.commands.ProductCreateCommand;
 import io.sphere.sdk.products.commands.ProductUpdateCommand;
+import io.sphere.sdk.products.commands.updateactions.AddExternalImage;
+import io.sphere.sdk.products.commands.updateactions.AddPrice;
+import io.sphere.sdk.products.commands.updateactions.ChangePrice;
+import io.sphere.sdk.products.commands.updateactions.MoveImageToPosition;
 import io.sphere.sdk.products.commands.updateactions.Publish;
+import io.sphere.sdk.products.commands.updateactions.RemoveImage;
+import io.sphere.sdk.products.commands.updateactions.RemovePrice;
 import io.sphere.sdk.products.commands.updateactions.RevertStagedChanges;
+import io.sphere.sdk.products.commands.updateactions.SetAttribute;
+import io.sphere.sdk.products.commands.updateactions.SetSku;
 import io.sphere.sdk.products.queries.ProductQuery;
 import io.sphere.sdk.queries.PagedResult;
 import io.sphere.sdk.queries.QueryPredicate;
@@ -18,24 +26,26 @@ import org.apache.commons.lang3.StringUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.commercetools.sync.services.impl.KeyToIdCaches.newKeyToIdCache;
 import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 public class ProductServiceImpl implements ProductService {
     private boolean isCached = false;
-    private final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+    private final Map<String, String> keyToIdCache;
     private final ProductSyncOptions syncOptions;
+    private final ChunkedUpdateExecutor<Product> updateExecutor;
 
     private static final String CREATE_FAILED = "Failed to create ProductDraft with key: '%s'. Reason: %s";
     private static final String FETCH_FAILED = "Failed to fetch products with keys: '%s'. Reason: %s";
@@ -44,6 +54,9 @@ public class ProductServiceImpl implements ProductService {
 
     public ProductServiceImpl(@Nonnull final ProductSyncOptions syncOptions) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
+        this.updateExecutor = new ChunkedUpdateExecutor<>(syncOptions.getCtpClient(), ProductUpdateCommand::of,
+            ProductServiceImpl::getVariantOfAction);
     }
 
     @Nonnull
@@ -64,9 +77,12 @@ public class ProductServiceImpl implements ProductService {
                 }
             });
 
-        return CtpQueryUtils.queryAll(syncOptions.getCtpClient(), ProductQuery.of(), productPageConsumer)
-                            .thenAccept(result -> isCached = true)
-                            .thenApply(result -> keyToIdCache);
+        final PersistentKeyToIdCache persistentCache = PersistentKeyToIdCache.of(syncOptions, "products");
+        final CompletionStage<Void> cacheStage = persistentCache == null
+            ? CtpQueryUtils.queryAllByCursor(syncOptions.getCtpClient(), ProductQuery.of(), productPageConsumer)
+            : persistentCache.load(ProductQuery.of(), Product::getKey, productPageConsumer, keyToIdCache);
+        return cacheStage.thenAccept(result -> isCached = true)
+                         .thenApply(result -> keyToIdCache);
     }
 
     QueryPredicate<Product> buildProductKeysQueryPredicate(@Nonnull final Set<String> productKeys) {
@@ -158,7 +174,53 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public CompletionStage<Product> updateProduct(@Nonnull final Product product,
                                                   @Nonnull final List<UpdateAction<Product>> updateActions) {
-        return syncOptions.getCtpClient().execute(ProductUpdateCommand.of(product, updateActions));
+        return updateExecutor.execute(product, updateActions);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Product> updateProduct(@Nonnull final Product product,
+                                                  @Nonnull final Long version,
+                                                  @Nonnull final List<UpdateAction<Product>> updateActions) {
+        return updateExecutor.execute(product, version, updateActions);
+    }
+
+    /**
+     * Builds a function which returns the id of the variant of the supplied {@code product} that an update action
+     * updates, so that the update actions of a variant are applied in the same update command, if the update
+     * actions of the product have to be applied in chunks. The variant of a price action, which only references the
+     * price, is looked up from the prices of the staged variants of the product.
+     *
+     * @param product the product which is updated.
+     * @return a function which returns the variant id of an update action or {@code null} if the action doesn't
+     *         update a single existing variant.
+     */
+    @Nonnull
+    static Function<UpdateAction<Product>, Object> getVariantOfAction(@Nonnull final Product product) {
+        final Map<String, Integer> variantIdsByPriceId = new HashMap<>();
+        product.getMasterData().getStaged().getAllVariants().forEach(variant ->
+            variant.getPrices().forEach(price -> variantIdsByPriceId.put(price.getId(), variant.getId())));
+
+        return updateAction -> {
+            if (updateAction instanceof SetAttribute) {
+                return ((SetAttribute) updateAction).getVariantId();
+            } else if (updateAction instanceof AddExternalImage) {
+                return ((AddExternalImage) updateAction).getVariantId();
+            } else if (updateAction instanceof RemoveImage) {
+                return ((RemoveImage) updateAction).getVariantId();
+            } else if (updateAction instanceof MoveImageToPosition) {
+                return ((MoveImageToPosition) updateAction).getVariantId();
+            } else if (updateAction instanceof AddPrice) {
+                return ((AddPrice) updateAction).getVariantId();
+            } else if (updateAction instanceof ChangePrice) {
+                return variantIdsByPriceId.get(((ChangePrice) updateAction).getPriceId());
+            } else if (updateAction instanceof RemovePrice) {
+                return variantIdsByPriceId.get(((RemovePrice) updateAction).getPriceId());
+            } else if (updateAction instanceof SetSku) {
+                return ((SetSku) updateAction).getVariantId();
+            }
+            return null;
+        };
     }
 
     @Nonnull
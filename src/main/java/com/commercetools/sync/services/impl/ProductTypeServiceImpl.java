@@ -18,16 +18,18 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.commercetools.sync.services.impl.KeyToIdCaches.newKeyToIdCache;
 import static java.lang.String.format;
 
 public class ProductTypeServiceImpl implements ProductTypeService {
     private final ProductSyncOptions syncOptions;
-    private final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+    private final Map<String, String> keyToIdCache;
     private boolean isCached = false;
     private final Map<String, Map<String, AttributeMetaData>> productsAttributesMetaData = new ConcurrentHashMap<>();
 
     public ProductTypeServiceImpl(@Nonnull final ProductSyncOptions syncOptions) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
     }
 
     @Nonnull
@@ -54,6 +56,20 @@ public class ProductTypeServiceImpl implements ProductTypeService {
                 }
             });
 
+        final PersistentKeyToIdCache persistentCache = PersistentKeyToIdCache.of(syncOptions, "product-types");
+        if (persistentCache != null) {
+            // Only the modified product types are fetched, so the attribute metadata is cached separately.
+            final Consumer<List<ProductType>> productTypeKeysPageConsumer = productTypePage ->
+                productTypePage.forEach(type -> {
+                    if (StringUtils.isNotBlank(type.getKey())) {
+                        keyToIdCache.put(type.getKey(), type.getId());
+                    }
+                });
+            return persistentCache
+                .load(ProductTypeQuery.of(), ProductType::getKey, productTypeKeysPageConsumer, keyToIdCache)
+                .thenAccept(result -> isCached = true)
+                .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
+        }
         return CtpQueryUtils.queryAll(syncOptions.getCtpClient(), ProductTypeQuery.of(), productTypePageConsumer)
                             .thenAccept(result -> isCached = true)
                             .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
@@ -15,20 +15,21 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+import static com.commercetools.sync.services.impl.KeyToIdCaches.newKeyToIdCache;
 import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 public class StateServiceImpl implements StateService {
     private final ProductSyncOptions syncOptions;
     private final StateType stateType;
-    private final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+    private final Map<String, String> keyToIdCache;
 
     public StateServiceImpl(@Nonnull final ProductSyncOptions syncOptions,
                             @Nonnull final StateType stateType) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
         this.stateType = stateType;
     }
 
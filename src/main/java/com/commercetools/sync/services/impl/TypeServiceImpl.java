@@ -13,20 +13,22 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+import static com.commercetools.sync.services.impl.KeyToIdCaches.newKeyToIdCache;
+
 /**
  * Implementation of TypeService interface.
  * TODO: USE graphQL to get only keys. GITHUB ISSUE#84
  */
 public final class TypeServiceImpl implements TypeService {
     private final BaseSyncOptions syncOptions;
-    private final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+    private final Map<String, String> keyToIdCache;
     private boolean isCached = false;
 
     public TypeServiceImpl(@Nonnull final BaseSyncOptions syncOptions) {
         this.syncOptions = syncOptions;
+        this.keyToIdCache = newKeyToIdCache(syncOptions);
     }
 
     @Nonnull
@@ -43,8 +45,11 @@ public final class TypeServiceImpl implements TypeService {
         final Consumer<List<Type>> typePageConsumer = typesPage ->
             typesPage.forEach(type -> keyToIdCache.put(type.getKey(), type.getId()));
 
-        return CtpQueryUtils.queryAll(syncOptions.getCtpClient(), TypeQuery.of(), typePageConsumer)
-                            .thenAccept(result -> isCached = true)
-                            .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
+        final PersistentKeyToIdCache persistentCache = PersistentKeyToIdCache.of(syncOptions, "types");
+        final CompletionStage<Void> cacheStage = persistentCache == null
+            ? CtpQueryUtils.queryAll(syncOptions.getCtpClient(), TypeQuery.of(), typePageConsumer)
+            : persistentCache.load(TypeQuery.of(), Type::getKey, typePageConsumer, keyToIdCache);
+        return cacheStage.thenAccept(result -> isCached = true)
+                         .thenApply(result -> Optional.ofNullable(keyToIdCache.get(key)));
     }
 }
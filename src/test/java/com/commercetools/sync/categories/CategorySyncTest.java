@@ -2,31 +2,49 @@ package com.commercetools.sync.categories;
 
 import com.commercetools.sync.categories.helpers.CategorySyncStatistics;
 import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
 import com.commercetools.sync.services.CategoryService;
 import io.sphere.sdk.categories.Category;
 import io.sphere.sdk.categories.CategoryDraft;
 import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.client.ConcurrentModificationException;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.models.LocalizedString;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static com.commercetools.sync.categories.CategorySyncMockUtils.getMockCategory;
 import static com.commercetools.sync.categories.CategorySyncMockUtils.getMockCategoryDraft;
 import static com.commercetools.sync.commons.MockUtils.getMockCategoryService;
 import static com.commercetools.sync.commons.MockUtils.getMockTypeService;
+import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -177,6 +195,95 @@ public class CategorySyncTest {
         assertThat(errorCallBackExceptions).hasSize(0);
     }
 
+    @Test
+    public void sync_WithSameExistingCategoryInTwoBatches_ShouldCountItAsUpdatedOnce() {
+        final CategorySyncOptions syncOptions = CategorySyncOptionsBuilder
+            .of(mock(SphereClient.class))
+            .setErrorCallBack((errorMessage, exception) -> {
+                errorCallBackMessages.add(errorMessage);
+                errorCallBackExceptions.add(exception);
+            })
+            .setBatchSize(1)
+            .build();
+        final CategoryService mockCategoryService = getMockCategoryService();
+        final CategorySync batchedCategorySync =
+            new CategorySync(syncOptions, getMockTypeService(), mockCategoryService);
+        final CategoryDraft categoryDraft = getMockCategoryDraft(Locale.ENGLISH, "name", "key", "parentKey",
+            "customTypeId", new HashMap<>());
+
+        final CategorySyncStatistics syncStatistics = batchedCategorySync
+            .sync(asList(categoryDraft, categoryDraft)).toCompletableFuture().join();
+
+        verify(mockCategoryService, times(2)).updateCategory(any(), any());
+        assertThat(syncStatistics.getCreated()).isEqualTo(0);
+        assertThat(syncStatistics.getFailed()).isEqualTo(0);
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getProcessed()).isEqualTo(1);
+        assertThat(errorCallBackMessages).isEmpty();
+        assertThat(errorCallBackExceptions).isEmpty();
+    }
+
+    @Test
+    public void sync_WithMaxParallelBatchesAndAsynchronousServices_ShouldCountEveryDraftOnce() {
+        final CategorySyncOptions syncOptions = CategorySyncOptionsBuilder
+            .of(mock(SphereClient.class))
+            .setErrorCallBack((errorMessage, exception) -> {
+                errorCallBackMessages.add(errorMessage);
+                errorCallBackExceptions.add(exception);
+            })
+            .setBatchSize(1)
+            .setMaxParallelBatches(4)
+            .build();
+        final Category existingCategory = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        final Map<String, Category> createdCategoriesByKey = new HashMap<>();
+        createdCategoriesByKey.put("newKey1", getMockCategory(Locale.ENGLISH, "name", "slug", "newKey1",
+            "externalId", "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId"));
+        createdCategoriesByKey.put("newKey2", getMockCategory(Locale.ENGLISH, "name", "slug", "newKey2",
+            "externalId", "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId"));
+        final List<String> keysOfDraftsToCreate = new CopyOnWriteArrayList<>();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final CategoryService mockCategoryService = mock(CategoryService.class);
+        when(mockCategoryService.cacheKeysToIds())
+            .thenReturn(CompletableFuture.completedFuture(Collections.singletonMap("key", "categoryId")));
+        when(mockCategoryService.createCategories(any())).thenAnswer(invocation -> {
+            final Set<CategoryDraft> draftsToCreate = invocation.getArgument(0);
+            draftsToCreate.forEach(categoryDraft -> keysOfDraftsToCreate.add(categoryDraft.getKey()));
+            return CompletableFuture.supplyAsync(() -> draftsToCreate.stream()
+                                                                     .map(CategoryDraft::getKey)
+                                                                     .map(createdCategoriesByKey::get)
+                                                                     .filter(Objects::nonNull)
+                                                                     .collect(toSet()), executorService);
+        });
+        when(mockCategoryService.fetchMatchingCategoriesByKeys(any())).thenAnswer(invocation -> {
+            final Set<String> keys = invocation.getArgument(0);
+            return CompletableFuture.supplyAsync(() -> keys.contains("key")
+                ? Collections.singleton(existingCategory) : Collections.<Category>emptySet(), executorService);
+        });
+        when(mockCategoryService.updateCategory(any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(existingCategory));
+        final CategorySync parallelCategorySync =
+            new CategorySync(syncOptions, getMockTypeService(), mockCategoryService);
+        final List<CategoryDraft> categoryDrafts = asList(
+            getMockCategoryDraft(Locale.ENGLISH, "name", "key", "parentKey", "customTypeId", new HashMap<>()),
+            getMockCategoryDraft(Locale.ENGLISH, "name", "newKey1", "parentKey", "customTypeId", new HashMap<>()),
+            getMockCategoryDraft(Locale.ENGLISH, "name", "failingKey", "parentKey", "customTypeId", new HashMap<>()),
+            getMockCategoryDraft(Locale.ENGLISH, "name", "newKey2", "parentKey", "customTypeId", new HashMap<>()));
+
+        final CategorySyncStatistics syncStatistics = parallelCategorySync.sync(categoryDrafts)
+                                                                          .toCompletableFuture().join();
+        executorService.shutdown();
+
+        assertThat(keysOfDraftsToCreate).containsExactlyInAnyOrder("newKey1", "failingKey", "newKey2");
+        verify(mockCategoryService).updateCategory(eq(existingCategory), any());
+        assertThat(syncStatistics.getCreated()).isEqualTo(2);
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(1);
+        assertThat(syncStatistics.getProcessed()).isEqualTo(4);
+        assertThat(errorCallBackMessages).isEmpty();
+    }
+
     @Test
     public void sync_WithIdenticalExistingCategory_ShouldNotUpdateCategory() {
         final CategoryDraft categoryDraft = getMockCategoryDraft(Locale.ENGLISH,
@@ -385,6 +492,69 @@ public class CategorySyncTest {
         assertThat(errorCallBackExceptions).hasSize(0);
     }
 
+    @Test
+    public void sync_WithConcurrentModificationWithCurrentVersion_ShouldUpdateCurrentVersionWithoutFetching() {
+        final CategoryService mockCategoryService = getMockCategoryService();
+        final ConcurrentModificationException concurrentModificationException =
+            mock(ConcurrentModificationException.class);
+        when(concurrentModificationException.getCurrentVersion()).thenReturn(3L);
+        when(mockCategoryService.updateCategory(any(), any()))
+            .thenReturn(exceptionallyCompletedFuture(concurrentModificationException));
+        when(mockCategoryService.updateCategory(any(), eq(3L), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(Category.class)));
+        final CategorySync categorySync = new CategorySync(buildSyncOptionsWithConflictRetries(1),
+            getMockTypeService(), mockCategoryService);
+
+        final CategorySyncStatistics syncStatistics = categorySync
+            .sync(singletonList(getMockCategoryDraft(Locale.ENGLISH, "name", "key", "parentKey", "customTypeId",
+                new HashMap<>())))
+            .toCompletableFuture().join();
+
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(0);
+        assertThat(errorCallBackMessages).isEmpty();
+        verify(mockCategoryService).updateCategory(any(), eq(3L), any());
+        verify(mockCategoryService, never()).fetchCategory(any());
+    }
+
+    @Test
+    public void sync_WithMoreConcurrentModificationsThanMaxRetries_ShouldFailSync() {
+        final CategoryService mockCategoryService = getMockCategoryService();
+        when(mockCategoryService.updateCategory(any(), any()))
+            .thenReturn(exceptionallyCompletedFuture(new ConcurrentModificationException()));
+        final Category fetchedCategory = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        when(mockCategoryService.fetchCategory(any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(fetchedCategory)));
+        final CategorySync categorySync = new CategorySync(buildSyncOptionsWithConflictRetries(2),
+            getMockTypeService(), mockCategoryService);
+
+        final CategorySyncStatistics syncStatistics = categorySync
+            .sync(singletonList(getMockCategoryDraft(Locale.ENGLISH, "name", "key", "parentKey", "customTypeId",
+                new HashMap<>())))
+            .toCompletableFuture().join();
+
+        assertThat(syncStatistics.getUpdated()).isEqualTo(0);
+        assertThat(syncStatistics.getFailed()).isEqualTo(1);
+        assertThat(errorCallBackMessages).containsExactly("Failed to update Category with key: 'key'. Reason: "
+            + "The category was modified concurrently 3 times.");
+        assertThat(errorCallBackExceptions.get(0)).isInstanceOf(ConcurrentModificationException.class);
+        verify(mockCategoryService, times(3)).updateCategory(any(), any());
+        verify(mockCategoryService, times(2)).fetchCategory("key");
+    }
+
+    @Nonnull
+    private CategorySyncOptions buildSyncOptionsWithConflictRetries(final int maxRetries) {
+        return CategorySyncOptionsBuilder.of(mock(SphereClient.class))
+                                         .setErrorCallBack((errorMessage, exception) -> {
+                                             errorCallBackMessages.add(errorMessage);
+                                             errorCallBackExceptions.add(exception);
+                                         })
+                                         .setConflictRetryPolicy(
+                                             ConflictRetryPolicy.of(maxRetries, Duration.ZERO, Duration.ZERO))
+                                         .build();
+    }
+
     @Test
     public void requiresChangeParentUpdateAction_WithTwoDifferentParents_ShouldReturnTrue() {
         final String parentId = "parentId";
@@ -425,6 +595,39 @@ public class CategorySyncTest {
         assertThat(doesRequire).isFalse();
     }
 
+    @Test
+    public void groupByNewParentDepth_WithMovedParentsAndChildren_ShouldGroupChildrenAfterTheirParents() {
+        final Map<CategoryDraft, Category> categoriesWithParentChanges = new HashMap<>();
+        final CategoryDraft rootDraft = putCategoryWithNewParent(categoriesWithParentChanges, "root", "existing");
+        final CategoryDraft otherRootDraft =
+            putCategoryWithNewParent(categoriesWithParentChanges, "otherRoot", "existing");
+        final CategoryDraft childDraft = putCategoryWithNewParent(categoriesWithParentChanges, "child", "root");
+        final CategoryDraft grandChildDraft =
+            putCategoryWithNewParent(categoriesWithParentChanges, "grandChild", "child");
+
+        final List<Map<CategoryDraft, Category>> depthGroups =
+            CategorySync.groupByNewParentDepth(categoriesWithParentChanges);
+
+        assertThat(depthGroups).hasSize(3);
+        assertThat(depthGroups.get(0)).containsOnlyKeys(rootDraft, otherRootDraft);
+        assertThat(depthGroups.get(1)).containsOnlyKeys(childDraft);
+        assertThat(depthGroups.get(2)).containsOnlyKeys(grandChildDraft);
+    }
+
+    @Test
+    public void groupByNewParentDepth_WithCyclicNewParents_ShouldGroupAllCategories() {
+        final Map<CategoryDraft, Category> categoriesWithParentChanges = new HashMap<>();
+        final CategoryDraft firstDraft = putCategoryWithNewParent(categoriesWithParentChanges, "first", "second");
+        final CategoryDraft secondDraft = putCategoryWithNewParent(categoriesWithParentChanges, "second", "first");
+
+        final List<Map<CategoryDraft, Category>> depthGroups =
+            CategorySync.groupByNewParentDepth(categoriesWithParentChanges);
+
+        assertThat(depthGroups).hasSize(2);
+        assertThat(depthGroups.stream().flatMap(depthGroup -> depthGroup.keySet().stream()))
+            .containsExactlyInAnyOrder(firstDraft, secondDraft);
+    }
+
     @Test
     public void sync_WithBatchSizeSet_ShouldCallSyncOnEachBatch() {
         final int batchSize = 1;
@@ -454,10 +657,10 @@ public class CategorySyncTest {
         final CategorySyncStatistics syncStatistics = mockCategorySync.sync(categoryDrafts)
                                                                       .toCompletableFuture().join();
 
-        int expectedNumberOfCalls = (int) (Math.ceil(numberOfCategoryDrafts / batchSize) + 1);
-        verify(mockCategorySync, times(expectedNumberOfCalls)).syncBatches(any(), any());
+        int expectedNumberOfBatches = (int) Math.ceil(numberOfCategoryDrafts / batchSize);
+        verify(mockCategorySync, times(expectedNumberOfBatches)).processBatch(any());
 
-        int expectedNumberOfCategoriesCreated = expectedNumberOfCalls - 1;
+        int expectedNumberOfCategoriesCreated = expectedNumberOfBatches;
         assertThat(syncStatistics.getCreated()).isEqualTo(expectedNumberOfCategoriesCreated);
         assertThat(syncStatistics.getFailed()).isEqualTo(0);
         assertThat(syncStatistics.getUpdated()).isEqualTo(0);
@@ -487,13 +690,13 @@ public class CategorySyncTest {
             .sync(categoryDrafts)
             .toCompletableFuture().join();
 
-        expectedNumberOfCalls =
-            (int) (Math.ceil(numberOfCategoryDrafts / (double) CategorySyncOptionsBuilder.BATCH_SIZE_DEFAULT) + 1);
+        expectedNumberOfBatches =
+            (int) Math.ceil(numberOfCategoryDrafts / (double) CategorySyncOptionsBuilder.BATCH_SIZE_DEFAULT);
 
-        verify(mockCategorySyncWithDefaultBatchSize, times(expectedNumberOfCalls)).syncBatches(any(), any());
+        verify(mockCategorySyncWithDefaultBatchSize, times(expectedNumberOfBatches)).processBatch(any());
 
 
-        expectedNumberOfCategoriesCreated = expectedNumberOfCalls - 1;
+        expectedNumberOfCategoriesCreated = expectedNumberOfBatches;
         final int expectedFailedCategories = categoryDrafts.size() - (expectedNumberOfCategoriesCreated);
 
         assertThat(syncStatisticsWithDefaultBatchSize.getCreated()).isEqualTo(expectedNumberOfCategoriesCreated);
@@ -507,4 +710,15 @@ public class CategorySyncTest {
         assertThat(errorCallBackMessages).hasSize(0);
         assertThat(errorCallBackExceptions).hasSize(0);
     }
+
+    private static CategoryDraft putCategoryWithNewParent(@Nonnull final Map<CategoryDraft, Category> categories,
+                                                          @Nonnull final String categoryId,
+                                                          @Nonnull final String newParentId) {
+        final Category category = mock(Category.class);
+        when(category.getId()).thenReturn(categoryId);
+        final CategoryDraft categoryDraft = mock(CategoryDraft.class);
+        when(categoryDraft.getParent()).thenReturn(Category.referenceOfId(newParentId));
+        categories.put(categoryDraft, category);
+        return categoryDraft;
+    }
 }
@@ -13,6 +13,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.commercetools.sync.commons.MockUtils.getStatisticsAsJsonString;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class CategorySyncStatisticsTest {
@@ -194,4 +195,68 @@ public class CategorySyncStatisticsTest {
             .getNumberOfCategoriesWithMissingParents(categoryKeysWithMissingParents);
         assertThat(numberOfCategoriesWithMissingParents).isEqualTo(4);
     }
+
+    @Test
+    public void getNumberOfCategoriesWithMissingParents_WithEmptyIndex_ShouldReturn0() {
+        final int numberOfCategoriesWithMissingParents = CategorySyncStatistics
+            .getNumberOfCategoriesWithMissingParents(new MissingParentsIndex());
+        assertThat(numberOfCategoriesWithMissingParents).isZero();
+    }
+
+    @Test
+    public void getNumberOfCategoriesWithMissingParents_WithNonEmptyIndex_ShouldReturnCorrectNumberOfChildren() {
+        final MissingParentsIndex categoryKeysWithMissingParents = new MissingParentsIndex();
+        categoryKeysWithMissingParents.put("key1", "parent1");
+        categoryKeysWithMissingParents.put("key2", "parent1");
+        categoryKeysWithMissingParents.put("key3", "parent2");
+        categoryKeysWithMissingParents.put("key4", "parent2");
+
+        final int numberOfCategoriesWithMissingParents = CategorySyncStatistics
+            .getNumberOfCategoriesWithMissingParents(categoryKeysWithMissingParents);
+        assertThat(numberOfCategoriesWithMissingParents).isEqualTo(4);
+    }
+
+    @Test
+    public void getMissingParentsIndex_WithLaterChangesToIndex_ShouldReflectChanges() {
+        final MissingParentsIndex missingParentsIndex = new MissingParentsIndex();
+        categorySyncStatistics.setMissingParentsIndex(missingParentsIndex);
+
+        missingParentsIndex.put("key1", "parent1");
+
+        assertThat(categorySyncStatistics.getMissingParentsIndex().asMap()).containsOnlyKeys("parent1");
+        assertThat(categorySyncStatistics.getMissingParentsIndex().getChildKeys("parent1")).containsExactly("key1");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void getCategoryKeysWithMissingParents_WithMissingParents_ShouldReturnCopyOfChildKeysByParentKey() {
+        final MissingParentsIndex missingParentsIndex = new MissingParentsIndex();
+        missingParentsIndex.put("key1", "parent1");
+        missingParentsIndex.put("key2", "parent1");
+        categorySyncStatistics.setMissingParentsIndex(missingParentsIndex);
+
+        final Map<String, ArrayList<String>> categoryKeysWithMissingParents =
+            categorySyncStatistics.getCategoryKeysWithMissingParents();
+        missingParentsIndex.put("key3", "parent2");
+
+        assertThat(categoryKeysWithMissingParents).containsOnlyKeys("parent1");
+        assertThat(categoryKeysWithMissingParents.get("parent1")).containsExactly("key1", "key2");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void setCategoryKeysWithMissingParents_WithMap_ShouldRepopulateMissingParentsIndexInPlace() {
+        final MissingParentsIndex missingParentsIndex = new MissingParentsIndex();
+        missingParentsIndex.put("key3", "parent2");
+        categorySyncStatistics.setMissingParentsIndex(missingParentsIndex);
+        final Map<String, ArrayList<String>> categoryKeysWithMissingParents = new HashMap<>();
+        categoryKeysWithMissingParents.put("parent1", new ArrayList<>(asList("key1", "key2")));
+
+        categorySyncStatistics.setCategoryKeysWithMissingParents(categoryKeysWithMissingParents);
+
+        assertThat(categorySyncStatistics.getMissingParentsIndex()).isSameAs(missingParentsIndex);
+        assertThat(missingParentsIndex.getMissingParentKey("key2")).isEqualTo("parent1");
+        assertThat(missingParentsIndex.getMissingParentKey("key3")).isNull();
+        assertThat(missingParentsIndex.size()).isEqualTo(2);
+    }
 }
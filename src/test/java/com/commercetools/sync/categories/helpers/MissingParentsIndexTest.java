@@ -0,0 +1,93 @@
+package com.commercetools.sync.categories.helpers;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MissingParentsIndexTest {
+    private MissingParentsIndex missingParentsIndex;
+
+    @Before
+    public void setup() {
+        missingParentsIndex = new MissingParentsIndex();
+    }
+
+    @Test
+    public void put_WithChildrenOfSameParent_ShouldIndexBothDirections() {
+        missingParentsIndex.put("child1", "parent");
+        missingParentsIndex.put("child2", "parent");
+
+        assertThat(missingParentsIndex.getChildKeys("parent")).containsExactly("child1", "child2");
+        assertThat(missingParentsIndex.getMissingParentKey("child1")).isEqualTo("parent");
+        assertThat(missingParentsIndex.getMissingParentKey("child2")).isEqualTo("parent");
+        assertThat(missingParentsIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void put_WithChildOfAnotherParent_ShouldMoveChildToNewParent() {
+        missingParentsIndex.put("child", "parent1");
+        missingParentsIndex.put("child", "parent2");
+
+        assertThat(missingParentsIndex.getChildKeys("parent1")).isEmpty();
+        assertThat(missingParentsIndex.getChildKeys("parent2")).containsExactly("child");
+        assertThat(missingParentsIndex.asMap()).containsOnlyKeys("parent2");
+        assertThat(missingParentsIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void remove_WithLastChildOfParent_ShouldRemoveParent() {
+        missingParentsIndex.put("child1", "parent1");
+        missingParentsIndex.put("child2", "parent2");
+
+        missingParentsIndex.remove("child1");
+        missingParentsIndex.remove("nonExistingChild");
+
+        assertThat(missingParentsIndex.getMissingParentKey("child1")).isNull();
+        assertThat(missingParentsIndex.asMap()).containsOnlyKeys("parent2");
+        assertThat(missingParentsIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void clear_WithChildren_ShouldRemoveAllChildrenAndParents() {
+        missingParentsIndex.put("child1", "parent1");
+        missingParentsIndex.put("child2", "parent2");
+
+        missingParentsIndex.clear();
+
+        assertThat(missingParentsIndex.getMissingParentKey("child1")).isNull();
+        assertThat(missingParentsIndex.getChildKeys("parent2")).isEmpty();
+        assertThat(missingParentsIndex.asMap()).isEmpty();
+        assertThat(missingParentsIndex.size()).isZero();
+    }
+
+    @Test
+    public void asMap_WithLaterChangesToIndex_ShouldReturnUnchangedSnapshot() {
+        missingParentsIndex.put("child1", "parent");
+
+        final Map<String, Set<String>> snapshot = missingParentsIndex.asMap();
+        missingParentsIndex.put("child2", "parent");
+        missingParentsIndex.put("child3", "otherParent");
+
+        assertThat(snapshot).containsOnlyKeys("parent");
+        assertThat(snapshot.get("parent")).containsExactly("child1");
+    }
+
+    @Test
+    public void getChildKeys_WithLaterChangesToIndex_ShouldReturnUnchangedCopy() {
+        missingParentsIndex.put("child1", "parent");
+        missingParentsIndex.put("child2", "parent");
+
+        final Set<String> childKeys = missingParentsIndex.getChildKeys("parent");
+        for (final String childKey : childKeys) {
+            missingParentsIndex.remove(childKey);
+            missingParentsIndex.put(childKey + "-new", "parent");
+        }
+
+        assertThat(childKeys).containsExactly("child1", "child2");
+        assertThat(missingParentsIndex.getChildKeys("parent")).containsExactly("child1-new", "child2-new");
+    }
+}
@@ -0,0 +1,116 @@
+package com.commercetools.sync.categories.utils;
+
+import com.commercetools.sync.commons.helpers.FingerprintHasher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.types.CustomFields;
+import io.sphere.sdk.types.CustomFieldsDraft;
+import io.sphere.sdk.types.CustomFieldsDraftBuilder;
+import io.sphere.sdk.types.Type;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.commercetools.sync.categories.CategorySyncMockUtils.getMockCategory;
+import static com.commercetools.sync.categories.CategorySyncMockUtils.getMockCategoryDraft;
+import static com.commercetools.sync.categories.utils.CategoryFingerprintUtils.fingerprint;
+import static com.commercetools.sync.categories.utils.CategoryFingerprintUtils.hasSameFingerprint;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CategoryFingerprintUtilsTest {
+
+    @Test
+    public void hasSameFingerprint_WithSameValues_ShouldReturnTrue() {
+        final Category category = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        final CustomFields customFields = getMockCustomFields("typeId", "field", "value");
+        when(category.getCustom()).thenReturn(customFields);
+        final CategoryDraft draft = getMockCategoryDraft(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        final Map<String, JsonNode> draftCustomFields = new HashMap<>();
+        draftCustomFields.put("field", JsonNodeFactory.instance.textNode("value"));
+        draftCustomFields.put("unsetField", null);
+        when(draft.getCustom()).thenReturn(CustomFieldsDraft.ofTypeIdAndJson("typeId", draftCustomFields));
+
+        assertThat(hasSameFingerprint(category, draft)).isTrue();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithTranslationsInDifferentOrder_ShouldReturnTrue() {
+        final Category category = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        when(category.getName()).thenReturn(LocalizedString.of(Locale.ENGLISH, "name", Locale.GERMAN, "Name"));
+        final CategoryDraft draft = getMockCategoryDraft(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        when(draft.getName()).thenReturn(LocalizedString.of(Locale.GERMAN, "Name", Locale.ENGLISH, "name"));
+
+        assertThat(hasSameFingerprint(category, draft)).isTrue();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithDifferentValues_ShouldReturnFalse() {
+        final Category category = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+
+        assertThat(hasSameFingerprint(category, getMockCategoryDraft(Locale.ENGLISH, "other name", "slug", "key",
+            "externalId", "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId")))
+            .isFalse();
+        assertThat(hasSameFingerprint(category, getMockCategoryDraft(Locale.GERMAN, "name", "slug", "key",
+            "externalId", "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId")))
+            .isFalse();
+        assertThat(hasSameFingerprint(category, getMockCategoryDraft(Locale.ENGLISH, "name", "slug", "key",
+            "externalId", "description", "metaDescription", "metaTitle", "metaKeywords", "otherOrderHint",
+            "parentId"))).isFalse();
+        assertThat(hasSameFingerprint(category, getMockCategoryDraft(Locale.ENGLISH, "name", "slug", "key",
+            "externalId", "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint",
+            "otherParentId"))).isFalse();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithDifferentCustomFields_ShouldReturnFalse() {
+        final Category category = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        final CustomFields customFields = getMockCustomFields("typeId", "field", "value");
+        when(category.getCustom()).thenReturn(customFields);
+        final CategoryDraft draft = getMockCategoryDraft(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        when(draft.getCustom())
+            .thenReturn(CustomFieldsDraftBuilder.ofTypeId("typeId").addObject("field", "other value").build());
+
+        assertThat(hasSameFingerprint(category, draft)).isFalse();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithBlankCustomTypeId_ShouldReturnFalse() {
+        final Category category = getMockCategory(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        final CustomFields customFields = getMockCustomFields("", "field", "value");
+        when(category.getCustom()).thenReturn(customFields);
+        final CategoryDraft draft = getMockCategoryDraft(Locale.ENGLISH, "name", "slug", "key", "externalId",
+            "description", "metaDescription", "metaTitle", "metaKeywords", "orderHint", "parentId");
+        when(draft.getCustom()).thenReturn(CustomFieldsDraftBuilder.ofTypeId("").addObject("field", "value").build());
+
+        assertThat(fingerprint(FingerprintHasher.of(), draft)).isNull();
+        assertThat(hasSameFingerprint(category, draft)).isFalse();
+    }
+
+    private static CustomFields getMockCustomFields(final String typeId, final String fieldName,
+                                                    final Object fieldValue) {
+        final CustomFields customFields = mock(CustomFields.class);
+        final Type type = mock(Type.class);
+        when(type.getId()).thenReturn(typeId);
+        when(customFields.getFieldsJsonMap()).thenReturn(singletonMap(fieldName,
+            CustomFieldsDraftBuilder.ofTypeId(typeId).addObject(fieldName, fieldValue).build().getFields()
+                                    .get(fieldName)));
+        when(customFields.getType()).thenReturn(Type.referenceOfId(typeId).filled(type));
+        return customFields;
+    }
+}
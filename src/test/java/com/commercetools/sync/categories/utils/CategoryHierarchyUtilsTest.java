@@ -0,0 +1,71 @@
+package com.commercetools.sync.categories.utils;
+
+import io.sphere.sdk.categories.CategoryDraft;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+import static com.commercetools.sync.categories.CategorySyncMockUtils.getMockCategoryDraft;
+import static com.commercetools.sync.categories.utils.CategoryHierarchyUtils.groupByHierarchyLevel;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CategoryHierarchyUtilsTest {
+
+    @Test
+    public void groupByHierarchyLevel_WithEmptyList_ShouldReturnNoLevels() {
+        assertThat(groupByHierarchyLevel(Collections.emptyList(), false)).isEmpty();
+    }
+
+    @Test
+    public void groupByHierarchyLevel_WithChildrenBeforeParents_ShouldPlaceParentsOnEarlierLevels() {
+        final CategoryDraft grandChild = getDraft("grandChild", "child");
+        final CategoryDraft child = getDraft("child", "root");
+        final CategoryDraft otherChild = getDraft("otherChild", "root");
+        final CategoryDraft root = getDraft("root", "existingParent");
+
+        final List<List<CategoryDraft>> levels =
+            groupByHierarchyLevel(Arrays.asList(grandChild, child, otherChild, root), false);
+
+        assertThat(levels).containsExactly(
+            Collections.singletonList(root),
+            Arrays.asList(child, otherChild),
+            Collections.singletonList(grandChild));
+    }
+
+    @Test
+    public void groupByHierarchyLevel_WithInvalidDrafts_ShouldPlaceThemOnTopLevel() {
+        final CategoryDraft draftWithoutKey = getDraft("", "root");
+        final CategoryDraft root = getDraft("root", "existingParent");
+        final List<CategoryDraft> categoryDrafts = new ArrayList<>();
+        categoryDrafts.add(draftWithoutKey);
+        categoryDrafts.add(null);
+        categoryDrafts.add(root);
+
+        final List<List<CategoryDraft>> levels = groupByHierarchyLevel(categoryDrafts, false);
+
+        assertThat(levels).hasSize(1);
+        assertThat(levels.get(0)).containsExactly(draftWithoutKey, null, root);
+    }
+
+    @Test
+    public void groupByHierarchyLevel_WithCyclicParents_ShouldAppendCycleAsLastLevel() {
+        final CategoryDraft root = getDraft("root", "existingParent");
+        final CategoryDraft first = getDraft("first", "second");
+        final CategoryDraft second = getDraft("second", "first");
+
+        final List<List<CategoryDraft>> levels = groupByHierarchyLevel(Arrays.asList(first, root, second), false);
+
+        assertThat(levels).hasSize(2);
+        assertThat(levels.get(0)).containsExactly(root);
+        assertThat(levels.get(1)).containsExactlyInAnyOrder(first, second);
+    }
+
+    private static CategoryDraft getDraft(final String key, final String parentKey) {
+        return getMockCategoryDraft(Locale.ENGLISH, "name", key, parentKey, "customTypeId", new HashMap<>());
+    }
+}
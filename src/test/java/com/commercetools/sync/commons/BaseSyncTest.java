@@ -1,14 +1,35 @@
 package com.commercetools.sync.commons;
 
+import com.commercetools.sync.commons.exceptions.PartialUpdateException;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
+import com.commercetools.sync.products.ProductSyncOptions;
+import com.commercetools.sync.products.ProductSyncOptionsBuilder;
+import com.commercetools.sync.products.helpers.ProductSyncStatistics;
 import io.sphere.sdk.client.BadRequestException;
 import io.sphere.sdk.client.ConcurrentModificationException;
+import io.sphere.sdk.client.SphereClient;
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.commercetools.sync.commons.BaseSync.executeSupplierIfConcurrentModificationException;
+import static com.commercetools.sync.commons.utils.SyncUtils.batchDrafts;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 
 public class BaseSyncTest {
@@ -34,4 +55,238 @@ public class BaseSyncTest {
             secondSupplier);
         assertThat(result).contains("SecondSupplier");
     }
+
+    @Test
+    public void
+        executeSupplierIfConcurrentModificationException_WithPartialUpdateConflict_ShouldExecuteFirstSupplier() {
+        final Throwable sphereException = new PartialUpdateException("id", 1, 2, new ArrayList<>(), 2L,
+            new ConcurrentModificationException());
+        final Supplier<Optional<String>> firstSupplier = () -> Optional.of("firstSupplier");
+        final Supplier<Optional<String>> secondSupplier = () -> Optional.of("SecondSupplier");
+        final Optional<String> result = executeSupplierIfConcurrentModificationException(sphereException, firstSupplier,
+            secondSupplier);
+        assertThat(result).contains("firstSupplier");
+    }
+
+    @Test
+    public void sync_WithDefaultMaxParallelBatches_ShouldProcessBatchesSequentially() {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(2)
+                                                                        .build();
+        final BatchRecordingSync sync = new BatchRecordingSync(syncOptions);
+
+        final List<CompletableFuture<ProductSyncStatistics>> batchFutures = sync.startedBatchFutures;
+        final CompletionStage<ProductSyncStatistics> result = sync.sync(Arrays.asList("a", "b", "c", "d", "e"));
+
+        assertThat(batchFutures).hasSize(1);
+        batchFutures.get(0).complete(sync.getStatistics());
+        assertThat(batchFutures).hasSize(2);
+        batchFutures.get(1).complete(sync.getStatistics());
+        assertThat(batchFutures).hasSize(3);
+        batchFutures.get(2).complete(sync.getStatistics());
+
+        assertThat(result.toCompletableFuture().join().getProcessed()).isEqualTo(5);
+        assertThat(sync.maxBatchesInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void sync_WithMaxParallelBatches_ShouldStartNextBatchOnceAnInFlightBatchIsDone() {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(1)
+                                                                        .setMaxParallelBatches(2)
+                                                                        .build();
+        final BatchRecordingSync sync = new BatchRecordingSync(syncOptions);
+
+        final List<CompletableFuture<ProductSyncStatistics>> batchFutures = sync.startedBatchFutures;
+        final CompletionStage<ProductSyncStatistics> result = sync.sync(Arrays.asList("a", "b", "c", "d"));
+
+        assertThat(batchFutures).hasSize(2);
+        batchFutures.get(1).complete(sync.getStatistics());
+        assertThat(batchFutures).hasSize(3);
+        batchFutures.get(0).complete(sync.getStatistics());
+        assertThat(batchFutures).hasSize(4);
+        assertThat(result.toCompletableFuture()).isNotDone();
+        batchFutures.get(2).complete(sync.getStatistics());
+        batchFutures.get(3).complete(sync.getStatistics());
+
+        assertThat(result.toCompletableFuture().join().getProcessed()).isEqualTo(4);
+        assertThat(sync.maxBatchesInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void sync_WithStream_ShouldOnlyPullNextBatchOnceAnInFlightBatchIsDone() {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(2)
+                                                                        .setMaxParallelBatches(2)
+                                                                        .build();
+        final BatchRecordingSync sync = new BatchRecordingSync(syncOptions);
+        final AtomicInteger pulledDrafts = new AtomicInteger();
+        final AtomicBoolean isClosed = new AtomicBoolean();
+        final Stream<String> drafts = Stream.of("a", "b", "c", "d", "e", "f", "g")
+                                            .peek(draft -> pulledDrafts.incrementAndGet())
+                                            .onClose(() -> isClosed.set(true));
+
+        final List<CompletableFuture<ProductSyncStatistics>> batchFutures = sync.startedBatchFutures;
+        final CompletionStage<ProductSyncStatistics> result = sync.sync(drafts);
+
+        assertThat(batchFutures).hasSize(2);
+        assertThat(pulledDrafts.get()).isEqualTo(4);
+        batchFutures.get(0).complete(sync.getStatistics());
+        assertThat(batchFutures).hasSize(3);
+        assertThat(pulledDrafts.get()).isEqualTo(6);
+        batchFutures.get(1).complete(sync.getStatistics());
+        assertThat(batchFutures).hasSize(4);
+        assertThat(pulledDrafts.get()).isEqualTo(7);
+        assertThat(isClosed.get()).isFalse();
+        batchFutures.get(2).complete(sync.getStatistics());
+        batchFutures.get(3).complete(sync.getStatistics());
+
+        assertThat(result.toCompletableFuture().join().getProcessed()).isEqualTo(7);
+        assertThat(sync.maxBatchesInFlight.get()).isEqualTo(2);
+        assertThat(isClosed.get()).isTrue();
+    }
+
+    @Test
+    public void sync_WithStreamOfManySynchronouslySyncedBatches_ShouldSyncAllBatchesWithoutOverflowingTheStack() {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(1)
+                                                                        .build();
+        final SynchronousSync sync = new SynchronousSync(syncOptions);
+        final int numberOfDrafts = 100_000;
+
+        final ProductSyncStatistics statistics = sync.sync(IntStream.range(0, numberOfDrafts)
+                                                                    .mapToObj(String::valueOf))
+                                                     .toCompletableFuture().join();
+
+        assertThat(statistics.getProcessed()).isEqualTo(numberOfDrafts);
+    }
+
+    @Test
+    public void sync_WithManySynchronouslySyncedBatches_ShouldSyncAllBatchesWithoutOverflowingTheStack() {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(1)
+                                                                        .build();
+        final SynchronousSync sync = new SynchronousSync(syncOptions);
+        final List<String> drafts = IntStream.range(0, 100_000).mapToObj(String::valueOf).collect(toList());
+
+        final ProductSyncStatistics statistics = sync.sync(drafts).toCompletableFuture().join();
+
+        assertThat(statistics.getProcessed()).isEqualTo(drafts.size());
+    }
+
+    @Test
+    public void sync_WithBatchSyncerThrowing_ShouldCompleteExceptionally() {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(1)
+                                                                        .build();
+        final SynchronousSync sync = new SynchronousSync(syncOptions);
+        sync.failingDraft = "b";
+
+        final CompletableFuture<ProductSyncStatistics> result =
+            sync.sync(Stream.of("a", "b", "c")).toCompletableFuture();
+
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    public void sync_WithSyncMetricsListener_ShouldReportMetricsOncePerBatchWithoutRepeatingFinalReport() {
+        final List<SyncMetricsSnapshot> reportedSnapshots = new ArrayList<>();
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(2)
+                                                                        .setSyncMetrics(SyncMetrics.of())
+                                                                        .setSyncMetricsListener(reportedSnapshots::add)
+                                                                        .build();
+
+        new SynchronousSync(syncOptions).sync(Arrays.asList("a", "b", "c", "d", "e")).toCompletableFuture().join();
+
+        assertThat(reportedSnapshots).extracting(SyncMetricsSnapshot::getProcessedDrafts).containsExactly(2L, 4L, 5L);
+    }
+
+    @Test
+    public void sync_WithSyncMetricsListenerAndStreamOfDrafts_ShouldReportMetricsOncePerBatch() {
+        final List<SyncMetricsSnapshot> reportedSnapshots = new ArrayList<>();
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(2)
+                                                                        .setSyncMetrics(SyncMetrics.of())
+                                                                        .setSyncMetricsListener(reportedSnapshots::add)
+                                                                        .build();
+
+        new SynchronousSync(syncOptions).sync(Stream.of("a", "b", "c", "d")).toCompletableFuture().join();
+
+        assertThat(reportedSnapshots).extracting(SyncMetricsSnapshot::getProcessedDrafts).containsExactly(2L, 4L);
+    }
+
+    @Test
+    public void sync_WithSyncMetricsListenerAndNoDrafts_ShouldReportFinalMetricsOnce() {
+        final List<SyncMetricsSnapshot> reportedSnapshots = new ArrayList<>();
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setSyncMetrics(SyncMetrics.of())
+                                                                        .setSyncMetricsListener(reportedSnapshots::add)
+                                                                        .build();
+
+        new SynchronousSync(syncOptions).sync(new ArrayList<>()).toCompletableFuture().join();
+
+        assertThat(reportedSnapshots).extracting(SyncMetricsSnapshot::getProcessedDrafts).containsExactly(0L);
+    }
+
+    @Test
+    public void sync_WithSyncMetricsListenerButNoSyncMetrics_ShouldNotReportMetrics() {
+        final List<SyncMetricsSnapshot> reportedSnapshots = new ArrayList<>();
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setSyncMetricsListener(reportedSnapshots::add)
+                                                                        .build();
+
+        new SynchronousSync(syncOptions).sync(Arrays.asList("a", "b")).toCompletableFuture().join();
+
+        assertThat(reportedSnapshots).isEmpty();
+    }
+
+    private static final class SynchronousSync extends BaseSync<String, ProductSyncStatistics, ProductSyncOptions> {
+        private String failingDraft;
+
+        private SynchronousSync(@Nonnull final ProductSyncOptions syncOptions) {
+            super(new ProductSyncStatistics(), syncOptions);
+        }
+
+        @Override
+        protected CompletionStage<ProductSyncStatistics> process(@Nonnull final List<String> resourceDrafts) {
+            return syncBatches(batchDrafts(resourceDrafts, syncOptions.getBatchSize()), completedFuture(statistics));
+        }
+
+        @Override
+        protected CompletionStage<ProductSyncStatistics> processBatch(@Nonnull final List<String> batch) {
+            if (batch.contains(failingDraft)) {
+                throw new IllegalStateException("failed to sync batch");
+            }
+            statistics.incrementProcessed(batch.size());
+            return completedFuture(statistics);
+        }
+    }
+
+    private static final class BatchRecordingSync extends BaseSync<String, ProductSyncStatistics, ProductSyncOptions> {
+        private final List<CompletableFuture<ProductSyncStatistics>> startedBatchFutures = new ArrayList<>();
+        private final AtomicInteger batchesInFlight = new AtomicInteger();
+        private final AtomicInteger maxBatchesInFlight = new AtomicInteger();
+
+        private BatchRecordingSync(@Nonnull final ProductSyncOptions syncOptions) {
+            super(new ProductSyncStatistics(), syncOptions);
+        }
+
+        @Override
+        protected CompletionStage<ProductSyncStatistics> process(@Nonnull final List<String> resourceDrafts) {
+            return syncBatches(batchDrafts(resourceDrafts, syncOptions.getBatchSize()), completedFuture(statistics));
+        }
+
+        @Override
+        protected CompletionStage<ProductSyncStatistics> processBatch(@Nonnull final List<String> batch) {
+            maxBatchesInFlight.accumulateAndGet(batchesInFlight.incrementAndGet(), Math::max);
+            final CompletableFuture<ProductSyncStatistics> batchFuture = new CompletableFuture<>();
+            startedBatchFutures.add(batchFuture);
+            return batchFuture.thenApply(result -> {
+                batchesInFlight.decrementAndGet();
+                statistics.incrementProcessed(batch.size());
+                return statistics;
+            });
+        }
+    }
 }
@@ -60,6 +60,11 @@ public class MockUtils {
      * <ul>
      * <li>{@link CategoryService#fetchCachedCategoryId(String)}</li>
      * </ul>
+     * or returns a mapping of the key of the mocked category to a dummy category id of value "categoryId" whenever
+     * the following method is called on the service:
+     * <ul>
+     * <li>{@link CategoryService#fetchCachedCategoryIds(Set)}</li>
+     * </ul>
      *
      * <p>The mocked category returned has the following fields:
      * <ul>
@@ -104,6 +109,8 @@ public class MockUtils {
             .thenReturn(CompletableFuture.completedFuture(Collections.emptySet()));
         when(categoryService.fetchMatchingCategoriesByKeys(any()))
             .thenReturn(CompletableFuture.completedFuture(Collections.singleton(category)));
+        when(categoryService.fetchCachedCategoryIds(any()))
+            .thenReturn(CompletableFuture.completedFuture(Collections.singletonMap(category.getKey(), "categoryId")));
 
         Map<String, String> mockCategoryKeyToIdCache = new HashMap<>();
         mockCategoryKeyToIdCache.put(category.getKey(), String.valueOf(UUID.randomUUID()));
@@ -0,0 +1,113 @@
+package com.commercetools.sync.commons.helpers;
+
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.ServiceUnavailableException;
+import io.sphere.sdk.client.SphereClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveConcurrencySphereClientDecoratorTest {
+    private SphereClient delegate;
+    private List<CompletableFuture<Object>> delegateResponses;
+
+    /**
+     * Stubs the decorated {@link SphereClient} to return a new incomplete future on every request, so that the tests
+     * can complete the requests in flight one by one.
+     */
+    @Before
+    public void setup() {
+        delegate = mock(SphereClient.class);
+        delegateResponses = new ArrayList<>();
+        when(delegate.execute(any())).thenAnswer(invocation -> {
+            final CompletableFuture<Object> response = new CompletableFuture<>();
+            delegateResponses.add(response);
+            return response;
+        });
+    }
+
+    @Test
+    public void execute_WithRequestsExceedingLimit_ShouldQueueRequestsUntilARequestIsCompleted() {
+        final AdaptiveConcurrencySphereClientDecorator client =
+            AdaptiveConcurrencySphereClientDecorator.of(delegate, 2, 1, 2, Duration.ofMinutes(1));
+
+        client.execute(CategoryQuery.of());
+        client.execute(CategoryQuery.of());
+        final CompletionStage<?> thirdRequest = client.execute(CategoryQuery.of());
+
+        assertThat(delegateResponses).hasSize(2);
+        assertThat(client.getInFlightRequests()).isEqualTo(2);
+        assertThat(client.getQueueDepth()).isEqualTo(1);
+
+        delegateResponses.get(0).complete(null);
+
+        assertThat(delegateResponses).hasSize(3);
+        assertThat(client.getQueueDepth()).isEqualTo(0);
+        delegateResponses.get(2).complete(null);
+        assertThat(thirdRequest.toCompletableFuture()).isCompleted();
+    }
+
+    @Test
+    public void execute_WithSuccessfulResponseWhileLimitIsFullyUsed_ShouldIncreaseLimit() {
+        final AdaptiveConcurrencySphereClientDecorator client =
+            AdaptiveConcurrencySphereClientDecorator.of(delegate, 1, 1, 10, Duration.ofMinutes(1));
+
+        client.execute(CategoryQuery.of());
+        client.execute(CategoryQuery.of());
+        delegateResponses.get(0).complete(null);
+
+        assertThat(client.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void execute_WithServiceUnavailableResponse_ShouldDecreaseLimit() {
+        final AdaptiveConcurrencySphereClientDecorator client =
+            AdaptiveConcurrencySphereClientDecorator.of(delegate, 10, 1, 10, Duration.ofMinutes(1));
+
+        final CompletionStage<?> request = client.execute(CategoryQuery.of());
+        delegateResponses.get(0).completeExceptionally(new ServiceUnavailableException());
+
+        assertThat(client.getLimit()).isEqualTo(9);
+        assertThat(client.getInFlightRequests()).isEqualTo(0);
+        assertThat(request.toCompletableFuture()).isCompletedExceptionally();
+    }
+
+    @Test
+    public void execute_WithServiceUnavailableResponseAtMinimumLimit_ShouldNotDecreaseLimitBelowMinimum() {
+        final AdaptiveConcurrencySphereClientDecorator client =
+            AdaptiveConcurrencySphereClientDecorator.of(delegate, 1, 1, 10, Duration.ofMinutes(1));
+
+        client.execute(CategoryQuery.of());
+        delegateResponses.get(0).completeExceptionally(new ServiceUnavailableException());
+
+        assertThat(client.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_WithBurstOfServiceUnavailableResponses_ShouldDecreaseLimitOncePerEpoch() {
+        final AdaptiveConcurrencySphereClientDecorator client =
+            AdaptiveConcurrencySphereClientDecorator.of(delegate, 10, 1, 10, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            client.execute(CategoryQuery.of());
+        }
+        delegateResponses.forEach(response -> response.completeExceptionally(new ServiceUnavailableException()));
+
+        assertThat(client.getLimit()).isEqualTo(9);
+
+        client.execute(CategoryQuery.of());
+        delegateResponses.get(5).completeExceptionally(new ServiceUnavailableException());
+
+        assertThat(client.getLimit()).isEqualTo(8);
+    }
+}
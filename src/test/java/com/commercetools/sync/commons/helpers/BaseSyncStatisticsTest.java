@@ -6,7 +6,11 @@ import io.netty.util.internal.StringUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static com.commercetools.sync.commons.MockUtils.getStatisticsAsJsonString;
 import static java.lang.String.format;
@@ -112,6 +116,42 @@ public class BaseSyncStatisticsTest {
             .contains(format(", %dms", remainingMillis));
     }
 
+    @Test
+    public void incrementUpdated_FromConcurrentThreads_ShouldNotLoseIncrements() {
+        final int numberOfThreads = 8;
+        final int incrementsPerThread = 10000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        final CompletableFuture[] futures = IntStream.range(0, numberOfThreads)
+            .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                for (int increment = 0; increment < incrementsPerThread; increment++) {
+                    baseSyncStatistics.incrementUpdated();
+                    baseSyncStatistics.incrementProcessed();
+                }
+            }, executorService))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+        executorService.shutdown();
+
+        assertThat(baseSyncStatistics.getUpdated()).isEqualTo(numberOfThreads * incrementsPerThread);
+        assertThat(baseSyncStatistics.getProcessed()).isEqualTo(numberOfThreads * incrementsPerThread);
+    }
+
+    @Test
+    public void snapshot_WithIncrementedCounters_ShouldReturnCountersAtTimeOfSnapshot() {
+        baseSyncStatistics.incrementCreated(2);
+        baseSyncStatistics.incrementUpdated();
+        baseSyncStatistics.incrementFailed();
+        baseSyncStatistics.incrementProcessed(4);
+
+        final SyncStatisticsSnapshot snapshot = baseSyncStatistics.snapshot();
+        baseSyncStatistics.incrementProcessed();
+
+        assertThat(snapshot.getCreated()).isEqualTo(2);
+        assertThat(snapshot.getUpdated()).isEqualTo(1);
+        assertThat(snapshot.getFailed()).isEqualTo(1);
+        assertThat(snapshot.getProcessed()).isEqualTo(4);
+    }
+
     @Test
     public void getStatisticsAsJsonString_WithoutCalculatingProcessingTime_ShouldGetCorrectJsonString()
         throws JsonProcessingException {
@@ -0,0 +1,92 @@
+package com.commercetools.sync.commons.helpers;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class CompactKeyToIdMapTest {
+    private static final String ID = "3d5d2b0f-4a4b-4c7b-9e8a-1f2e3d4c5b6a";
+
+    @Test
+    public void formatUuid_WithBitsOfUuid_ShouldFormatSameUuid() {
+        final UUID uuid = UUID.fromString(ID);
+
+        assertThat(CompactKeyToIdMap.formatUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()))
+            .isEqualTo(ID);
+    }
+
+    @Test
+    public void isUuid_WithDifferentIds_ShouldOnlyAcceptLowercaseUuids() {
+        assertThat(CompactKeyToIdMap.isUuid(ID)).isTrue();
+        assertThat(CompactKeyToIdMap.isUuid(ID.toUpperCase())).isFalse();
+        assertThat(CompactKeyToIdMap.isUuid("id")).isFalse();
+        assertThat(CompactKeyToIdMap.isUuid(ID.replace('-', 'a'))).isFalse();
+    }
+
+    @Test
+    public void put_WithUuidAndNonUuidIds_ShouldReturnSameIds() {
+        final CompactKeyToIdMap keyToIdMap = CompactKeyToIdMap.of();
+
+        assertThat(keyToIdMap.put("key-1", ID)).isNull();
+        assertThat(keyToIdMap.put("key-2", "id-2")).isNull();
+        assertThat(keyToIdMap.put("schl\u00fcssel", ID.toUpperCase())).isNull();
+
+        assertThat(keyToIdMap).containsOnly(entry("key-1", ID), entry("key-2", "id-2"),
+            entry("schl\u00fcssel", ID.toUpperCase()));
+        assertThat(keyToIdMap.get("key-3")).isNull();
+    }
+
+    @Test
+    public void put_WithExistingKey_ShouldReplaceIdAndReturnPreviousId() {
+        final CompactKeyToIdMap keyToIdMap = CompactKeyToIdMap.of();
+        keyToIdMap.put("key", "id");
+
+        assertThat(keyToIdMap.put("key", ID)).isEqualTo("id");
+        assertThat(keyToIdMap.put("key", "id")).isEqualTo(ID);
+        assertThat(keyToIdMap).containsOnly(entry("key", "id"));
+    }
+
+    @Test
+    public void remove_WithExistingKeys_ShouldRemoveOnlyThoseKeys() {
+        final CompactKeyToIdMap keyToIdMap = CompactKeyToIdMap.of();
+        keyToIdMap.put("key-1", ID);
+        keyToIdMap.put("key-2", "id-2");
+        keyToIdMap.put("key-3", ID);
+
+        assertThat(keyToIdMap.remove("key-1")).isEqualTo(ID);
+        assertThat(keyToIdMap.remove("key-2")).isEqualTo("id-2");
+        assertThat(keyToIdMap.remove("key-3", "id-3")).isFalse();
+
+        assertThat(keyToIdMap).containsOnly(entry("key-3", ID));
+    }
+
+    @Test
+    public void put_WithManyRandomOperations_ShouldBehaveLikeHashMap() {
+        for (CompactKeyToIdMap keyToIdMap : new CompactKeyToIdMap[]{CompactKeyToIdMap.of(),
+            CompactKeyToIdMap.ofOffHeap()}) {
+            final Map<String, String> expectedMap = new HashMap<>();
+            final Random random = new Random(42);
+            for (int operation = 0; operation < 100000; operation++) {
+                final String key = "key-" + random.nextInt(5000);
+                if (random.nextInt(3) == 0) {
+                    assertThat(keyToIdMap.remove(key)).isEqualTo(expectedMap.remove(key));
+                } else {
+                    final String id = random.nextInt(10) == 0 ? "id-" + operation : UUID.randomUUID().toString();
+                    assertThat(keyToIdMap.put(key, id)).isEqualTo(expectedMap.put(key, id));
+                }
+            }
+
+            assertThat(keyToIdMap).hasSize(expectedMap.size());
+            assertThat(keyToIdMap).isEqualTo(expectedMap);
+
+            keyToIdMap.clear();
+            assertThat(keyToIdMap).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.commercetools.sync.commons.helpers;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConflictRetryPolicyTest {
+
+    @Test
+    public void of_WithoutArguments_ShouldUseDefaults() {
+        final ConflictRetryPolicy conflictRetryPolicy = ConflictRetryPolicy.of();
+
+        assertThat(conflictRetryPolicy.getMaxRetries()).isEqualTo(ConflictRetryPolicy.DEFAULT_MAX_RETRIES);
+        assertThat(conflictRetryPolicy.getInitialBackoff()).isEqualTo(ConflictRetryPolicy.DEFAULT_INITIAL_BACKOFF);
+        assertThat(conflictRetryPolicy.getMaxBackoff()).isEqualTo(ConflictRetryPolicy.DEFAULT_MAX_BACKOFF);
+    }
+
+    @Test
+    public void canRetry_WithRetriesUpToMaxRetries_ShouldOnlyAllowThem() {
+        final ConflictRetryPolicy conflictRetryPolicy = ConflictRetryPolicy.of(2, Duration.ZERO, Duration.ZERO);
+
+        assertThat(conflictRetryPolicy.canRetry(1)).isTrue();
+        assertThat(conflictRetryPolicy.canRetry(2)).isTrue();
+        assertThat(conflictRetryPolicy.canRetry(3)).isFalse();
+        assertThat(ConflictRetryPolicy.of(0, Duration.ZERO, Duration.ZERO).canRetry(1)).isFalse();
+    }
+
+    @Test
+    public void getBackoffInNanos_WithIncreasingRetries_ShouldDoubleJitteredBackoffUpToMaxBackoff() {
+        final ConflictRetryPolicy conflictRetryPolicy =
+            ConflictRetryPolicy.of(100, Duration.ofMillis(100), Duration.ofMillis(350));
+        final long millis = TimeUnit.MILLISECONDS.toNanos(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(conflictRetryPolicy.getBackoffInNanos(1)).isBetween(50 * millis, 100 * millis);
+            assertThat(conflictRetryPolicy.getBackoffInNanos(2)).isBetween(100 * millis, 200 * millis);
+            assertThat(conflictRetryPolicy.getBackoffInNanos(3)).isBetween(175 * millis, 350 * millis);
+            assertThat(conflictRetryPolicy.getBackoffInNanos(100)).isBetween(175 * millis, 350 * millis);
+        }
+    }
+
+    @Test
+    public void scheduleRetry_WithZeroBackoff_ShouldStartRetryImmediately() {
+        final ConflictRetryPolicy conflictRetryPolicy = ConflictRetryPolicy.of(1, Duration.ZERO, Duration.ZERO);
+        final AtomicInteger startedRetries = new AtomicInteger();
+
+        final Integer result = conflictRetryPolicy
+            .scheduleRetry(1, () -> CompletableFuture.completedFuture(startedRetries.incrementAndGet()))
+            .toCompletableFuture().join();
+
+        assertThat(result).isEqualTo(1);
+        assertThat(startedRetries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void scheduleRetry_WithBackoff_ShouldStartRetryInCommonPool() {
+        final ConflictRetryPolicy conflictRetryPolicy =
+            ConflictRetryPolicy.of(1, Duration.ofMillis(10), Duration.ofMillis(10));
+
+        final String retryThreadName = conflictRetryPolicy
+            .scheduleRetry(1, () -> CompletableFuture.completedFuture(Thread.currentThread().getName()))
+            .toCompletableFuture().join();
+
+        assertThat(retryThreadName).isNotEqualTo("ctp-conflict-retry");
+    }
+
+    @Test
+    public void scheduleRetry_WithThrowingRetry_ShouldCompleteExceptionally() {
+        final ConflictRetryPolicy conflictRetryPolicy =
+            ConflictRetryPolicy.of(1, Duration.ofMillis(10), Duration.ofMillis(10));
+        final IllegalStateException retryException = new IllegalStateException("retry failed");
+
+        final CompletableFuture<String> result = conflictRetryPolicy
+            .<String>scheduleRetry(1, () -> {
+                throw retryException;
+            })
+            .toCompletableFuture();
+
+        assertThat(result.handle((value, exception) -> exception).join()).isSameAs(retryException);
+    }
+
+    @Test
+    public void scheduleRetry_WithBackoff_ShouldStartRetryOnceBackoffHasPassed() {
+        final ConflictRetryPolicy conflictRetryPolicy =
+            ConflictRetryPolicy.of(1, Duration.ofMillis(200), Duration.ofMillis(200));
+        final long startTime = System.nanoTime();
+
+        final Long retryStartTime = conflictRetryPolicy
+            .scheduleRetry(1, () -> CompletableFuture.completedFuture(System.nanoTime()))
+            .toCompletableFuture().join();
+
+        assertThat(retryStartTime - startTime).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void scheduleRetry_WithFailingRetry_ShouldCompleteExceptionally() {
+        final ConflictRetryPolicy conflictRetryPolicy =
+            ConflictRetryPolicy.of(1, Duration.ofMillis(10), Duration.ofMillis(10));
+        final CompletableFuture<String> failedRetry = new CompletableFuture<>();
+        failedRetry.completeExceptionally(new IllegalStateException("retry failed"));
+
+        final CompletableFuture<String> result =
+            conflictRetryPolicy.scheduleRetry(1, () -> failedRetry).toCompletableFuture();
+
+        assertThat(result.handle((value, exception) -> exception).join())
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
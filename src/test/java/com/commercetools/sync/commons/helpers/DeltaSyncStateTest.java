@@ -0,0 +1,53 @@
+package com.commercetools.sync.commons.helpers;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeltaSyncStateTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void load_WithNonExistingFile_ShouldReturnEmptyState() throws IOException {
+        final DeltaSyncState deltaSyncState = DeltaSyncState.load(temporaryFolder.getRoot().toPath()
+                                                                                 .resolve("state.delta"));
+
+        assertThat(deltaSyncState.size()).isEqualTo(0);
+        assertThat(deltaSyncState.getWatermark()).isNull();
+    }
+
+    @Test
+    public void save_WithFingerprintsAndWatermark_ShouldBeLoadedWithSameContent() throws IOException {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("state.delta");
+        final DeltaSyncState deltaSyncState = DeltaSyncState.of();
+        deltaSyncState.putFingerprint("key-1", DraftFingerprint.of(1L, 2L));
+        deltaSyncState.putFingerprint("key-2", DraftFingerprint.of(-1L, Long.MAX_VALUE));
+        deltaSyncState.setWatermark(Instant.ofEpochMilli(1234567890L));
+
+        deltaSyncState.save(file);
+        final DeltaSyncState loadedDeltaSyncState = DeltaSyncState.load(file);
+
+        assertThat(loadedDeltaSyncState.size()).isEqualTo(2);
+        assertThat(loadedDeltaSyncState.getFingerprint("key-1")).isEqualTo(DraftFingerprint.of(1L, 2L));
+        assertThat(loadedDeltaSyncState.getFingerprint("key-2"))
+            .isEqualTo(DraftFingerprint.of(-1L, Long.MAX_VALUE));
+        assertThat(loadedDeltaSyncState.getWatermark()).isEqualTo(Instant.ofEpochMilli(1234567890L));
+    }
+
+    @Test
+    public void load_WithInvalidFile_ShouldThrowIoException() throws IOException {
+        final Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThatThrownBy(() -> DeltaSyncState.load(file)).isInstanceOf(IOException.class);
+    }
+}
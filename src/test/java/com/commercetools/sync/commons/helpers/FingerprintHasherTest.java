@@ -0,0 +1,110 @@
+package com.commercetools.sync.commons.helpers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FingerprintHasherTest {
+
+    @Test
+    public void fingerprint_WithSameValues_ShouldReturnSameFingerprint() {
+        final FingerprintHasher hasher = FingerprintHasher.of();
+        final DraftFingerprint fingerprint = hasher.putString("key").putLong(10L).putBoolean(true).fingerprint();
+
+        assertThat(hasher.reset().putString("key").putLong(10L).putBoolean(true).fingerprint())
+            .isEqualTo(fingerprint);
+        assertThat(FingerprintHasher.of().putString("key").putLong(10L).putBoolean(false).fingerprint())
+            .isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void putString_WithNullEmptyAndDifferentStrings_ShouldReturnDifferentFingerprints() {
+        assertThat(FingerprintHasher.of().putString(null).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putString("").fingerprint());
+        assertThat(FingerprintHasher.of().putString("").putString("ab").fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putString("a").putString("b").fingerprint());
+        assertThat(FingerprintHasher.of().putString("abcdefghi").fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putString("abcdefghj").fingerprint());
+    }
+
+    @Test
+    public void putDecimal_WithNumericallyEqualDecimals_ShouldReturnSameFingerprint() {
+        assertThat(FingerprintHasher.of().putDecimal(new BigDecimal("1.5")).fingerprint())
+            .isEqualTo(FingerprintHasher.of().putDecimal(new BigDecimal("1.500")).fingerprint());
+        assertThat(FingerprintHasher.of().putDecimal(new BigDecimal("0.00")).fingerprint())
+            .isEqualTo(FingerprintHasher.of().putDecimal(BigDecimal.ZERO).fingerprint());
+        assertThat(FingerprintHasher.of().putDecimal(new BigDecimal("1.5")).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putDecimal(new BigDecimal("15")).fingerprint());
+    }
+
+    @Test
+    public void putJson_WithObjectsWithDifferentFieldOrder_ShouldReturnSameFingerprint() {
+        final JsonNode json = SphereJsonUtils.parse("{\"a\": 1, \"b\": [\"x\", {\"c\": true, \"d\": null}]}");
+        final JsonNode reorderedJson = SphereJsonUtils.parse("{\"b\": [\"x\", {\"d\": null, \"c\": true}], \"a\": 1}");
+
+        assertThat(FingerprintHasher.of().putJson(json).fingerprint())
+            .isEqualTo(FingerprintHasher.of().putJson(reorderedJson).fingerprint());
+    }
+
+    @Test
+    public void putJson_WithDifferentJsonValues_ShouldReturnDifferentFingerprints() {
+        assertThat(FingerprintHasher.of().putJson(SphereJsonUtils.parse("[1, 2]")).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putJson(SphereJsonUtils.parse("[2, 1]")).fingerprint());
+        assertThat(FingerprintHasher.of().putJson(SphereJsonUtils.parse("1")).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putJson(SphereJsonUtils.parse("1.0")).fingerprint());
+        assertThat(FingerprintHasher.of().putJson(SphereJsonUtils.parse("\"1\"")).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putJson(SphereJsonUtils.parse("1")).fingerprint());
+        assertThat(FingerprintHasher.of().putJson(SphereJsonUtils.parse("null")).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putJson(null).fingerprint());
+    }
+
+    @Test
+    public void putLocalizedString_WithDifferentLocaleOrder_ShouldReturnSameFingerprint() {
+        final LocalizedString localizedString = LocalizedString.of(Locale.GERMAN, "Name")
+                                                               .plus(Locale.ENGLISH, "name");
+        final LocalizedString reorderedLocalizedString = LocalizedString.of(Locale.ENGLISH, "name")
+                                                                        .plus(Locale.GERMAN, "Name");
+
+        assertThat(FingerprintHasher.of().putLocalizedString(localizedString).fingerprint())
+            .isEqualTo(FingerprintHasher.of().putLocalizedString(reorderedLocalizedString).fingerprint());
+        assertThat(FingerprintHasher.of().putLocalizedString(localizedString).fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putLocalizedString(LocalizedString.of(Locale.GERMAN, "Name"))
+                                           .fingerprint());
+    }
+
+    @Test
+    public void putUnordered_WithDifferentOrder_ShouldReturnSameFingerprint() {
+        assertThat(FingerprintHasher.of().putUnordered(Arrays.asList("a", "b", "c"), FingerprintHasher::putString)
+                                    .fingerprint())
+            .isEqualTo(FingerprintHasher.of().putUnordered(Arrays.asList("c", "a", "b"), FingerprintHasher::putString)
+                                        .fingerprint());
+        assertThat(FingerprintHasher.of().putOrdered(Arrays.asList("a", "b", "c"), FingerprintHasher::putString)
+                                    .fingerprint())
+            .isNotEqualTo(FingerprintHasher.of().putOrdered(Arrays.asList("c", "a", "b"), FingerprintHasher::putString)
+                                           .fingerprint());
+    }
+
+    @Test
+    public void putUnordered_WithElementsWithoutValues_ShouldIgnoreThoseElements() {
+        final DraftFingerprint fingerprint = FingerprintHasher.of()
+            .putUnordered(Arrays.asList("a", null, "b"), (hasher, value) -> {
+                if (value != null) {
+                    hasher.putString(value);
+                }
+            }).fingerprint();
+
+        assertThat(fingerprint)
+            .isEqualTo(FingerprintHasher.of().putUnordered(Arrays.asList("b", "a"), FingerprintHasher::putString)
+                                        .fingerprint());
+        assertThat(fingerprint)
+            .isNotEqualTo(FingerprintHasher.of().putUnordered(Arrays.asList("a", "a", "b"),
+                FingerprintHasher::putString).fingerprint());
+    }
+}
@@ -0,0 +1,68 @@
+package com.commercetools.sync.commons.helpers;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void getBucketIndex_WithSmallValues_ShouldCountEachValueInItsOwnBucket() {
+        for (long value = 0; value < 2 * LatencyHistogram.SUB_BUCKET_COUNT; value++) {
+            final int bucketIndex = LatencyHistogram.getBucketIndex(value);
+            assertThat(bucketIndex).isEqualTo((int) value);
+            assertThat(LatencyHistogram.getHighestValueOfBucket(bucketIndex)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    public void getBucketIndex_WithBigValues_ShouldKeepRelativePrecision() {
+        final long[] values = {64, 65, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (long value : values) {
+            final long highestValueOfBucket = LatencyHistogram.getHighestValueOfBucket(
+                LatencyHistogram.getBucketIndex(value));
+            assertThat(highestValueOfBucket).isGreaterThanOrEqualTo(value);
+            assertThat((highestValueOfBucket - value) / (double) value).isLessThan(1.0 / 32);
+        }
+    }
+
+    @Test
+    public void snapshot_WithNoRecordedValues_ShouldReturnZeros() {
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.getTotalCount()).isEqualTo(0);
+        assertThat(snapshot.getMax()).isEqualTo(0);
+        assertThat(snapshot.getMean()).isEqualTo(0);
+        assertThat(snapshot.getValueAtPercentile(99)).isEqualTo(0);
+    }
+
+    @Test
+    public void snapshot_WithRecordedValues_ShouldReturnPercentilesWithinPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getTotalCount()).isEqualTo(10000);
+        assertThat(snapshot.getMax()).isEqualTo(10000000);
+        assertThat(snapshot.getMean()).isCloseTo(5000500, within(0.1));
+        assertThat(snapshot.getValueAtPercentile(50)).isCloseTo(5000000L, within(5000000L / 32));
+        assertThat(snapshot.getValueAtPercentile(99)).isCloseTo(9900000L, within(9900000L / 32));
+        assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(10000000);
+    }
+
+    @Test
+    public void snapshot_WithLaterRecordedValues_ShouldNotChange() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        histogram.record(20);
+
+        assertThat(snapshot.getTotalCount()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isEqualTo(10);
+    }
+}
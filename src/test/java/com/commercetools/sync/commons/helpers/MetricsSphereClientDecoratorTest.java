@@ -0,0 +1,64 @@
+package com.commercetools.sync.commons.helpers;
+
+import com.commercetools.sync.commons.helpers.SyncMetrics.RequestType;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.categories.commands.CategoryCreateCommand;
+import io.sphere.sdk.categories.commands.CategoryUpdateCommand;
+import io.sphere.sdk.categories.commands.updateactions.ChangeName;
+import io.sphere.sdk.categories.commands.updateactions.ChangeSlug;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.queries.PagedQueryResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsSphereClientDecoratorTest {
+
+    @Test
+    public void getRequestType_WithDifferentRequests_ShouldReturnTypeOfRequest() {
+        final Category category = mock(Category.class);
+        when(category.getId()).thenReturn("id");
+
+        assertThat(MetricsSphereClientDecorator.getRequestType(CategoryQuery.of())).isEqualTo(RequestType.FETCH);
+        assertThat(MetricsSphereClientDecorator.getRequestType(CategoryCreateCommand.of(CategoryDraftBuilder
+            .of(LocalizedString.of(Locale.ENGLISH, "name"), LocalizedString.of(Locale.ENGLISH, "slug")).build())))
+            .isEqualTo(RequestType.CREATE);
+        assertThat(MetricsSphereClientDecorator.getRequestType(CategoryUpdateCommand.of(category,
+            ChangeName.of(LocalizedString.of(Locale.ENGLISH, "name"))))).isEqualTo(RequestType.UPDATE);
+    }
+
+    @Test
+    public void execute_WithFetchAndUpdateRequests_ShouldRecordLatenciesAndUpdateActions() {
+        final SphereClient delegate = mock(SphereClient.class);
+        when(delegate.execute(any()))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(Collections.emptyList())));
+        final Category category = mock(Category.class);
+        when(category.getId()).thenReturn("id");
+        final SyncMetrics syncMetrics = SyncMetrics.of();
+        final SphereClient client = MetricsSphereClientDecorator.of(delegate, syncMetrics);
+
+        client.execute(CategoryQuery.of()).toCompletableFuture().join();
+        client.execute(CategoryQuery.of()).toCompletableFuture().join();
+        client.execute(CategoryUpdateCommand.of(category, Arrays.asList(
+            ChangeName.of(LocalizedString.of(Locale.ENGLISH, "name")),
+            ChangeSlug.of(LocalizedString.of(Locale.ENGLISH, "slug")))));
+
+        final SyncMetricsSnapshot snapshot = syncMetrics.snapshot(0);
+        assertThat(snapshot.getRequestLatency(RequestType.FETCH).getTotalCount()).isEqualTo(2);
+        assertThat(snapshot.getRequestLatency(RequestType.UPDATE).getTotalCount()).isEqualTo(1);
+        assertThat(snapshot.getRequestLatency(RequestType.CREATE).getTotalCount()).isEqualTo(0);
+        assertThat(snapshot.getUpdateActionsPerUpdate().getTotalCount()).isEqualTo(1);
+        assertThat(snapshot.getUpdateActionsPerUpdate().getMax()).isEqualTo(2);
+    }
+}
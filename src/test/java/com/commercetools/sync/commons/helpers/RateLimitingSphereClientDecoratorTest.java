@@ -0,0 +1,100 @@
+package com.commercetools.sync.commons.helpers;
+
+import com.commercetools.sync.commons.helpers.RateLimitingSphereClientDecorator.TokenBucket;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.inventory.queries.InventoryEntryQuery;
+import io.sphere.sdk.queries.PagedQueryResult;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RateLimitingSphereClientDecoratorTest {
+
+    @Test
+    public void getEndpoint_WithQuery_ShouldReturnFirstPathSegment() {
+        assertThat(RateLimitingSphereClientDecorator.getEndpoint(CategoryQuery.of())).isEqualTo("categories");
+        assertThat(RateLimitingSphereClientDecorator.getEndpoint(InventoryEntryQuery.of())).isEqualTo("inventory");
+    }
+
+    @Test
+    public void reserve_WithinBurst_ShouldNotDelay() {
+        final TokenBucket tokenBucket = new TokenBucket(2, Duration.ofSeconds(1));
+        final long now = System.nanoTime();
+
+        assertThat(tokenBucket.reserve(now)).isEqualTo(0);
+        assertThat(tokenBucket.reserve(now)).isEqualTo(0);
+    }
+
+    @Test
+    public void reserve_BeyondBurst_ShouldDelayUntilTokenIsRefilled() {
+        final TokenBucket tokenBucket = new TokenBucket(2, Duration.ofSeconds(1));
+        final long now = System.nanoTime();
+        tokenBucket.reserve(now);
+        tokenBucket.reserve(now);
+
+        assertThat(tokenBucket.reserve(now)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500), within(1L));
+        assertThat(tokenBucket.reserve(now)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(1000), within(1L));
+        assertThat(tokenBucket.reserve(now + TimeUnit.SECONDS.toNanos(2))).isEqualTo(0);
+    }
+
+    @Test
+    public void execute_WithEndpointWithoutBudget_ShouldExecuteRequestsImmediately() {
+        final SphereClient delegate = mock(SphereClient.class);
+        when(delegate.execute(any()))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(Collections.emptyList())));
+        final SphereClient client = RateLimitingSphereClientDecorator
+            .of(delegate, Collections.singletonMap("products", 1));
+
+        client.execute(CategoryQuery.of());
+        client.execute(CategoryQuery.of());
+        client.execute(CategoryQuery.of());
+
+        verify(delegate, times(3)).execute(any());
+    }
+
+    @Test
+    public void execute_WithRequestsExceedingBudget_ShouldDelayRequests() throws Exception {
+        final SphereClient delegate = mock(SphereClient.class);
+        when(delegate.execute(any()))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(Collections.emptyList())));
+        final SphereClient client = RateLimitingSphereClientDecorator
+            .of(delegate, Collections.singletonMap("categories", 10), Duration.ZERO);
+
+        client.execute(CategoryQuery.of());
+        final CompletableFuture<?> delayedRequest = client.execute(CategoryQuery.of()).toCompletableFuture();
+
+        verify(delegate, times(1)).execute(any());
+        assertThat(delayedRequest).isNotDone();
+        delayedRequest.get(5, TimeUnit.SECONDS);
+        verify(delegate, times(2)).execute(any());
+    }
+
+    @Test
+    public void execute_WithDelayedRequestAndThrowingDelegate_ShouldCompleteExceptionally() throws Exception {
+        final SphereClient delegate = mock(SphereClient.class);
+        final IllegalStateException delegateException = new IllegalStateException("client is closed");
+        when(delegate.execute(any()))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(Collections.emptyList())))
+            .thenThrow(delegateException);
+        final SphereClient client = RateLimitingSphereClientDecorator
+            .of(delegate, Collections.singletonMap("categories", 10), Duration.ZERO);
+
+        client.execute(CategoryQuery.of());
+        final CompletableFuture<?> delayedRequest = client.execute(CategoryQuery.of()).toCompletableFuture();
+
+        assertThat(delayedRequest.handle((value, exception) -> exception).get(5, TimeUnit.SECONDS))
+            .isSameAs(delegateException);
+    }
+}
@@ -0,0 +1,88 @@
+package com.commercetools.sync.commons.utils;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.queries.PagedQueryResult;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CursorQueryAllTest {
+
+    @Test
+    public void run_WithFullPages_ShouldQueryNextPageWithIdOfLastElementAsCursor() {
+        final SphereClient sphereClient = mock(SphereClient.class);
+        final Category firstCategory = getMockCategory("id1");
+        final Category secondCategory = getMockCategory("id2");
+        final Category thirdCategory = getMockCategory("id3");
+        when(sphereClient.execute(any()))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(
+                Arrays.asList(firstCategory, secondCategory))))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(
+                Collections.singletonList(thirdCategory))));
+
+        final List<String> categoryIds = new ArrayList<>();
+        final Consumer<List<Category>> categoryIdCollector = page ->
+            page.forEach(category -> categoryIds.add(category.getId()));
+
+        CursorQueryAll.of(CategoryQuery.of(), 2, 1)
+                      .run(sphereClient, categoryIdCollector)
+                      .toCompletableFuture()
+                      .join();
+
+        assertThat(categoryIds).containsExactly("id1", "id2", "id3");
+        final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+        verify(sphereClient, times(2)).execute(queryCaptor.capture());
+        final List<CategoryQuery> queries = queryCaptor.getAllValues();
+        assertThat(queries.get(0).predicates()).isEmpty();
+        assertThat(queries.get(0).offset()).isNull();
+        assertThat(queries.get(1).predicates()).hasSize(1);
+        assertThat(queries.get(1).predicates().get(0).toSphereQuery()).isEqualTo("id > \"id2\"");
+        assertThat(queries.get(1).offset()).isNull();
+    }
+
+    @Test
+    public void run_WithPrefetchedPages_ShouldQueryEachIdSegment() {
+        final SphereClient sphereClient = mock(SphereClient.class);
+        when(sphereClient.execute(any()))
+            .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.of(Collections.emptyList())));
+
+        CursorQueryAll.of(CategoryQuery.of(), 2, 4)
+                      .run(sphereClient, page -> { })
+                      .toCompletableFuture()
+                      .join();
+
+        verify(sphereClient, times(4)).execute(any());
+    }
+
+    @Test
+    public void getSegmentBoundId_WithSeveralSegments_ShouldSplitIdRangeEvenly() {
+        final CursorQueryAll<Category, CategoryQuery> query = CursorQueryAll.of(CategoryQuery.of(), 2, 4);
+
+        assertThat(query.getSegmentBoundId(0)).isNull();
+        assertThat(query.getSegmentBoundId(1)).isEqualTo("40000000-0000-0000-0000-000000000000");
+        assertThat(query.getSegmentBoundId(2)).isEqualTo("80000000-0000-0000-0000-000000000000");
+        assertThat(query.getSegmentBoundId(3)).isEqualTo("c0000000-0000-0000-0000-000000000000");
+        assertThat(query.getSegmentBoundId(4)).isNull();
+    }
+
+    private static Category getMockCategory(final String id) {
+        final Category category = mock(Category.class);
+        when(category.getId()).thenReturn(id);
+        return category;
+    }
+}
@@ -78,6 +78,37 @@ public class QueryAllTest {
         categoryIds.forEach(id -> assertThat(id).isEqualTo(CATEGORY_ID));
     }
 
+    @Test
+    public void run_WithMaxInFlightPages_ShouldOnlyRequestNextPageOnceAnInFlightPageIsConsumed() {
+        final SphereClient client = mock(SphereClient.class);
+        final List<CompletableFuture<PagedQueryResult<Category>>> requestedPages = new ArrayList<>();
+        when(client.execute(any())).thenAnswer(invocation -> {
+            final CompletableFuture<PagedQueryResult<Category>> page = new CompletableFuture<>();
+            requestedPages.add(page);
+            return page;
+        });
+        final List<Category> categories = Arrays.asList(mock(Category.class), mock(Category.class),
+            mock(Category.class), mock(Category.class));
+        final PagedQueryResult<Category> pagedQueryResult = PagedQueryResult.of(categories);
+        final List<List<Category>> consumedPages = new ArrayList<>();
+
+        final CompletableFuture<Void> result = QueryAll.of(CategoryQuery.of(), 1, 2)
+                                                       .run(client, consumedPages::add)
+                                                       .toCompletableFuture();
+
+        requestedPages.get(0).complete(pagedQueryResult);
+        assertThat(requestedPages).hasSize(3);
+        requestedPages.get(2).complete(pagedQueryResult);
+        assertThat(requestedPages).hasSize(4);
+        requestedPages.get(1).complete(pagedQueryResult);
+        assertThat(requestedPages).hasSize(4);
+        assertThat(result).isNotDone();
+        requestedPages.get(3).complete(pagedQueryResult);
+
+        result.join();
+        assertThat(consumedPages).hasSize(4);
+    }
+
     @Test
     public void getTotalNumberOfPages_WithUniformSplitting_ShouldReturnCorrectTotal() {
         final QueryAll<Category, CategoryQuery> query = QueryAll.of(CategoryQuery.of(), 2);
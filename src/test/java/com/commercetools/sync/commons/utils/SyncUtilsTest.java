@@ -11,9 +11,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static com.commercetools.sync.categories.CategorySyncMockUtils.getMockCategoryDraft;
 import static com.commercetools.sync.commons.utils.SyncUtils.batchDrafts;
@@ -58,6 +60,24 @@ public class SyncUtilsTest {
         assertThat(batches.size()).isEqualTo(0);
     }
 
+    @Test
+    public void batchDrafts_WithIterator_ShouldPullDraftsLazilyIntoBatches() {
+        final Iterator<Integer> drafts = IntStream.range(0, 5).iterator();
+
+        final Iterator<List<Integer>> batches = batchDrafts(drafts, 2);
+
+        assertThat(batches.next()).containsExactly(0, 1);
+        assertThat(drafts.next()).isEqualTo(2);
+        assertThat(batches.next()).containsExactly(3, 4);
+        assertThat(batches.hasNext()).isFalse();
+    }
+
+    @Test
+    public void batchDrafts_WithIteratorAndNegativeSize_ShouldReturnNoBatches() {
+        final Iterator<List<Integer>> batches = batchDrafts(IntStream.range(0, 5).iterator(), -100);
+        assertThat(batches.hasNext()).isFalse();
+    }
+
     @Test
     public void replaceCustomTypeIdWithKeys_WithNullCustomType_ShouldReturnNullCustomFields() {
         final Category mockCategory = mock(Category.class);
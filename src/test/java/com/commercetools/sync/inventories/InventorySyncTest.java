@@ -1,11 +1,16 @@
 package com.commercetools.sync.inventories;
 
 import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.commons.helpers.DeltaSyncState;
+import com.commercetools.sync.commons.helpers.SyncMetrics;
+import com.commercetools.sync.commons.helpers.SyncMetricsSnapshot;
 import com.commercetools.sync.inventories.helpers.InventorySyncStatistics;
 import com.commercetools.sync.services.ChannelService;
 import com.commercetools.sync.services.InventoryService;
 import com.commercetools.sync.services.TypeService;
 import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.client.ConcurrentModificationException;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.inventory.InventoryEntry;
 import io.sphere.sdk.inventory.InventoryEntryDraft;
@@ -16,6 +21,7 @@ import io.sphere.sdk.types.CustomFieldsDraft;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -42,7 +48,11 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class InventorySyncTest {
@@ -338,6 +348,65 @@ public class InventorySyncTest {
         assertThat(errorCallBackExceptions.get(0).getCause()).isExactlyInstanceOf(RuntimeException.class);
     }
 
+    @Test
+    public void sync_WithConcurrentModificationWithCurrentVersion_ShouldApplyActionsToCurrentVersionWithoutFetch() {
+        final InventorySyncOptions options = getInventorySyncOptionsWithConflictRetries(1);
+        final InventoryService inventoryService = getMockInventoryService(existingInventories,
+            mock(InventoryEntry.class), mock(InventoryEntry.class));
+        final ConcurrentModificationException concurrentModificationException =
+            mock(ConcurrentModificationException.class);
+        when(concurrentModificationException.getCurrentVersion()).thenReturn(3L);
+        when(inventoryService.updateInventoryEntry(any(), any()))
+            .thenReturn(failed(concurrentModificationException));
+        when(inventoryService.updateInventoryEntry(any(), eq(3L), any()))
+            .thenReturn(completedFuture(mock(InventoryEntry.class)));
+
+        final ChannelService channelService = getMockChannelService(getMockSupplyChannel(REF_1, KEY_1));
+        final InventorySync inventorySync = new InventorySync(options, inventoryService, channelService,
+            mock(TypeService.class));
+        final InventoryEntryDraft inventoryEntryDraft = InventoryEntryDraftBuilder
+            .of(SKU_1, QUANTITY_2, DATE_1, RESTOCKABLE_1, Channel.referenceOfId(REF_1)).build();
+
+        final InventorySyncStatistics stats = inventorySync.sync(singletonList(inventoryEntryDraft))
+                                                           .toCompletableFuture()
+                                                           .join();
+
+        assertThat(stats.getProcessed()).isEqualTo(1);
+        assertThat(stats.getUpdated()).isEqualTo(1);
+        assertThat(stats.getFailed()).isEqualTo(0);
+        assertThat(errorCallBackMessages).isEmpty();
+        verify(inventoryService).updateInventoryEntry(any(), eq(3L), any());
+        verify(inventoryService, times(1)).fetchInventoryEntriesBySkus(any());
+    }
+
+    @Test
+    public void sync_WithConcurrentModificationOnEveryUpdate_ShouldFailOnceRetriesAreExhausted() {
+        final InventorySyncOptions options = getInventorySyncOptionsWithConflictRetries(1);
+        final InventoryService inventoryService = getMockInventoryService(existingInventories,
+            mock(InventoryEntry.class), mock(InventoryEntry.class));
+        when(inventoryService.updateInventoryEntry(any(), any()))
+            .thenReturn(failed(new ConcurrentModificationException()));
+
+        final ChannelService channelService = getMockChannelService(getMockSupplyChannel(REF_1, KEY_1));
+        final InventorySync inventorySync = new InventorySync(options, inventoryService, channelService,
+            mock(TypeService.class));
+        final InventoryEntryDraft inventoryEntryDraft = InventoryEntryDraftBuilder
+            .of(SKU_1, QUANTITY_2, DATE_1, RESTOCKABLE_1, Channel.referenceOfId(REF_1)).build();
+
+        final InventorySyncStatistics stats = inventorySync.sync(singletonList(inventoryEntryDraft))
+                                                           .toCompletableFuture()
+                                                           .join();
+
+        assertThat(stats.getProcessed()).isEqualTo(1);
+        assertThat(stats.getUpdated()).isEqualTo(0);
+        assertThat(stats.getFailed()).isEqualTo(1);
+        assertThat(errorCallBackMessages).containsExactly(format("Failed to update inventory entry of SKU '%s' and "
+            + "supply channel id '%s'. It was modified concurrently 2 times.", SKU_1, REF_1));
+        verify(inventoryService, times(2)).updateInventoryEntry(any(), any());
+        verify(inventoryService, never()).updateInventoryEntry(any(), any(), any());
+        verify(inventoryService, times(2)).fetchInventoryEntriesBySkus(any());
+    }
+
     @Test
     public void sync_WithExceptionWhenCreatingEntries_ShouldNotSync() {
         final InventorySyncOptions options = getInventorySyncOptions(3, false, true);
@@ -568,6 +637,94 @@ public class InventorySyncTest {
         assertThat(errorCallBackExceptions.get(0)).isEqualTo(null);
     }
 
+    @Test
+    public void sync_WithDeltaSyncState_ShouldOnlySyncDraftsChangedSinceLastRun() {
+        final DeltaSyncState deltaSyncState = DeltaSyncState.of();
+        final InventorySyncOptions options = InventorySyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setDeltaSyncState(deltaSyncState)
+                                                                        .build();
+        final InventoryService inventoryService = getMockInventoryService(existingInventories,
+            mock(InventoryEntry.class), mock(InventoryEntry.class));
+        final List<InventoryEntryDraft> firstRunDrafts = asList(
+            InventoryEntryDraft.of(SKU_1, QUANTITY_1, DATE_1, RESTOCKABLE_1, null),
+            InventoryEntryDraft.of(SKU_2, QUANTITY_2, DATE_2, RESTOCKABLE_2, null),
+            InventoryEntryDraft.of(SKU_3, QUANTITY_1, DATE_1, RESTOCKABLE_1, null));
+        new InventorySync(options, inventoryService, mock(ChannelService.class), mock(TypeService.class))
+            .sync(firstRunDrafts).toCompletableFuture().join();
+
+        final List<InventoryEntryDraft> secondRunDrafts = asList(
+            InventoryEntryDraft.of(SKU_1, QUANTITY_2, DATE_1, RESTOCKABLE_1, null),
+            InventoryEntryDraft.of(SKU_2, QUANTITY_2, DATE_2, RESTOCKABLE_2, null),
+            InventoryEntryDraft.of(SKU_3, QUANTITY_1, DATE_1, RESTOCKABLE_1, null));
+        final InventorySyncStatistics stats =
+            new InventorySync(options, inventoryService, mock(ChannelService.class), mock(TypeService.class))
+                .sync(secondRunDrafts).toCompletableFuture().join();
+
+        assertThat(stats.getProcessed()).isEqualTo(3);
+        assertThat(stats.getCreated()).isEqualTo(0);
+        assertThat(stats.getUpdated()).isEqualTo(1);
+        assertThat(stats.getFailed()).isEqualTo(0);
+        assertThat(deltaSyncState.size()).isEqualTo(3);
+        assertThat(deltaSyncState.getWatermark()).isNotNull();
+    }
+
+    @Test
+    public void sync_WithMaxParallelBatches_ShouldNotHaveMoreBatchesInFlight() {
+        final InventorySyncOptions options = InventorySyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(1)
+                                                                        .setMaxParallelBatches(2)
+                                                                        .build();
+        final InventoryService inventoryService = getMockInventoryService(existingInventories,
+            mock(InventoryEntry.class), mock(InventoryEntry.class));
+        final List<CompletableFuture<List<InventoryEntry>>> fetchFutures = new ArrayList<>();
+        when(inventoryService.fetchInventoryEntriesBySkus(any())).thenAnswer(invocation -> {
+            final CompletableFuture<List<InventoryEntry>> fetchFuture = new CompletableFuture<>();
+            fetchFutures.add(fetchFuture);
+            return fetchFuture;
+        });
+        final List<InventoryEntryDraft> newDrafts = asList(
+            InventoryEntryDraft.of(SKU_1, QUANTITY_1, DATE_1, RESTOCKABLE_1, null),
+            InventoryEntryDraft.of(SKU_2, QUANTITY_1, DATE_1, RESTOCKABLE_1, null),
+            InventoryEntryDraft.of(SKU_3, QUANTITY_1, DATE_1, RESTOCKABLE_1, null),
+            InventoryEntryDraft.of("4000", QUANTITY_1, DATE_1, RESTOCKABLE_1, null));
+
+        final CompletableFuture<InventorySyncStatistics> result =
+            new InventorySync(options, inventoryService, mock(ChannelService.class), mock(TypeService.class))
+                .sync(newDrafts).toCompletableFuture();
+
+        assertThat(fetchFutures).hasSize(2);
+        fetchFutures.get(1).complete(emptyList());
+        assertThat(fetchFutures).hasSize(3);
+        fetchFutures.get(0).complete(emptyList());
+        assertThat(fetchFutures).hasSize(4);
+        assertThat(result).isNotDone();
+        fetchFutures.get(2).complete(emptyList());
+        fetchFutures.get(3).complete(emptyList());
+
+        final InventorySyncStatistics stats = result.join();
+        assertThat(stats.getProcessed()).isEqualTo(4);
+        assertThat(stats.getCreated()).isEqualTo(4);
+        assertThat(stats.getFailed()).isEqualTo(0);
+    }
+
+    @Test
+    public void sync_WithSyncMetricsListener_ShouldReportMetricsOncePerBatch() {
+        final List<SyncMetricsSnapshot> reportedSnapshots = new ArrayList<>();
+        final InventorySyncOptions options = InventorySyncOptionsBuilder.of(mock(SphereClient.class))
+                                                                        .setBatchSize(3)
+                                                                        .setSyncMetrics(SyncMetrics.of())
+                                                                        .setSyncMetricsListener(reportedSnapshots::add)
+                                                                        .build();
+        final InventoryService inventoryService = getMockInventoryService(existingInventories,
+            mock(InventoryEntry.class), mock(InventoryEntry.class));
+        final ChannelService channelService = getMockChannelService(getMockSupplyChannel(REF_2, KEY_2));
+
+        new InventorySync(options, inventoryService, channelService, mock(TypeService.class))
+            .sync(drafts).toCompletableFuture().join();
+
+        assertThat(reportedSnapshots).extracting(SyncMetricsSnapshot::getProcessedDrafts).containsExactly(3L, 6L, 9L);
+    }
+
     private InventorySync getInventorySync(int batchSize, boolean ensureChannels) {
         final InventorySyncOptions options = getInventorySyncOptions(batchSize, ensureChannels, true);
         final InventoryService inventoryService = getMockInventoryService(existingInventories,
@@ -587,4 +744,15 @@ public class InventorySyncTest {
                                           })
                                           .build();
     }
+
+    private InventorySyncOptions getInventorySyncOptionsWithConflictRetries(final int maxRetries) {
+        return InventorySyncOptionsBuilder.of(mock(SphereClient.class))
+                                          .setConflictRetryPolicy(
+                                              ConflictRetryPolicy.of(maxRetries, Duration.ZERO, Duration.ZERO))
+                                          .setErrorCallBack((callBackError, exception) -> {
+                                              errorCallBackMessages.add(callBackError);
+                                              errorCallBackExceptions.add(exception);
+                                          })
+                                          .build();
+    }
 }
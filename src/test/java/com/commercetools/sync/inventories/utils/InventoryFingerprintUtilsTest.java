@@ -0,0 +1,91 @@
+package com.commercetools.sync.inventories.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.InventoryEntryDraftBuilder;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.types.CustomFieldsDraft;
+import io.sphere.sdk.types.CustomFieldsDraftBuilder;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.commercetools.sync.inventories.InventorySyncMockUtils.getMockCustomFields;
+import static com.commercetools.sync.inventories.InventorySyncMockUtils.getMockInventoryEntry;
+import static com.commercetools.sync.inventories.utils.InventoryFingerprintUtils.hasSameFingerprint;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InventoryFingerprintUtilsTest {
+    private static final ZonedDateTime DATE = ZonedDateTime.of(2017, 5, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+    private static final Reference<Channel> SUPPLY_CHANNEL = Channel.referenceOfId("456");
+
+    @Test
+    public void hasSameFingerprint_WithSameValues_ShouldReturnTrue() {
+        final InventoryEntry entry = getMockInventoryEntry("123", 10L, 10, DATE,
+            Channel.referenceOfId("456").filled(mock(Channel.class)), getMockCustomFields("typeId", "field", "value"));
+        final Map<String, JsonNode> customFields = new HashMap<>();
+        customFields.put("field", JsonNodeFactory.instance.textNode("value"));
+        customFields.put("unsetField", null);
+        final CustomFieldsDraft customFieldsDraft = CustomFieldsDraft.ofTypeIdAndJson("typeId", customFields);
+        final InventoryEntryDraft draft = InventoryEntryDraftBuilder.of("123", 10L, DATE, 10, SUPPLY_CHANNEL)
+                                                                    .custom(customFieldsDraft)
+                                                                    .build();
+
+        assertThat(hasSameFingerprint(entry, draft)).isTrue();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithZeroQuantityAndNullDraftQuantity_ShouldReturnTrue() {
+        final InventoryEntry entry = getMockInventoryEntry("123", 0L, null, null, null, null);
+        final InventoryEntryDraft draft = mock(InventoryEntryDraft.class);
+        when(draft.getSku()).thenReturn("123");
+
+        assertThat(hasSameFingerprint(entry, draft)).isTrue();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithDifferentValues_ShouldReturnFalse() {
+        final InventoryEntry entry = getMockInventoryEntry("123", 10L, 10, DATE, SUPPLY_CHANNEL, null);
+
+        assertThat(hasSameFingerprint(entry, InventoryEntryDraft.of("123", 20L, DATE, 10, SUPPLY_CHANNEL)))
+            .isFalse();
+        assertThat(hasSameFingerprint(entry, InventoryEntryDraft.of("123", 10L, DATE, 20, SUPPLY_CHANNEL)))
+            .isFalse();
+        assertThat(hasSameFingerprint(entry, InventoryEntryDraft.of("123", 10L,
+            DATE.withZoneSameInstant(ZoneId.of("Europe/Berlin")), 10, SUPPLY_CHANNEL))).isFalse();
+        assertThat(hasSameFingerprint(entry, InventoryEntryDraft.of("123", 10L, DATE, 10,
+            Channel.referenceOfId("789")))).isFalse();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithDifferentCustomFields_ShouldReturnFalse() {
+        final InventoryEntry entry = getMockInventoryEntry("123", 10L, null, null, null,
+            getMockCustomFields("typeId", "field", "value"));
+        final InventoryEntryDraft draft = InventoryEntryDraftBuilder
+            .of("123", 10L, null, null, null)
+            .custom(CustomFieldsDraftBuilder.ofTypeId("typeId").addObject("field", "other value").build())
+            .build();
+
+        assertThat(hasSameFingerprint(entry, draft)).isFalse();
+    }
+
+    @Test
+    public void hasSameFingerprint_WithBlankCustomTypeId_ShouldReturnFalse() {
+        final InventoryEntry entry = getMockInventoryEntry("123", 10L, null, null, null,
+            getMockCustomFields("", "field", "value"));
+        final InventoryEntryDraft draft = InventoryEntryDraftBuilder
+            .of("123", 10L, null, null, null)
+            .custom(CustomFieldsDraftBuilder.ofTypeId("").addObject("field", "value").build())
+            .build();
+
+        assertThat(hasSameFingerprint(entry, draft)).isFalse();
+    }
+}
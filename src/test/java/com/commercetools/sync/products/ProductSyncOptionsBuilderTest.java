@@ -185,4 +185,25 @@ public class ProductSyncOptionsBuilderTest {
         assertThat(productSyncOptionsWithNegativeBatchSize.getBatchSize())
             .isEqualTo(ProductSyncOptionsBuilder.BATCH_SIZE_DEFAULT);
     }
+
+    @Test
+    public void setMaxParallelBatches_WithPositiveValue_ShouldSetMaxParallelBatches() {
+        final ProductSyncOptions productSyncOptions = ProductSyncOptionsBuilder.of(CTP_CLIENT)
+                                                                               .setMaxParallelBatches(4)
+                                                                               .build();
+        assertThat(productSyncOptions.getMaxParallelBatches()).isEqualTo(4);
+    }
+
+    @Test
+    public void setMaxParallelBatches_WithZeroOrNegativeValue_ShouldFallBackToDefaultValue() {
+        final ProductSyncOptions productSyncOptionsWithZero = ProductSyncOptionsBuilder.of(CTP_CLIENT)
+                                                                                       .setMaxParallelBatches(0)
+                                                                                       .build();
+        assertThat(productSyncOptionsWithZero.getMaxParallelBatches()).isEqualTo(1);
+
+        final ProductSyncOptions productSyncOptionsWithNegative = ProductSyncOptionsBuilder.of(CTP_CLIENT)
+                                                                                           .setMaxParallelBatches(-3)
+                                                                                           .build();
+        assertThat(productSyncOptionsWithNegative.getMaxParallelBatches()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,304 @@
+package com.commercetools.sync.products;
+
+import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.helpers.ConflictRetryPolicy;
+import com.commercetools.sync.products.helpers.ProductSyncStatistics;
+import com.commercetools.sync.services.CategoryService;
+import com.commercetools.sync.services.ChannelService;
+import com.commercetools.sync.services.ProductService;
+import com.commercetools.sync.services.ProductTypeService;
+import com.commercetools.sync.services.StateService;
+import com.commercetools.sync.services.TaxCategoryService;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.client.BadRequestException;
+import io.sphere.sdk.client.ConcurrentModificationException;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductDraftBuilder;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.producttypes.attributes.AttributeDefinition;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.commercetools.sync.commons.MockUtils.getMockCategoryService;
+import static com.commercetools.sync.commons.MockUtils.getMockTypeService;
+import static com.commercetools.sync.products.ProductSyncMockUtils.PRODUCT_KEY_1_CHANGED_RESOURCE_PATH;
+import static com.commercetools.sync.products.ProductSyncMockUtils.PRODUCT_KEY_1_RESOURCE_PATH;
+import static com.commercetools.sync.products.ProductSyncMockUtils.PRODUCT_TYPE_RESOURCE_PATH;
+import static com.commercetools.sync.products.ProductSyncMockUtils.createProductDraft;
+import static com.commercetools.sync.products.ProductSyncMockUtils.createProductFromJson;
+import static com.commercetools.sync.products.ProductSyncMockUtils.getMockProductTypeService;
+import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
+import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductSyncTest {
+    private static final long CURRENT_VERSION = 11L;
+
+    private Product existingProduct;
+    private ProductDraft productDraft;
+    private ProductService productService;
+    private ProductTypeService productTypeService;
+    private List<String> errorCallBackMessages;
+
+    /**
+     * Mocks the services of the sync, so that the draft of the product with the key "productKey1" is synced to the
+     * existing product with the same key, which requires update actions, since the draft has changed.
+     */
+    @Before
+    public void setup() {
+        errorCallBackMessages = new ArrayList<>();
+        existingProduct = createProductFromJson(PRODUCT_KEY_1_RESOURCE_PATH);
+        productDraft = createProductDraft(PRODUCT_KEY_1_CHANGED_RESOURCE_PATH,
+            ProductType.referenceOfId("productTypeKey"), null, null, Collections.emptyList(), null);
+
+        productService = mock(ProductService.class);
+        when(productService.cacheKeysToIds()).thenReturn(CompletableFuture.completedFuture(Collections.emptyMap()));
+        when(productService.fetchMatchingProductsByKeys(any()))
+            .thenReturn(CompletableFuture.completedFuture(singleton(existingProduct)));
+        when(productService.createProducts(any()))
+            .thenReturn(CompletableFuture.completedFuture(Collections.emptySet()));
+        when(productService.fetchProduct(any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(existingProduct)));
+
+        final Map<String, AttributeMetaData> attributesMetaData =
+            readObjectFromResource(PRODUCT_TYPE_RESOURCE_PATH, ProductType.class)
+                .getAttributes().stream()
+                .collect(toMap(AttributeDefinition::getName, AttributeMetaData::of));
+        productTypeService = getMockProductTypeService("productTypeId");
+        when(productTypeService.fetchCachedProductAttributeMetaDataMap(any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(attributesMetaData)));
+    }
+
+    @Test
+    public void sync_WithConcurrentModificationWithCurrentVersion_ShouldReapplyActionsWithoutFetching() {
+        final ConcurrentModificationException conflict = mockConcurrentModification(CURRENT_VERSION);
+        when(productService.updateProduct(any(), any())).thenReturn(exceptionallyCompletedFuture(conflict));
+        when(productService.updateProduct(any(), eq(CURRENT_VERSION), any()))
+            .thenReturn(CompletableFuture.completedFuture(existingProduct));
+
+        final ProductSyncStatistics syncStatistics = buildProductSync(1)
+            .sync(singletonList(productDraft)).toCompletableFuture().join();
+
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(0);
+        verify(productService).updateProduct(any(), any());
+        verify(productService).updateProduct(any(), eq(CURRENT_VERSION), any());
+        verify(productService, never()).fetchProduct(any());
+    }
+
+    @Test
+    public void sync_WithConcurrentModificationOfReappliedActions_ShouldFetchProductAndRetry() {
+        final ConcurrentModificationException conflict = mockConcurrentModification(CURRENT_VERSION);
+        final ConcurrentModificationException secondConflict = mockConcurrentModification(CURRENT_VERSION + 1);
+        when(productService.updateProduct(any(), any()))
+            .thenReturn(exceptionallyCompletedFuture(conflict))
+            .thenReturn(CompletableFuture.completedFuture(existingProduct));
+        when(productService.updateProduct(any(), eq(CURRENT_VERSION), any()))
+            .thenReturn(exceptionallyCompletedFuture(secondConflict));
+
+        final ProductSyncStatistics syncStatistics = buildProductSync(2)
+            .sync(singletonList(productDraft)).toCompletableFuture().join();
+
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(0);
+        verify(productService, times(2)).updateProduct(any(), any());
+        verify(productService).updateProduct(any(), eq(CURRENT_VERSION), any());
+        verify(productService, never()).updateProduct(any(), eq(CURRENT_VERSION + 1), any());
+        verify(productService).fetchProduct(existingProduct.getKey());
+    }
+
+    @Test
+    public void sync_WithBadRequestOfReappliedActions_ShouldFetchProductAndRetry() {
+        final ConcurrentModificationException conflict = mockConcurrentModification(CURRENT_VERSION);
+        when(productService.updateProduct(any(), any()))
+            .thenReturn(exceptionallyCompletedFuture(conflict))
+            .thenReturn(CompletableFuture.completedFuture(existingProduct));
+        when(productService.updateProduct(any(), eq(CURRENT_VERSION), any()))
+            .thenReturn(exceptionallyCompletedFuture(new BadRequestException("stale update actions")));
+
+        final ProductSyncStatistics syncStatistics = buildProductSync(2)
+            .sync(singletonList(productDraft)).toCompletableFuture().join();
+
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(0);
+        verify(productService, times(2)).updateProduct(any(), any());
+        verify(productService).fetchProduct(existingProduct.getKey());
+    }
+
+    @Test
+    public void sync_WithMoreConcurrentModificationsThanMaxRetries_ShouldFailProduct() {
+        when(productService.updateProduct(any(), any()))
+            .thenReturn(exceptionallyCompletedFuture(new ConcurrentModificationException()));
+
+        final ProductSyncStatistics syncStatistics = buildProductSync(2)
+            .sync(singletonList(productDraft)).toCompletableFuture().join();
+
+        assertThat(syncStatistics.getUpdated()).isEqualTo(0);
+        assertThat(syncStatistics.getFailed()).isEqualTo(1);
+        assertThat(errorCallBackMessages).contains("Failed to update Product with key: 'productKey1'. Reason: "
+            + "The product was modified concurrently 3 times.");
+        verify(productService, times(3)).updateProduct(any(), any());
+        verify(productService, never()).updateProduct(any(), anyLong(), any());
+        verify(productService, times(2)).fetchProduct(existingProduct.getKey());
+    }
+
+    @Test
+    public void sync_WithFailingReferenceResolutionOfOneDraft_ShouldSyncOtherDraftsOfBatch() {
+        final Map<String, Product> createdProductsByKey = new HashMap<>();
+        createdProductsByKey.put("newKey1", mockProduct("newKey1"));
+        createdProductsByKey.put("newKey2", mockProduct("newKey2"));
+        when(productService.createProducts(any())).thenAnswer(invocation -> {
+            final Set<ProductDraft> draftsToCreate = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(draftsToCreate.stream()
+                                                                   .map(ProductDraft::getKey)
+                                                                   .map(createdProductsByKey::get)
+                                                                   .filter(Objects::nonNull)
+                                                                   .collect(toSet()));
+        });
+        when(productService.updateProduct(any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(existingProduct));
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder
+            .of(mock(SphereClient.class))
+            .setErrorCallBack((errorMessage, exception) -> errorCallBackMessages.add(errorMessage))
+            .setBatchSize(2)
+            .build();
+        final CategoryService categoryService = getMockCategoryService();
+        final ProductSync productSync = new ProductSync(syncOptions, productService, productTypeService,
+            categoryService, getMockTypeService(), mock(ChannelService.class), mock(TaxCategoryService.class),
+            mock(StateService.class));
+        final List<ProductDraft> productDrafts = asList(
+            createDraftInCategory(existingProduct.getKey(), ProductType.referenceOfId("productTypeKey")),
+            createDraftInCategory("newKey1", ProductType.referenceOfId("productTypeKey")),
+            createDraftInCategory("failingKey", ProductType.referenceOfId("")),
+            createDraftInCategory("newKey2", ProductType.referenceOfId("productTypeKey")));
+
+        final ProductSyncStatistics syncStatistics = productSync.sync(productDrafts).toCompletableFuture().join();
+
+        assertThat(syncStatistics.getCreated()).isEqualTo(2);
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(1);
+        assertThat(syncStatistics.getProcessed()).isEqualTo(4);
+        assertThat(errorCallBackMessages).containsExactly(format("Failed to resolve references on ProductDraft with"
+                + " key:'%s'. Reason: %s: Failed to resolve product type reference on ProductDraft with key:'%s'."
+                + " Reason: Reference 'id' field value is blank (null/empty).",
+            "failingKey", ReferenceResolutionException.class.getCanonicalName(), "failingKey"));
+        verify(categoryService, times(2)).fetchCachedCategoryIds(any());
+    }
+
+    @Test
+    public void sync_WithMaxParallelBatchesAndAsynchronousServices_ShouldCountEveryDraftOnce() {
+        final Map<String, Product> createdProductsByKey = new HashMap<>();
+        createdProductsByKey.put("newKey1", mockProduct("newKey1"));
+        createdProductsByKey.put("newKey2", mockProduct("newKey2"));
+        createdProductsByKey.put("newKey3", mockProduct("newKey3"));
+        final List<String> keysOfDraftsToCreate = new CopyOnWriteArrayList<>();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(3);
+        when(productService.fetchMatchingProductsByKeys(any())).thenAnswer(invocation -> {
+            final Set<String> keys = invocation.getArgument(0);
+            return CompletableFuture.supplyAsync(() -> keys.contains(existingProduct.getKey())
+                ? singleton(existingProduct) : Collections.<Product>emptySet(), executorService);
+        });
+        when(productService.createProducts(any())).thenAnswer(invocation -> {
+            final Set<ProductDraft> draftsToCreate = invocation.getArgument(0);
+            draftsToCreate.forEach(draftToCreate -> keysOfDraftsToCreate.add(draftToCreate.getKey()));
+            return CompletableFuture.supplyAsync(() -> draftsToCreate.stream()
+                                                                     .map(ProductDraft::getKey)
+                                                                     .map(createdProductsByKey::get)
+                                                                     .filter(Objects::nonNull)
+                                                                     .collect(toSet()), executorService);
+        });
+        when(productService.updateProduct(any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(existingProduct));
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder
+            .of(mock(SphereClient.class))
+            .setErrorCallBack((errorMessage, exception) -> errorCallBackMessages.add(errorMessage))
+            .setBatchSize(1)
+            .setMaxParallelBatches(3)
+            .build();
+        final ProductSync productSync = new ProductSync(syncOptions, productService, productTypeService,
+            getMockCategoryService(), getMockTypeService(), mock(ChannelService.class),
+            mock(TaxCategoryService.class), mock(StateService.class));
+        final List<ProductDraft> productDrafts = asList(
+            ProductDraftBuilder.of(productDraft).key("newKey1").build(),
+            productDraft,
+            ProductDraftBuilder.of(productDraft).key("failingKey").build(),
+            ProductDraftBuilder.of(productDraft).key("newKey2").build(),
+            ProductDraftBuilder.of(productDraft).key("newKey3").build());
+
+        final ProductSyncStatistics syncStatistics = productSync.sync(productDrafts).toCompletableFuture().join();
+        executorService.shutdown();
+
+        assertThat(keysOfDraftsToCreate).containsExactlyInAnyOrder("newKey1", "failingKey", "newKey2", "newKey3");
+        verify(productService).updateProduct(eq(existingProduct), any());
+        assertThat(syncStatistics.getCreated()).isEqualTo(3);
+        assertThat(syncStatistics.getUpdated()).isEqualTo(1);
+        assertThat(syncStatistics.getFailed()).isEqualTo(1);
+        assertThat(syncStatistics.getProcessed()).isEqualTo(5);
+        assertThat(errorCallBackMessages).isEmpty();
+    }
+
+    private ProductSync buildProductSync(final int maxConflictRetries) {
+        final ProductSyncOptions syncOptions = ProductSyncOptionsBuilder
+            .of(mock(SphereClient.class))
+            .setErrorCallBack((errorMessage, exception) -> errorCallBackMessages.add(errorMessage))
+            .setConflictRetryPolicy(ConflictRetryPolicy.of(maxConflictRetries, Duration.ZERO, Duration.ZERO))
+            .build();
+        final CategoryService categoryService = getMockCategoryService();
+        return new ProductSync(syncOptions, productService, productTypeService, categoryService,
+            getMockTypeService(), mock(ChannelService.class), mock(TaxCategoryService.class),
+            mock(StateService.class));
+    }
+
+    private static ProductDraft createDraftInCategory(@Nonnull final String key,
+                                                      @Nonnull final Reference<ProductType> productTypeReference) {
+        final ProductDraft productDraft = createProductDraft(PRODUCT_KEY_1_CHANGED_RESOURCE_PATH, productTypeReference,
+            null, null, singletonList(Category.referenceOfId("key")), null);
+        return ProductDraftBuilder.of(productDraft).key(key).build();
+    }
+
+    private static Product mockProduct(@Nonnull final String key) {
+        final Product product = mock(Product.class);
+        when(product.getKey()).thenReturn(key);
+        return product;
+    }
+
+    private static ConcurrentModificationException mockConcurrentModification(final long currentVersion) {
+        final ConcurrentModificationException concurrentModificationException =
+            mock(ConcurrentModificationException.class);
+        when(concurrentModificationException.getCurrentVersion()).thenReturn(currentVersion);
+        return concurrentModificationException;
+    }
+}
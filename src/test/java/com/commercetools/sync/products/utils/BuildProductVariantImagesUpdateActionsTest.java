@@ -166,20 +166,8 @@ public class BuildProductVariantImagesUpdateActionsTest {
 
         final List<UpdateAction<Product>> updateActions =
                 buildProductVariantImagesUpdateActions(oldVariant, newVariantDraft);
-        assertThat(updateActions).hasSize(2);
-        updateActions.forEach(
-            productUpdateAction -> {
-                assertThat(productUpdateAction.getAction()).isEqualTo("moveImageToPosition");
-                assertThat(productUpdateAction).isExactlyInstanceOf(MoveImageToPosition.class);
-            }
-        );
-        final MoveImageToPosition moveImageToPosition = (MoveImageToPosition) updateActions.get(0);
-        final MoveImageToPosition moveImage2ToPosition = (MoveImageToPosition) updateActions.get(1);
-
-        assertThat(moveImageToPosition.getImageUrl()).isEqualTo(image2.getUrl());
-        assertThat(moveImageToPosition.getPosition()).isEqualTo(newImages.indexOf(image2));
-        assertThat(moveImage2ToPosition.getImageUrl()).isEqualTo(image.getUrl());
-        assertThat(moveImage2ToPosition.getPosition()).isEqualTo(newImages.indexOf(image));
+        assertThat(updateActions).containsExactly(
+            MoveImageToPosition.ofImageUrlAndVariantId(image2.getUrl(), 1, 1, true));
     }
 
     @Test
@@ -209,35 +197,10 @@ public class BuildProductVariantImagesUpdateActionsTest {
 
         final List<UpdateAction<Product>> updateActions =
                 buildProductVariantImagesUpdateActions(oldVariant, newVariantDraft);
-        assertThat(updateActions).hasSize(6);
-        final RemoveImage removeImage = (RemoveImage) updateActions.get(0);
-        final AddExternalImage addImage = (AddExternalImage) updateActions.get(1);
-        final MoveImageToPosition moveImage5ToPosition = (MoveImageToPosition) updateActions.get(2);
-        final MoveImageToPosition moveImage2ToPosition = (MoveImageToPosition) updateActions.get(3);
-        final MoveImageToPosition moveImage3ToPosition = (MoveImageToPosition) updateActions.get(4);
-        final MoveImageToPosition moveImage4ToPosition = (MoveImageToPosition) updateActions.get(5);
-
-        assertThat(removeImage).isExactlyInstanceOf(RemoveImage.class);
-        assertThat(removeImage.getImageUrl()).isEqualTo(image.getUrl());
-
-        assertThat(addImage).isExactlyInstanceOf(AddExternalImage.class);
-        assertThat(addImage.getImage()).isEqualTo(image4);
-
-        assertThat(moveImage5ToPosition).isExactlyInstanceOf(MoveImageToPosition.class);
-        assertThat(moveImage5ToPosition.getImageUrl()).isEqualTo(image5.getUrl());
-        assertThat(moveImage5ToPosition.getPosition()).isEqualTo(newImages.indexOf(image5));
-
-        assertThat(moveImage2ToPosition).isExactlyInstanceOf(MoveImageToPosition.class);
-        assertThat(moveImage2ToPosition.getImageUrl()).isEqualTo(image2.getUrl());
-        assertThat(moveImage2ToPosition.getPosition()).isEqualTo(newImages.indexOf(image2));
-
-        assertThat(moveImage3ToPosition).isExactlyInstanceOf(MoveImageToPosition.class);
-        assertThat(moveImage3ToPosition.getImageUrl()).isEqualTo(image3.getUrl());
-        assertThat(moveImage3ToPosition.getPosition()).isEqualTo(newImages.indexOf(image3));
-
-        assertThat(moveImage4ToPosition).isExactlyInstanceOf(MoveImageToPosition.class);
-        assertThat(moveImage4ToPosition.getImageUrl()).isEqualTo(image4.getUrl());
-        assertThat(moveImage4ToPosition.getPosition()).isEqualTo(newImages.indexOf(image4));
+        assertThat(updateActions).containsExactly(
+            RemoveImage.ofVariantId(1, image, true),
+            AddExternalImage.ofVariantId(1, image4, true),
+            MoveImageToPosition.ofImageUrlAndVariantId(image4.getUrl(), 1, 0, true));
     }
 
     @Test
@@ -262,11 +225,35 @@ public class BuildProductVariantImagesUpdateActionsTest {
         final List<MoveImageToPosition> updateActions =
             buildMoveImageToPositionUpdateActions(1, oldImages, newImages);
 
-        assertThat(updateActions).containsExactlyInAnyOrder(
-            MoveImageToPosition.ofImageUrlAndVariantId(image4.getUrl(), 1, 0, true),
-            MoveImageToPosition.ofImageUrlAndVariantId(image5.getUrl(), 1, 1, true),
-            MoveImageToPosition.ofImageUrlAndVariantId(image2.getUrl(), 1, 2, true),
-            MoveImageToPosition.ofImageUrlAndVariantId(image3.getUrl(), 1, 3, true));
+        assertThat(updateActions).containsExactly(
+            MoveImageToPosition.ofImageUrlAndVariantId(image4.getUrl(), 1, 0, true));
+    }
+
+    @Test
+    public void buildMoveImageToPositionUpdateActions_WithShuffledImages_ShouldOnlyMoveImagesOutOfOrder() {
+        final Image imageA = Image.of("https://imageA.url.com", ImageDimensions.of(2, 2), "imageALabel");
+        final Image imageB = Image.of("https://imageB.url.com", ImageDimensions.of(2, 2), "imageBLabel");
+        final Image imageC = Image.of("https://imageC.url.com", ImageDimensions.of(2, 2), "imageCLabel");
+        final Image imageD = Image.of("https://imageD.url.com", ImageDimensions.of(2, 2), "imageDLabel");
+
+        final List<Image> oldImages = asList(imageC, imageD, imageA, imageB);
+        final List<Image> newImages = asList(imageA, imageC, imageB, imageD);
+
+        final List<MoveImageToPosition> updateActions =
+            buildMoveImageToPositionUpdateActions(1, oldImages, newImages);
+
+        assertThat(updateActions).hasSize(2);
+        final List<Image> movedImages = new ArrayList<>(oldImages);
+        updateActions.forEach(moveImageToPosition -> {
+            final Image imageToMove = movedImages.stream()
+                                                 .filter(image -> image.getUrl()
+                                                                       .equals(moveImageToPosition.getImageUrl()))
+                                                 .findFirst()
+                                                 .orElseThrow(IllegalStateException::new);
+            movedImages.remove(imageToMove);
+            movedImages.add(moveImageToPosition.getPosition(), imageToMove);
+        });
+        assertThat(movedImages).isEqualTo(newImages);
     }
 
     @Test
@@ -0,0 +1,132 @@
+package com.commercetools.sync.products.utils;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.products.Price;
+import io.sphere.sdk.products.PriceDraft;
+import io.sphere.sdk.products.PriceDraftBuilder;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.products.ProductVariantDraft;
+import io.sphere.sdk.products.commands.updateactions.AddPrice;
+import io.sphere.sdk.products.commands.updateactions.ChangePrice;
+import io.sphere.sdk.products.commands.updateactions.RemovePrice;
+import io.sphere.sdk.utils.MoneyImpl;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.commercetools.sync.products.utils.ProductVariantUpdateActionUtils.buildProductVariantPricesUpdateActions;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BuildProductVariantPricesUpdateActionsTest {
+    private static final int VARIANT_ID = 1;
+
+    @Test
+    public void buildProductVariantPricesUpdateActions_WithSamePrices_ShouldNotBuildUpdateActions() {
+        final ProductVariant oldVariant = getVariantWithPrices(
+            getPrice("price-1", "10.00", "EUR", CountryCode.DE, null),
+            getPrice("price-2", "20.00", "EUR", null, "channel-id"));
+        final ProductVariantDraft newVariant = getVariantDraftWithPrices(
+            getPriceDraft("20", "EUR", null, "channel-id"),
+            getPriceDraft("10", "EUR", CountryCode.DE, null));
+
+        assertThat(buildProductVariantPricesUpdateActions(oldVariant, newVariant)).isEmpty();
+    }
+
+    @Test
+    public void buildProductVariantPricesUpdateActions_WithChangedValue_ShouldBuildChangePrice() {
+        final ProductVariant oldVariant = getVariantWithPrices(getPrice("price-1", "10", "EUR", CountryCode.DE, null));
+        final PriceDraft newPrice = getPriceDraft("12", "EUR", CountryCode.DE, null);
+        final ProductVariantDraft newVariant = getVariantDraftWithPrices(newPrice);
+
+        final List<UpdateAction<Product>> updateActions =
+            buildProductVariantPricesUpdateActions(oldVariant, newVariant);
+
+        assertThat(updateActions).hasSize(1);
+        assertThat(updateActions.get(0)).isInstanceOf(ChangePrice.class);
+        assertThat(((ChangePrice) updateActions.get(0)).getPriceId()).isEqualTo("price-1");
+        assertThat(((ChangePrice) updateActions.get(0)).getPrice()).isEqualTo(newPrice);
+    }
+
+    @Test
+    public void buildProductVariantPricesUpdateActions_WithDifferentPriceScopes_ShouldRemoveAndAddPrices() {
+        final ProductVariant oldVariant = getVariantWithPrices(
+            getPrice("price-1", "10", "EUR", CountryCode.DE, null),
+            getPrice("price-2", "10", "USD", null, null));
+        final PriceDraft newPrice = getPriceDraft("10", "EUR", CountryCode.AT, null);
+        final ProductVariantDraft newVariant = getVariantDraftWithPrices(
+            newPrice,
+            getPriceDraft("10", "USD", null, null));
+
+        final List<UpdateAction<Product>> updateActions =
+            buildProductVariantPricesUpdateActions(oldVariant, newVariant);
+
+        assertThat(updateActions).hasSize(2);
+        assertThat(updateActions.get(0)).isInstanceOf(RemovePrice.class);
+        assertThat(((RemovePrice) updateActions.get(0)).getPriceId()).isEqualTo("price-1");
+        assertThat(updateActions.get(1)).isInstanceOf(AddPrice.class);
+        assertThat(((AddPrice) updateActions.get(1)).getPrice()).isEqualTo(newPrice);
+        assertThat(((AddPrice) updateActions.get(1)).getVariantId()).isEqualTo(VARIANT_ID);
+    }
+
+    @Test
+    public void buildProductVariantPricesUpdateActions_WithNullNewPrices_ShouldRemoveAllPrices() {
+        final ProductVariant oldVariant = getVariantWithPrices(
+            getPrice("price-1", "10", "EUR", CountryCode.DE, null),
+            getPrice("price-2", "10", "USD", null, null));
+        final ProductVariantDraft newVariant = mock(ProductVariantDraft.class);
+
+        final List<UpdateAction<Product>> updateActions =
+            buildProductVariantPricesUpdateActions(oldVariant, newVariant);
+
+        assertThat(updateActions).hasSize(2);
+        assertThat(updateActions).allMatch(updateAction -> updateAction instanceof RemovePrice);
+    }
+
+    @Nonnull
+    private static ProductVariant getVariantWithPrices(@Nonnull final Price... prices) {
+        final ProductVariant variant = mock(ProductVariant.class);
+        when(variant.getId()).thenReturn(VARIANT_ID);
+        when(variant.getPrices()).thenReturn(Arrays.asList(prices));
+        return variant;
+    }
+
+    @Nonnull
+    private static ProductVariantDraft getVariantDraftWithPrices(@Nonnull final PriceDraft... prices) {
+        final ProductVariantDraft variantDraft = mock(ProductVariantDraft.class);
+        when(variantDraft.getPrices()).thenReturn(Arrays.asList(prices));
+        return variantDraft;
+    }
+
+    @Nonnull
+    private static Price getPrice(@Nonnull final String id, @Nonnull final String amount,
+                                  @Nonnull final String currencyCode, @Nullable final CountryCode countryCode,
+                                  @Nullable final String channelId) {
+        final Price price = mock(Price.class);
+        when(price.getId()).thenReturn(id);
+        when(price.getValue()).thenReturn(MoneyImpl.of(new BigDecimal(amount), currencyCode));
+        when(price.getCountry()).thenReturn(countryCode);
+        when(price.getChannel()).thenReturn(channelId == null ? null : Channel.referenceOfId(channelId));
+        when(price.getTiers()).thenReturn(Collections.emptyList());
+        return price;
+    }
+
+    @Nonnull
+    private static PriceDraft getPriceDraft(@Nonnull final String amount, @Nonnull final String currencyCode,
+                                            @Nullable final CountryCode countryCode,
+                                            @Nullable final String channelId) {
+        return PriceDraftBuilder.of(MoneyImpl.of(new BigDecimal(amount), currencyCode))
+                                .country(countryCode)
+                                .channel(channelId == null ? null : Channel.referenceOfId(channelId))
+                                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.commercetools.sync.products.utils;
+
+import com.commercetools.sync.commons.helpers.DraftFingerprint;
+import com.commercetools.sync.commons.helpers.FingerprintHasher;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.producttypes.ProductType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+import static com.commercetools.sync.products.ProductSyncMockUtils.PRODUCT_KEY_1_CHANGED_WITH_PRICES_RESOURCE_PATH;
+import static com.commercetools.sync.products.ProductSyncMockUtils.PRODUCT_KEY_1_RESOURCE_PATH;
+import static com.commercetools.sync.products.ProductSyncMockUtils.createProductDraftBuilder;
+import static com.commercetools.sync.products.utils.ProductFingerprintUtils.fingerprint;
+import static com.commercetools.sync.products.utils.ProductFingerprintUtils.hasSameFingerprint;
+import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductFingerprintUtilsTest {
+    private Product oldProduct;
+    private DraftFingerprint oldProductFingerprint;
+
+    /**
+     * Initializes the old {@link Product} and its fingerprint.
+     */
+    @Before
+    public void setup() {
+        oldProduct = readObjectFromResource(PRODUCT_KEY_1_RESOURCE_PATH, Product.class);
+        oldProductFingerprint = fingerprint(FingerprintHasher.of(), oldProduct);
+    }
+
+    @Test
+    public void fingerprint_WithDraftOfSameProduct_ShouldReturnFingerprintOfProduct() {
+        final ProductDraft newProductDraft =
+            createProductDraftBuilder(PRODUCT_KEY_1_RESOURCE_PATH, ProductType.referenceOfId("anyProductType"))
+                .build();
+
+        assertThat(oldProductFingerprint).isNotNull();
+        assertThat(fingerprint(FingerprintHasher.of(), newProductDraft)).isEqualTo(oldProductFingerprint);
+    }
+
+    @Test
+    public void fingerprint_WithDraftWithDifferentName_ShouldReturnDifferentFingerprint() {
+        final ProductDraft newProductDraft =
+            createProductDraftBuilder(PRODUCT_KEY_1_RESOURCE_PATH, ProductType.referenceOfId("anyProductType"))
+                .name(LocalizedString.of(Locale.ENGLISH, "newName"))
+                .build();
+
+        assertThat(fingerprint(FingerprintHasher.of(), newProductDraft)).isNotEqualTo(oldProductFingerprint);
+    }
+
+    @Test
+    public void fingerprint_WithDraftWithMultipleDifferentValues_ShouldReturnDifferentFingerprint() {
+        final ProductDraft newProductDraft =
+            createProductDraftBuilder(PRODUCT_KEY_1_CHANGED_WITH_PRICES_RESOURCE_PATH,
+                ProductType.referenceOfId("anyProductType"))
+                .build();
+
+        assertThat(fingerprint(FingerprintHasher.of(), newProductDraft)).isNotEqualTo(oldProductFingerprint);
+    }
+
+    @Test
+    public void hasSameFingerprint_WithAttributesWithoutMetaData_ShouldReturnFalse() {
+        final ProductDraft newProductDraft =
+            createProductDraftBuilder(PRODUCT_KEY_1_RESOURCE_PATH, ProductType.referenceOfId("anyProductType"))
+                .build();
+
+        assertThat(hasSameFingerprint(oldProduct, newProductDraft, new HashMap<>())).isFalse();
+    }
+}
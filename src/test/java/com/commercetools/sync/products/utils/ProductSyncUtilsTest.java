@@ -8,6 +8,7 @@ import io.sphere.sdk.models.LocalizedString;
 import io.sphere.sdk.products.Product;
 import io.sphere.sdk.products.ProductDraft;
 import io.sphere.sdk.products.commands.updateactions.AddExternalImage;
+import io.sphere.sdk.products.commands.updateactions.AddPrice;
 import io.sphere.sdk.products.commands.updateactions.AddToCategory;
 import io.sphere.sdk.products.commands.updateactions.ChangeName;
 import io.sphere.sdk.products.commands.updateactions.ChangeSlug;
@@ -18,7 +19,6 @@ import io.sphere.sdk.products.commands.updateactions.SetDescription;
 import io.sphere.sdk.products.commands.updateactions.SetMetaDescription;
 import io.sphere.sdk.products.commands.updateactions.SetMetaKeywords;
 import io.sphere.sdk.products.commands.updateactions.SetMetaTitle;
-import io.sphere.sdk.products.commands.updateactions.SetPrices;
 import io.sphere.sdk.products.commands.updateactions.SetSearchKeywords;
 import io.sphere.sdk.products.commands.updateactions.SetSku;
 import io.sphere.sdk.producttypes.ProductType;
@@ -65,7 +65,7 @@ public class ProductSyncUtilsTest {
         final List<UpdateAction<Product>> updateActions =
             ProductSyncUtils.buildActions(oldProduct, newProductDraft, productSyncOptions, new HashMap<>());
         assertThat(updateActions).isNotNull();
-        assertThat(updateActions).hasSize(2); //TODO: Should be 1 but because of SetPrices GITHUB ISSUE: #101
+        assertThat(updateActions).hasSize(1);
 
         final UpdateAction<Product> updateAction = updateActions.get(0);
         assertThat(updateAction.getAction()).isEqualTo("changeName");
@@ -82,7 +82,7 @@ public class ProductSyncUtilsTest {
         final List<UpdateAction<Product>> updateActions =
             ProductSyncUtils.buildActions(oldProduct, newProductDraft, productSyncOptions, new HashMap<>());
         assertThat(updateActions).isNotNull();
-        assertThat(updateActions).hasSize(17);
+        assertThat(updateActions).hasSize(18);
 
 
         assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof ChangeName))
@@ -116,7 +116,7 @@ public class ProductSyncUtilsTest {
             .isTrue();
         assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof RemoveImage))
             .isTrue();
-        assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof SetPrices))
+        assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof AddPrice))
             .isTrue();
         assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof SetSku))
             .isTrue();
@@ -170,7 +170,7 @@ public class ProductSyncUtilsTest {
             .isFalse();
         assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof RemoveImage))
             .isFalse();
-        assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof SetPrices))
+        assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof AddPrice))
             .isFalse();
         assertThat(updateActions.stream().anyMatch(productUpdateAction -> productUpdateAction instanceof SetSku))
             .isFalse();
@@ -194,9 +194,6 @@ public class ProductSyncUtilsTest {
         final List<UpdateAction<Product>> updateActions =
             ProductSyncUtils.buildActions(oldProduct, newProductDraft, productSyncOptions, new HashMap<>());
         assertThat(updateActions).isNotNull();
-        assertThat(updateActions).hasSize(1); //TODO: Should be empty but because of SetPrices GITHUB ISSUE: #101
-
-        final UpdateAction<Product> updateAction = updateActions.get(0);
-        assertThat(updateAction.getAction()).isEqualTo("setPrices");
+        assertThat(updateActions).isEmpty();
     }
 }
@@ -0,0 +1,144 @@
+package com.commercetools.sync.services.impl;
+
+import com.commercetools.sync.categories.CategorySyncOptions;
+import com.commercetools.sync.categories.CategorySyncOptionsBuilder;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.SphereException;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryPredicate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.sphere.sdk.utils.CompletableFutureUtils.failed;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CategoryServiceTest {
+    private static final String CACHED_KEY = "cached-key";
+
+    private final AtomicInteger cacheQueries = new AtomicInteger();
+    private final AtomicInteger keyQueries = new AtomicInteger();
+    private final AtomicBoolean failKeyQueries = new AtomicBoolean();
+    private final List<Category> categoriesFoundByKey = new ArrayList<>();
+    private final List<String> errorCallBackMessages = new ArrayList<>();
+    private CategoryServiceImpl service;
+
+    /**
+     * Creates a service with a client which finds the category with the key {@link #CACHED_KEY} when the key to id
+     * cache is populated and the {@link #categoriesFoundByKey} when categories are queried by their keys.
+     */
+    @Before
+    public void setUp() {
+        final SphereClient ctpClient = mock(SphereClient.class);
+        when(ctpClient.execute(any(CategoryQuery.class))).thenAnswer(invocation -> {
+            final CategoryQuery query = invocation.getArgument(0);
+            final boolean isKeyQuery = query.predicates().stream()
+                                            .map(QueryPredicate::toSphereQuery)
+                                            .anyMatch(predicate -> predicate.contains("key in"));
+            if (!isKeyQuery) {
+                cacheQueries.incrementAndGet();
+                return CompletableFuture.completedFuture(
+                    PagedQueryResult.of(singletonList(mockCategory(CACHED_KEY, "cached-id"))));
+            }
+            keyQueries.incrementAndGet();
+            return failKeyQueries.get() ? failed(new SphereException("CTP error on fetch"))
+                : CompletableFuture.completedFuture(PagedQueryResult.of(new ArrayList<>(categoriesFoundByKey)));
+        });
+        final CategorySyncOptions syncOptions =
+            CategorySyncOptionsBuilder.of(ctpClient)
+                                      .setErrorCallBack((errorMessage, exception) ->
+                                          errorCallBackMessages.add(errorMessage))
+                                      .build();
+        service = new CategoryServiceImpl(syncOptions);
+    }
+
+    @Test
+    public void fetchCachedCategoryIds_WithKeysMissingInCache_ShouldFetchThemWithOneQuery() {
+        categoriesFoundByKey.addAll(asList(mockCategory("key-1", "id-1"), mockCategory("key-2", "id-2")));
+
+        final Map<String, String> keysToIds = service
+            .fetchCachedCategoryIds(new HashSet<>(asList(CACHED_KEY, "key-1", "key-2")))
+            .toCompletableFuture().join();
+
+        assertThat(keysToIds).containsOnly(entry(CACHED_KEY, "cached-id"), entry("key-1", "id-1"),
+            entry("key-2", "id-2"));
+        assertThat(keyQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void fetchCachedCategoryIds_WithCachedKeys_ShouldNotQueryCtp() {
+        categoriesFoundByKey.add(mockCategory("key-1", "id-1"));
+        service.fetchCachedCategoryIds(singleton("key-1")).toCompletableFuture().join();
+        final int cacheQueriesBefore = cacheQueries.get();
+
+        final Map<String, String> keysToIds = service
+            .fetchCachedCategoryIds(new HashSet<>(asList(CACHED_KEY, "key-1")))
+            .toCompletableFuture().join();
+
+        assertThat(keysToIds).containsOnly(entry(CACHED_KEY, "cached-id"), entry("key-1", "id-1"));
+        assertThat(cacheQueries.get()).isEqualTo(cacheQueriesBefore);
+        assertThat(keyQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void fetchCachedCategoryIds_WithNonExistingKeys_ShouldQueryThemOnlyOnce() {
+        service.fetchCachedCategoryIds(singleton("non-existing-key")).toCompletableFuture().join();
+
+        final Map<String, String> keysToIds = service
+            .fetchCachedCategoryIds(new HashSet<>(asList(CACHED_KEY, "non-existing-key")))
+            .toCompletableFuture().join();
+
+        assertThat(keysToIds).containsOnly(entry(CACHED_KEY, "cached-id"));
+        assertThat(keyQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void fetchCachedCategoryIds_WithFailingQuery_ShouldQueryKeysAgainOnNextCall() {
+        failKeyQueries.set(true);
+        final Map<String, String> keysToIdsOfFailedQuery = service
+            .fetchCachedCategoryIds(singleton("key-1")).toCompletableFuture().join();
+        failKeyQueries.set(false);
+        categoriesFoundByKey.add(mockCategory("key-1", "id-1"));
+
+        final Map<String, String> keysToIds = service
+            .fetchCachedCategoryIds(singleton("key-1")).toCompletableFuture().join();
+
+        assertThat(keysToIdsOfFailedQuery).isEmpty();
+        assertThat(errorCallBackMessages).hasSize(1);
+        assertThat(keysToIds).containsOnly(entry("key-1", "id-1"));
+        assertThat(keyQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void fetchCachedCategoryIds_WithEmptyKeys_ShouldNotQueryCtp() {
+        final Map<String, String> keysToIds = service
+            .fetchCachedCategoryIds(emptySet()).toCompletableFuture().join();
+
+        assertThat(keysToIds).isEmpty();
+        assertThat(cacheQueries.get() + keyQueries.get()).isEqualTo(0);
+    }
+
+    private static Category mockCategory(final String key, final String id) {
+        final Category category = mock(Category.class);
+        when(category.getKey()).thenReturn(key);
+        when(category.getId()).thenReturn(id);
+        return category;
+    }
+}
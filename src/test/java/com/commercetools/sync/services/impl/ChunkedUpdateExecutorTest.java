@@ -0,0 +1,151 @@
+package com.commercetools.sync.services.impl;
+
+import com.commercetools.sync.commons.exceptions.PartialUpdateException;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.commands.CategoryUpdateCommand;
+import io.sphere.sdk.categories.commands.updateactions.ChangeOrderHint;
+import io.sphere.sdk.client.BadRequestException;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.models.Versioned;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChunkedUpdateExecutorTest {
+
+    @Test
+    public void chunk_WithActionsWithinLimit_ShouldReturnSingleChunk() {
+        final List<Integer> actions = Arrays.asList(1, 2, 3);
+
+        assertThat(ChunkedUpdateExecutor.chunk(actions, action -> null, 3)).containsExactly(actions);
+    }
+
+    @Test
+    public void chunk_WithUngroupedActions_ShouldSplitInOrder() {
+        final List<List<Integer>> chunks = ChunkedUpdateExecutor.chunk(Arrays.asList(1, 2, 3, 4, 5), action -> null, 2);
+
+        assertThat(chunks).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5));
+    }
+
+    @Test
+    public void chunk_WithGroupedActions_ShouldKeepGroupsInSameChunk() {
+        // The actions 2, 3 and 4 are in the same group (their tens digit).
+        final List<List<Integer>> chunks = ChunkedUpdateExecutor
+            .chunk(Arrays.asList(1, 12, 13, 14, 5), action -> action > 10 ? action / 10 : null, 3);
+
+        assertThat(chunks).containsExactly(Arrays.asList(1), Arrays.asList(12, 13, 14), Arrays.asList(5));
+    }
+
+    @Test
+    public void chunk_WithGroupLargerThanLimit_ShouldSplitGroup() {
+        final List<List<Integer>> chunks = ChunkedUpdateExecutor
+            .chunk(Arrays.asList(11, 12, 13, 14, 15), action -> action / 10, 2);
+
+        assertThat(chunks).containsExactly(Arrays.asList(11, 12), Arrays.asList(13, 14), Arrays.asList(15));
+    }
+
+    @Test
+    public void execute_WithMoreActionsThanLimit_ShouldChainVersionsOfChunks() {
+        final SphereClient ctpClient = mock(SphereClient.class);
+        final Category category = mockCategory(1L);
+        final Category categoryAfterFirstChunk = mockCategory(2L);
+        final Category categoryAfterSecondChunk = mockCategory(3L);
+        when(ctpClient.execute(any()))
+            .thenReturn(completedFuture(categoryAfterFirstChunk), completedFuture(categoryAfterSecondChunk));
+        final List<UpdateAction<Category>> updateActions = changeOrderHints(4);
+
+        final Category updatedCategory = newExecutor(ctpClient).execute(category, updateActions)
+                                                               .toCompletableFuture().join();
+
+        assertThat(updatedCategory).isSameAs(categoryAfterSecondChunk);
+        verify(ctpClient).execute(eq(CategoryUpdateCommand.of(category, updateActions.subList(0, 2))));
+        verify(ctpClient).execute(eq(CategoryUpdateCommand.of(categoryAfterFirstChunk, updateActions.subList(2, 4))));
+    }
+
+    @Test
+    public void execute_WithVersion_ShouldApplyFirstChunkToSuppliedVersion() {
+        final SphereClient ctpClient = mock(SphereClient.class);
+        final Category categoryAfterFirstChunk = mockCategory(6L);
+        when(ctpClient.execute(any()))
+            .thenReturn(completedFuture(categoryAfterFirstChunk), completedFuture(mockCategory(7L)));
+        final List<UpdateAction<Category>> updateActions = changeOrderHints(4);
+
+        newExecutor(ctpClient).execute(mockCategory(1L), 5L, updateActions).toCompletableFuture().join();
+
+        verify(ctpClient).execute(eq(CategoryUpdateCommand.of(Versioned.of("category-id", 5L),
+            updateActions.subList(0, 2))));
+        verify(ctpClient).execute(eq(CategoryUpdateCommand.of(categoryAfterFirstChunk, updateActions.subList(2, 4))));
+    }
+
+    @Test
+    public void execute_WithFailingFirstChunk_ShouldFailWithErrorOfChunk() {
+        final SphereClient ctpClient = mock(SphereClient.class);
+        final BadRequestException badRequestException = new BadRequestException("bad request");
+        final CompletableFuture<Object> failedUpdate = new CompletableFuture<>();
+        failedUpdate.completeExceptionally(badRequestException);
+        when(ctpClient.execute(any())).thenReturn(failedUpdate);
+
+        final CompletableFuture<Category> result = newExecutor(ctpClient)
+            .execute(mockCategory(1L), changeOrderHints(4)).toCompletableFuture();
+
+        assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+                                        .hasCauseInstanceOf(BadRequestException.class);
+        verify(ctpClient, times(1)).execute(any());
+    }
+
+    @Test
+    public void execute_WithFailingLaterChunk_ShouldFailWithPartialUpdateException() {
+        final SphereClient ctpClient = mock(SphereClient.class);
+        final BadRequestException badRequestException = new BadRequestException("bad request");
+        final CompletableFuture<Object> failedUpdate = new CompletableFuture<>();
+        failedUpdate.completeExceptionally(badRequestException);
+        when(ctpClient.execute(any())).thenReturn(completedFuture(mockCategory(2L)), failedUpdate);
+        final List<UpdateAction<Category>> updateActions = changeOrderHints(6);
+
+        final CompletableFuture<Category> result = newExecutor(ctpClient)
+            .execute(mockCategory(1L), updateActions).toCompletableFuture();
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(PartialUpdateException.class);
+        final PartialUpdateException partialUpdateException =
+            (PartialUpdateException) result.handle((category, exception) -> exception).join();
+        assertThat(partialUpdateException.getAppliedChunks()).isEqualTo(1);
+        assertThat(partialUpdateException.getTotalChunks()).isEqualTo(3);
+        assertThat(partialUpdateException.getVersion()).isEqualTo(2L);
+        assertThat(partialUpdateException.getFailedActions()).isEqualTo(updateActions.subList(2, 4));
+        assertThat(partialUpdateException.getCause()).isSameAs(badRequestException);
+        verify(ctpClient, times(2)).execute(any());
+    }
+
+    private static ChunkedUpdateExecutor<Category> newExecutor(final SphereClient ctpClient) {
+        return new ChunkedUpdateExecutor<>(ctpClient, CategoryUpdateCommand::of, category -> action -> null, 2);
+    }
+
+    private static Category mockCategory(final long version) {
+        final Category category = mock(Category.class);
+        when(category.getId()).thenReturn("category-id");
+        when(category.getVersion()).thenReturn(version);
+        return category;
+    }
+
+    private static List<UpdateAction<Category>> changeOrderHints(final int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(index -> ChangeOrderHint.of("0." + index))
+                        .collect(Collectors.toList());
+    }
+}
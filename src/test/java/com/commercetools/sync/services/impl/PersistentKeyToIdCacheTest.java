@@ -0,0 +1,156 @@
+package com.commercetools.sync.services.impl;
+
+import com.commercetools.sync.categories.CategorySyncOptions;
+import com.commercetools.sync.categories.CategorySyncOptionsBuilder;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.queries.PagedQueryResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PersistentKeyToIdCacheTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SphereClient ctpClient;
+    private CategorySyncOptions syncOptions;
+
+    /**
+     * Creates sync options with a persistent key to id cache directory in a temporary folder and a client of the CTP
+     * project with the key "project".
+     */
+    @Before
+    public void setUp() throws Exception {
+        ctpClient = mock(SphereClient.class);
+        final SphereApiConfig config = mock(SphereApiConfig.class);
+        when(config.getProjectKey()).thenReturn("project");
+        when(ctpClient.getConfig()).thenReturn(config);
+        syncOptions = CategorySyncOptionsBuilder.of(ctpClient)
+                                                .setKeyToIdCacheDirectory(temporaryFolder.newFolder().toPath())
+                                                .build();
+    }
+
+    @Test
+    public void of_WithoutCacheDirectory_ShouldReturnNull() {
+        assertThat(PersistentKeyToIdCache.of(CategorySyncOptionsBuilder.of(ctpClient).build(), "categories"))
+            .isNull();
+    }
+
+    @Test
+    public void load_WithoutSnapshot_ShouldFetchAllResourcesAndPersistSnapshot() {
+        mockResponse(2L, getCategory("id-1", "key-1"), getCategory("id-2", "key-2"));
+        final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+
+        load(keyToIdCache);
+
+        assertThat(keyToIdCache).containsOnly(entry("key-1", "id-1"), entry("key-2", "id-2"));
+        final Path snapshotFile = syncOptions.getKeyToIdCacheDirectory().resolve("project-categories.keys");
+        assertThat(Files.isRegularFile(snapshotFile)).isTrue();
+    }
+
+    @Test
+    public void load_WithSnapshotAndModifiedResource_ShouldRefreshChangedKeys() {
+        mockResponse(2L, getCategory("id-1", "key-1"), getCategory("id-2", "key-2"));
+        load(new ConcurrentHashMap<>());
+
+        mockResponse(2L, getCategory("id-1", "new-key-1"));
+        final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+        load(keyToIdCache);
+
+        assertThat(keyToIdCache).containsOnly(entry("new-key-1", "id-1"), entry("key-2", "id-2"));
+    }
+
+    @Test
+    public void load_WithSnapshotAndDeletedResource_ShouldRebuildCache() {
+        mockResponse(2L, getCategory("id-1", "key-1"), getCategory("id-2", "key-2"));
+        load(new ConcurrentHashMap<>());
+
+        mockResponse(1L, getCategory("id-1", "key-1"));
+        final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+        load(keyToIdCache);
+
+        assertThat(keyToIdCache).containsOnly(entry("key-1", "id-1"));
+    }
+
+    @Test
+    public void load_WithKeysPutIntoCacheDuringRefresh_ShouldOnlyPersistRefreshedKeys() {
+        mockResponse(2L, getCategory("id-1", "key-1"), getCategory("id-2", "key-2"));
+        final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+        final Consumer<List<Category>> pageConsumer = page -> {
+            page.forEach(category -> keyToIdCache.put(category.getKey(), category.getId()));
+            keyToIdCache.put("created-key", "created-id");
+        };
+        PersistentKeyToIdCache.of(syncOptions, "categories")
+                              .load(CategoryQuery.of(), Category::getKey, pageConsumer, keyToIdCache)
+                              .toCompletableFuture().join();
+
+        mockResponse(2L, getCategory("id-1", "key-1"));
+        final Map<String, String> refreshedKeyToIdCache = new ConcurrentHashMap<>();
+        load(refreshedKeyToIdCache);
+
+        assertThat(keyToIdCache).containsKey("created-key");
+        assertThat(refreshedKeyToIdCache).containsOnly(entry("key-1", "id-1"), entry("key-2", "id-2"));
+    }
+
+    @Test
+    public void load_WithCorruptSnapshot_ShouldRebuildCacheAndTriggerWarning() throws Exception {
+        final Map<String, String> warnings = new HashMap<>();
+        syncOptions = CategorySyncOptionsBuilder.of(ctpClient)
+                                                .setKeyToIdCacheDirectory(temporaryFolder.newFolder().toPath())
+                                                .setWarningCallBack(warning -> warnings.put("warning", warning))
+                                                .build();
+        Files.write(syncOptions.getKeyToIdCacheDirectory().resolve("project-categories.keys"), new byte[]{1, 2, 3});
+        mockResponse(1L, getCategory("id-1", "key-1"));
+        final Map<String, String> keyToIdCache = new ConcurrentHashMap<>();
+
+        load(keyToIdCache);
+
+        assertThat(keyToIdCache).containsOnly(entry("key-1", "id-1"));
+        assertThat(warnings.get("warning")).contains("Failed to read the key to id cache snapshot");
+    }
+
+    private void load(@Nonnull final Map<String, String> keyToIdCache) {
+        final Consumer<List<Category>> pageConsumer = page ->
+            page.forEach(category -> keyToIdCache.put(category.getKey(), category.getId()));
+        PersistentKeyToIdCache.of(syncOptions, "categories")
+                              .load(CategoryQuery.of(), Category::getKey, pageConsumer, keyToIdCache)
+                              .toCompletableFuture().join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockResponse(final long numberOfResourcesWithKeys, @Nonnull final Category... categories) {
+        final PagedQueryResult<Category> page = mock(PagedQueryResult.class);
+        when(page.getResults()).thenReturn(Arrays.asList(categories));
+        when(page.getTotal()).thenReturn(numberOfResourcesWithKeys);
+        when(ctpClient.execute(any())).thenReturn(completedFuture(page));
+    }
+
+    @Nonnull
+    private static Category getCategory(@Nonnull final String id, @Nonnull final String key) {
+        final Category category = mock(Category.class);
+        when(category.getId()).thenReturn(id);
+        when(category.getKey()).thenReturn(key);
+        return category;
+    }
+}
@@ -5,13 +5,17 @@ import com.commercetools.sync.products.ProductSyncOptionsBuilder;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.commands.UpdateAction;
 import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.products.Price;
 import io.sphere.sdk.products.Product;
 import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductVariant;
 import io.sphere.sdk.products.commands.ProductCreateCommand;
 import io.sphere.sdk.products.commands.ProductUpdateCommand;
 import io.sphere.sdk.products.commands.updateactions.ChangeName;
 import io.sphere.sdk.products.commands.updateactions.Publish;
+import io.sphere.sdk.products.commands.updateactions.RemovePrice;
 import io.sphere.sdk.products.commands.updateactions.RevertStagedChanges;
+import io.sphere.sdk.products.commands.updateactions.SetSku;
 import io.sphere.sdk.queries.QueryPredicate;
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +23,7 @@ import org.junit.Test;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static java.util.Collections.singletonList;
 import static java.util.Locale.ENGLISH;
@@ -26,6 +31,7 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -106,4 +112,21 @@ public class ProductServiceTest {
         assertThat(product).isSameAs(mock);
         verify(productSyncOptions.getCtpClient()).execute(eq(ProductUpdateCommand.of(mock, RevertStagedChanges.of())));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getVariantOfAction_WithVariantAndPriceActions_ShouldReturnIdOfUpdatedVariant() {
+        final Price price = mock(Price.class);
+        when(price.getId()).thenReturn("priceId");
+        final ProductVariant variant = mock(ProductVariant.class);
+        when(variant.getId()).thenReturn(2);
+        when(variant.getPrices()).thenReturn(singletonList(price));
+        final Product product = mock(Product.class, RETURNS_DEEP_STUBS);
+        when(product.getMasterData().getStaged().getAllVariants()).thenReturn(singletonList(variant));
+
+        final Function<UpdateAction<Product>, Object> variantOfAction = ProductServiceImpl.getVariantOfAction(product);
+
+        assertThat(variantOfAction.apply(RemovePrice.of(price, true))).isEqualTo(2);
+        assertThat(variantOfAction.apply(SetSku.of(3, "sku", true))).isEqualTo(3);
+        assertThat(variantOfAction.apply(ChangeName.of(LocalizedString.of(ENGLISH, "new name")))).isNull();
+    }
+}